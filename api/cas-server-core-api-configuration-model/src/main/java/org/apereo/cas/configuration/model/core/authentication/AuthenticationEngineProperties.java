@@ -1,5 +1,6 @@
 package org.apereo.cas.configuration.model.core.authentication;
 
+import org.apereo.cas.configuration.support.DurationCapable;
 import org.apereo.cas.configuration.support.RequiresModule;
 
 import com.fasterxml.jackson.annotation.JsonFilter;
@@ -38,4 +39,32 @@ public class AuthenticationEngineProperties implements Serializable {
     @NestedConfigurationProperty
     private GroovyAuthenticationEngineProcessorProperties groovyPostProcessor = new GroovyAuthenticationEngineProcessorProperties();
 
+    /**
+     * Invoke authentication handlers that support a credential concurrently rather than one after another.
+     * Authentication policies continue to decide whether the authentication attempt is successful;
+     * once they are satisfied, handlers that are still running are cancelled and their results are discarded.
+     * This is useful when several handlers that contact slow or remote systems are registered for the same credential.
+     */
+    private boolean concurrentHandlerExecution;
+
+    /**
+     * Maximum number of authentication handlers that may execute concurrently
+     * across all authentication attempts, when concurrent execution is turned on.
+     */
+    private int concurrentHandlerPoolSize = 16;
+
+    /**
+     * Maximum number of authentication handler invocations that may wait for a thread
+     * when concurrent execution is turned on. Once this many invocations are waiting,
+     * further authentication attempts fail right away instead of queuing up behind them.
+     */
+    private int concurrentHandlerQueueCapacity = 256;
+
+    /**
+     * Maximum amount of time to wait for authentication handlers to complete
+     * when concurrent execution is turned on. Handlers that fail to produce a result
+     * within this period are cancelled and recorded as failures.
+     */
+    @DurationCapable
+    private String concurrentHandlerTimeout = "PT10S";
 }
@@ -1,11 +1,13 @@
 package org.apereo.cas.configuration.model.core.authentication;
 
+import org.apereo.cas.configuration.support.DurationCapable;
 import org.apereo.cas.configuration.support.RequiresModule;
 
 import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -69,6 +71,30 @@ public class PrincipalAttributesCoreProperties implements Serializable {
      */
     private AggregationStrategyTypes aggregation = AggregationStrategyTypes.MERGE;
 
+    /**
+     * When attribute repositories are queried in parallel, indicates
+     * the maximum amount of time to wait for all repositories to respond.
+     * Repositories that fail to respond in time are cancelled and
+     * their results are left out of the final set of attributes.
+     */
+    @DurationCapable
+    private String aggregationTimeout = "PT5S";
+
+    /**
+     * When attribute repositories are queried in parallel, indicates
+     * the maximum number of repository queries that may execute at the same
+     * time across all principal resolution attempts.
+     */
+    private int aggregationPoolSize = 16;
+
+    /**
+     * When attribute repositories are queried in parallel, indicates
+     * the maximum number of queries that may be outstanding against a single repository
+     * at the same time. Queries beyond this limit are not queued; the repository is skipped
+     * and its results are left out of the final set of attributes.
+     */
+    private int aggregationRepositoryConcurrency = 4;
+
     /**
      * In the event that multiple attribute repositories are defined,
      * setting this option to {@code true} forces all repositories
@@ -88,6 +114,13 @@ public class PrincipalAttributesCoreProperties implements Serializable {
      */
     private Set<String> defaultAttributesToRelease = new HashSet<>(0);
 
+    /**
+     * Control how attributes fetched by principal attribute repositories
+     * of registered services are cached.
+     */
+    @NestedConfigurationProperty
+    private PrincipalAttributesRepositoryCacheProperties cache = new PrincipalAttributesRepositoryCacheProperties();
+
     /**
      * The aggregation strategy types.
      */
@@ -103,7 +136,14 @@ public class PrincipalAttributesCoreProperties implements Serializable {
          * the attributes from the first query in the result set are
          * used as the query for the next repository.
          */
-        CASCADE
+        CASCADE,
+        /**
+         * Query multiple repositories at the same time and merge the results
+         * into a single result set, in the order in which repositories respond.
+         * Repositories that fail to respond before the aggregation timeout
+         * are left out of the result set.
+         */
+        PARALLEL
     }
 
     /**
@@ -0,0 +1,90 @@
+package org.apereo.cas.configuration.model.core.authentication;
+
+import org.apereo.cas.configuration.model.support.redis.BaseRedisProperties;
+import org.apereo.cas.configuration.support.DurationCapable;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * This is {@link PrincipalAttributesRepositoryCacheProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@RequiresModule(name = "cas-server-core-authentication", automated = true)
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonFilter("PrincipalAttributesRepositoryCacheProperties")
+public class PrincipalAttributesRepositoryCacheProperties implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 2205640358912464215L;
+
+    /**
+     * Indicates where attributes that are fetched and cached
+     * by principal attribute repositories of registered services should be kept.
+     */
+    private CacheTypes type = CacheTypes.MEMORY;
+
+    /**
+     * When attributes are cached in memory, indicates the maximum amount of memory
+     * (i.e. {@code 64MB}) that may be used by cached attributes. Entries are weighed
+     * by the approximate size of their attributes, such that principals with
+     * large attribute payloads are evicted sooner. If left undefined, the cache
+     * is bounded by the number of entries instead.
+     */
+    private String maximumPayloadSize;
+
+    /**
+     * When attributes are cached in a distributed cache, indicates how long
+     * a CAS node waits for another node that is fetching attributes for the same principal,
+     * either to obtain the lock or for attributes to show up in the cache,
+     * before fetching attributes on its own.
+     */
+    @DurationCapable
+    private String lockTimeout = "PT10S";
+
+    /**
+     * When attributes are cached in a distributed cache, indicates how long
+     * a CAS node may hold on to the lock that prevents other nodes from fetching
+     * attributes for the same principal at the same time. The lock is released
+     * automatically once this period has passed, in case the node that holds it has gone away.
+     * This should be comfortably longer than it takes to fetch attributes from attribute repositories.
+     */
+    @DurationCapable
+    private String lockLeaseTime = "PT60S";
+
+    /**
+     * Settings that control the connection to Redis, when attributes are cached in Redis.
+     */
+    @NestedConfigurationProperty
+    private BaseRedisProperties redis = new BaseRedisProperties();
+
+    /**
+     * The cache types.
+     */
+    public enum CacheTypes {
+        /**
+         * Cache attributes in memory, local to each CAS node.
+         */
+        MEMORY,
+        /**
+         * Cache attributes in Redis, shared by all CAS nodes.
+         * Requires the {@code cas-server-support-redis-authentication} module.
+         */
+        REDIS,
+        /**
+         * Cache attributes in a Hazelcast distributed map, shared by all CAS nodes.
+         * Requires the {@code cas-server-support-hazelcast-ticket-registry} module.
+         */
+        HAZELCAST
+    }
+}
@@ -70,6 +70,18 @@ public class ServiceRegistryCoreProperties implements Serializable {
          * Group service definitions by their domain.
          */
         DOMAIN,
+        /**
+         * Index service definitions by the literal scheme and host
+         * of their service ids, falling back to evaluation order
+         * for definitions that cannot be anchored to a literal prefix.
+         */
+        INDEXED,
+        /**
+         * Compile service id patterns of all definitions into a single
+         * automaton that matches a service in one pass, falling back to
+         * individual matching for patterns that cannot be compiled.
+         */
+        COMPILED,
         /**
          * Default option to keep definitions in a map as they arrive.
          */
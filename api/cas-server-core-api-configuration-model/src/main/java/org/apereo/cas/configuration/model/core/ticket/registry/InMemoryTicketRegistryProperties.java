@@ -51,6 +51,36 @@ public class InMemoryTicketRegistryProperties implements Serializable {
      */
     private int concurrency = 20;
 
+    /**
+     * Maintain an inverted index that links attribute names and values
+     * to ticket-granting tickets, so looking up sessions by attributes
+     * is answered from the index rather than by walking through every ticket
+     * in the registry. The index is kept in memory next to the tickets, and consumes
+     * additional memory proportional to the number of attribute values per session.
+     */
+    private boolean enableAttributeIndex;
+
+    /**
+     * Store tickets outside the Java heap. Tickets are serialized using the ticket serializers
+     * into direct memory, and only an index of ticket ids is kept on the heap, so that large numbers of
+     * tickets no longer lengthen garbage collection pauses. Tickets are deserialized every time they are read.
+     * The amount of direct memory available to the server is controlled by {@code -XX:MaxDirectMemorySize}.
+     * Does not apply if tickets are cached.
+     */
+    private boolean offHeap;
+
+    /**
+     * Number of shards that tickets are distributed over when stored outside the Java heap.
+     * Each shard is guarded by its own lock and allocates its own memory segments.
+     */
+    private int offHeapShards = 32;
+
+    /**
+     * Size of each memory segment, in bytes, allocated by a shard when tickets are stored
+     * outside the Java heap. A single serialized ticket must fit into a segment.
+     */
+    private int offHeapSegmentSize = 4 * 1024 * 1024;
+
     /**
      * Crypto settings for the registry.
      */
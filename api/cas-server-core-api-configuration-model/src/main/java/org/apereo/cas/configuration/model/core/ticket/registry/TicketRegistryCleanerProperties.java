@@ -0,0 +1,90 @@
+package org.apereo.cas.configuration.model.core.ticket.registry;
+
+import org.apereo.cas.configuration.model.support.quartz.ScheduledJobProperties;
+import org.apereo.cas.configuration.support.DurationCapable;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+
+/**
+ * This is {@link TicketRegistryCleanerProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@RequiresModule(name = "cas-server-core-tickets", automated = true)
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonFilter("TicketRegistryCleanerProperties")
+public class TicketRegistryCleanerProperties extends ScheduledJobProperties {
+    @Serial
+    private static final long serialVersionUID = 4382729571536183451L;
+
+    /**
+     * Determine how the ticket registry cleaner should locate expired tickets.
+     */
+    private CleanerModes mode = CleanerModes.DEFAULT;
+
+    /**
+     * When the cleaner is backed by an expiration index, tickets are grouped
+     * into buckets of this duration based on their projected expiration time.
+     * Smaller buckets allow the cleaner to find expired tickets more precisely,
+     * at the cost of more buckets to track.
+     */
+    @DurationCapable
+    private String expirationBucketDuration = "PT10S";
+
+    /**
+     * When the cleaner is backed by an expiration index, every n-th cleaner pass
+     * falls back to a full scan of the ticket registry to catch tickets that were not
+     * indexed, such as those added by other CAS server nodes that have since left the cluster.
+     * A zero or negative value disables full scans.
+     */
+    private long fullScanInterval = 10;
+
+    /**
+     * When the cleaner runs in sharded mode, the ticket registry is split into this many shards.
+     * Each shard is claimed by a single CAS server node at a time using a lock repository
+     * that is separate from the one that locks tickets, and only the node that holds the claim
+     * scans the tickets of the shard. Shards that were cleaned are not scanned again
+     * by other nodes until the next pass of the cleaner, as defined by its repeat interval.
+     */
+    private int shardCount = 16;
+
+    /**
+     * When the cleaner runs in sharded mode, the number of shards
+     * that may be cleaned in parallel by this CAS server node.
+     * Each worker removes one expired ticket at a time, so this is also the maximum number
+     * of concurrent requests the cleaner makes to the ticket registry storage,
+     * and the maximum number of expired ticket-granting tickets whose logout is in progress.
+     * This should not exceed the number of concurrent operations the ticket registry storage,
+     * such as its connection pool, can serve alongside regular traffic.
+     */
+    private int shardWorkers = 4;
+
+    /**
+     * Modes of operation for the ticket registry cleaner.
+     */
+    public enum CleanerModes {
+        /**
+         * Scan the entire ticket registry for expired tickets on every pass.
+         */
+        DEFAULT,
+        /**
+         * Track projected expiration times of tickets as they are added
+         * to the registry, and only visit tickets that are due on every pass.
+         */
+        EXPIRATION_INDEX,
+        /**
+         * Split the ticket registry into shards that are claimed by CAS server nodes
+         * using a lock repository, and scan and clean claimed shards in parallel.
+         */
+        SHARDED
+    }
+}
@@ -5,6 +5,7 @@ import org.apereo.cas.configuration.support.RequiresModule;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -42,4 +43,72 @@ public class TicketRegistryCoreProperties implements Serializable {
      * and kept in memory.
      */
     private String queueIdentifier;
+
+    /**
+     * Format used to serialize tickets before they are handed
+     * over to the ticket registry for storage. Tickets that are stored in
+     * the binary format are always readable regardless of this setting,
+     * so that nodes may switch formats gradually. Ticket registries
+     * that support binary storage, such as Redis, MongoDb, DynamoDb, Cassandra
+     * and Hazelcast, keep binary tickets in their native binary types.
+     */
+    private TicketSerializationFormats serializationFormat = TicketSerializationFormats.JSON;
+
+    /**
+     * Hash function used to digest ticket identifiers and ticket attributes
+     * before they are used as keys in the ticket registry, when ticket encryption is turned on.
+     * All CAS server nodes must use the same setting; changing it makes tickets that are already
+     * stored in the registry unreachable under their previous keys.
+     */
+    private TicketIdentifierDigestAlgorithms identifierDigestAlgorithm = TicketIdentifierDigestAlgorithms.SHA512;
+
+    /**
+     * Secret key used to digest ticket identifiers when the digest
+     * algorithm is a keyed hash such as {@code HMAC_SHA256}.
+     * The key must be shared by all CAS server nodes.
+     */
+    private String identifierDigestKey;
+
+    /**
+     * Settings that control the local cache of decoded tickets
+     * kept in front of the ticket registry.
+     */
+    @NestedConfigurationProperty
+    private TicketRegistryNearCacheProperties nearCache = new TicketRegistryNearCacheProperties();
+
+    /**
+     * Settings that control batching of commands
+     * published to the ticket registry message queue.
+     */
+    @NestedConfigurationProperty
+    private TicketRegistryQueueBatchProperties queueBatch = new TicketRegistryQueueBatchProperties();
+
+    /**
+     * Ticket serialization formats.
+     */
+    public enum TicketSerializationFormats {
+        /**
+         * Serialize tickets as JSON.
+         */
+        JSON,
+        /**
+         * Serialize tickets using the binary Smile format.
+         */
+        BINARY
+    }
+
+    /**
+     * Hash functions for ticket identifiers.
+     */
+    public enum TicketIdentifierDigestAlgorithms {
+        /**
+         * Digest identifiers using {@code SHA-512}.
+         */
+        SHA512,
+        /**
+         * Digest identifiers using {@code HMAC-SHA256} and a shared secret key.
+         * This produces shorter keys and is faster to compute than {@code SHA-512}.
+         */
+        HMAC_SHA256
+    }
 }
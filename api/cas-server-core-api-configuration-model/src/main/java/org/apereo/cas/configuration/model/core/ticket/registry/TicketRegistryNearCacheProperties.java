@@ -0,0 +1,56 @@
+package org.apereo.cas.configuration.model.core.ticket.registry;
+
+import org.apereo.cas.configuration.support.DurationCapable;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * This is {@link TicketRegistryNearCacheProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@RequiresModule(name = "cas-server-core-tickets", automated = true)
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonFilter("TicketRegistryNearCacheProperties")
+public class TicketRegistryNearCacheProperties implements Serializable {
+    @Serial
+    private static final long serialVersionUID = -3386462841925307411L;
+
+    /**
+     * Keep a local cache of decoded ticket-granting tickets in front of the ticket registry,
+     * so that repeated lookups of the same ticket within a single flow
+     * do not go back to the registry storage, and do not have to deserialize
+     * and decrypt the ticket again. Changes made on other CAS nodes are picked up
+     * through the ticket registry message queue, which must be configured
+     * for the cache to be turned on; otherwise, this setting is ignored. This is only
+     * useful for ticket registries that keep tickets in remote storage, and is ignored otherwise.
+     */
+    private boolean enabled;
+
+    /**
+     * The maximum weight of the entries the cache may contain.
+     * Every ticket weighs at least one unit, and tickets that carry
+     * an authentication weigh an additional unit per attribute and per service
+     * that is linked to the ticket.
+     */
+    private long maximumWeight = 100_000L;
+
+    /**
+     * Duration after which cached tickets are evicted after they are written,
+     * which bounds how long a change made on another CAS node may go unnoticed
+     * should its message on the ticket registry message queue be delayed or lost.
+     * This should be kept short.
+     */
+    @DurationCapable
+    private String timeToLive = "PT5S";
+}
@@ -0,0 +1,48 @@
+package org.apereo.cas.configuration.model.core.ticket.registry;
+
+import org.apereo.cas.configuration.support.DurationCapable;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * This is {@link TicketRegistryQueueBatchProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@RequiresModule(name = "cas-server-core-tickets", automated = true)
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonFilter("TicketRegistryQueueBatchProperties")
+public class TicketRegistryQueueBatchProperties implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 6612859341076301517L;
+
+    /**
+     * Collect ticket commands that are published to the ticket registry message queue
+     * for a short window, coalesce them by ticket and send them to peers as a single compressed message.
+     * This reduces the number of messages exchanged between CAS nodes, at the cost
+     * of delaying the replication of tickets to peers by up to the batch window.
+     */
+    private boolean enabled;
+
+    /**
+     * Duration for which ticket commands are collected before they are published as a batch.
+     */
+    @DurationCapable
+    private String window = "PT0.1S";
+
+    /**
+     * Number of pending ticket commands that causes the batch
+     * to be published before the batch window has passed.
+     */
+    private int maximumSize = 500;
+}
@@ -31,6 +31,14 @@ public class CassandraTicketRegistryProperties extends BaseCassandraProperties {
      */
     private boolean dropTablesOnStartup;
 
+    /**
+     * Number of token ranges queried concurrently when all tickets are fetched,
+     * for example when the registry is cleaned. Tables are read one token range at a time,
+     * so that ranges owned by different replicas are read concurrently, and rows are streamed
+     * using the paging of the driver. A value of {@code 1} or less reads each table with a single query.
+     */
+    private int scanParallelism = 4;
+
     /**
      * Crypto settings for the registry.
      */
@@ -50,6 +50,25 @@ public class DynamoDbTicketRegistryProperties extends AbstractDynamoDbProperties
      */
     private String transientSessionTicketsTableName = "transientSessionTicketsTable";
 
+    /**
+     * Whether ticket tables should be created with global secondary indexes
+     * on the ticket prefix and the (digested) principal id. When indexes are present, ticket counts
+     * and session lookups are answered by querying the indexes rather than scanning tables.
+     * Tables that already exist are not altered; lookups fall back to scans
+     * when the indexes cannot be found on a table.
+     */
+    private boolean createIndexes = true;
+
+    /**
+     * Number of shards the index on the ticket prefix is split into. Tickets are assigned
+     * to a shard based on their id, such that tickets of the same type do not all land
+     * in a single partition of the index, and shards are queried concurrently.
+     * All CAS nodes must use the same value. The value may be increased later on,
+     * but decreasing it hides tickets that were assigned to the removed shards until they expire.
+     * Tables created before the index was sharded fall back to scans until they are recreated.
+     */
+    private int prefixIndexShards = 8;
+
     /**
      * Crypto settings for the registry.
      */
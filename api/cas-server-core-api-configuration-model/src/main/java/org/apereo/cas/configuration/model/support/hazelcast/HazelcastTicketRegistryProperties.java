@@ -32,6 +32,16 @@ public class HazelcastTicketRegistryProperties extends BaseHazelcastProperties {
      */
     private long pageSize = 500;
 
+    /**
+     * Whether tickets should be stored using Hazelcast's compact serialization format,
+     * which allows cluster members to query and index the fields of each ticket
+     * without deserializing it. Entries are otherwise stored using Java serialization.
+     * Members that store tickets in one format cannot read tickets stored in the other,
+     * so this setting must be the same on all members of the cluster and should
+     * only be changed when the cluster is started anew.
+     */
+    private boolean compactSerialization;
+
     /**
      * Crypto settings for the registry.
      */
@@ -0,0 +1,52 @@
+package org.apereo.cas.configuration.model.support.jdbc.authn;
+
+import org.apereo.cas.configuration.support.DurationCapable;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * This is {@link JdbcCredentialCacheProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@RequiresModule(name = "cas-server-support-jdbc-authentication")
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonFilter("JdbcCredentialCacheProperties")
+public class JdbcCredentialCacheProperties implements Serializable {
+    @Serial
+    private static final long serialVersionUID = -3478292830591028513L;
+
+    /**
+     * Whether accounts whose passwords are successfully verified against the database
+     * should be remembered for a short period of time, such that subsequent login attempts
+     * with the same username and password skip the database query and the password verification.
+     * The state of the remembered account is still evaluated on every attempt.
+     * Passwords are kept as a salted, memory-hard digest, and accounts are only remembered
+     * when verifying their password is more expensive than the digest.
+     * Remembered accounts are forgotten once the password for the account is changed via CAS.
+     */
+    private boolean enabled;
+
+    /**
+     * How long verified accounts should be remembered.
+     * Changes made to the account in the database, such as disabling the account or changing its password
+     * outside of CAS, are only seen once the remembered account expires.
+     */
+    @DurationCapable
+    private String expiration = "PT30S";
+
+    /**
+     * Maximum number of verified accounts that may be remembered.
+     */
+    private long maximumSize = 10_000;
+}
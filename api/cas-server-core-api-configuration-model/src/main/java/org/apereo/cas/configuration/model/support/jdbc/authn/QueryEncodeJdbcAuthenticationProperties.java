@@ -7,6 +7,7 @@ import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 import java.io.Serial;
 
@@ -74,4 +75,9 @@ public class QueryEncodeJdbcAuthenticationProperties extends BaseJdbcAuthenticat
      */
     private String staticSalt;
 
+    /**
+     * Control whether successfully verified credentials should be cached.
+     */
+    @NestedConfigurationProperty
+    private JdbcCredentialCacheProperties credentialCache = new JdbcCredentialCacheProperties();
 }
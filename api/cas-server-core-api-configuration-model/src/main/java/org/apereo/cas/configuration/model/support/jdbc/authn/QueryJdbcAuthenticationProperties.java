@@ -7,6 +7,7 @@ import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 import java.io.Serial;
 import java.util.ArrayList;
@@ -54,4 +55,10 @@ public class QueryJdbcAuthenticationProperties extends BaseJdbcAuthenticationPro
      * List of column names to fetch as user attributes.
      */
     private List<String> principalAttributeList = new ArrayList<>(0);
+
+    /**
+     * Control whether successfully verified credentials should be cached.
+     */
+    @NestedConfigurationProperty
+    private JdbcCredentialCacheProperties credentialCache = new JdbcCredentialCacheProperties();
 }
@@ -63,6 +63,14 @@ public class JpaTicketRegistryProperties extends AbstractJpaProperties {
     @RequiredProperty
     private boolean enabled = true;
 
+    /**
+     * Maintain an inverted index table that links attribute names and values
+     * to ticket-granting tickets, so looking up sessions by attributes
+     * is answered from indexed columns rather than by evaluating the JSON attributes
+     * of every ticket. The index table is created alongside the tickets table.
+     */
+    private boolean enableAttributeIndex;
+
     public JpaTicketRegistryProperties() {
         super.setUrl("jdbc:hsqldb:mem:cas-ticket-registry");
         this.crypto.setEnabled(false);
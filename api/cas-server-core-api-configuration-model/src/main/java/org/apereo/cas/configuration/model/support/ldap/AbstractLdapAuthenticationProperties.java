@@ -80,6 +80,15 @@ public abstract class AbstractLdapAuthenticationProperties extends AbstractLdapS
      */
     private boolean enhanceWithEntryResolver = true;
 
+    /**
+     * Whether the search for the user entry and its attributes should be pipelined with the bind operation.
+     * When turned on, the entry search is sent off asynchronously once the user DN is resolved
+     * and runs concurrently with the bind, rather than after the bind has completed.
+     * Entries fetched for failed bind attempts are discarded. Only applicable when the entry resolver
+     * is using its own connection factory, which is not the case with direct-bind authentication.
+     */
+    private boolean pipelineEntryResolution;
+
     /**
      * Define how aliases are de-referenced.
      * Accepted values are:
@@ -180,6 +180,32 @@ public abstract class AbstractLdapProperties implements Serializable {
     @DurationCapable
     private String blockWaitTime = "PT3S";
 
+    /**
+     * Whether the size of the connection pool should adapt to demand.
+     * The pool grows on demand up to the maximum pool size; when this setting is turned on,
+     * idle connections are only pruned back towards the minimum pool size once the pool is no longer under pressure,
+     * as indicated by the pool utilization and the time callers wait for connections.
+     * While the pool is busy, connections are retained even if they have been idle longer than the configured idle time.
+     * This setting is typically used with a short prune period and idle time, so that
+     * the pool quickly releases connections that are not needed off-peak.
+     */
+    private boolean adaptivePoolSizing;
+
+    /**
+     * The ratio of active connections to the maximum pool size, between {@code 0} and {@code 1},
+     * at or above which the pool is considered under pressure and idle connections are retained.
+     * Only applicable when adaptive pool sizing is turned on.
+     */
+    private double adaptivePoolUtilizationThreshold = 0.75;
+
+    /**
+     * The average time callers wait to obtain connections from the pool
+     * at or above which the pool is considered under pressure and idle connections are retained.
+     * Only applicable when adaptive pool sizing is turned on.
+     */
+    @DurationCapable
+    private String adaptivePoolWaitTimeThreshold = "PT0.1S";
+
     /**
      * If multiple URLs are provided as the ldapURL this describes how each URL will be processed.
      * <ul>
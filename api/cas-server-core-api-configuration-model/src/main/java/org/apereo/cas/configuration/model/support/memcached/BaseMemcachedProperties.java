@@ -160,6 +160,11 @@ public class BaseMemcachedProperties implements Serializable {
         /**
          * Handles old whalin encoding: data type is in the first byte of the value.
          */
-        WHALINV1
+        WHALINV1,
+        /**
+         * Transcoder that stores tickets using the CAS ticket serializers, following
+         * the serialization format of the ticket registry. Only applies to the ticket registry.
+         */
+        TICKET
     }
 }
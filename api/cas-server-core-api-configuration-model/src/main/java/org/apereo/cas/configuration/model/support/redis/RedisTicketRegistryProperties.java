@@ -58,6 +58,16 @@ public class RedisTicketRegistryProperties extends BaseRedisProperties {
      */
     private boolean enableRedisSearch = true;
 
+    /**
+     * Maintain secondary index sets that link attribute names and values
+     * to ticket-granting tickets, so looking up sessions by attributes
+     * can be answered from the index when RediSearch is not available,
+     * rather than by walking through every ticket in the keyspace.
+     * Index keys are digested attribute names and values,
+     * and consume additional memory proportional to the number of attribute values per session.
+     */
+    private boolean enableAttributeIndex;
+
     public RedisTicketRegistryProperties() {
         crypto.setEnabled(false);
     }
@@ -0,0 +1,48 @@
+package org.apereo.cas.configuration.model.support.services;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * This is {@link ResourceBasedServiceRegistryLoadingProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@RequiresModule(name = "cas-server-core-services", automated = true)
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonFilter("ResourceBasedServiceRegistryLoadingProperties")
+public class ResourceBasedServiceRegistryLoadingProperties implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 2213409652841650274L;
+
+    /**
+     * Number of service definition files that may be parsed concurrently
+     * when the service registry is loaded. A value of {@code 1} parses files one at a time.
+     */
+    private int parallelism = 1;
+
+    /**
+     * Remember the modification time, size and content digest of each service definition file
+     * along with the services parsed from it, so that reloading the service registry
+     * only parses files that have changed since they were last loaded.
+     */
+    private boolean incremental;
+
+    /**
+     * Location of a file that holds a JSON snapshot of parsed service definitions, used
+     * to skip parsing of unchanged service definition files when CAS restarts.
+     * The snapshot is refreshed every time the service registry is loaded and files have changed.
+     * Only applicable when loading is incremental; leave blank to disable snapshots.
+     */
+    private String snapshotLocation;
+}
@@ -1,6 +1,7 @@
 package org.apereo.cas.configuration.model.support.services.json;
 
 import org.apereo.cas.configuration.model.SpringResourceProperties;
+import org.apereo.cas.configuration.model.support.services.ResourceBasedServiceRegistryLoadingProperties;
 import org.apereo.cas.configuration.support.RequiresModule;
 
 import com.fasterxml.jackson.annotation.JsonFilter;
@@ -8,6 +9,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 
@@ -45,6 +47,12 @@ public class JsonServiceRegistryProperties extends SpringResourceProperties {
      */
     private boolean watcherEnabled = true;
 
+    /**
+     * Control how service definition files are loaded and parsed.
+     */
+    @NestedConfigurationProperty
+    private ResourceBasedServiceRegistryLoadingProperties loading = new ResourceBasedServiceRegistryLoadingProperties();
+
     public JsonServiceRegistryProperties() {
         setLocation(DEFAULT_LOCATION);
     }
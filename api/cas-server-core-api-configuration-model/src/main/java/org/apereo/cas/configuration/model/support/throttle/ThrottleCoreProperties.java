@@ -6,6 +6,7 @@ import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -39,4 +40,10 @@ public class ThrottleCoreProperties implements Serializable {
      * Application code used to identify this application in the audit logs.
      */
     private String appCode = DEFAULT_APPLICATION_CODE;
+
+    /**
+     * Settings that control tracking failed submissions in memory via sliding-window counters.
+     */
+    @NestedConfigurationProperty
+    private ThrottleSlidingWindowProperties slidingWindow = new ThrottleSlidingWindowProperties();
 }
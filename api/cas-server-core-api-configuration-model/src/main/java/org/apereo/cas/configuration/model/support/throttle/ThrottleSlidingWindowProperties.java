@@ -0,0 +1,50 @@
+package org.apereo.cas.configuration.model.support.throttle;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Configuration properties class for the sliding-window throttling store.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@RequiresModule(name = "cas-server-support-throttle")
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonFilter("ThrottleSlidingWindowProperties")
+public class ThrottleSlidingWindowProperties implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 3526185317208474630L;
+
+    /**
+     * Whether failed submissions should be tracked in memory via per-key sliding-window counters.
+     * Each key keeps a fixed number of counters, one per slice of the failure range period,
+     * so that the memory held by a key does not grow with the number of failed attempts
+     * and checking the threshold takes constant time. The threshold is exceeded when the number
+     * of failures recorded during the failure range period divided by that period exceeds the threshold rate.
+     */
+    private boolean enabled;
+
+    /**
+     * Number of counters, or slices, that make up the sliding window
+     * that spans the failure range period. More slices make the window slide more smoothly.
+     */
+    private int buckets = 10;
+
+    /**
+     * Maximum number of keys that are tracked at any given time.
+     * Once the limit is reached, keys that have not been used recently are evicted
+     * to make room for new ones, which bounds the memory used by the store under
+     * attacks that rotate through a large number of usernames or addresses.
+     */
+    private long maximumKeys = 100_000;
+}
@@ -0,0 +1,29 @@
+package org.apereo.cas.support.events.authentication;
+
+import org.apereo.cas.support.events.AbstractCasEvent;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.apereo.inspektr.common.web.ClientInfo;
+
+import java.io.Serial;
+
+/**
+ * This is {@link CasPasswordChangeSuccessfulEvent}, signaled once the password of an account is successfully changed.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@ToString(callSuper = true)
+@Getter
+public class CasPasswordChangeSuccessfulEvent extends AbstractCasEvent {
+    @Serial
+    private static final long serialVersionUID = 3926437823508826458L;
+
+    private final String username;
+
+    public CasPasswordChangeSuccessfulEvent(final Object source, final String username, final ClientInfo clientInfo) {
+        super(source, clientInfo);
+        this.username = username;
+    }
+}
@@ -4,6 +4,7 @@ import org.apereo.cas.services.RegisteredService;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * This is {@link PrincipalAttributesRepositoryCache}.
@@ -34,6 +35,26 @@ public interface PrincipalAttributesRepositoryCache {
                                               RegisteredServicePrincipalAttributesRepository repository,
                                               Principal principal);
 
+    /**
+     * Fetch attributes, and load them using the given loader if none are cached.
+     * The loader is expected to put the attributes it produces into this cache.
+     * Implementations may coalesce concurrent requests for the same principal,
+     * such that only one of them invokes the loader while others wait for its result.
+     *
+     * @param registeredService the registered service
+     * @param repository        the repository
+     * @param principal         the principal
+     * @param loader            the loader
+     * @return the map
+     */
+    default Map<String, List<Object>> fetchAttributes(final RegisteredService registeredService,
+                                                      final RegisteredServicePrincipalAttributesRepository repository,
+                                                      final Principal principal,
+                                                      final Supplier<Map<String, List<Object>>> loader) {
+        final Map<String, List<Object>> cachedAttributes = fetchAttributes(registeredService, repository, principal);
+        return cachedAttributes != null && !cachedAttributes.isEmpty() ? cachedAttributes : loader.get();
+    }
+
     /**
      * Put attributes.
      *
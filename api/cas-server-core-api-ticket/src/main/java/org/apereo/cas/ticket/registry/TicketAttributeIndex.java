@@ -0,0 +1,79 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+
+import java.util.Set;
+
+/**
+ * This is {@link TicketAttributeIndex}. It is an inverted index that links attribute names and values
+ * of ticket-granting tickets to the keys under which those tickets are stored in the ticket registry,
+ * so that sessions may be looked up by attributes without scanning the entire registry.
+ * Index keys are calculated by the ticket registry from digested attribute names and values;
+ * ticket keys are ticket identifiers as digested by the ticket registry.
+ * Results of a lookup are candidates only, and are expected to be verified by the ticket registry.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+public interface TicketAttributeIndex {
+    /**
+     * Default bean name.
+     */
+    String BEAN_NAME = "ticketAttributeIndex";
+
+    /**
+     * No-op ticket attribute index that tracks nothing.
+     *
+     * @return the ticket attribute index
+     */
+    static TicketAttributeIndex noOp() {
+        return new TicketAttributeIndex() {
+        };
+    }
+
+    /**
+     * Link the ticket to the given index keys. Links to keys that are no longer
+     * given may be dropped, or left behind to be filtered out when tickets are verified.
+     *
+     * @param ticket    the ticket
+     * @param ticketKey the ticket key
+     * @param indexKeys the index keys
+     */
+    default void index(final Ticket ticket, final String ticketKey, final Set<String> indexKeys) {
+    }
+
+    /**
+     * Remove the ticket from the index. Index keys may be empty when they are not known
+     * to the caller, in which case the index should remove all links to the ticket if it can.
+     *
+     * @param ticketKey the ticket key
+     * @param indexKeys the index keys
+     */
+    default void remove(final String ticketKey, final Set<String> indexKeys) {
+    }
+
+    /**
+     * Find keys of tickets that are linked to any of the given index keys.
+     *
+     * @param indexKeys the index keys
+     * @return the ticket keys
+     */
+    default Set<String> find(final Set<String> indexKeys) {
+        return Set.of();
+    }
+
+    /**
+     * Remove all entries from the index.
+     */
+    default void clear() {
+    }
+
+    /**
+     * Whether this index is tracking tickets.
+     *
+     * @return true/false
+     */
+    default boolean isEnabled() {
+        return false;
+    }
+}
@@ -0,0 +1,80 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+
+import java.time.ZonedDateTime;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link TicketExpirationIndex}. It tracks the projected expiration time of tickets
+ * as they are added to the ticket registry, so that the ticket registry cleaner
+ * may only visit tickets that are due to expire instead of scanning the entire registry.
+ * Ticket registries may provide implementations that are backed by the underlying
+ * storage natively, such as sorted sets, indexed columns or time-to-live fields.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+public interface TicketExpirationIndex {
+    /**
+     * Default bean name.
+     */
+    String BEAN_NAME = "ticketExpirationIndex";
+
+    /**
+     * No-op ticket expiration index that tracks nothing.
+     *
+     * @return the ticket expiration index
+     */
+    static TicketExpirationIndex noOp() {
+        return new TicketExpirationIndex() {
+        };
+    }
+
+    /**
+     * Schedule the ticket based on its projected expiration time,
+     * replacing any previous schedule for the same ticket.
+     *
+     * @param ticket the ticket
+     */
+    default void schedule(final Ticket ticket) {
+    }
+
+    /**
+     * Remove the ticket from the index.
+     *
+     * @param ticketId the ticket id
+     */
+    default void remove(final String ticketId) {
+    }
+
+    /**
+     * Remove and return identifiers of tickets whose projected
+     * expiration time has come due at the given instant.
+     * Tickets that turn out to be still valid must be scheduled again.
+     *
+     * @param now the current time
+     * @return the ticket identifiers
+     */
+    default Stream<String> pollDueTickets(final ZonedDateTime now) {
+        return Stream.empty();
+    }
+
+    /**
+     * Number of tickets tracked by the index.
+     *
+     * @return the size
+     */
+    default long size() {
+        return 0;
+    }
+
+    /**
+     * Whether this index is tracking tickets.
+     *
+     * @return true/false
+     */
+    default boolean isEnabled() {
+        return false;
+    }
+}
@@ -157,6 +157,24 @@ public interface TicketRegistry {
         return getTickets().stream();
     }
 
+    /**
+     * Gets the stream of tickets that belong to the given partition of the registry.
+     * For a given number of partitions, every ticket belongs to exactly one partition,
+     * so that partitions can be processed independently of one another. Registries
+     * may override this to partition tickets based on how they are stored,
+     * so that tickets outside the partition are not read at all.
+     * <p>
+     * The returning stream may be bound to an IO channel (such as database connection),
+     * so it should be properly closed after usage.
+     *
+     * @param partition      the partition
+     * @param partitionCount the number of partitions
+     * @return the tickets stream
+     */
+    default Stream<? extends Ticket> stream(final int partition, final int partitionCount) {
+        return stream().filter(ticket -> Math.floorMod(ticket.getId().hashCode(), partitionCount) == partition);
+    }
+
     /**
      * Count the number of single sign-on sessions
      * that are recorded in the ticket registry for
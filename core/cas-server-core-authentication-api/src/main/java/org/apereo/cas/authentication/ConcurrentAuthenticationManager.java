@@ -0,0 +1,211 @@
+package org.apereo.cas.authentication;
+
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.support.events.authentication.CasAuthenticationTransactionStartedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apereo.inspektr.common.web.ClientInfo;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.webflow.execution.RequestContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * This is {@link ConcurrentAuthenticationManager}, which invokes all authentication handlers
+ * that support a credential at the same time, rather than one after another.
+ * Results are processed on the calling thread in the order in which handlers are defined, exactly as
+ * the default authentication manager would process them: the result of a handler is only looked at once
+ * all handlers before it have completed, so that a handler that completes early cannot overtake
+ * the failure of an earlier handler that should stop the authentication chain.
+ * Once policies are satisfied, or once a failure should not allow the authentication chain
+ * to proceed, handlers that are still running are cancelled and their results discarded.
+ * Handlers run on a bounded pool of threads shared by all authentication attempts, with a bounded queue
+ * in front of it; once the queue is full, the authentication attempt fails right away rather than waiting its turn.
+ * The client info, the current HTTP request, the webflow request context and the security context of the calling
+ * thread are made available to handlers while they run, and the time each handler took is recorded as an authentication attribute.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+public class ConcurrentAuthenticationManager extends DefaultAuthenticationManager implements DisposableBean {
+    /**
+     * Authentication attribute that records how long each handler took, as {@code handler-name:milliseconds}.
+     */
+    public static final String AUTHENTICATION_HANDLER_EXECUTION_TIME = "authenticationHandlerExecutionTime";
+
+    private final ExecutorService executorService;
+
+    private final Duration timeout;
+
+    public ConcurrentAuthenticationManager(final AuthenticationEventExecutionPlan authenticationEventExecutionPlan,
+                                           final boolean principalResolutionFailureFatal,
+                                           final ConfigurableApplicationContext applicationContext,
+                                           final int poolSize, final int queueCapacity, final Duration timeout) {
+        super(authenticationEventExecutionPlan, principalResolutionFailureFatal, applicationContext);
+        this.executorService = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), new CustomizableThreadFactory("cas-authentication-handler-"),
+            new ThreadPoolExecutor.AbortPolicy());
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void destroy() {
+        executorService.shutdownNow();
+    }
+
+    @Override
+    protected void authenticateCredential(final AuthenticationBuilder builder,
+                                          final Credential credential,
+                                          final Set<AuthenticationHandler> handlerSet,
+                                          final AuthenticationTransaction transaction) {
+        val supportingHandlers = handlerSet.stream().filter(handler -> handler.supports(credential)).toList();
+        if (supportingHandlers.size() < 2) {
+            super.authenticateCredential(builder, credential, handlerSet, transaction);
+            return;
+        }
+
+        val context = CallerContext.capture();
+        val executions = new ArrayList<Future<HandlerExecution>>(supportingHandlers.size());
+        try {
+            supportingHandlers.forEach(handler -> {
+                LOGGER.debug("Submitting authentication of [{}] using [{}]", credential.getId(), handler.getName());
+                publishEvent(new CasAuthenticationTransactionStartedEvent(this, credential, context.clientInfo()));
+                executions.add(executorService.submit(() -> execute(handler, credential, transaction.getService(), context)));
+            });
+        } catch (final RejectedExecutionException e) {
+            LOGGER.warn("Authentication handlers are saturated and cannot accept the authentication of [{}]", credential.getId());
+            executions.forEach(future -> future.cancel(true));
+            supportingHandlers.forEach(handler -> handleAuthenticationException(e, handler.getName(), builder));
+            return;
+        }
+
+        val deadline = System.nanoTime() + timeout.toNanos();
+        var processed = 0;
+        try {
+            var proceedWithNextHandler = true;
+            while (proceedWithNextHandler && processed < executions.size()) {
+                val execution = executions.get(processed).get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                val handler = supportingHandlers.get(processed++);
+                proceedWithNextHandler = processExecution(builder, credential, handler, execution, handlerSet, transaction);
+            }
+        } catch (final TimeoutException e) {
+            supportingHandlers.subList(processed, supportingHandlers.size()).forEach(handler -> handleAuthenticationException(
+                new TimeoutException("Authentication handler did not complete within " + timeout), handler.getName(), builder));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            supportingHandlers.subList(processed, supportingHandlers.size())
+                .forEach(handler -> handleAuthenticationException(e, handler.getName(), builder));
+        } catch (final ExecutionException e) {
+            LOGGER.error(e.getMessage(), e);
+        } finally {
+            val outstanding = executions.subList(processed, executions.size());
+            if (!outstanding.isEmpty()) {
+                LOGGER.debug("Cancelling [{}] outstanding authentication handler(s)", outstanding.size());
+                outstanding.forEach(future -> future.cancel(true));
+            }
+        }
+    }
+
+    /**
+     * Process the outcome of an authentication handler that has completed, once all handlers
+     * defined before it have been processed, and evaluate the authentication policies once it has succeeded.
+     *
+     * @param builder     the builder
+     * @param credential  the credential
+     * @param handler     the handler
+     * @param execution   the execution outcome
+     * @param handlerSet  the handler set
+     * @param transaction the transaction
+     * @return true if results of handlers that are still running should be processed
+     */
+    protected boolean processExecution(final AuthenticationBuilder builder,
+                                       final Credential credential,
+                                       final AuthenticationHandler handler,
+                                       final HandlerExecution execution,
+                                       final Set<AuthenticationHandler> handlerSet,
+                                       final AuthenticationTransaction transaction) {
+        val elapsed = TimeUnit.NANOSECONDS.toMillis(execution.duration());
+        LOGGER.debug("Authentication handler [{}] completed in [{}] ms", handler.getName(), elapsed);
+        builder.mergeAttribute(AUTHENTICATION_HANDLER_EXECUTION_TIME, handler.getName() + ':' + elapsed);
+        if (execution.failure() != null) {
+            return handleAuthenticationHandlerFailure(execution.failure(), handler, credential, builder, transaction);
+        }
+        try {
+            val resolver = getPrincipalResolverLinkedToHandlerIfAny(handler, transaction);
+            resolveAuthenticatedPrincipal(builder, credential, resolver, handler, transaction.getService(), execution.result());
+            return !isAuthenticationPolicySatisfied(builder, transaction, handlerSet);
+        } catch (final Exception e) {
+            return handleAuthenticationHandlerFailure(e, handler, credential, builder, transaction);
+        }
+    }
+
+    private static HandlerExecution execute(final AuthenticationHandler handler, final Credential credential,
+                                            final Service service, final CallerContext context) {
+        context.bind();
+        AuthenticationCredentialsThreadLocalBinder.bindCurrent(credential);
+        val startTime = System.nanoTime();
+        try {
+            val result = handler.authenticate(credential, service);
+            return new HandlerExecution(result, null, System.nanoTime() - startTime);
+        } catch (final Throwable e) {
+            return new HandlerExecution(null, e, System.nanoTime() - startTime);
+        } finally {
+            AuthenticationCredentialsThreadLocalBinder.clear();
+            context.clear();
+        }
+    }
+
+    /**
+     * Outcome of a single authentication handler execution.
+     *
+     * @param result   the result, if the handler succeeded
+     * @param failure  the failure, if the handler failed
+     * @param duration the time the handler took in nanoseconds
+     */
+    protected record HandlerExecution(AuthenticationHandlerExecutionResult result, Throwable failure, long duration) {
+    }
+
+    /**
+     * Thread-bound state of the calling thread that handlers may rely on.
+     */
+    private record CallerContext(ClientInfo clientInfo, RequestAttributes requestAttributes,
+                                 RequestContext requestContext, SecurityContext securityContext) {
+        static CallerContext capture() {
+            return new CallerContext(ClientInfoHolder.getClientInfo(), RequestContextHolder.getRequestAttributes(),
+                org.springframework.webflow.execution.RequestContextHolder.getRequestContext(), SecurityContextHolder.getContext());
+        }
+
+        void bind() {
+            ClientInfoHolder.setClientInfo(clientInfo);
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            org.springframework.webflow.execution.RequestContextHolder.setRequestContext(requestContext);
+            SecurityContextHolder.setContext(securityContext);
+        }
+
+        void clear() {
+            SecurityContextHolder.clearContext();
+            org.springframework.webflow.execution.RequestContextHolder.setRequestContext(null);
+            RequestContextHolder.resetRequestAttributes();
+            ClientInfoHolder.clear();
+        }
+    }
+}
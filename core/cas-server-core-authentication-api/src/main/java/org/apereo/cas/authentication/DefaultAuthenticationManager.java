@@ -181,10 +181,30 @@ public class DefaultAuthenticationManager implements AuthenticationManager {
                                                    final PrincipalResolver resolver,
                                                    final AuthenticationHandler handler,
                                                    final Service service) throws Exception {
-        val clientInfo = ClientInfoHolder.getClientInfo();
-        publishEvent(new CasAuthenticationTransactionStartedEvent(this, credential, clientInfo));
-
+        publishEvent(new CasAuthenticationTransactionStartedEvent(this, credential, ClientInfoHolder.getClientInfo()));
         val result = handler.authenticate(credential, service);
+        resolveAuthenticatedPrincipal(builder, credential, resolver, handler, service, result);
+    }
+
+    /**
+     * Record the successful result of the authentication handler
+     * and resolve the principal for the authenticated credential.
+     *
+     * @param builder    the builder
+     * @param credential the credential
+     * @param resolver   the resolver
+     * @param handler    the handler
+     * @param service    the service
+     * @param result     the result produced by the handler
+     * @throws Exception the exception
+     */
+    protected void resolveAuthenticatedPrincipal(final AuthenticationBuilder builder,
+                                                 final Credential credential,
+                                                 final PrincipalResolver resolver,
+                                                 final AuthenticationHandler handler,
+                                                 final Service service,
+                                                 final AuthenticationHandlerExecutionResult result) throws Exception {
+        val clientInfo = ClientInfoHolder.getClientInfo();
         val authenticationHandlerName = handler.getName();
         builder.addSuccess(authenticationHandlerName, result);
         LOGGER.debug("Authentication handler [{}] successfully authenticated [{}]", authenticationHandlerName, credential);
@@ -276,38 +296,7 @@ public class DefaultAuthenticationManager implements AuthenticationManager {
             while (it.hasNext()) {
                 val credential = it.next();
                 LOGGER.debug("Attempting to authenticate credential [{}]", credential);
-
-                val itHandlers = handlerSet.iterator();
-                var proceedWithNextHandler = true;
-                while (proceedWithNextHandler && itHandlers.hasNext()) {
-                    val handler = itHandlers.next();
-                    if (handler.supports(credential)) {
-                        try {
-                            val resolver = getPrincipalResolverLinkedToHandlerIfAny(handler, transaction);
-                            LOGGER.debug("Attempting authentication of [{}] using [{}]", credential.getId(), handler.getName());
-                            authenticateAndResolvePrincipal(builder, credential, resolver, handler, transaction.getService());
-
-                            val authnResult = builder.build();
-                            AuthenticationCredentialsThreadLocalBinder.bindInProgress(authnResult);
-                            val executionResult = evaluateAuthenticationPolicies(authnResult, transaction, handlerSet);
-                            proceedWithNextHandler = !executionResult.isSuccess();
-                        } catch (final GeneralSecurityException e) {
-                            handleAuthenticationException(e, handler.getName(), builder);
-                            proceedWithNextHandler = shouldAuthenticationChainProceedOnFailure(transaction, e);
-                        } catch (final Exception e) {
-                            LOGGER.error("Authentication has failed. Credentials may be incorrect or CAS cannot "
-                                         + "find authentication handler that supports [{}] of type [{}]. Examine the configuration to "
-                                         + "ensure a method of authentication is defined and analyze CAS logs at DEBUG level to trace "
-                                         + "the authentication event.", credential, credential.getClass().getSimpleName());
-
-                            handleAuthenticationException(e, handler.getName(), builder);
-                            proceedWithNextHandler = shouldAuthenticationChainProceedOnFailure(transaction, e);
-                        }
-                    } else {
-                        LOGGER.debug("Authentication handler [{}] does not support the credential type [{}].",
-                            handler.getName(), credential);
-                    }
-                }
+                authenticateCredential(builder, credential, handlerSet, transaction);
             }
             evaluateFinalAuthentication(builder, transaction, handlerSet);
             return builder;
@@ -316,6 +305,81 @@ public class DefaultAuthenticationManager implements AuthenticationManager {
         }
     }
 
+    /**
+     * Authenticate the credential by invoking authentication handlers that support it one after another,
+     * until the authentication policies are satisfied or a failure stops the authentication chain.
+     *
+     * @param builder     the builder
+     * @param credential  the credential
+     * @param handlerSet  the handler set
+     * @param transaction the transaction
+     */
+    protected void authenticateCredential(final AuthenticationBuilder builder,
+                                          final Credential credential,
+                                          final Set<AuthenticationHandler> handlerSet,
+                                          final AuthenticationTransaction transaction) {
+        val itHandlers = handlerSet.iterator();
+        var proceedWithNextHandler = true;
+        while (proceedWithNextHandler && itHandlers.hasNext()) {
+            val handler = itHandlers.next();
+            if (handler.supports(credential)) {
+                try {
+                    val resolver = getPrincipalResolverLinkedToHandlerIfAny(handler, transaction);
+                    LOGGER.debug("Attempting authentication of [{}] using [{}]", credential.getId(), handler.getName());
+                    authenticateAndResolvePrincipal(builder, credential, resolver, handler, transaction.getService());
+                    proceedWithNextHandler = !isAuthenticationPolicySatisfied(builder, transaction, handlerSet);
+                } catch (final Exception e) {
+                    proceedWithNextHandler = handleAuthenticationHandlerFailure(e, handler, credential, builder, transaction);
+                }
+            } else {
+                LOGGER.debug("Authentication handler [{}] does not support the credential type [{}].",
+                    handler.getName(), credential);
+            }
+        }
+    }
+
+    /**
+     * Evaluate the authentication policies against the authentication that is in progress.
+     *
+     * @param builder     the builder
+     * @param transaction the transaction
+     * @param handlerSet  the handler set
+     * @return true if policies are satisfied and no further handlers need to be invoked
+     */
+    protected boolean isAuthenticationPolicySatisfied(final AuthenticationBuilder builder,
+                                                      final AuthenticationTransaction transaction,
+                                                      final Set<AuthenticationHandler> handlerSet) {
+        val authnResult = builder.build();
+        AuthenticationCredentialsThreadLocalBinder.bindInProgress(authnResult);
+        val executionResult = evaluateAuthenticationPolicies(authnResult, transaction, handlerSet);
+        return executionResult.isSuccess();
+    }
+
+    /**
+     * Record the failure of an authentication handler.
+     *
+     * @param failure     the failure
+     * @param handler     the handler
+     * @param credential  the credential
+     * @param builder     the builder
+     * @param transaction the transaction
+     * @return true if the authentication chain should proceed with the next handler
+     */
+    protected boolean handleAuthenticationHandlerFailure(final Throwable failure,
+                                                         final AuthenticationHandler handler,
+                                                         final Credential credential,
+                                                         final AuthenticationBuilder builder,
+                                                         final AuthenticationTransaction transaction) {
+        if (!(failure instanceof GeneralSecurityException)) {
+            LOGGER.error("Authentication has failed. Credentials may be incorrect or CAS cannot "
+                         + "find authentication handler that supports [{}] of type [{}]. Examine the configuration to "
+                         + "ensure a method of authentication is defined and analyze CAS logs at DEBUG level to trace "
+                         + "the authentication event.", credential, credential.getClass().getSimpleName());
+        }
+        handleAuthenticationException(failure, handler.getName(), builder);
+        return shouldAuthenticationChainProceedOnFailure(transaction, failure);
+    }
+
     /**
      * Evaluate produced authentication context.
      * We apply an implicit security policy of at least one successful authentication.
@@ -414,8 +478,8 @@ public class DefaultAuthenticationManager implements AuthenticationManager {
         }
     }
 
-    private boolean shouldAuthenticationChainProceedOnFailure(final AuthenticationTransaction transaction,
-                                                              final Throwable failure) {
+    protected boolean shouldAuthenticationChainProceedOnFailure(final AuthenticationTransaction transaction,
+                                                                final Throwable failure) {
         val policies = authenticationEventExecutionPlan.getAuthenticationPolicies(transaction);
         return policies.stream().anyMatch(policy -> policy.shouldResumeOnFailure(failure));
     }
@@ -0,0 +1,120 @@
+package org.apereo.cas.authentication.principal.cache;
+
+import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.authentication.principal.PrincipalAttributesRepositoryCache;
+import org.apereo.cas.authentication.principal.RegisteredServicePrincipalAttributesRepository;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.util.DigestUtils;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * This is {@link AbstractPrincipalAttributesRepositoryCache}, which coalesces concurrent
+ * requests for attributes of the same principal that are not yet cached: only the first request
+ * invokes the attribute repositories, while others wait for and share its result.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+public abstract class AbstractPrincipalAttributesRepositoryCache implements PrincipalAttributesRepositoryCache, Closeable {
+    private static final String DEFAULT_CACHE_EXPIRATION_UNIT = TimeUnit.HOURS.name();
+
+    private final Map<String, CompletableFuture<Map<String, List<Object>>>> pendingLoads = new ConcurrentHashMap<>();
+
+    /**
+     * Build registered service cache key string.
+     *
+     * @param registeredService the registered service
+     * @return the string
+     */
+    protected static String buildRegisteredServiceCacheKey(final RegisteredService registeredService) {
+        val key = registeredService.getId() + "@" + registeredService.getName();
+        return DigestUtils.sha512(key);
+    }
+
+    /**
+     * Build cache key for the principal, scoped to the registered service.
+     *
+     * @param registeredService the registered service
+     * @param id                the principal id
+     * @return the string
+     */
+    protected static String buildPrincipalCacheKey(final RegisteredService registeredService, final String id) {
+        return buildRegisteredServiceCacheKey(registeredService) + ':' + id;
+    }
+
+    /**
+     * Gets the expiration period defined by the caching repository.
+     *
+     * @param repository the repository
+     * @return the expiration
+     */
+    protected static Duration getExpiration(final RegisteredServicePrincipalAttributesRepository repository) {
+        val cachedRepository = CachingPrincipalAttributesRepository.class.cast(repository);
+        val unit = TimeUnit.valueOf(StringUtils.defaultString(cachedRepository.getTimeUnit(), DEFAULT_CACHE_EXPIRATION_UNIT));
+        return Duration.ofNanos(unit.toNanos(cachedRepository.getExpiration()));
+    }
+
+    @Override
+    public void close() {
+        invalidate();
+    }
+
+    @Override
+    public Map<String, List<Object>> fetchAttributes(final RegisteredService registeredService,
+                                                     final RegisteredServicePrincipalAttributesRepository repository,
+                                                     final Principal principal,
+                                                     final Supplier<Map<String, List<Object>>> loader) {
+        val cachedAttributes = fetchAttributes(registeredService, repository, principal);
+        if (cachedAttributes != null && !cachedAttributes.isEmpty()) {
+            return cachedAttributes;
+        }
+        return loadAttributes(registeredService, repository, principal, loader);
+    }
+
+    /**
+     * Load attributes for the principal once, no matter how many requests ask for them concurrently.
+     * If the request that loads attributes fails, waiting requests will attempt to load attributes on their own.
+     *
+     * @param registeredService the registered service
+     * @param repository        the repository
+     * @param principal         the principal
+     * @param loader            the loader
+     * @return the attributes
+     */
+    protected Map<String, List<Object>> loadAttributes(final RegisteredService registeredService,
+                                                       final RegisteredServicePrincipalAttributesRepository repository,
+                                                       final Principal principal,
+                                                       final Supplier<Map<String, List<Object>>> loader) {
+        val key = buildPrincipalCacheKey(registeredService, principal.getId());
+        val pendingLoad = new CompletableFuture<Map<String, List<Object>>>();
+        val existingLoad = pendingLoads.putIfAbsent(key, pendingLoad);
+        if (existingLoad != null) {
+            LOGGER.debug("Waiting for attributes of [{}] that are being loaded by another request", principal.getId());
+            val attributes = existingLoad.join();
+            return attributes != null ? attributes : loader.get();
+        }
+
+        Map<String, List<Object>> attributes = null;
+        try {
+            val cachedAttributes = fetchAttributes(registeredService, repository, principal);
+            attributes = cachedAttributes != null && !cachedAttributes.isEmpty() ? cachedAttributes : loader.get();
+            return attributes;
+        } finally {
+            pendingLoads.remove(key, pendingLoad);
+            pendingLoad.complete(attributes);
+        }
+    }
+}
@@ -56,15 +56,27 @@ public class CachingPrincipalAttributesRepository extends AbstractPrincipalAttri
 
     @Override
     public Map<String, List<Object>> getAttributes(final Principal principal, final RegisteredService registeredService) {
+        return ApplicationContextProvider.getPrincipalAttributesRepositoryCache()
+            .map(cache -> {
+                val attributes = cache.fetchAttributes(registeredService, this, principal,
+                    () -> loadPrincipalAttributes(principal, registeredService));
+                LOGGER.debug("Found [{}] attributes for principal [{}] that are [{}]", attributes.size(), principal.getId(), attributes);
+                return attributes;
+            })
+            .orElseGet(() -> loadPrincipalAttributes(principal, registeredService));
+    }
+
+    /**
+     * Load principal attributes from the principal and attribute repositories, and cache the results.
+     *
+     * @param principal         the principal
+     * @param registeredService the registered service
+     * @return the principal attributes
+     */
+    protected Map<String, List<Object>> loadPrincipalAttributes(final Principal principal, final RegisteredService registeredService) {
         val mergeStrategy = determineMergingStrategy();
         LOGGER.trace("Determined merging strategy as [{}]", mergeStrategy);
 
-        val cachedAttributes = fetchCachedPrincipalAttributes(principal, registeredService);
-        if (cachedAttributes != null && !cachedAttributes.isEmpty()) {
-            LOGGER.debug("Found [{}] cached attributes for principal [{}] that are [{}]", cachedAttributes.size(), principal.getId(), cachedAttributes);
-            return cachedAttributes;
-        }
-
         val principalAttributes = getPrincipalAttributes(principal);
         LOGGER.trace("Principal attributes extracted for [{}] are [{}]", principal.getId(), principalAttributes);
 
@@ -0,0 +1,120 @@
+package org.apereo.cas.authentication.principal.cache;
+
+import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.authentication.principal.RegisteredServicePrincipalAttributesRepository;
+import org.apereo.cas.services.RegisteredService;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * This is {@link WeightedPrincipalAttributesRepositoryCache}, an in-memory cache that is bounded
+ * by the approximate amount of memory held by cached attributes rather than by the number of entries.
+ * Principals with large attribute payloads, such as long lists of group memberships, are evicted
+ * sooner than principals with few attributes. Entries expire after the period defined
+ * by the caching repository of each registered service.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+public class WeightedPrincipalAttributesRepositoryCache extends AbstractPrincipalAttributesRepositoryCache {
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private static final int VALUE_OVERHEAD = 16;
+
+    private final Cache<String, CachedAttributes> cache;
+
+    public WeightedPrincipalAttributesRepositoryCache(final long maximumPayloadSize) {
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maximumPayloadSize)
+            .weigher((String key, CachedAttributes value) -> value.weight())
+            .expireAfter(new Expiry<String, CachedAttributes>() {
+                @Override
+                public long expireAfterCreate(final String key, final CachedAttributes value, final long currentTime) {
+                    return value.expirationNanos();
+                }
+
+                @Override
+                public long expireAfterUpdate(final String key, final CachedAttributes value,
+                                              final long currentTime, final long currentDuration) {
+                    return value.expirationNanos();
+                }
+
+                @Override
+                public long expireAfterRead(final String key, final CachedAttributes value,
+                                            final long currentTime, final long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+    }
+
+    /**
+     * Estimate the number of bytes held by the cached attributes.
+     *
+     * @param key        the key
+     * @param attributes the attributes
+     * @return the weight
+     */
+    protected static int estimateWeight(final String key, final Map<String, List<Object>> attributes) {
+        var weight = ENTRY_OVERHEAD + (long) key.length() * Character.BYTES;
+        for (val entry : attributes.entrySet()) {
+            weight += VALUE_OVERHEAD + (long) entry.getKey().length() * Character.BYTES;
+            if (entry.getValue() != null) {
+                for (val value : entry.getValue()) {
+                    weight += VALUE_OVERHEAD + (long) Objects.toString(value, StringUtils.EMPTY).length() * Character.BYTES;
+                }
+            }
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void invalidate() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public Map<String, List<Object>> fetchAttributes(final RegisteredService registeredService,
+                                                     final RegisteredServicePrincipalAttributesRepository repository,
+                                                     final Principal principal) {
+        val cachedAttributes = cache.getIfPresent(buildPrincipalCacheKey(registeredService, principal.getId()));
+        if (cachedAttributes == null) {
+            LOGGER.debug("No cached attributes could be found for [{}]", principal.getId());
+            return new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        }
+        return cachedAttributes.attributes();
+    }
+
+    @Override
+    public void putAttributes(final RegisteredService registeredService,
+                              final RegisteredServicePrincipalAttributesRepository repository,
+                              final String id, final Map<String, List<Object>> attributes) {
+        val key = buildPrincipalCacheKey(registeredService, id);
+        val cachedAttributes = new TreeMap<String, List<Object>>(String.CASE_INSENSITIVE_ORDER);
+        cachedAttributes.putAll(attributes);
+        cache.put(key, new CachedAttributes(cachedAttributes, getExpiration(repository).toNanos(), estimateWeight(key, attributes)));
+    }
+
+    /**
+     * Gets the approximate number of bytes held by cached attributes.
+     *
+     * @return the weighted size
+     */
+    public long getWeightedSize() {
+        return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+    }
+
+    private record CachedAttributes(Map<String, List<Object>> attributes, long expirationNanos, int weight) {
+    }
+}
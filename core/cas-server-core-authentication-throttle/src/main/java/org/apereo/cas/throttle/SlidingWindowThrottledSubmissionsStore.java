@@ -0,0 +1,181 @@
+package org.apereo.cas.throttle;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.web.support.ThrottledSubmission;
+import org.apereo.cas.web.support.ThrottledSubmissionsStore;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link SlidingWindowThrottledSubmissionsStore}, which counts failed submissions per key
+ * in a sliding window that spans the failure range period. The window is split into a fixed number of slices,
+ * each of which is a single primitive counter that is updated without locking, so that the memory held by a key
+ * does not grow with the number of failed attempts and checking the threshold takes constant time.
+ * Only the most recent submission is kept for each key. The number of tracked keys is bounded;
+ * keys that have not been used recently are evicted first once the limit is reached.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+public class SlidingWindowThrottledSubmissionsStore implements ThrottledSubmissionsStore<ThrottledSubmission> {
+    private static final double MILLIS_PER_SECOND = 1000.0D;
+
+    private final Cache<String, SlidingWindowCounter> counters;
+
+    private final Clock clock;
+
+    private final int buckets;
+
+    private final long windowMillis;
+
+    private final long bucketMillis;
+
+    public SlidingWindowThrottledSubmissionsStore(final CasConfigurationProperties casProperties) {
+        this(casProperties, Clock.systemUTC());
+    }
+
+    public SlidingWindowThrottledSubmissionsStore(final CasConfigurationProperties casProperties, final Clock clock) {
+        val throttle = casProperties.getAuthn().getThrottle();
+        val slidingWindow = throttle.getCore().getSlidingWindow();
+        this.clock = clock;
+        this.buckets = Math.max(1, slidingWindow.getBuckets());
+        this.windowMillis = TimeUnit.SECONDS.toMillis(Math.max(1, throttle.getFailure().getRangeSeconds()));
+        this.bucketMillis = Math.max(1, windowMillis / buckets);
+        val throttleWindow = Beans.newDuration(throttle.getFailure().getThrottleWindowSeconds());
+        this.counters = Caffeine.newBuilder()
+            .maximumSize(slidingWindow.getMaximumKeys())
+            .expireAfterAccess(Duration.ofMillis(Math.max(windowMillis, throttleWindow.toMillis())))
+            .executor(Runnable::run)
+            .build();
+    }
+
+    @Override
+    public void removeIf(final Predicate<ThrottledSubmission> condition) {
+        counters.asMap().values().removeIf(counter -> counter.getSubmission() != null && condition.test(counter.getSubmission()));
+    }
+
+    @Override
+    public void remove(final String key) {
+        counters.invalidate(key);
+    }
+
+    @Override
+    public void put(final ThrottledSubmission submission) {
+        val counter = counters.get(submission.getKey(), key -> new SlidingWindowCounter(buckets));
+        counter.record(submission, clock.millis() / bucketMillis);
+    }
+
+    @Override
+    public boolean contains(final String key) {
+        return counters.asMap().containsKey(key);
+    }
+
+    @Override
+    public ThrottledSubmission get(final String key) {
+        val counter = counters.asMap().get(key);
+        return counter == null ? null : counter.getSubmission();
+    }
+
+    @Override
+    public Stream<ThrottledSubmission> entries() {
+        return counters.asMap().values().stream().map(SlidingWindowCounter::getSubmission).filter(Objects::nonNull);
+    }
+
+    @Override
+    public boolean exceedsThreshold(final String key, final double thresholdRate) {
+        val counter = counters.asMap().get(key);
+        if (counter == null) {
+            return false;
+        }
+        val failures = counter.count(clock.millis() / bucketMillis);
+        val rate = failures * MILLIS_PER_SECOND / windowMillis;
+        LOGGER.debug("Key [{}] has [{}] failed submission(s) within the window, at a rate of [{}]", key, failures, rate);
+        return rate > thresholdRate;
+    }
+
+    /**
+     * Release keys that no longer have failures within the window and are no longer throttled.
+     * Failures age out of the window on their own, so the threshold rate does not come into play here.
+     *
+     * @param thresholdRate the threshold rate
+     */
+    @Override
+    public void release(final double thresholdRate) {
+        val now = ZonedDateTime.now(clock);
+        val bucket = clock.millis() / bucketMillis;
+        counters.asMap().values().removeIf(counter -> {
+            val submission = counter.getSubmission();
+            if (submission == null || counter.count(bucket) > 0) {
+                return false;
+            }
+            return submission.getExpiration() == null || !now.isBefore(submission.getExpiration());
+        });
+    }
+
+    /**
+     * Gets the number of tracked keys.
+     *
+     * @return the size
+     */
+    public long size() {
+        counters.cleanUp();
+        return counters.estimatedSize();
+    }
+
+    /**
+     * Ring buffer of counters, one per slice of the window. Each slot packs the index of the slice
+     * it was last used for into the upper bits and the number of failures into the lower bits,
+     * so that a slot can be recycled for a new slice and incremented in a single atomic operation.
+     */
+    private static final class SlidingWindowCounter {
+        private static final int COUNT_BITS = 20;
+
+        private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+        private final AtomicLongArray slots;
+
+        @Getter
+        private volatile ThrottledSubmission submission;
+
+        SlidingWindowCounter(final int buckets) {
+            this.slots = new AtomicLongArray(buckets);
+        }
+
+        void record(final ThrottledSubmission submission, final long bucket) {
+            this.submission = submission;
+            val index = (int) (bucket % slots.length());
+            slots.updateAndGet(index, slot -> {
+                if (slot >>> COUNT_BITS != bucket) {
+                    return (bucket << COUNT_BITS) | 1;
+                }
+                return (slot & COUNT_MASK) == COUNT_MASK ? slot : slot + 1;
+            });
+        }
+
+        long count(final long bucket) {
+            var total = 0L;
+            for (var i = 0; i < slots.length(); i++) {
+                val slot = slots.get(i);
+                if (bucket - (slot >>> COUNT_BITS) < slots.length()) {
+                    total += slot & COUNT_MASK;
+                }
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.apereo.cas.throttle;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.web.support.ThrottledSubmission;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link SlidingWindowThrottledSubmissionsStoreTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("AuthenticationThrottling")
+@SpringBootTest(classes = RefreshAutoConfiguration.class, properties = {
+    "cas.authn.throttle.failure.threshold=3",
+    "cas.authn.throttle.failure.range-seconds=10",
+    "cas.authn.throttle.core.sliding-window.enabled=true",
+    "cas.authn.throttle.core.sliding-window.buckets=10",
+    "cas.authn.throttle.core.sliding-window.maximum-keys=5"
+})
+@EnableConfigurationProperties(CasConfigurationProperties.class)
+class SlidingWindowThrottledSubmissionsStoreTests {
+    private static final double THRESHOLD_RATE = 3 / 10.0;
+
+    @Autowired
+    private CasConfigurationProperties casProperties;
+
+    @Test
+    void verifyOperation() {
+        val store = new SlidingWindowThrottledSubmissionsStore(casProperties);
+        val key = UUID.randomUUID().toString();
+        store.put(ThrottledSubmission.builder().key(key).build());
+        assertNotNull(store.get(key));
+        assertTrue(store.contains(key));
+        assertEquals(1, store.entries().count());
+        store.removeIf(entry -> entry.getKey().equals(key));
+        store.remove(key);
+        assertEquals(0, store.entries().count());
+    }
+
+    @Test
+    void verifyThresholdWithinSlidingWindow() {
+        val clock = new MutableClock(Instant.now());
+        val store = new SlidingWindowThrottledSubmissionsStore(casProperties, clock);
+        val key = UUID.randomUUID().toString();
+        for (var i = 0; i < 3; i++) {
+            store.put(ThrottledSubmission.builder().key(key).build());
+            clock.advance(Duration.ofSeconds(1));
+        }
+        assertFalse(store.exceedsThreshold(key, THRESHOLD_RATE));
+        store.put(ThrottledSubmission.builder().key(key).build());
+        assertTrue(store.exceedsThreshold(key, THRESHOLD_RATE));
+
+        clock.advance(Duration.ofSeconds(8));
+        assertFalse(store.exceedsThreshold(key, THRESHOLD_RATE));
+
+        clock.advance(Duration.ofSeconds(10));
+        store.release(THRESHOLD_RATE);
+        assertFalse(store.contains(key));
+    }
+
+    @Test
+    void verifyTrackedKeysAreBounded() {
+        val store = new SlidingWindowThrottledSubmissionsStore(casProperties);
+        for (var i = 0; i < 100; i++) {
+            store.put(ThrottledSubmission.builder().key(UUID.randomUUID().toString()).build());
+        }
+        assertTrue(store.size() <= 5);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(final Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(final Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
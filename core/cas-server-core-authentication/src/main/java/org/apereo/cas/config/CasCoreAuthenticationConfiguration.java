@@ -6,6 +6,7 @@ import org.apereo.cas.authentication.AuthenticationManager;
 import org.apereo.cas.authentication.AuthenticationResultBuilderFactory;
 import org.apereo.cas.authentication.AuthenticationTransactionFactory;
 import org.apereo.cas.authentication.AuthenticationTransactionManager;
+import org.apereo.cas.authentication.ConcurrentAuthenticationManager;
 import org.apereo.cas.authentication.DefaultAuthenticationAttributeReleasePolicy;
 import org.apereo.cas.authentication.DefaultAuthenticationEventExecutionPlan;
 import org.apereo.cas.authentication.DefaultAuthenticationManager;
@@ -14,6 +15,7 @@ import org.apereo.cas.authentication.DefaultAuthenticationTransactionFactory;
 import org.apereo.cas.authentication.DefaultAuthenticationTransactionManager;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.features.CasFeatureModule;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.util.model.TriStateBoolean;
 import org.apereo.cas.util.spring.beans.BeanSupplier;
@@ -105,6 +107,12 @@ public class CasCoreAuthenticationConfiguration {
             final ConfigurableApplicationContext applicationContext,
             @Qualifier(AuthenticationEventExecutionPlan.DEFAULT_BEAN_NAME) final AuthenticationEventExecutionPlan authenticationEventExecutionPlan) {
             val isFatal = casProperties.getPersonDirectory().getPrincipalResolutionFailureFatal() == TriStateBoolean.TRUE;
+            val engine = casProperties.getAuthn().getCore().getEngine();
+            if (engine.isConcurrentHandlerExecution()) {
+                return new ConcurrentAuthenticationManager(authenticationEventExecutionPlan, isFatal, applicationContext,
+                    engine.getConcurrentHandlerPoolSize(), engine.getConcurrentHandlerQueueCapacity(),
+                    Beans.newDuration(engine.getConcurrentHandlerTimeout()));
+            }
             return new DefaultAuthenticationManager(authenticationEventExecutionPlan, isFatal, applicationContext);
         }
     }
@@ -18,6 +18,7 @@ import org.apereo.cas.authentication.handler.RegisteredServiceAuthenticationHand
 import org.apereo.cas.authentication.policy.RegisteredServiceAuthenticationPolicyResolver;
 import org.apereo.cas.authentication.principal.PrincipalAttributesRepositoryCache;
 import org.apereo.cas.authentication.principal.cache.DefaultPrincipalAttributesRepositoryCache;
+import org.apereo.cas.authentication.principal.cache.WeightedPrincipalAttributesRepositoryCache;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.features.CasFeatureModule;
 import org.apereo.cas.services.ServicesManager;
@@ -28,6 +29,7 @@ import org.apereo.cas.util.spring.boot.ConditionalOnFeatureEnabled;
 import org.apereo.cas.util.spring.boot.ConditionalOnMissingGraalVMNativeImage;
 
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
@@ -38,6 +40,7 @@ import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.util.unit.DataSize;
 
 /**
  * This is {@link CasCoreAuthenticationSupportConfiguration}.
@@ -57,7 +60,12 @@ public class CasCoreAuthenticationSupportConfiguration {
         @ConditionalOnMissingBean(name = PrincipalAttributesRepositoryCache.DEFAULT_BEAN_NAME)
         @Bean
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
-        public PrincipalAttributesRepositoryCache principalAttributesRepositoryCache() {
+        public PrincipalAttributesRepositoryCache principalAttributesRepositoryCache(
+            final CasConfigurationProperties casProperties) {
+            val maximumPayloadSize = casProperties.getAuthn().getAttributeRepository().getCore().getCache().getMaximumPayloadSize();
+            if (StringUtils.isNotBlank(maximumPayloadSize)) {
+                return new WeightedPrincipalAttributesRepositoryCache(DataSize.parse(maximumPayloadSize).toBytes());
+            }
             return new DefaultPrincipalAttributesRepositoryCache();
         }
     }
@@ -0,0 +1,208 @@
+package org.apereo.cas.authentication;
+
+import org.apereo.cas.authentication.exceptions.AccountDisabledException;
+import org.apereo.cas.authentication.handler.DefaultAuthenticationHandlerResolver;
+import org.apereo.cas.authentication.policy.AtLeastOneCredentialValidatedAuthenticationPolicy;
+import org.apereo.cas.authentication.principal.PrincipalFactoryUtils;
+import org.apereo.cas.authentication.principal.PrincipalResolver;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.util.spring.ApplicationContextProvider;
+
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.security.auth.login.FailedLoginException;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link ConcurrentAuthenticationManagerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("Authentication")
+class ConcurrentAuthenticationManagerTests {
+    private final AuthenticationTransaction transaction = CoreAuthenticationTestUtils.getAuthenticationTransactionFactory()
+        .newTransaction(CoreAuthenticationTestUtils.getService(),
+            CoreAuthenticationTestUtils.getCredentialsWithSameUsernameAndPassword("casuser"));
+
+    private ConfigurableApplicationContext applicationContext;
+
+    private ConcurrentAuthenticationManager manager;
+
+    private static AuthenticationHandler newMockHandler(final String name, final boolean success, final long delay) {
+        return newMockHandler(name, success ? null : new FailedLoginException(), delay);
+    }
+
+    private static AuthenticationHandler newMockHandler(final String name, final Throwable failure, final long delay) {
+        return newMockHandler(name, failure, delay, () -> {
+        });
+    }
+
+    @SneakyThrows
+    private static AuthenticationHandler newMockHandler(final String name, final Throwable failure,
+                                                        final long delay, final Runnable callback) {
+        val mock = mock(AuthenticationHandler.class);
+        when(mock.getName()).thenReturn(name);
+        when(mock.supports(any(Credential.class))).thenReturn(true);
+        when(mock.getState()).thenCallRealMethod();
+        val principal = PrincipalFactoryUtils.newPrincipalFactory().createPrincipal("casuser");
+        val result = new DefaultAuthenticationHandlerExecutionResult(mock,
+            CoreAuthenticationTestUtils.getCredentialsWithSameUsernameAndPassword("casuser"), principal);
+        when(mock.authenticate(any(Credential.class), any(Service.class))).thenAnswer(invocation -> {
+            Thread.sleep(delay);
+            callback.run();
+            if (failure == null) {
+                return result;
+            }
+            throw failure;
+        });
+        return mock;
+    }
+
+    private static AuthenticationEventExecutionPlan getAuthenticationExecutionPlan(final AuthenticationHandler... handlers) {
+        val map = new LinkedHashMap<AuthenticationHandler, PrincipalResolver>();
+        for (val handler : handlers) {
+            map.put(handler, null);
+        }
+        val plan = new DefaultAuthenticationEventExecutionPlan();
+        plan.registerAuthenticationHandlerWithPrincipalResolver(map);
+        plan.registerAuthenticationHandlerResolver(new DefaultAuthenticationHandlerResolver());
+        plan.registerAuthenticationPostProcessor(AuthenticationPostProcessor.none());
+        return plan;
+    }
+
+    @BeforeEach
+    public void setup() {
+        applicationContext = new StaticApplicationContext();
+        applicationContext.refresh();
+        ApplicationContextProvider.registerBeanIntoApplicationContext(applicationContext,
+            CoreAuthenticationTestUtils.getAuthenticationSystemSupport(), AuthenticationSystemSupport.BEAN_NAME);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (manager != null) {
+            manager.destroy();
+        }
+    }
+
+    @Test
+    void verifySuccessCancelsLaterHandlers() throws Exception {
+        val fast = newMockHandler("Fast", true, 10);
+        val slow = newMockHandler("Slow", true, 5_000);
+        val plan = getAuthenticationExecutionPlan(fast, slow);
+        plan.registerAuthenticationPolicy(new AtLeastOneCredentialValidatedAuthenticationPolicy());
+        manager = new ConcurrentAuthenticationManager(plan, false, applicationContext, 4, 16, Duration.ofSeconds(30));
+
+        val startTime = System.currentTimeMillis();
+        val authentication = manager.authenticate(transaction);
+        assertTrue(System.currentTimeMillis() - startTime < 5_000);
+        assertEquals(Set.of("Fast"), authentication.getSuccesses().keySet());
+        val timings = authentication.getAttributes().get(ConcurrentAuthenticationManager.AUTHENTICATION_HANDLER_EXECUTION_TIME);
+        assertEquals(1, timings.size());
+        assertTrue(timings.get(0).toString().startsWith("Fast:"));
+    }
+
+    @Test
+    void verifyFailureResumesWithNextHandler() throws Exception {
+        val plan = getAuthenticationExecutionPlan(newMockHandler("Failing", false, 10), newMockHandler("Passing", true, 200));
+        plan.registerAuthenticationPolicy(new AtLeastOneCredentialValidatedAuthenticationPolicy());
+        manager = new ConcurrentAuthenticationManager(plan, false, applicationContext, 4, 16, Duration.ofSeconds(30));
+        val authentication = manager.authenticate(transaction);
+        assertEquals(Set.of("Passing"), authentication.getSuccesses().keySet());
+        assertEquals(Set.of("Failing"), authentication.getFailures().keySet());
+        assertEquals(2, authentication.getAttributes().get(ConcurrentAuthenticationManager.AUTHENTICATION_HANDLER_EXECUTION_TIME).size());
+    }
+
+    @Test
+    void verifySuccessWaitsForEarlierHandlers() throws Exception {
+        val disabled = newMockHandler("Disabled", new AccountDisabledException(), 500);
+        val passing = newMockHandler("Passing", true, 10);
+        val plan = getAuthenticationExecutionPlan(disabled, passing);
+        plan.registerAuthenticationPolicy(new AtLeastOneCredentialValidatedAuthenticationPolicy() {
+            @Override
+            public boolean shouldResumeOnFailure(final Throwable failure) {
+                return !(failure instanceof AccountDisabledException);
+            }
+        });
+        manager = new ConcurrentAuthenticationManager(plan, false, applicationContext, 4, 16, Duration.ofSeconds(30));
+        val ex = assertThrows(AuthenticationException.class, () -> manager.authenticate(transaction));
+        assertEquals(Set.of("Disabled"), ex.getHandlerErrors().keySet());
+        assertTrue(ex.getHandlerSuccesses().isEmpty());
+    }
+
+    @Test
+    void verifyAllHandlersFail() throws Exception {
+        val plan = getAuthenticationExecutionPlan(newMockHandler("First", false, 10), newMockHandler("Second", false, 20));
+        plan.registerAuthenticationPolicy(new AtLeastOneCredentialValidatedAuthenticationPolicy());
+        manager = new ConcurrentAuthenticationManager(plan, false, applicationContext, 4, 16, Duration.ofSeconds(30));
+        val ex = assertThrows(AuthenticationException.class, () -> manager.authenticate(transaction));
+        assertEquals(2, ex.getHandlerErrors().size());
+    }
+
+    @Test
+    void verifyHandlersTimeout() throws Exception {
+        val plan = getAuthenticationExecutionPlan(newMockHandler("First", true, 5_000), newMockHandler("Second", true, 5_000));
+        plan.registerAuthenticationPolicy(new AtLeastOneCredentialValidatedAuthenticationPolicy());
+        manager = new ConcurrentAuthenticationManager(plan, false, applicationContext, 4, 16, Duration.ofMillis(200));
+        val ex = assertThrows(AuthenticationException.class, () -> manager.authenticate(transaction));
+        assertTrue(ex.getHandlerErrors().values().stream().allMatch(TimeoutException.class::isInstance));
+    }
+
+    @Test
+    void verifySaturatedPoolFailsFast() throws Exception {
+        val plan = getAuthenticationExecutionPlan(newMockHandler("First", true, 1_000),
+            newMockHandler("Second", true, 1_000), newMockHandler("Third", true, 1_000));
+        plan.registerAuthenticationPolicy(new AtLeastOneCredentialValidatedAuthenticationPolicy());
+        manager = new ConcurrentAuthenticationManager(plan, false, applicationContext, 1, 1, Duration.ofSeconds(30));
+        val startTime = System.currentTimeMillis();
+        val ex = assertThrows(AuthenticationException.class, () -> manager.authenticate(transaction));
+        assertTrue(System.currentTimeMillis() - startTime < 1_000);
+        assertTrue(ex.getHandlerErrors().values().stream().allMatch(RejectedExecutionException.class::isInstance));
+    }
+
+    @Test
+    void verifyCallerContextIsPropagated() throws Exception {
+        val request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        val securityContext = SecurityContextHolder.createEmptyContext();
+        SecurityContextHolder.setContext(securityContext);
+        try {
+            val observed = new ConcurrentHashMap<String, Object>();
+            val first = newMockHandler("First", false, 10);
+            val second = newMockHandler("Second", null, 10, () -> {
+                observed.put("request", ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getRequest());
+                observed.put("security", SecurityContextHolder.getContext());
+            });
+            val plan = getAuthenticationExecutionPlan(first, second);
+            plan.registerAuthenticationPolicy(new AtLeastOneCredentialValidatedAuthenticationPolicy());
+            manager = new ConcurrentAuthenticationManager(plan, false, applicationContext, 4, 16, Duration.ofSeconds(30));
+            assertEquals(Set.of("Second"), manager.authenticate(transaction).getSuccesses().keySet());
+            assertSame(request, observed.get("request"));
+            assertSame(securityContext, observed.get("security"));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
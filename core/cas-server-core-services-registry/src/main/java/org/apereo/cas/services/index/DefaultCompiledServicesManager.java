@@ -0,0 +1,100 @@
+package org.apereo.cas.services.index;
+
+import org.apereo.cas.monitor.Monitorable;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.services.ServicesManagerConfigurationContext;
+import org.apereo.cas.services.mgmt.AbstractServicesManager;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the {@link ServicesManager} interface that compiles the service id
+ * patterns of all cached services into a single {@link RegisteredServicePatternAutomaton},
+ * so that a service id is matched against all compiled patterns in one pass.
+ * The automaton is rebuilt lazily on the next lookup once services are saved, deleted or loaded.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@Monitorable
+public class DefaultCompiledServicesManager extends AbstractServicesManager {
+    private final AtomicLong version = new AtomicLong();
+
+    private final Object lock = new Object();
+
+    private volatile RegisteredServicePatternAutomaton automaton;
+
+    public DefaultCompiledServicesManager(final ServicesManagerConfigurationContext context) {
+        super(context);
+    }
+
+    @Override
+    public Collection<RegisteredService> getServicesForDomain(final String domain) {
+        return getCacheableServicesStream().get()
+            .sorted(Comparator.naturalOrder())
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    protected Collection<RegisteredService> getCandidateServicesToMatch(final String serviceId) {
+        val servicesCache = getConfigurationContext().getServicesCache();
+        if (servicesCache.estimatedSize() <= 0) {
+            return getCacheableServicesStream().get()
+                .sorted(Comparator.naturalOrder())
+                .collect(Collectors.toList());
+        }
+        return getAutomaton().getCandidates(serviceId);
+    }
+
+    @Override
+    protected void saveInternal(final RegisteredService service) {
+        invalidate();
+    }
+
+    @Override
+    protected void deleteInternal(final RegisteredService service) {
+        invalidate();
+    }
+
+    @Override
+    protected void cacheInternal(final RegisteredService service) {
+        invalidate();
+    }
+
+    @Override
+    protected void loadInternal() {
+        invalidate();
+    }
+
+    private void invalidate() {
+        version.incrementAndGet();
+        automaton = null;
+    }
+
+    private RegisteredServicePatternAutomaton getAutomaton() {
+        var current = automaton;
+        if (current == null) {
+            synchronized (lock) {
+                current = automaton;
+                if (current == null) {
+                    val compiledVersion = version.get();
+                    current = RegisteredServicePatternAutomaton.compile(getConfigurationContext().getServicesCache().asMap().values());
+                    LOGGER.debug("Compiled [{}] registered service(s) into a matching automaton; [{}] service(s) are matched individually",
+                        current.getCompiledServiceCount(), current.getUncompiledServiceCount());
+                    if (version.get() == compiledVersion) {
+                        automaton = current;
+                    }
+                }
+            }
+        }
+        return current;
+    }
+}
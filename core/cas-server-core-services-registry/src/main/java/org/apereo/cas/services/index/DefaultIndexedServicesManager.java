@@ -0,0 +1,79 @@
+package org.apereo.cas.services.index;
+
+import org.apereo.cas.monitor.Monitorable;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.services.ServicesManagerConfigurationContext;
+import org.apereo.cas.services.mgmt.AbstractServicesManager;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the {@link ServicesManager} interface that organizes services
+ * into a {@link RegisteredServiceLookupIndex} keyed by the literal scheme and host
+ * of their service ids, so that only plausible candidates are evaluated for a given service.
+ * The index is maintained incrementally as services are saved and deleted, and is rebuilt
+ * and swapped atomically once services are loaded.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@Monitorable
+public class DefaultIndexedServicesManager extends AbstractServicesManager {
+    private volatile RegisteredServiceLookupIndex lookupIndex = new RegisteredServiceLookupIndex();
+
+    public DefaultIndexedServicesManager(final ServicesManagerConfigurationContext context) {
+        super(context);
+    }
+
+    @Override
+    public Collection<RegisteredService> getServicesForDomain(final String domain) {
+        return getCacheableServicesStream().get()
+            .sorted(Comparator.naturalOrder())
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    protected Collection<RegisteredService> getCandidateServicesToMatch(final String serviceId) {
+        val index = this.lookupIndex;
+        if (index.isEmpty()) {
+            LOGGER.trace("Registered service lookup index is empty; evaluating all services for [{}]", serviceId);
+            return getCacheableServicesStream().get()
+                .sorted(Comparator.naturalOrder())
+                .collect(Collectors.toList());
+        }
+        val candidates = index.getCandidates(serviceId);
+        LOGGER.trace("Located [{}] candidate service(s) out of [{}] for service identifier [{}]",
+            candidates.size(), index.size(), serviceId);
+        return candidates;
+    }
+
+    @Override
+    protected void saveInternal(final RegisteredService service) {
+        lookupIndex.add(service);
+    }
+
+    @Override
+    protected void deleteInternal(final RegisteredService service) {
+        lookupIndex.remove(service);
+    }
+
+    @Override
+    protected void cacheInternal(final RegisteredService service) {
+        lookupIndex.add(service);
+    }
+
+    @Override
+    protected void loadInternal() {
+        val index = new RegisteredServiceLookupIndex();
+        index.addAll(getConfigurationContext().getServicesCache().asMap().values());
+        LOGGER.debug("Rebuilt registered service lookup index with [{}] service(s)", index.size());
+        this.lookupIndex = index;
+    }
+}
@@ -0,0 +1,287 @@
+package org.apereo.cas.services.index;
+
+import org.apereo.cas.services.CasRegisteredService;
+import org.apereo.cas.services.FullRegexRegisteredServiceMatchingStrategy;
+import org.apereo.cas.services.LiteralRegisteredServiceMatchingStrategy;
+import org.apereo.cas.services.PartialRegexRegisteredServiceMatchingStrategy;
+import org.apereo.cas.services.RegexRegisteredService;
+import org.apereo.cas.services.RegisteredService;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * This is {@link RegisteredServiceLookupIndex}. It buckets registered services
+ * by the literal, lower-cased prefix of their service id (up to and including the scheme and host)
+ * so that candidates for a given service can be located without evaluating every
+ * registered service in the cache. Services whose service id patterns cannot be anchored
+ * to a literal prefix, or services that are located by means other than their service id,
+ * are kept in a pre-sorted fallback set that is always considered.
+ * <p>
+ * Candidates are always returned in their natural (evaluation) order, and the set of
+ * candidates is guaranteed to be a superset of services that could match the given service id,
+ * so that resolution results remain identical to evaluating all services in order.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+public class RegisteredServiceLookupIndex {
+    private static final String SCHEME_SEPARATOR = "://";
+
+    private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+
+    private final Map<String, NavigableSet<RegisteredService>> buckets = new ConcurrentHashMap<>();
+
+    private final NavigableSet<RegisteredService> unanchoredServices = new ConcurrentSkipListSet<>();
+
+    private final Map<Long, Optional<String>> serviceKeys = new ConcurrentHashMap<>();
+
+    private volatile int maximumKeyLength;
+
+    /**
+     * Extract the literal lookup key for the registered service.
+     * An empty result indicates that the service cannot be bucketed.
+     *
+     * @param registeredService the registered service
+     * @return the lookup key, if any
+     */
+    public static Optional<String> extractLookupKey(final RegisteredService registeredService) {
+        if (!isLocatedByServiceId(registeredService) || StringUtils.isBlank(registeredService.getServiceId())) {
+            return Optional.empty();
+        }
+        val serviceId = registeredService.getServiceId();
+        val strategy = registeredService.getMatchingStrategy();
+        if (strategy == null || strategy.getClass().equals(FullRegexRegisteredServiceMatchingStrategy.class)) {
+            return extractLiteralRegexPrefix(serviceId, false).map(RegisteredServiceLookupIndex::truncateToAuthority);
+        }
+        if (strategy.getClass().equals(PartialRegexRegisteredServiceMatchingStrategy.class)) {
+            return extractLiteralRegexPrefix(serviceId, true).map(RegisteredServiceLookupIndex::truncateToAuthority);
+        }
+        if (strategy.getClass().equals(LiteralRegisteredServiceMatchingStrategy.class)) {
+            return Optional.of(serviceId.trim())
+                .filter(StringUtils::isNotBlank)
+                .map(RegisteredServiceLookupIndex::toLookupCase)
+                .map(RegisteredServiceLookupIndex::truncateToAuthority);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Extract the literal prefix that every string matched by the given pattern must start with.
+     * Patterns compiled by CAS are case-insensitive, so the prefix is lower-cased.
+     *
+     * @param pattern        the pattern
+     * @param requireAnchor  whether the pattern must explicitly be anchored to the start of input
+     * @return the literal prefix, if any
+     */
+    static Optional<String> extractLiteralRegexPrefix(final String pattern, final boolean requireAnchor) {
+        if (hasTopLevelAlternation(pattern)) {
+            return Optional.empty();
+        }
+        var index = 0;
+        if (pattern.startsWith("^")) {
+            index++;
+        } else if (requireAnchor) {
+            return Optional.empty();
+        }
+        val prefix = new StringBuilder();
+        while (index < pattern.length()) {
+            var current = pattern.charAt(index);
+            var next = index + 1;
+            if (current == '\\') {
+                if (next >= pattern.length()) {
+                    break;
+                }
+                current = pattern.charAt(next);
+                if (Character.isLetterOrDigit(current)) {
+                    break;
+                }
+                next++;
+            } else if (REGEX_METACHARACTERS.indexOf(current) >= 0) {
+                break;
+            }
+            if (current > Byte.MAX_VALUE) {
+                break;
+            }
+            if (next < pattern.length()) {
+                val quantifier = pattern.charAt(next);
+                if (quantifier == '?' || quantifier == '*' || quantifier == '{') {
+                    break;
+                }
+                if (quantifier == '+') {
+                    prefix.append(current);
+                    break;
+                }
+            }
+            prefix.append(current);
+            index = next;
+        }
+        return Optional.of(prefix.toString())
+            .filter(StringUtils::isNotEmpty)
+            .map(RegisteredServiceLookupIndex::toLookupCase);
+    }
+
+    static boolean isLocatedByServiceId(final RegisteredService registeredService) {
+        val type = registeredService.getClass();
+        return (type.equals(CasRegisteredService.class) || type.equals(RegexRegisteredService.class))
+            && CasRegisteredService.FRIENDLY_NAME.equalsIgnoreCase(registeredService.getFriendlyName());
+    }
+
+    private static boolean hasTopLevelAlternation(final String pattern) {
+        var depth = 0;
+        var classDepth = 0;
+        var index = 0;
+        while (index < pattern.length()) {
+            val current = pattern.charAt(index);
+            if (current == '\\') {
+                if (index + 1 < pattern.length() && pattern.charAt(index + 1) == 'Q') {
+                    val end = pattern.indexOf("\\E", index + 2);
+                    if (end < 0) {
+                        return false;
+                    }
+                    index = end + 2;
+                    continue;
+                }
+                index += 2;
+                continue;
+            }
+            if (classDepth > 0) {
+                if (current == '[') {
+                    classDepth++;
+                } else if (current == ']') {
+                    classDepth--;
+                }
+            } else if (current == '[') {
+                classDepth++;
+                if (index + 1 < pattern.length() && pattern.charAt(index + 1) == '^') {
+                    index++;
+                }
+                if (index + 1 < pattern.length() && pattern.charAt(index + 1) == ']') {
+                    index++;
+                }
+            } else if (current == '(') {
+                depth++;
+            } else if (current == ')') {
+                depth = Math.max(0, depth - 1);
+            } else if (current == '|' && depth == 0) {
+                return true;
+            }
+            index++;
+        }
+        return false;
+    }
+
+    private static String truncateToAuthority(final String key) {
+        val separator = key.indexOf(SCHEME_SEPARATOR);
+        if (separator < 0) {
+            return key;
+        }
+        val authorityStart = separator + SCHEME_SEPARATOR.length();
+        for (var index = authorityStart; index < key.length(); index++) {
+            val current = key.charAt(index);
+            if (current == '/' || current == '?' || current == '#') {
+                return key.substring(0, index);
+            }
+        }
+        return key;
+    }
+
+    private static String toLookupCase(final String value) {
+        return value.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Add or replace the registered service in the index.
+     *
+     * @param registeredService the registered service
+     */
+    public void add(final RegisteredService registeredService) {
+        remove(registeredService);
+        val key = extractLookupKey(registeredService);
+        key.ifPresentOrElse(value -> {
+            LOGGER.trace("Indexing registered service [{}] under lookup key [{}]", registeredService.getName(), value);
+            buckets.computeIfAbsent(value, k -> new ConcurrentSkipListSet<>()).add(registeredService);
+            maximumKeyLength = Math.max(maximumKeyLength, value.length());
+        }, () -> {
+            LOGGER.trace("Registered service [{}] cannot be anchored to a literal prefix and is indexed as a fallback",
+                registeredService.getName());
+            unanchoredServices.add(registeredService);
+        });
+        serviceKeys.put(registeredService.getId(), key);
+    }
+
+    /**
+     * Add all registered services to the index.
+     *
+     * @param registeredServices the registered services
+     */
+    public void addAll(final Collection<? extends RegisteredService> registeredServices) {
+        registeredServices.forEach(this::add);
+    }
+
+    /**
+     * Remove the registered service from the index.
+     *
+     * @param registeredService the registered service
+     */
+    public void remove(final RegisteredService registeredService) {
+        val existingKey = serviceKeys.remove(registeredService.getId());
+        if (existingKey == null) {
+            return;
+        }
+        existingKey.ifPresentOrElse(value -> buckets.computeIfPresent(value, (k, services) -> {
+            services.removeIf(service -> service.getId() == registeredService.getId());
+            return services.isEmpty() ? null : services;
+        }), () -> unanchoredServices.removeIf(service -> service.getId() == registeredService.getId()));
+    }
+
+    /**
+     * Gets candidate services that might match the given service id, in evaluation order.
+     *
+     * @param serviceId the service id
+     * @return the candidates
+     */
+    public Collection<RegisteredService> getCandidates(final String serviceId) {
+        val candidates = new TreeSet<>(unanchoredServices);
+        if (StringUtils.isNotBlank(serviceId) && !buckets.isEmpty()) {
+            val lookupId = toLookupCase(serviceId);
+            val length = Math.min(lookupId.length(), maximumKeyLength);
+            for (var index = 1; index <= length; index++) {
+                val services = buckets.get(lookupId.substring(0, index));
+                if (services != null) {
+                    candidates.addAll(services);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Indicate whether the index holds no registered services.
+     *
+     * @return true/false
+     */
+    public boolean isEmpty() {
+        return serviceKeys.isEmpty();
+    }
+
+    /**
+     * Number of indexed registered services.
+     *
+     * @return the size
+     */
+    public int size() {
+        return serviceKeys.size();
+    }
+}
@@ -0,0 +1,749 @@
+package org.apereo.cas.services.index;
+
+import org.apereo.cas.services.FullRegexRegisteredServiceMatchingStrategy;
+import org.apereo.cas.services.LiteralRegisteredServiceMatchingStrategy;
+import org.apereo.cas.services.PartialRegexRegisteredServiceMatchingStrategy;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.util.RegexUtils;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This is {@link RegisteredServicePatternAutomaton}. It compiles the service id patterns
+ * of registered services into a single, combined Thompson automaton whose deterministic
+ * states are constructed lazily and cached as they are visited. Matching a service id
+ * then runs a single pass over the input and produces all compiled services that match,
+ * instead of evaluating each service's own regular expression one at a time.
+ * <p>
+ * Only the regular subset of the pattern syntax is compiled: literals, character classes,
+ * groups, alternation and greedy/lazy quantifiers, with anchors at the edges of the pattern.
+ * Services whose patterns use any other construct (backreferences, lookarounds, inline flags,
+ * boundaries, possessive quantifiers, etc.), or services that are not located by their service id,
+ * are never compiled and are always returned as candidates so their own matching strategy can decide.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+public class RegisteredServicePatternAutomaton {
+    private static final int MAX_DFA_STATES = 10_000;
+
+    private static final int MAX_REPETITION = 64;
+
+    private static final int MAX_STATES_PER_PATTERN = 10_000;
+
+    private static final int ASCII_LIMIT = 128;
+
+    private static final String LINE_TERMINATORS = "\n\r\u0085\u2028\u2029";
+
+    private static final int STATE_CHAR = 0;
+
+    private static final int STATE_SPLIT = 1;
+
+    private static final int STATE_ACCEPT = 2;
+
+    private final List<RegisteredService> compiledServices;
+
+    private final TreeSet<RegisteredService> uncompiledServices;
+
+    private final Automaton automaton;
+
+    private final Map<StateSet, DeterministicState> deterministicStates = new ConcurrentHashMap<>();
+
+    private final DeterministicState initialState;
+
+    private RegisteredServicePatternAutomaton(final List<RegisteredService> compiledServices,
+                                              final TreeSet<RegisteredService> uncompiledServices,
+                                              final Automaton automaton,
+                                              final int[] initialStates) {
+        this.compiledServices = compiledServices;
+        this.uncompiledServices = uncompiledServices;
+        this.automaton = automaton;
+        val initial = new BitSet();
+        Arrays.stream(initialStates).forEach(initial::set);
+        this.initialState = toDeterministicState(closure(initial));
+    }
+
+    /**
+     * Compile the given registered services into a combined automaton.
+     *
+     * @param registeredServices the registered services
+     * @return the automaton
+     */
+    public static RegisteredServicePatternAutomaton compile(final Collection<? extends RegisteredService> registeredServices) {
+        val builder = new Automaton();
+        val compiled = new ArrayList<RegisteredService>();
+        val uncompiled = new TreeSet<RegisteredService>();
+        val initialStates = new ArrayList<Integer>();
+
+        registeredServices.forEach(registeredService -> {
+            val mark = builder.size();
+            builder.limit(mark + MAX_STATES_PER_PATTERN);
+            try {
+                val start = compile(builder, registeredService, compiled.size());
+                initialStates.add(start);
+                compiled.add(registeredService);
+            } catch (final IllegalArgumentException e) {
+                LOGGER.trace("Registered service [{}] with service id [{}] cannot be compiled: [{}]",
+                    registeredService.getName(), registeredService.getServiceId(), e.getMessage());
+                builder.truncate(mark);
+                uncompiled.add(registeredService);
+            }
+        });
+        builder.limit(Integer.MAX_VALUE);
+        LOGGER.debug("Compiled [{}] registered service(s) into an automaton of [{}] state(s); [{}] service(s) could not be compiled",
+            compiled.size(), builder.size(), uncompiled.size());
+        return new RegisteredServicePatternAutomaton(compiled, uncompiled, builder,
+            initialStates.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private static int compile(final Automaton builder, final RegisteredService registeredService, final int serviceIndex) {
+        if (!RegisteredServiceLookupIndex.isLocatedByServiceId(registeredService)
+            || StringUtils.isBlank(registeredService.getServiceId())) {
+            throw new IllegalArgumentException("Registered service is not located by its service id");
+        }
+        val serviceId = registeredService.getServiceId();
+        val strategy = registeredService.getMatchingStrategy();
+        if (strategy == null || strategy.getClass().equals(FullRegexRegisteredServiceMatchingStrategy.class)) {
+            val parser = newRegexParser(serviceId);
+            val node = parser.parse();
+            return builder.compile(node, serviceIndex, true, true, false);
+        }
+        if (strategy.getClass().equals(PartialRegexRegisteredServiceMatchingStrategy.class)) {
+            val parser = newRegexParser(serviceId);
+            val node = parser.parse();
+            if ((parser.anchoredStart || parser.anchoredEnd) && node instanceof Alternation) {
+                throw new IllegalArgumentException("Anchors inside top-level alternation are not supported");
+            }
+            return builder.compile(node, serviceIndex, true, parser.anchoredStart, !parser.anchoredEnd);
+        }
+        if (strategy instanceof final LiteralRegisteredServiceMatchingStrategy literal
+            && strategy.getClass().equals(LiteralRegisteredServiceMatchingStrategy.class)) {
+            val value = serviceId.trim();
+            if (literal.isCaseInsensitive() && !StringUtils.isAsciiPrintable(value)) {
+                throw new IllegalArgumentException("Case-insensitive literal contains non-ASCII characters");
+            }
+            val nodes = value.codePoints()
+                .mapToObj(c -> (Node) new CharacterSet(new int[]{c, c}, false))
+                .toList();
+            return builder.compile(new Concatenation(nodes), serviceIndex, literal.isCaseInsensitive(), true, false);
+        }
+        throw new IllegalArgumentException("Matching strategy is not supported");
+    }
+
+    private static RegexParser newRegexParser(final String pattern) {
+        if (!RegexUtils.isValidRegex(pattern)) {
+            throw new IllegalArgumentException("Pattern is not a valid regular expression");
+        }
+        return new RegexParser(pattern);
+    }
+
+    /**
+     * Gets candidate services that match the given service id, in evaluation order.
+     * The result contains every compiled service that matches, along with all
+     * services that could not be compiled.
+     *
+     * @param serviceId the service id
+     * @return the candidates
+     */
+    public Collection<RegisteredService> getCandidates(final String serviceId) {
+        val candidates = new TreeSet<>(uncompiledServices);
+        if (StringUtils.isBlank(serviceId)) {
+            return candidates;
+        }
+        if (StringUtils.containsAny(serviceId, LINE_TERMINATORS)) {
+            candidates.addAll(compiledServices);
+            return candidates;
+        }
+        val matches = match(serviceId);
+        matches.stream().forEach(index -> candidates.add(compiledServices.get(index)));
+        return candidates;
+    }
+
+    /**
+     * Number of services compiled into the automaton.
+     *
+     * @return the count
+     */
+    public int getCompiledServiceCount() {
+        return compiledServices.size();
+    }
+
+    /**
+     * Number of services that could not be compiled into the automaton.
+     *
+     * @return the count
+     */
+    public int getUncompiledServiceCount() {
+        return uncompiledServices.size();
+    }
+
+    private BitSet match(final String serviceId) {
+        val matches = new BitSet();
+        var state = initialState;
+        matches.or(state.acceptAnywhere);
+        var position = 0;
+        while (position < serviceId.length()) {
+            val codePoint = serviceId.codePointAt(position);
+            position += Character.charCount(codePoint);
+            val nextState = next(state, codePoint);
+            if (nextState == null) {
+                return matchNondeterministic(serviceId, position, step(state.states, codePoint), matches);
+            }
+            state = nextState;
+            if (state.states.length == 0) {
+                return matches;
+            }
+            matches.or(state.acceptAnywhere);
+        }
+        matches.or(state.acceptAtEnd);
+        return matches;
+    }
+
+    /**
+     * Continue matching over the nondeterministic automaton once the cache of deterministic states is full.
+     * States visited from here on are computed for the current input only and are never retained.
+     */
+    private BitSet matchNondeterministic(final String serviceId, final int from, final BitSet initialStates, final BitSet matches) {
+        var states = initialStates;
+        var position = from;
+        while (!states.isEmpty()) {
+            val current = states.stream().toArray();
+            matches.or(getAcceptedServices(current, true));
+            if (position >= serviceId.length()) {
+                matches.or(getAcceptedServices(current, false));
+                break;
+            }
+            val codePoint = serviceId.codePointAt(position);
+            position += Character.charCount(codePoint);
+            states = step(current, codePoint);
+        }
+        return matches;
+    }
+
+    /**
+     * Move to the deterministic state reached from the given state over the given code point.
+     * Transitions are only linked between cached states; once the cache is full,
+     * states that are not yet cached are not created and {@code null} is returned.
+     */
+    private DeterministicState next(final DeterministicState state, final int codePoint) {
+        if (codePoint < ASCII_LIMIT) {
+            val cached = state.transitions[codePoint];
+            if (cached != null) {
+                return cached;
+            }
+        }
+        val result = toDeterministicState(step(state.states, codePoint));
+        if (result != null && codePoint < ASCII_LIMIT) {
+            state.transitions[codePoint] = result;
+        }
+        return result;
+    }
+
+    private BitSet step(final int[] states, final int codePoint) {
+        val targets = new BitSet();
+        for (val nfaState : states) {
+            if (automaton.types[nfaState] == STATE_CHAR
+                && automaton.characterSets.get(nfaState).matches(codePoint, automaton.caseInsensitive[nfaState])) {
+                targets.set(automaton.out1[nfaState]);
+            }
+        }
+        return closure(targets);
+    }
+
+    private BitSet closure(final BitSet states) {
+        val result = new BitSet();
+        val visited = new BitSet();
+        val stack = new ArrayDeque<Integer>();
+        states.stream().forEach(stack::push);
+        while (!stack.isEmpty()) {
+            val state = stack.pop();
+            if (state < 0 || visited.get(state)) {
+                continue;
+            }
+            visited.set(state);
+            if (automaton.types[state] == STATE_SPLIT) {
+                stack.push(automaton.out1[state]);
+                stack.push(automaton.out2[state]);
+            } else {
+                result.set(state);
+            }
+        }
+        return result;
+    }
+
+    private DeterministicState toDeterministicState(final BitSet states) {
+        val key = new StateSet(states.stream().toArray());
+        val existing = deterministicStates.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (deterministicStates.size() >= MAX_DFA_STATES) {
+            return null;
+        }
+        val created = new DeterministicState(key.states, getAcceptedServices(key.states, true), getAcceptedServices(key.states, false));
+        val previous = deterministicStates.putIfAbsent(key, created);
+        return previous != null ? previous : created;
+    }
+
+    private BitSet getAcceptedServices(final int[] states, final boolean acceptAnywhere) {
+        val accepted = new BitSet();
+        for (val state : states) {
+            if (automaton.types[state] == STATE_ACCEPT && (automaton.out2[state] == 1) == acceptAnywhere) {
+                accepted.set(automaton.out1[state]);
+            }
+        }
+        return accepted;
+    }
+
+    private sealed interface Node permits CharacterSet, Concatenation, Alternation, Repetition {
+    }
+
+    private record CharacterSet(int[] ranges, boolean negated) implements Node {
+        private static final CharacterSet ANY = new CharacterSet(new int[]{0, Character.MAX_CODE_POINT}, false);
+
+        private static final CharacterSet DIGIT = new CharacterSet(new int[]{'0', '9'}, false);
+
+        private static final CharacterSet WORD = new CharacterSet(new int[]{'a', 'z', 'A', 'Z', '_', '_', '0', '9'}, false);
+
+        private static final CharacterSet SPACE = new CharacterSet(new int[]{' ', ' ', '\t', '\r'}, false);
+
+        boolean contains(final int character) {
+            for (var i = 0; i < ranges.length; i += 2) {
+                if (character >= ranges[i] && character <= ranges[i + 1]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean matches(final int character, final boolean caseInsensitive) {
+            var found = contains(character);
+            if (!found && caseInsensitive && character < ASCII_LIMIT && Character.isLetter(character)) {
+                found = contains(Character.toLowerCase(character)) || contains(Character.toUpperCase(character));
+            }
+            return found != negated;
+        }
+
+        CharacterSet negate() {
+            return new CharacterSet(ranges, !negated);
+        }
+    }
+
+    private record Concatenation(List<Node> nodes) implements Node {
+    }
+
+    private record Alternation(List<Node> nodes) implements Node {
+    }
+
+    private record Repetition(Node node, int minimum, int maximum) implements Node {
+    }
+
+    private record StateSet(int[] states) {
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof final StateSet set && Arrays.equals(states, set.states);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(states);
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(states);
+        }
+    }
+
+    private static final class DeterministicState {
+        private final int[] states;
+
+        private final BitSet acceptAnywhere;
+
+        private final BitSet acceptAtEnd;
+
+        private final DeterministicState[] transitions = new DeterministicState[ASCII_LIMIT];
+
+        DeterministicState(final int[] states, final BitSet acceptAnywhere, final BitSet acceptAtEnd) {
+            this.states = states;
+            this.acceptAnywhere = acceptAnywhere;
+            this.acceptAtEnd = acceptAtEnd;
+        }
+    }
+
+    /**
+     * Nondeterministic automaton, stored as parallel arrays.
+     * Character states consume one character and move to {@code out1};
+     * split states are epsilon transitions to {@code out1} and {@code out2};
+     * accept states carry the service index in {@code out1} and whether
+     * the service matches regardless of remaining input in {@code out2}.
+     */
+    private static final class Automaton {
+        private final List<CharacterSet> characterSets = new ArrayList<>();
+
+        private int[] types = new int[256];
+
+        private int[] out1 = new int[256];
+
+        private int[] out2 = new int[256];
+
+        private boolean[] caseInsensitive = new boolean[256];
+
+        private int size;
+
+        private int limit = Integer.MAX_VALUE;
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * Cap the number of states, such that building a pattern that expands beyond
+         * the cap is abandoned as soon as the cap is reached rather than after the fact.
+         *
+         * @param limit the maximum number of states
+         */
+        void limit(final int limit) {
+            this.limit = limit;
+        }
+
+        void truncate(final int mark) {
+            size = mark;
+            characterSets.subList(mark, characterSets.size()).clear();
+        }
+
+        int compile(final Node node, final int serviceIndex, final boolean ignoreCase,
+                    final boolean anchoredStart, final boolean acceptAnywhere) {
+            val accept = newState(STATE_ACCEPT, serviceIndex, acceptAnywhere ? 1 : 0, null, false);
+            val start = build(node, accept, ignoreCase);
+            if (anchoredStart) {
+                return start;
+            }
+            val loop = newState(STATE_SPLIT, -1, start, null, false);
+            val any = newState(STATE_CHAR, loop, -1, CharacterSet.ANY, false);
+            out1[loop] = any;
+            return loop;
+        }
+
+        private int build(final Node node, final int next, final boolean ignoreCase) {
+            if (node instanceof final CharacterSet set) {
+                return newState(STATE_CHAR, next, -1, set, ignoreCase);
+            }
+            if (node instanceof final Concatenation concatenation) {
+                var start = next;
+                for (var i = concatenation.nodes().size() - 1; i >= 0; i--) {
+                    start = build(concatenation.nodes().get(i), start, ignoreCase);
+                }
+                return start;
+            }
+            if (node instanceof final Alternation alternation) {
+                var start = build(alternation.nodes().get(alternation.nodes().size() - 1), next, ignoreCase);
+                for (var i = alternation.nodes().size() - 2; i >= 0; i--) {
+                    val branch = build(alternation.nodes().get(i), next, ignoreCase);
+                    start = newState(STATE_SPLIT, branch, start, null, false);
+                }
+                return start;
+            }
+            val repetition = (Repetition) node;
+            var tail = next;
+            if (repetition.maximum() < 0) {
+                val loop = newState(STATE_SPLIT, -1, next, null, false);
+                val body = build(repetition.node(), loop, ignoreCase);
+                out1[loop] = body;
+                tail = loop;
+            } else {
+                for (var i = repetition.minimum(); i < repetition.maximum(); i++) {
+                    val body = build(repetition.node(), tail, ignoreCase);
+                    tail = newState(STATE_SPLIT, body, tail, null, false);
+                }
+            }
+            for (var i = 0; i < repetition.minimum(); i++) {
+                tail = build(repetition.node(), tail, ignoreCase);
+            }
+            return tail;
+        }
+
+        private int newState(final int type, final int first, final int second,
+                             final CharacterSet set, final boolean ignoreCase) {
+            if (size >= limit) {
+                throw new IllegalArgumentException("Pattern is too large to compile");
+            }
+            if (size == types.length) {
+                val capacity = size * 2;
+                types = Arrays.copyOf(types, capacity);
+                out1 = Arrays.copyOf(out1, capacity);
+                out2 = Arrays.copyOf(out2, capacity);
+                caseInsensitive = Arrays.copyOf(caseInsensitive, capacity);
+            }
+            types[size] = type;
+            out1[size] = first;
+            out2[size] = second;
+            caseInsensitive[size] = ignoreCase;
+            characterSets.add(set);
+            return size++;
+        }
+    }
+
+    /**
+     * Recursive-descent parser for the regular subset of {@link java.util.regex.Pattern}
+     * syntax. Throws {@link IllegalArgumentException} for anything outside that subset.
+     */
+    private static final class RegexParser {
+        private final String pattern;
+
+        private int position;
+
+        private boolean anchoredStart;
+
+        private boolean anchoredEnd;
+
+        RegexParser(final String pattern) {
+            this.pattern = pattern;
+        }
+
+        Node parse() {
+            var end = pattern.length();
+            if (pattern.startsWith("^")) {
+                anchoredStart = true;
+                position = 1;
+            }
+            if (end > position && pattern.charAt(end - 1) == '$' && !isEscaped(end - 1)) {
+                anchoredEnd = true;
+                end--;
+            }
+            val node = parseAlternation(end);
+            if (position != end) {
+                throw new IllegalArgumentException("Unexpected character at position " + position);
+            }
+            return node;
+        }
+
+        private boolean isEscaped(final int index) {
+            var count = 0;
+            var i = index - 1;
+            while (i >= 0 && pattern.charAt(i) == '\\') {
+                count++;
+                i--;
+            }
+            return count % 2 == 1;
+        }
+
+        private Node parseAlternation(final int end) {
+            val branches = new ArrayList<Node>();
+            branches.add(parseConcatenation(end));
+            while (position < end && pattern.charAt(position) == '|') {
+                position++;
+                branches.add(parseConcatenation(end));
+            }
+            return branches.size() == 1 ? branches.get(0) : new Alternation(branches);
+        }
+
+        private Node parseConcatenation(final int end) {
+            val nodes = new ArrayList<Node>();
+            while (position < end && pattern.charAt(position) != '|' && pattern.charAt(position) != ')') {
+                nodes.add(parseRepetition(end));
+            }
+            return nodes.size() == 1 ? nodes.get(0) : new Concatenation(nodes);
+        }
+
+        private Node parseRepetition(final int end) {
+            var node = parseAtom(end);
+            if (position >= end) {
+                return node;
+            }
+            val quantifier = pattern.charAt(position);
+            int minimum;
+            int maximum;
+            switch (quantifier) {
+                case '*' -> {
+                    minimum = 0;
+                    maximum = -1;
+                    position++;
+                }
+                case '+' -> {
+                    minimum = 1;
+                    maximum = -1;
+                    position++;
+                }
+                case '?' -> {
+                    minimum = 0;
+                    maximum = 1;
+                    position++;
+                }
+                case '{' -> {
+                    val close = pattern.indexOf('}', position);
+                    if (close < 0 || close >= end) {
+                        throw new IllegalArgumentException("Unterminated repetition");
+                    }
+                    val bounds = pattern.substring(position + 1, close).split(",", -1);
+                    try {
+                        minimum = Integer.parseInt(bounds[0]);
+                        maximum = bounds.length == 1 ? minimum
+                            : bounds[1].isEmpty() ? -1 : Integer.parseInt(bounds[1]);
+                    } catch (final NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid repetition bounds");
+                    }
+                    if (bounds.length > 2 || minimum > MAX_REPETITION || maximum > MAX_REPETITION
+                        || (maximum >= 0 && maximum < minimum)) {
+                        throw new IllegalArgumentException("Unsupported repetition bounds");
+                    }
+                    position = close + 1;
+                }
+                default -> {
+                    return node;
+                }
+            }
+            if (position < end) {
+                val modifier = pattern.charAt(position);
+                if (modifier == '?') {
+                    position++;
+                } else if (modifier == '+') {
+                    throw new IllegalArgumentException("Possessive quantifiers are not supported");
+                }
+            }
+            if (position < end && "*+?{".indexOf(pattern.charAt(position)) >= 0) {
+                throw new IllegalArgumentException("Nested quantifiers are not supported");
+            }
+            return new Repetition(node, minimum, maximum);
+        }
+
+        private Node parseAtom(final int end) {
+            val current = pattern.charAt(position);
+            switch (current) {
+                case '(' -> {
+                    position++;
+                    if (position < end && pattern.charAt(position) == '?') {
+                        if (position + 1 < end && pattern.charAt(position + 1) == ':') {
+                            position += 2;
+                        } else {
+                            throw new IllegalArgumentException("Special groups are not supported");
+                        }
+                    }
+                    val node = parseAlternation(end);
+                    if (position >= end || pattern.charAt(position) != ')') {
+                        throw new IllegalArgumentException("Unterminated group");
+                    }
+                    position++;
+                    return node;
+                }
+                case '[' -> {
+                    return parseCharacterClass(end);
+                }
+                case '.' -> {
+                    position++;
+                    return new CharacterSet(new int[]{'\n', '\n', '\r', '\r', 0x85, 0x85, 0x2028, 0x2029}, true);
+                }
+                case '\\' -> {
+                    position++;
+                    return parseEscape(end);
+                }
+                case '^', '$', '*', '+', '?', '{', ')', '|' -> throw new IllegalArgumentException("Unsupported construct " + current);
+                default -> {
+                    val codePoint = pattern.codePointAt(position);
+                    position += Character.charCount(codePoint);
+                    return new CharacterSet(new int[]{codePoint, codePoint}, false);
+                }
+            }
+        }
+
+        private CharacterSet parseEscape(final int end) {
+            if (position >= end) {
+                throw new IllegalArgumentException("Dangling escape");
+            }
+            val escaped = pattern.codePointAt(position);
+            position += Character.charCount(escaped);
+            return switch (escaped) {
+                case 'd' -> CharacterSet.DIGIT;
+                case 'D' -> CharacterSet.DIGIT.negate();
+                case 'w' -> CharacterSet.WORD;
+                case 'W' -> CharacterSet.WORD.negate();
+                case 's' -> CharacterSet.SPACE;
+                case 'S' -> CharacterSet.SPACE.negate();
+                case 't' -> new CharacterSet(new int[]{'\t', '\t'}, false);
+                case 'n' -> new CharacterSet(new int[]{'\n', '\n'}, false);
+                case 'r' -> new CharacterSet(new int[]{'\r', '\r'}, false);
+                case 'f' -> new CharacterSet(new int[]{'\f', '\f'}, false);
+                default -> {
+                    if (Character.isLetterOrDigit(escaped)) {
+                        throw new IllegalArgumentException("Unsupported escape \\" + Character.toString(escaped));
+                    }
+                    yield new CharacterSet(new int[]{escaped, escaped}, false);
+                }
+            };
+        }
+
+        private CharacterSet parseCharacterClass(final int end) {
+            position++;
+            var negated = false;
+            if (position < end && pattern.charAt(position) == '^') {
+                negated = true;
+                position++;
+            }
+            val ranges = new ArrayList<Integer>();
+            var first = true;
+            while (true) {
+                if (position >= end) {
+                    throw new IllegalArgumentException("Unterminated character class");
+                }
+                val current = pattern.charAt(position);
+                if (current == ']' && !first) {
+                    position++;
+                    break;
+                }
+                if (current == '[' || current == ']' || pattern.startsWith("&&", position)) {
+                    throw new IllegalArgumentException("Nested or intersected character classes are not supported");
+                }
+                first = false;
+                int low;
+                if (current == '\\') {
+                    position++;
+                    val escaped = parseEscape(end);
+                    if (escaped.negated() || escaped.ranges().length != 2 || escaped.ranges()[0] != escaped.ranges()[1]) {
+                        if (escaped.negated()) {
+                            throw new IllegalArgumentException("Negated classes inside character classes are not supported");
+                        }
+                        if (position + 1 < end && pattern.charAt(position) == '-' && pattern.charAt(position + 1) != ']') {
+                            throw new IllegalArgumentException("Ranges over character classes are not supported");
+                        }
+                        Arrays.stream(escaped.ranges()).forEach(ranges::add);
+                        continue;
+                    }
+                    low = escaped.ranges()[0];
+                } else {
+                    low = pattern.codePointAt(position);
+                    position += Character.charCount(low);
+                }
+                if (position + 1 < end && pattern.charAt(position) == '-' && pattern.charAt(position + 1) != ']') {
+                    position++;
+                    val high = pattern.codePointAt(position);
+                    if (high == '\\' || high == '[') {
+                        throw new IllegalArgumentException("Unsupported character class range");
+                    }
+                    position += Character.charCount(high);
+                    if (high < low) {
+                        throw new IllegalArgumentException("Invalid character class range");
+                    }
+                    ranges.add(low);
+                    ranges.add(high);
+                } else {
+                    ranges.add(low);
+                    ranges.add(low);
+                }
+            }
+            return new CharacterSet(ranges.stream().mapToInt(Integer::intValue).toArray(), negated);
+        }
+    }
+}
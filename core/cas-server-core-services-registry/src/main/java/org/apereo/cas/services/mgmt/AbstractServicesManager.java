@@ -408,6 +408,15 @@ public abstract class AbstractServicesManager implements ServicesManager {
     protected void saveInternal(final RegisteredService service) {
     }
 
+    /**
+     * Cache internal, invoked when a service that was not previously
+     * cached is put into the services cache.
+     *
+     * @param service the service
+     */
+    protected void cacheInternal(final RegisteredService service) {
+    }
+
     /**
      * Load internal.
      */
@@ -444,6 +453,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
         if (configurationContext.getServicesCache().getIfPresent(service.getId()) == null) {
             configurationContext.getServicesCache().put(service.getId(), service);
             indexedRegisteredServices.add(service);
+            cacheInternal(service);
         }
     }
 
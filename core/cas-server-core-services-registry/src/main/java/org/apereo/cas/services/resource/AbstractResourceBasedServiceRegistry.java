@@ -7,6 +7,7 @@ import org.apereo.cas.services.ResourceBasedServiceRegistry;
 import org.apereo.cas.services.ServiceRegistryListener;
 import org.apereo.cas.services.replication.NoOpRegisteredServiceReplicationStrategy;
 import org.apereo.cas.services.replication.RegisteredServiceReplicationStrategy;
+import org.apereo.cas.services.util.RegisteredServiceJsonSerializer;
 import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServiceLoadedEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServicePreDeleteEvent;
@@ -32,9 +33,14 @@ import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -46,7 +52,9 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -94,6 +102,16 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
 
     private Pattern serviceFileNamePattern;
 
+    /**
+     * Number of service definition files that may be parsed concurrently on load.
+     */
+    @Setter
+    private int loadParallelism = 1;
+
+    private RegisteredServiceResourceManifest resourceManifest;
+
+    private File resourceManifestSnapshot;
+
     protected AbstractResourceBasedServiceRegistry(final Resource configDirectory,
                                                    final Collection<StringSerializer<RegisteredService>> serializers,
                                                    final ConfigurableApplicationContext applicationContext,
@@ -180,6 +198,19 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
             () -> "Could not determine the services configuration directory from " + configDirectory);
     }
 
+    /**
+     * Enable incremental loading of service definition files, so that
+     * files are only parsed again when they have changed since they were last loaded.
+     * Parsed service definitions are restored from, and stored in, the given snapshot file if one is provided.
+     *
+     * @param snapshot the snapshot file, which may be null
+     */
+    public void enableIncrementalLoading(final File snapshot) {
+        this.resourceManifestSnapshot = snapshot;
+        this.resourceManifest = RegisteredServiceResourceManifest.restore(snapshot,
+            new RegisteredServiceJsonSerializer(getApplicationContext()));
+    }
+
     /**
      * Enable default watcher service.
      */
@@ -256,9 +287,8 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
         LOGGER.trace("Located [{}] files from [{}] are [{}]", getExtensions(), this.serviceRegistryDirectory, files);
         val clientInfo = ClientInfoHolder.getClientInfo();
 
-        this.services = files
+        this.services = loadFiles(files)
             .stream()
-            .map(this::load)
             .filter(Objects::nonNull)
             .flatMap(Collection::stream)
             .sorted()
@@ -267,6 +297,12 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
                     BaseResourceBasedRegisteredServiceWatcher.LOG_SERVICE_DUPLICATE.accept(s2);
                     return s1;
                 }, LinkedHashMap::new));
+        if (resourceManifest != null) {
+            resourceManifest.retain(files);
+            if (resourceManifestSnapshot != null) {
+                resourceManifest.store(resourceManifestSnapshot);
+            }
+        }
         val listedServices = new ArrayList<>(this.services.values());
         val results = this.registeredServiceReplicationStrategy.updateLoadedRegisteredServicesFromCache(listedServices, this);
         results.forEach(service -> publishEvent(new CasRegisteredServiceLoadedEvent(this, service, clientInfo)));
@@ -305,17 +341,28 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
                 fileName, this.serviceFileNamePattern.pattern());
         }
 
+        if (resourceManifest != null) {
+            val loadedServices = resourceManifest.find(file);
+            if (loadedServices.isPresent()) {
+                LOGGER.trace("[{}] has not changed since it was last loaded", fileName);
+                return new ArrayList<>(loadedServices.get());
+            }
+        }
+
         LOGGER.debug("Attempting to read and parse [{}]", file.getAbsoluteFile());
-        try (val in = Files.newBufferedReader(file.toPath())) {
-            return this.registeredServiceSerializers
-                .stream()
-                .filter(s -> s.supports(file))
-                .map(s -> s.load(in))
-                .filter(Objects::nonNull)
-                .flatMap(Collection::stream)
-                .map(this::invokeServiceRegistryListenerPostLoad)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+        try {
+            if (resourceManifest == null) {
+                try (val in = Files.newBufferedReader(file.toPath())) {
+                    return parseRegisteredServices(file, in);
+                }
+            }
+            val lastModified = file.lastModified();
+            val content = Files.readAllBytes(file.toPath());
+            try (val in = new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8)) {
+                val results = parseRegisteredServices(file, in);
+                resourceManifest.put(file, lastModified, content, results);
+                return results;
+            }
         } catch (final Exception e) {
             LOGGER.error("Error reading configuration file [{}]", fileName);
             LoggingUtils.error(LOGGER, e);
@@ -323,6 +370,36 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
         return new ArrayList<>(0);
     }
 
+    private List<RegisteredService> parseRegisteredServices(final File file, final Reader in) {
+        return this.registeredServiceSerializers
+            .stream()
+            .filter(s -> s.supports(file))
+            .map(s -> s.load(in))
+            .filter(Objects::nonNull)
+            .flatMap(Collection::stream)
+            .map(this::invokeServiceRegistryListenerPostLoad)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    private List<Collection<RegisteredService>> loadFiles(final Collection<File> files) {
+        if (loadParallelism <= 1 || files.size() <= 1) {
+            return files.stream().map(this::load).collect(Collectors.toList());
+        }
+        val executor = Executors.newFixedThreadPool(Math.min(loadParallelism, files.size()),
+            new CustomizableThreadFactory("cas-service-registry-loader-"));
+        try {
+            LOGGER.debug("Loading [{}] files using [{}] threads", files.size(), loadParallelism);
+            val futures = files
+                .stream()
+                .map(file -> CompletableFuture.supplyAsync(() -> load(file), executor))
+                .toList();
+            return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Override
     public Stream<? extends RegisteredService> getServicesStream() {
         return this.services.values().stream();
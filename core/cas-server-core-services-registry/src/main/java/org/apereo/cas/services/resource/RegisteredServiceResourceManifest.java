@@ -0,0 +1,184 @@
+package org.apereo.cas.services.resource;
+
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.util.DigestUtils;
+import org.apereo.cas.util.LoggingUtils;
+import org.apereo.cas.util.serialization.JacksonObjectMapperFactory;
+import org.apereo.cas.util.serialization.StringSerializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link RegisteredServiceResourceManifest}, which remembers the registered services
+ * that were parsed from each service definition file along with the file's modification time, size
+ * and content digest. Files that have not changed since they were last parsed are served from the manifest.
+ * The manifest may be stored as a binary snapshot and restored on startup,
+ * so that unchanged service definition files need not be parsed again.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RegisteredServiceResourceManifest {
+    private static final ObjectMapper MAPPER = JacksonObjectMapperFactory.builder()
+        .defaultTypingEnabled(false).build().toObjectMapper();
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean modified = new AtomicBoolean();
+
+    private final StringSerializer<RegisteredService> serializer;
+
+    /**
+     * Restore the manifest from a snapshot file, if one exists and can be read.
+     * Services in the snapshot are read back with the given serializer, the same way
+     * JSON service definition files are.
+     *
+     * @param snapshot   the snapshot
+     * @param serializer the serializer
+     * @return the manifest
+     */
+    public static RegisteredServiceResourceManifest restore(final File snapshot,
+                                                            final StringSerializer<RegisteredService> serializer) {
+        val manifest = new RegisteredServiceResourceManifest(serializer);
+        if (snapshot != null && snapshot.exists()) {
+            try {
+                val snapshotEntries = MAPPER.readValue(snapshot, Snapshot.class);
+                manifest.entries.putAll(snapshotEntries.entries());
+                LOGGER.info("Restored [{}] service definition file(s) from snapshot [{}]", manifest.size(), snapshot);
+            } catch (final Exception e) {
+                LOGGER.warn("Unable to restore service definitions from snapshot [{}]; service definition files will be parsed", snapshot);
+                LoggingUtils.warn(LOGGER, e);
+                manifest.entries.clear();
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * Find the registered services that were last parsed from the given file,
+     * provided the file has not changed since. The content digest of the file is always
+     * verified, since modification times may be preserved or restored by tools that copy files.
+     *
+     * @param file the file
+     * @return the registered services
+     */
+    public Optional<List<RegisteredService>> find(final File file) {
+        val key = getKey(file);
+        val entry = entries.get(key);
+        if (entry == null || entry.length() != file.length() || !entry.digest().equals(digest(file))) {
+            return Optional.empty();
+        }
+        val lastModified = file.lastModified();
+        if (entry.lastModified() != lastModified) {
+            LOGGER.trace("[{}] was touched but its contents have not changed", file);
+            entries.put(key, new Entry(lastModified, entry.length(), entry.digest(), entry.services()));
+            modified.set(true);
+        }
+        return Optional.of(entry.services().stream().map(serializer::from).toList());
+    }
+
+    /**
+     * Remember the registered services parsed from the given file.
+     * The modification time and contents are expected to be captured
+     * before parsing, so that changes made while parsing are noticed next time.
+     *
+     * @param file         the file
+     * @param lastModified the last modified
+     * @param content      the content
+     * @param services     the services
+     */
+    public void put(final File file, final long lastModified, final byte[] content,
+                    final Collection<RegisteredService> services) {
+        entries.put(getKey(file), new Entry(lastModified, content.length, digest(content),
+            services.stream().map(serializer::toString).toList()));
+        modified.set(true);
+    }
+
+    /**
+     * Forget all files other than the ones given.
+     *
+     * @param files the files
+     */
+    public void retain(final Collection<File> files) {
+        val keys = files.stream().map(RegisteredServiceResourceManifest::getKey).collect(Collectors.toSet());
+        if (entries.keySet().retainAll(keys)) {
+            modified.set(true);
+        }
+    }
+
+    /**
+     * Store the manifest as a snapshot file, if it has changed since it was last restored or stored.
+     * The snapshot is written to a temporary file first and then moved in place.
+     *
+     * @param snapshot the snapshot
+     */
+    public void store(final File snapshot) {
+        if (!modified.getAndSet(false)) {
+            return;
+        }
+        try {
+            val parent = snapshot.getAbsoluteFile().getParentFile();
+            if (parent != null) {
+                Files.createDirectories(parent.toPath());
+            }
+            val temp = new File(parent, snapshot.getName() + ".tmp");
+            MAPPER.writeValue(temp, new Snapshot(new HashMap<>(entries)));
+            Files.move(temp.toPath(), snapshot.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.debug("Stored [{}] service definition file(s) in snapshot [{}]", size(), snapshot);
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to store service definitions snapshot at [{}]", snapshot);
+            LoggingUtils.warn(LOGGER, e);
+        }
+    }
+
+    /**
+     * Number of files tracked by the manifest.
+     *
+     * @return the size
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private static String getKey(final File file) {
+        return file.getAbsolutePath();
+    }
+
+    private static String digest(final File file) {
+        try {
+            return digest(Files.readAllBytes(file.toPath()));
+        } catch (final Exception e) {
+            LoggingUtils.warn(LOGGER, e);
+            return StringUtils.EMPTY;
+        }
+    }
+
+    private static String digest(final byte[] content) {
+        return DigestUtils.digest(MessageDigestAlgorithms.SHA_256, content);
+    }
+
+    record Entry(long lastModified, long length, String digest, List<String> services) {
+    }
+
+    record Snapshot(Map<String, Entry> entries) {
+    }
+}
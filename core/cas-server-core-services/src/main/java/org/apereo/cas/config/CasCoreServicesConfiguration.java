@@ -41,6 +41,8 @@ import org.apereo.cas.services.ServicesManagerRegisteredServiceLocator;
 import org.apereo.cas.services.ServicesManagerScheduledLoader;
 import org.apereo.cas.services.domain.DefaultDomainAwareServicesManager;
 import org.apereo.cas.services.domain.DefaultRegisteredServiceDomainExtractor;
+import org.apereo.cas.services.index.DefaultCompiledServicesManager;
+import org.apereo.cas.services.index.DefaultIndexedServicesManager;
 import org.apereo.cas.services.mgmt.DefaultChainingServicesManager;
 import org.apereo.cas.services.mgmt.DefaultServicesManager;
 import org.apereo.cas.services.replication.NoOpRegisteredServiceReplicationStrategy;
@@ -320,6 +322,12 @@ public class CasCoreServicesConfiguration {
                         return () -> new DefaultDomainAwareServicesManager(configurationContext,
                             new DefaultRegisteredServiceDomainExtractor());
                     }
+                    if (managementType == ServiceRegistryCoreProperties.ServiceManagementTypes.INDEXED) {
+                        return () -> new DefaultIndexedServicesManager(configurationContext);
+                    }
+                    if (managementType == ServiceRegistryCoreProperties.ServiceManagementTypes.COMPILED) {
+                        return () -> new DefaultCompiledServicesManager(configurationContext);
+                    }
                     return () -> new DefaultServicesManager(configurationContext);
                 })
                 .get();
@@ -0,0 +1,63 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.services.index.DefaultCompiledServicesManager;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link DefaultCompiledServicesManagerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("RegisteredService")
+class DefaultCompiledServicesManagerTests extends AbstractServicesManagerTests<DefaultCompiledServicesManager> {
+
+    @Test
+    void verifyResolutionHonorsEvaluationOrder() {
+        servicesManager.deleteAll();
+
+        val compiled = new CasRegisteredService();
+        compiled.setId(100);
+        compiled.setName("compiled");
+        compiled.setServiceId("^https://(www\\.)?example\\.(org|com)/.*");
+        compiled.setEvaluationOrder(10);
+        servicesManager.save(compiled);
+
+        val backreference = new CasRegisteredService();
+        backreference.setId(200);
+        backreference.setName("backreference");
+        backreference.setServiceId("^https://(\\w+)\\.\\1\\.org/.*");
+        backreference.setEvaluationOrder(5);
+        servicesManager.save(backreference);
+
+        val partial = new CasRegisteredService();
+        partial.setId(300);
+        partial.setName("partial");
+        partial.setServiceId("/portal/");
+        partial.setMatchingStrategy(new PartialRegexRegisteredServiceMatchingStrategy());
+        partial.setEvaluationOrder(1);
+        servicesManager.save(partial);
+
+        assertEquals(compiled.getId(), servicesManager.findServiceBy(
+            serviceFactory.createService("https://WWW.example.com/login")).getId());
+        assertEquals(backreference.getId(), servicesManager.findServiceBy(
+            serviceFactory.createService("https://app.app.org/login")).getId());
+        assertEquals(partial.getId(), servicesManager.findServiceBy(
+            serviceFactory.createService("https://example.org/portal/home")).getId());
+        assertNull(servicesManager.findServiceBy(serviceFactory.createService("https://unknown.net")));
+
+        servicesManager.delete(partial);
+        assertEquals(compiled.getId(), servicesManager.findServiceBy(
+            serviceFactory.createService("https://example.org/portal/home")).getId());
+    }
+
+    @Override
+    protected ServicesManager getServicesManagerInstance() {
+        return new DefaultCompiledServicesManager(getConfigurationContext());
+    }
+}
@@ -0,0 +1,82 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.services.index.DefaultIndexedServicesManager;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link DefaultIndexedServicesManagerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("RegisteredService")
+class DefaultIndexedServicesManagerTests extends AbstractServicesManagerTests<DefaultIndexedServicesManager> {
+
+    @Test
+    void verifyResolutionHonorsEvaluationOrder() {
+        servicesManager.deleteAll();
+
+        val anchored = new CasRegisteredService();
+        anchored.setId(100);
+        anchored.setName("anchored");
+        anchored.setServiceId("^https://app.example.org/.*");
+        anchored.setEvaluationOrder(10);
+        servicesManager.save(anchored);
+
+        val unanchored = new CasRegisteredService();
+        unanchored.setId(200);
+        unanchored.setName("unanchored");
+        unanchored.setServiceId("^(https|imaps)://.*");
+        unanchored.setEvaluationOrder(5);
+        servicesManager.save(unanchored);
+
+        val other = new CasRegisteredService();
+        other.setId(300);
+        other.setName("other");
+        other.setServiceId("https://other.example.org/.+");
+        other.setEvaluationOrder(1);
+        servicesManager.save(other);
+
+        val result = servicesManager.findServiceBy(serviceFactory.createService("https://app.example.org/login"));
+        assertEquals(unanchored.getId(), result.getId());
+
+        unanchored.setEvaluationOrder(50);
+        servicesManager.save(unanchored);
+        assertEquals(anchored.getId(), servicesManager.findServiceBy(
+            serviceFactory.createService("https://APP.example.org/login")).getId());
+        assertEquals(other.getId(), servicesManager.findServiceBy(
+            serviceFactory.createService("https://other.example.org/page")).getId());
+        assertEquals(unanchored.getId(), servicesManager.findServiceBy(
+            serviceFactory.createService("imaps://mail.example.org")).getId());
+    }
+
+    @Test
+    void verifyServiceIdChangeMovesBuckets() {
+        servicesManager.deleteAll();
+
+        val service = new CasRegisteredService();
+        service.setId(400);
+        service.setName("moving");
+        service.setServiceId("https://first.example.org/.*");
+        servicesManager.save(service);
+        assertNotNull(servicesManager.findServiceBy(serviceFactory.createService("https://first.example.org/app")));
+
+        service.setServiceId("https://second.example.org/.*");
+        servicesManager.save(service);
+        assertNull(servicesManager.findServiceBy(serviceFactory.createService("https://first.example.org/app")));
+        assertNotNull(servicesManager.findServiceBy(serviceFactory.createService("https://second.example.org/app")));
+
+        servicesManager.delete(service);
+        assertNull(servicesManager.findServiceBy(serviceFactory.createService("https://second.example.org/app")));
+    }
+
+    @Override
+    protected ServicesManager getServicesManagerInstance() {
+        return new DefaultIndexedServicesManager(getConfigurationContext());
+    }
+}
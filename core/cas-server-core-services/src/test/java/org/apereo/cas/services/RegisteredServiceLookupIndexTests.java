@@ -0,0 +1,76 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.services.index.RegisteredServiceLookupIndex;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link RegisteredServiceLookupIndexTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("RegisteredService")
+class RegisteredServiceLookupIndexTests {
+
+    private static CasRegisteredService newService(final long id, final String serviceId) {
+        val service = new CasRegisteredService();
+        service.setId(id);
+        service.setName("service-" + id);
+        service.setServiceId(serviceId);
+        return service;
+    }
+
+    @Test
+    void verifyLookupKeys() {
+        assertEquals(Optional.of("https://app.example"),
+            RegisteredServiceLookupIndex.extractLookupKey(newService(1, "^https://app\\.Example.org/.*")));
+        assertEquals(Optional.of("https://app.example.org"),
+            RegisteredServiceLookupIndex.extractLookupKey(newService(1, "https://app\\.example\\.org/path/.*")));
+        assertEquals(Optional.of("http"),
+            RegisteredServiceLookupIndex.extractLookupKey(newService(1, "^https?://.*")));
+        assertEquals(Optional.of("https://x"),
+            RegisteredServiceLookupIndex.extractLookupKey(newService(1, "https://x+.example.org")));
+        assertTrue(RegisteredServiceLookupIndex.extractLookupKey(newService(1, "^(https|imaps)://.*")).isEmpty());
+        assertTrue(RegisteredServiceLookupIndex.extractLookupKey(newService(1, "https://a.org/.*|https://b.org/.*")).isEmpty());
+        assertTrue(RegisteredServiceLookupIndex.extractLookupKey(newService(1, ".*")).isEmpty());
+
+        val partial = newService(1, "example.org");
+        partial.setMatchingStrategy(new PartialRegexRegisteredServiceMatchingStrategy());
+        assertTrue(RegisteredServiceLookupIndex.extractLookupKey(partial).isEmpty());
+
+        val literal = newService(1, "https://Example.org/cas?param=value");
+        literal.setMatchingStrategy(new LiteralRegisteredServiceMatchingStrategy());
+        assertEquals(Optional.of("https://example.org"), RegisteredServiceLookupIndex.extractLookupKey(literal));
+    }
+
+    @Test
+    void verifyCandidatesInEvaluationOrder() {
+        val index = new RegisteredServiceLookupIndex();
+        val first = newService(1, "https://app.example.org/.*");
+        first.setEvaluationOrder(3);
+        val second = newService(2, ".*");
+        second.setEvaluationOrder(2);
+        val third = newService(3, "https://other.example.org/.*");
+        third.setEvaluationOrder(1);
+        index.add(first);
+        index.add(second);
+        index.add(third);
+        assertEquals(3, index.size());
+
+        val candidates = index.getCandidates("https://app.example.org/login").stream().toList();
+        assertEquals(2, candidates.size());
+        assertEquals(second.getId(), candidates.get(0).getId());
+        assertEquals(first.getId(), candidates.get(1).getId());
+
+        index.remove(second);
+        assertEquals(1, index.getCandidates("https://app.example.org/login").size());
+        assertTrue(index.getCandidates("https://unknown.example.org").isEmpty());
+    }
+}
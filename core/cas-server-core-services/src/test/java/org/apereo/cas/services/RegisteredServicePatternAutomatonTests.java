@@ -0,0 +1,106 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.services.index.RegisteredServicePatternAutomaton;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link RegisteredServicePatternAutomatonTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("RegisteredService")
+class RegisteredServicePatternAutomatonTests {
+
+    private static CasRegisteredService newService(final long id, final String serviceId,
+                                                   final RegisteredServiceMatchingStrategy strategy) {
+        val service = new CasRegisteredService();
+        service.setId(id);
+        service.setName("service-" + id);
+        service.setServiceId(serviceId);
+        service.setEvaluationOrder((int) id);
+        service.setMatchingStrategy(strategy);
+        return service;
+    }
+
+    @Test
+    void verifyCompiledMatchesAgreeWithPatterns() {
+        val services = List.<RegisteredService>of(
+            newService(1, "https://app\\.example\\.org/.+", new FullRegexRegisteredServiceMatchingStrategy()),
+            newService(2, "^https?://[a-z0-9-]+\\.example\\.org(:\\d{2,5})?/cas.*", new FullRegexRegisteredServiceMatchingStrategy()),
+            newService(3, "example\\.org/portal$", new PartialRegexRegisteredServiceMatchingStrategy()),
+            newService(4, "https://Example.org/literal", new LiteralRegisteredServiceMatchingStrategy(true)),
+            newService(5, "https://example.org/(?!admin).*", new FullRegexRegisteredServiceMatchingStrategy()),
+            newService(6, ".*", new FullRegexRegisteredServiceMatchingStrategy()));
+        val automaton = RegisteredServicePatternAutomaton.compile(services);
+        assertEquals(5, automaton.getCompiledServiceCount());
+        assertEquals(1, automaton.getUncompiledServiceCount());
+
+        List.of("https://app.example.org/login", "http://www.example.org:8443/cas/login",
+            "https://example.org/portal", "https://example.org/portal/other",
+            "https://EXAMPLE.org/literal", "https://example.org/admin", "ftp://nothing").forEach(serviceId -> {
+            val candidates = automaton.getCandidates(serviceId);
+            services.stream()
+                .filter(service -> service.matches(serviceId))
+                .forEach(service -> assertTrue(candidates.contains(service), () -> service + " should match " + serviceId));
+            candidates.stream()
+                .filter(service -> service.getId() != 5)
+                .forEach(service -> assertTrue(service.matches(serviceId), () -> service + " should not match " + serviceId));
+        });
+        assertEquals(List.of(1L, 5L, 6L), automaton.getCandidates("https://app.example.org/login")
+            .stream().map(RegisteredService::getId).toList());
+    }
+
+    @Test
+    void verifyPathologicalPatternsFallBack() {
+        val services = List.<RegisteredService>of(
+            newService(1, "https://app\\.example\\.org/.+", new FullRegexRegisteredServiceMatchingStrategy()),
+            newService(2, "https://(a{1,100}){1,100}", new FullRegexRegisteredServiceMatchingStrategy()),
+            newService(3, "https://((a{1,64}){1,64}){1,64}", new FullRegexRegisteredServiceMatchingStrategy()),
+            newService(4, "https://(((a{1,64}){1,64}){1,64}){1,64}", new PartialRegexRegisteredServiceMatchingStrategy()));
+        val automaton = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> RegisteredServicePatternAutomaton.compile(services));
+        assertEquals(1, automaton.getCompiledServiceCount());
+        assertEquals(3, automaton.getUncompiledServiceCount());
+        assertTrue(automaton.getCandidates("https://aaa").stream().anyMatch(service -> service.getId() == 3));
+        assertEquals(List.of(1L, 2L, 3L, 4L), automaton.getCandidates("https://app.example.org/login")
+            .stream().map(RegisteredService::getId).toList());
+    }
+
+    @Test
+    void verifySupplementaryCharactersMatchByCodePoint() {
+        val services = List.<RegisteredService>of(
+            newService(1, "https://app\\.example\\.org/[^/]", new FullRegexRegisteredServiceMatchingStrategy()),
+            newService(2, "https://app\\.example\\.org/\uD83D\uDE00.", new FullRegexRegisteredServiceMatchingStrategy()),
+            newService(3, "https://app.example.org/\uD83D\uDE00", new LiteralRegisteredServiceMatchingStrategy()));
+        val automaton = RegisteredServicePatternAutomaton.compile(services);
+        assertEquals(3, automaton.getCompiledServiceCount());
+        assertEquals(List.of(1L, 3L), automaton.getCandidates("https://app.example.org/\uD83D\uDE00")
+            .stream().map(RegisteredService::getId).toList());
+        assertEquals(List.of(2L), automaton.getCandidates("https://app.example.org/\uD83D\uDE00\uD83D\uDE01")
+            .stream().map(RegisteredService::getId).toList());
+    }
+
+    @Test
+    void verifyMatchingBeyondDeterministicStateLimit() {
+        val service = newService(1, "https://.*a.{14}", new FullRegexRegisteredServiceMatchingStrategy());
+        val automaton = RegisteredServicePatternAutomaton.compile(List.of(service));
+        assertEquals(1, automaton.getCompiledServiceCount());
+        val random = new Random(42);
+        val builder = new StringBuilder("https://");
+        for (var i = 0; i < 50_000; i++) {
+            builder.append(random.nextBoolean() ? 'a' : 'b');
+        }
+        val prefix = builder.toString();
+        List.of(prefix, prefix + "a" + "b".repeat(14), prefix + "b".repeat(15), prefix + "ab".repeat(20)).forEach(serviceId ->
+            assertEquals(service.matches(serviceId), automaton.getCandidates(serviceId).contains(service), () -> "Mismatch for " + serviceId.length()));
+    }
+}
@@ -2,6 +2,7 @@ package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.registry.pubsub.QueueableTicketRegistry;
 import org.apereo.cas.ticket.registry.pubsub.commands.AddTicketMessageQueueCommand;
 import org.apereo.cas.ticket.registry.pubsub.commands.DeleteTicketMessageQueueCommand;
@@ -18,7 +19,10 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * This is {@link AbstractMapBasedTicketRegistry}.
@@ -77,6 +81,21 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
         return decodeTickets(getMapInstance().values());
     }
 
+    @Override
+    public Stream<? extends Ticket> stream() {
+        return decodeTickets(getMapInstance().values().stream());
+    }
+
+    @Override
+    public Stream<? extends Ticket> stream(final int partition, final int partitionCount) {
+        val mapInstance = getMapInstance();
+        return decodeTickets(mapInstance.keySet()
+            .stream()
+            .filter(key -> Math.floorMod(key.hashCode(), partitionCount) == partition)
+            .map(mapInstance::get)
+            .filter(Objects::nonNull));
+    }
+
     @Override
     public Ticket updateTicket(final Ticket ticket) throws Exception {
         val result = updateTicketInQueue(ticket);
@@ -115,6 +134,7 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
         val encTicket = encodeTicket(ticket);
         LOGGER.debug("Putting ticket [{}] in registry.", ticket.getId());
         getMapInstance().put(encTicket.getId(), encTicket);
+        indexTicketAttributes(ticket);
     }
 
     @Override
@@ -127,16 +147,31 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
     @Override
     public long deleteTicketFromQueue(final String ticketId) {
         val encTicketId = digestIdentifier(ticketId);
-        return !StringUtils.isBlank(encTicketId) && getMapInstance().remove(encTicketId) != null ? 1 : 0;
+        if (!StringUtils.isBlank(encTicketId) && getMapInstance().remove(encTicketId) != null) {
+            ticketAttributeIndex.remove(encTicketId, Set.of());
+            return 1;
+        }
+        return 0;
     }
 
     @Override
     public long deleteAllFromQueue() {
         val size = getMapInstance().size();
         getMapInstance().clear();
+        ticketAttributeIndex.clear();
         return size;
     }
 
+    @Override
+    protected Stream<? extends Ticket> getTicketsFromAttributeIndex(final Set<String> ticketKeys) {
+        return ticketKeys
+            .stream()
+            .map(getMapInstance()::get)
+            .filter(Objects::nonNull)
+            .map(this::decodeTicket)
+            .filter(TicketGrantingTicket.class::isInstance);
+    }
+
     /**
      * Create map instance, which must ben created during initialization phases
      * and always be the same instance.
@@ -12,13 +12,11 @@ import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 import org.apereo.cas.ticket.serialization.TicketSerializationManager;
 import org.apereo.cas.util.CollectionUtils;
-import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.util.crypto.CipherExecutor;
 import org.apereo.cas.util.function.FunctionUtils;
 import org.apereo.cas.util.serialization.SerializationUtils;
 
 import com.google.common.io.ByteSource;
-import lombok.AllArgsConstructor;
 import lombok.NonNull;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -31,6 +29,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -47,7 +46,6 @@ import java.util.stream.Stream;
  * @since 3.0.0
  */
 @Slf4j
-@AllArgsConstructor
 public abstract class AbstractTicketRegistry implements TicketRegistry {
 
     private static final String MESSAGE = "Ticket encryption is not enabled. Falling back to default behavior";
@@ -59,6 +57,23 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
 
     protected final TicketCatalog ticketCatalog;
 
+    @Setter
+    protected TicketExpirationIndex ticketExpirationIndex = TicketExpirationIndex.noOp();
+
+    @Setter
+    protected TicketIdentifierDigester ticketIdentifierDigester = TicketIdentifierDigester.sha512();
+
+    @Setter
+    protected TicketAttributeIndex ticketAttributeIndex = TicketAttributeIndex.noOp();
+
+    protected AbstractTicketRegistry(final CipherExecutor cipherExecutor,
+                                     final TicketSerializationManager ticketSerializationManager,
+                                     final TicketCatalog ticketCatalog) {
+        this.cipherExecutor = cipherExecutor;
+        this.ticketSerializationManager = ticketSerializationManager;
+        this.ticketCatalog = ticketCatalog;
+    }
+
     protected static String getPrincipalIdFrom(final Ticket ticket) {
         return ticket instanceof AuthenticationAwareTicket
             ? Optional.ofNullable(((AuthenticationAwareTicket) ticket).getAuthentication())
@@ -92,6 +107,7 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
     public void addTicket(final Ticket ticket) throws Exception {
         if (ticket != null && !ticket.isExpired()) {
             addTicketInternal(ticket);
+            ticketExpirationIndex.schedule(ticket);
         }
     }
 
@@ -158,6 +174,7 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         }
         LOGGER.debug("Removing ticket [{}] from the registry.", ticket);
         count.getAndAdd(deleteSingleTicket(ticket));
+        ticketExpirationIndex.remove(ticket.getId());
         return count.intValue();
     }
 
@@ -203,7 +220,7 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         if (StringUtils.isBlank(identifier)) {
             return identifier;
         }
-        val encodedId = DigestUtils.sha512(identifier);
+        val encodedId = ticketIdentifierDigester.digest(identifier);
         LOGGER.debug("Digested original ticket id [{}] to [{}]", identifier, encodedId);
         return encodedId;
     }
@@ -218,31 +235,104 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
 
     @Override
     public Stream<? extends Ticket> getSessionsWithAttributes(final Map<String, List<Object>> queryAttributes) {
-        return getTickets(ticket -> {
-            if (ticket instanceof final TicketGrantingTicket ticketGrantingTicket && !ticket.isExpired()
-                && ticketGrantingTicket.getAuthentication() != null) {
-                val attributes = collectAndDigestTicketAttributes(ticketGrantingTicket);
-
-                return queryAttributes.entrySet().stream().anyMatch(queryEntry -> {
-                    val attributeKey = digestIdentifier(queryEntry.getKey());
-
-                    if (attributes.containsKey(attributeKey)) {
-
-                        val authnAttributeValues = CollectionUtils.toCollection(attributes.get(attributeKey));
-
-                        return authnAttributeValues.stream().anyMatch(value -> {
-                            val attributeValue = value.toString();
-                            return queryEntry.getValue()
-                                .stream()
-                                .map(queryValue -> digestIdentifier(queryValue.toString()))
-                                .anyMatch(attributeValue::equalsIgnoreCase);
-                        });
-                    }
-                    return false;
-                });
-            }
-            return false;
-        });
+        if (ticketAttributeIndex.isEnabled()) {
+            val digestedAttributes = queryAttributes.entrySet()
+                .stream()
+                .collect(Collectors.toMap(entry -> digestIdentifier(entry.getKey()),
+                    entry -> digestIdentifier(entry.getValue()), (first, second) -> first));
+            val ticketKeys = ticketAttributeIndex.find(getAttributeIndexKeys(digestedAttributes));
+            LOGGER.debug("Found [{}] candidate session(s) in the attribute index", ticketKeys.size());
+            return ticketKeys.isEmpty()
+                ? Stream.empty()
+                : getTicketsFromAttributeIndex(ticketKeys).filter(ticket -> hasAnyAttribute(ticket, queryAttributes));
+        }
+        return getTickets(ticket -> hasAnyAttribute(ticket, queryAttributes));
+    }
+
+    private boolean hasAnyAttribute(final Ticket ticket, final Map<String, List<Object>> queryAttributes) {
+        if (ticket instanceof final TicketGrantingTicket ticketGrantingTicket && !ticket.isExpired()
+            && ticketGrantingTicket.getAuthentication() != null) {
+            val attributes = collectAndDigestTicketAttributes(ticketGrantingTicket);
+
+            return queryAttributes.entrySet().stream().anyMatch(queryEntry -> {
+                val attributeKey = digestIdentifier(queryEntry.getKey());
+
+                if (attributes.containsKey(attributeKey)) {
+
+                    val authnAttributeValues = CollectionUtils.toCollection(attributes.get(attributeKey));
+
+                    return authnAttributeValues.stream().anyMatch(value -> {
+                        val attributeValue = value.toString();
+                        return queryEntry.getValue()
+                            .stream()
+                            .map(queryValue -> digestIdentifier(queryValue.toString()))
+                            .anyMatch(attributeValue::equalsIgnoreCase);
+                    });
+                }
+                return false;
+            });
+        }
+        return false;
+    }
+
+    /**
+     * Fetch ticket-granting tickets whose keys were found in the attribute index.
+     * Ticket keys are ticket identifiers as digested by this registry; registries that keep
+     * tickets encrypted should override this to look up tickets by their digested keys directly,
+     * since the original identifiers cannot be recovered.
+     *
+     * @param ticketKeys the ticket keys
+     * @return the tickets
+     */
+    protected Stream<? extends Ticket> getTicketsFromAttributeIndex(final Set<String> ticketKeys) {
+        if (isCipherExecutorEnabled()) {
+            return getTickets(ticket -> ticketKeys.contains(digestIdentifier(ticket.getId())));
+        }
+        return ticketKeys
+            .stream()
+            .map(ticketId -> getTicket(ticketId, TicketGrantingTicket.class::isInstance))
+            .filter(Objects::nonNull);
+    }
+
+    /**
+     * Link the ticket-granting ticket to its attributes in the attribute index.
+     *
+     * @param ticket the ticket
+     */
+    protected void indexTicketAttributes(final Ticket ticket) {
+        if (ticketAttributeIndex.isEnabled() && ticket instanceof TicketGrantingTicket) {
+            val indexKeys = getAttributeIndexKeys(collectAndDigestTicketAttributes(ticket));
+            ticketAttributeIndex.index(ticket, digestIdentifier(ticket.getId()), indexKeys);
+        }
+    }
+
+    /**
+     * Remove the ticket-granting ticket from the attribute index.
+     *
+     * @param ticket the ticket
+     */
+    protected void removeTicketAttributes(final Ticket ticket) {
+        if (ticketAttributeIndex.isEnabled() && ticket instanceof TicketGrantingTicket) {
+            val indexKeys = getAttributeIndexKeys(collectAndDigestTicketAttributes(ticket));
+            ticketAttributeIndex.remove(digestIdentifier(ticket.getId()), indexKeys);
+        }
+    }
+
+    /**
+     * Calculate attribute index keys from attribute names and values
+     * that are already digested by this registry. Values are matched regardless of case.
+     *
+     * @param attributes the attributes
+     * @return the index keys
+     */
+    protected Set<String> getAttributeIndexKeys(final Map<?, ?> attributes) {
+        return attributes.entrySet()
+            .stream()
+            .flatMap(entry -> CollectionUtils.toCollection(entry.getValue())
+                .stream()
+                .filter(Objects::nonNull)
+                .map(value -> ticketIdentifierDigester.digest(entry.getKey() + "=" + value.toString().toLowerCase(Locale.ENGLISH))))
+            .collect(Collectors.toSet());
     }
 
     /**
@@ -21,6 +21,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.ObjectProvider;
 
 import java.util.Map;
+import java.util.Set;
 
 /**
  * This is {@link CachingTicketRegistry}.
@@ -119,6 +120,9 @@ public class CachingTicketRegistry extends AbstractMapBasedTicketRegistry {
 
                 }
             }
+            if (cause.wasEvicted()) {
+                ticketAttributeIndex.remove(key, Set.of());
+            }
         }
     }
 }
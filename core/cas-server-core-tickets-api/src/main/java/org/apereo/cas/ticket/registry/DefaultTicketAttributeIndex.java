@@ -0,0 +1,81 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+
+import lombok.val;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link DefaultTicketAttributeIndex}, which keeps the inverted index in memory
+ * along with the index keys of each ticket, so that tickets can be unlinked
+ * even when their attributes are no longer at hand. Since the index is kept in memory,
+ * it is only suitable for ticket registries whose tickets are all added and removed
+ * through the same CAS server node, or are replicated to it.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+public class DefaultTicketAttributeIndex implements TicketAttributeIndex {
+    private final Map<String, Set<String>> index = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<String>> ticketIndexKeys = new ConcurrentHashMap<>();
+
+    @Override
+    public void index(final Ticket ticket, final String ticketKey, final Set<String> indexKeys) {
+        ticketIndexKeys.compute(ticketKey, (key, currentKeys) -> {
+            val keys = currentKeys == null ? ConcurrentHashMap.<String>newKeySet() : currentKeys;
+            keys.addAll(indexKeys);
+            return keys;
+        });
+        indexKeys.forEach(indexKey -> index.compute(indexKey, (key, ticketKeys) -> {
+            val keys = ticketKeys == null ? ConcurrentHashMap.<String>newKeySet() : ticketKeys;
+            keys.add(ticketKey);
+            return keys;
+        }));
+    }
+
+    @Override
+    public void remove(final String ticketKey, final Set<String> indexKeys) {
+        val keys = ticketIndexKeys.remove(ticketKey);
+        if (keys != null) {
+            keys.forEach(indexKey -> index.computeIfPresent(indexKey, (key, ticketKeys) -> {
+                ticketKeys.remove(ticketKey);
+                return ticketKeys.isEmpty() ? null : ticketKeys;
+            }));
+        }
+    }
+
+    @Override
+    public Set<String> find(final Set<String> indexKeys) {
+        return indexKeys
+            .stream()
+            .map(index::get)
+            .filter(ticketKeys -> ticketKeys != null && !ticketKeys.isEmpty())
+            .flatMap(Set::stream)
+            .collect(Collectors.toSet());
+    }
+
+    @Override
+    public void clear() {
+        index.clear();
+        ticketIndexKeys.clear();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Number of distinct index keys tracked by the index.
+     *
+     * @return the size
+     */
+    public long size() {
+        return index.size();
+    }
+}
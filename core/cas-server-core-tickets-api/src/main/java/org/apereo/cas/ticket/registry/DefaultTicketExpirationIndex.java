@@ -0,0 +1,128 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link DefaultTicketExpirationIndex}. It is an in-memory, time-bucketed wheel
+ * of ticket identifiers keyed by the projected expiration time of each ticket,
+ * calculated from the ticket's expiration policy. Tickets whose expiration policy
+ * cannot project an expiration time are scheduled to be re-checked after one bucket.
+ * <p>
+ * Since the index is kept in memory, each CAS server node only tracks tickets that it has added;
+ * deployments that share a remote ticket registry should periodically fall back to a full scan
+ * or provide an index that is backed by the registry itself.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+public class DefaultTicketExpirationIndex implements TicketExpirationIndex {
+    private final ConcurrentSkipListMap<Long, Set<String>> buckets = new ConcurrentSkipListMap<>();
+
+    private final Map<String, Long> ticketBuckets = new ConcurrentHashMap<>();
+
+    private final long bucketSeconds;
+
+    public DefaultTicketExpirationIndex(final Duration bucketDuration) {
+        this.bucketSeconds = Math.max(1, bucketDuration.toSeconds());
+    }
+
+    /**
+     * Gets projected expiration time for the ticket, which is the earliest of the
+     * maximum and idle expiration times reported by its expiration policy, or the time
+     * the ticket was last used plus its time-to-live.
+     *
+     * @param ticket the ticket
+     * @return the projected expiration time
+     */
+    public static Optional<ZonedDateTime> getProjectedExpirationTime(final Ticket ticket) {
+        val policy = ticket.getExpirationPolicy();
+        if (policy == null) {
+            return Optional.empty();
+        }
+        val projected = Stream.of(policy.getMaximumExpirationTime(ticket), policy.getIdleExpirationTime(ticket))
+            .filter(Objects::nonNull)
+            .min(ZonedDateTime::compareTo);
+        if (projected.isPresent()) {
+            return projected;
+        }
+        val timeToLive = policy.getTimeToLive(ticket);
+        val lastUsed = Optional.ofNullable(ticket.getLastTimeUsed()).orElseGet(ticket::getCreationTime);
+        if (timeToLive != null && timeToLive > 0 && lastUsed != null) {
+            return Optional.of(lastUsed.plusSeconds(timeToLive));
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public void schedule(final Ticket ticket) {
+        val expirationTime = getProjectedExpirationTime(ticket)
+            .orElseGet(() -> ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(bucketSeconds));
+        val bucket = Math.floorDiv(expirationTime.toEpochSecond(), bucketSeconds);
+        val previous = ticketBuckets.put(ticket.getId(), bucket);
+        if (previous != null && previous != bucket) {
+            removeFromBucket(previous, ticket.getId());
+        }
+        buckets.computeIfAbsent(bucket, k -> ConcurrentHashMap.newKeySet()).add(ticket.getId());
+        LOGGER.trace("Scheduled ticket [{}] for expiration at [{}]", ticket.getId(), expirationTime);
+    }
+
+    @Override
+    public void remove(final String ticketId) {
+        val bucket = ticketBuckets.remove(ticketId);
+        if (bucket != null) {
+            removeFromBucket(bucket, ticketId);
+        }
+    }
+
+    @Override
+    public Stream<String> pollDueTickets(final ZonedDateTime now) {
+        val currentBucket = Math.floorDiv(now.toEpochSecond(), bucketSeconds);
+        val dueTickets = new ArrayList<String>();
+        val dueBuckets = buckets.headMap(currentBucket, false);
+        while (!dueBuckets.isEmpty()) {
+            val entry = dueBuckets.pollFirstEntry();
+            if (entry != null) {
+                entry.getValue().forEach(ticketId -> {
+                    if (ticketBuckets.remove(ticketId, entry.getKey())) {
+                        dueTickets.add(ticketId);
+                    }
+                });
+            }
+        }
+        LOGGER.debug("Found [{}] ticket(s) due for expiration out of [{}] tracked ticket(s)", dueTickets.size(), size());
+        return dueTickets.stream();
+    }
+
+    @Override
+    public long size() {
+        return ticketBuckets.size();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    private void removeFromBucket(final long bucket, final String ticketId) {
+        buckets.computeIfPresent(bucket, (k, ids) -> {
+            ids.remove(ticketId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+}
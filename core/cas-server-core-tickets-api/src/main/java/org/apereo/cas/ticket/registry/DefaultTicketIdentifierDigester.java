@@ -0,0 +1,191 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.util.function.FunctionUtils;
+
+import lombok.val;
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * This is {@link DefaultTicketIdentifierDigester}. Each thread keeps its own digest engine
+ * along with input and output buffers that are sized once and reused, so that digesting an
+ * identifier does not look up the algorithm provider or allocate intermediate arrays. Results are
+ * hex-encoded exactly as {@link org.apereo.cas.util.DigestUtils} would, and are cached for the
+ * lifetime of the current HTTP request, if any, since the same ticket identifier is usually
+ * digested several times while a request is processed.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+public class DefaultTicketIdentifierDigester implements TicketIdentifierDigester {
+    static final DefaultTicketIdentifierDigester SHA512 = new DefaultTicketIdentifierDigester(
+        () -> new MessageDigestEngine(FunctionUtils.doUnchecked(() -> MessageDigest.getInstance(MessageDigestAlgorithms.SHA_512))));
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final int DEFAULT_BUFFER_SIZE = 256;
+
+    private final String requestCacheAttribute = getClass().getName() + '.' + UUID.randomUUID();
+
+    private final ThreadLocal<DigestEngine> engines;
+
+    public DefaultTicketIdentifierDigester(final Supplier<DigestEngine> engineSupplier) {
+        this.engines = ThreadLocal.withInitial(engineSupplier);
+    }
+
+    /**
+     * Digester that produces hex-encoded {@code HMAC-SHA256} digests.
+     *
+     * @param key the secret key
+     * @return the digester
+     */
+    public static DefaultTicketIdentifierDigester hmacSha256(final byte[] key) {
+        val secretKey = new SecretKeySpec(key, "HmacSHA256");
+        return new DefaultTicketIdentifierDigester(() -> FunctionUtils.doUnchecked(() -> {
+            val mac = Mac.getInstance(secretKey.getAlgorithm());
+            mac.init(secretKey);
+            return new MacEngine(mac);
+        }));
+    }
+
+    @Override
+    public String digest(final String identifier) {
+        val cache = getRequestCache();
+        if (cache != null) {
+            return cache.computeIfAbsent(identifier, this::digestInternal);
+        }
+        return digestInternal(identifier);
+    }
+
+    /**
+     * Digest the identifier without consulting the request cache.
+     *
+     * @param identifier the identifier
+     * @return the hex-encoded digest
+     */
+    public String digestInternal(final String identifier) {
+        return engines.get().digest(identifier);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> getRequestCache() {
+        val requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+        var cache = (Map<String, String>) requestAttributes.getAttribute(requestCacheAttribute, RequestAttributes.SCOPE_REQUEST);
+        if (cache == null) {
+            cache = new ConcurrentHashMap<>();
+            requestAttributes.setAttribute(requestCacheAttribute, cache, RequestAttributes.SCOPE_REQUEST);
+        }
+        return cache;
+    }
+
+    /**
+     * Digest engine that belongs to a single thread.
+     */
+    public abstract static class DigestEngine {
+        private final byte[] output;
+
+        private final char[] hex;
+
+        private byte[] input = new byte[DEFAULT_BUFFER_SIZE];
+
+        protected DigestEngine(final int digestLength) {
+            this.output = new byte[digestLength];
+            this.hex = new char[digestLength * 2];
+        }
+
+        protected abstract void update(byte[] input, int length);
+
+        protected abstract void digestInto(byte[] output) throws Exception;
+
+        String digest(final String identifier) {
+            val length = encode(identifier);
+            update(input, length);
+            try {
+                digestInto(output);
+            } catch (final Exception e) {
+                throw new SecurityException(e);
+            }
+            for (var i = 0; i < output.length; i++) {
+                val value = output[i] & 0xFF;
+                hex[i * 2] = HEX_DIGITS[value >>> 4];
+                hex[i * 2 + 1] = HEX_DIGITS[value & 0x0F];
+            }
+            return new String(hex);
+        }
+
+        /**
+         * Encode the identifier as UTF-8 into the input buffer. Ticket identifiers
+         * are plain ASCII and are copied over directly; anything else is encoded by the string itself.
+         */
+        private int encode(final String identifier) {
+            val length = identifier.length();
+            if (input.length < length) {
+                input = new byte[Math.max(length, input.length * 2)];
+            }
+            for (var i = 0; i < length; i++) {
+                val character = identifier.charAt(i);
+                if (character >= 0x80) {
+                    val bytes = identifier.getBytes(StandardCharsets.UTF_8);
+                    if (input.length < bytes.length) {
+                        input = new byte[bytes.length];
+                    }
+                    System.arraycopy(bytes, 0, input, 0, bytes.length);
+                    return bytes.length;
+                }
+                input[i] = (byte) character;
+            }
+            return length;
+        }
+    }
+
+    private static final class MessageDigestEngine extends DigestEngine {
+        private final MessageDigest messageDigest;
+
+        MessageDigestEngine(final MessageDigest messageDigest) {
+            super(messageDigest.getDigestLength());
+            this.messageDigest = messageDigest;
+        }
+
+        @Override
+        protected void update(final byte[] input, final int length) {
+            messageDigest.update(input, 0, length);
+        }
+
+        @Override
+        protected void digestInto(final byte[] output) throws Exception {
+            messageDigest.digest(output, 0, output.length);
+        }
+    }
+
+    private static final class MacEngine extends DigestEngine {
+        private final Mac mac;
+
+        MacEngine(final Mac mac) {
+            super(mac.getMacLength());
+            this.mac = mac;
+        }
+
+        @Override
+        protected void update(final byte[] input, final int length) {
+            mac.update(input, 0, length);
+        }
+
+        @Override
+        protected void digestInto(final byte[] output) throws Exception {
+            mac.doFinal(output, 0);
+        }
+    }
+}
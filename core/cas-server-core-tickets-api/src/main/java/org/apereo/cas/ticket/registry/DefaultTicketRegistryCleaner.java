@@ -47,16 +47,26 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner {
 
     @Override
     public int cleanTicket(final Ticket ticket) {
-        return lockRepository.execute(ticket.getId(), Unchecked.supplier(() -> {
-            if (ticket instanceof final TicketGrantingTicket tgt) {
-                LOGGER.debug("Cleaning up expired ticket-granting ticket [{}]", ticket.getId());
-                logoutManager.performLogout(SingleLogoutExecutionRequest.builder()
-                    .ticketGrantingTicket(tgt)
-                    .build());
-            }
-            LOGGER.debug("Cleaning up expired ticket [{}]", ticket.getId());
-            return ticketRegistry.deleteTicket(ticket);
-        })).orElseThrow();
+        return lockRepository.execute(ticket.getId(), Unchecked.supplier(() -> cleanExpiredTicket(ticket))).orElseThrow();
+    }
+
+    /**
+     * Log out and remove the expired ticket without locking it.
+     * Callers are expected to guarantee that no other cleaner works on the same ticket.
+     *
+     * @param ticket the ticket
+     * @return the number of tickets removed
+     * @throws Exception the exception
+     */
+    protected int cleanExpiredTicket(final Ticket ticket) throws Exception {
+        if (ticket instanceof final TicketGrantingTicket tgt) {
+            LOGGER.debug("Cleaning up expired ticket-granting ticket [{}]", ticket.getId());
+            logoutManager.performLogout(SingleLogoutExecutionRequest.builder()
+                .ticketGrantingTicket(tgt)
+                .build());
+        }
+        LOGGER.debug("Cleaning up expired ticket [{}]", ticket.getId());
+        return ticketRegistry.deleteTicket(ticket);
     }
 
     protected int cleanInternal() {
@@ -0,0 +1,73 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.lock.LockRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This is {@link ExpirationIndexedTicketRegistryCleaner}. Rather than scanning the entire
+ * ticket registry on every pass, it only visits tickets whose projected expiration time
+ * has come due according to the {@link TicketExpirationIndex}. Tickets that are found
+ * to be still valid, for example because they were used since they were indexed, are rescheduled.
+ * Every so often, the cleaner falls back to a full scan of the registry to catch tickets
+ * that were never indexed by this node.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+public class ExpirationIndexedTicketRegistryCleaner extends DefaultTicketRegistryCleaner {
+    private final TicketRegistry ticketRegistry;
+
+    private final TicketExpirationIndex ticketExpirationIndex;
+
+    private final long fullScanInterval;
+
+    private final AtomicLong passes = new AtomicLong();
+
+    public ExpirationIndexedTicketRegistryCleaner(final LockRepository lockRepository,
+                                                  final LogoutManager logoutManager,
+                                                  final TicketRegistry ticketRegistry,
+                                                  final TicketExpirationIndex ticketExpirationIndex,
+                                                  final long fullScanInterval) {
+        super(lockRepository, logoutManager, ticketRegistry);
+        this.ticketRegistry = ticketRegistry;
+        this.ticketExpirationIndex = ticketExpirationIndex;
+        this.fullScanInterval = fullScanInterval;
+    }
+
+    @Override
+    protected int cleanInternal() {
+        val pass = passes.incrementAndGet();
+        if (fullScanInterval > 0 && pass % fullScanInterval == 0) {
+            LOGGER.debug("Running a full scan of the ticket registry on cleaner pass [{}]", pass);
+            return super.cleanInternal();
+        }
+        try (val dueTickets = ticketExpirationIndex.pollDueTickets(ZonedDateTime.now(ZoneOffset.UTC))) {
+            val ticketsDeleted = dueTickets
+                .map(ticketId -> ticketRegistry.getTicket(ticketId, ticket -> true))
+                .filter(Objects::nonNull)
+                .mapToInt(this::cleanOrReschedule)
+                .sum();
+            LOGGER.info("[{}] expired tickets removed.", ticketsDeleted);
+            return ticketsDeleted;
+        }
+    }
+
+    private int cleanOrReschedule(final Ticket ticket) {
+        if (ticket.isExpired()) {
+            return cleanTicket(ticket);
+        }
+        LOGGER.trace("Ticket [{}] is not yet expired and will be rescheduled", ticket.getId());
+        ticketExpirationIndex.schedule(ticket);
+        return 0;
+    }
+}
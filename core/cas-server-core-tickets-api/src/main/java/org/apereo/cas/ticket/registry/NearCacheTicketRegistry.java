@@ -0,0 +1,382 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.AuthenticatedServicesAwareTicketGrantingTicket;
+import org.apereo.cas.ticket.AuthenticationAwareTicket;
+import org.apereo.cas.ticket.InvalidTicketException;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.pubsub.QueueableTicketRegistry;
+import org.apereo.cas.ticket.registry.pubsub.commands.DeleteTicketMessageQueueCommand;
+import org.apereo.cas.ticket.registry.pubsub.commands.DeleteTicketsMessageQueueCommand;
+import org.apereo.cas.ticket.registry.pubsub.queue.QueueableTicketRegistryMessagePublisher;
+import org.apereo.cas.util.PublisherIdentifier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link NearCacheTicketRegistry}. It decorates a ticket registry
+ * whose tickets are kept in remote storage with a bounded, short-lived local cache
+ * of decoded tickets, so that the same ticket read several times within a single flow
+ * is only fetched, deserialized and decrypted once.
+ * <p>
+ * Tickets that are updated or removed on this node are announced to other nodes
+ * through the ticket registry message queue, which makes them drop their own cached copies.
+ * The cache must not be used without a message queue, since cached copies on other nodes
+ * would then only be dropped once they expire.
+ * <p>
+ * Since invalidations from other nodes arrive with a delay, only ticket-granting tickets are cached.
+ * Service tickets, proxy tickets and other tickets that are consumed when used are always read
+ * from the ticket registry, so they cannot be validated twice on different nodes.
+ * Ticket-granting tickets are checked against the registry before they are updated;
+ * if another node has used the ticket since it was cached, the update is rejected rather than
+ * writing back the stale copy.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@Getter
+public class NearCacheTicketRegistry implements QueueableTicketRegistry, MeterBinder {
+    /**
+     * Name of the cache reported in metrics.
+     */
+    public static final String CACHE_NAME = "ticketRegistryNearCache";
+
+    private final TicketRegistry delegate;
+
+    private final QueueableTicketRegistryMessagePublisher ticketPublisher;
+
+    private final PublisherIdentifier publisherIdentifier;
+
+    private final Cache<String, CachedTicket> cache;
+
+    private final AtomicLong localInvalidations = new AtomicLong();
+
+    private final AtomicLong remoteInvalidations = new AtomicLong();
+
+    private final AtomicLong expiredEvictions = new AtomicLong();
+
+    private final AtomicLong staleUpdates = new AtomicLong();
+
+    private volatile Timer hitAgeTimer;
+
+    public NearCacheTicketRegistry(final TicketRegistry delegate,
+                                   final QueueableTicketRegistryMessagePublisher ticketPublisher,
+                                   final PublisherIdentifier publisherIdentifier,
+                                   final long maximumWeight,
+                                   final Duration timeToLive) {
+        this.delegate = delegate;
+        this.ticketPublisher = ticketPublisher;
+        this.publisherIdentifier = publisherIdentifier;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maximumWeight)
+            .weigher(NearCacheTicketRegistry::getTicketWeight)
+            .expireAfterWrite(timeToLive)
+            .recordStats()
+            .build();
+    }
+
+    private static int getTicketWeight(final String ticketId, final CachedTicket cachedTicket) {
+        val ticket = cachedTicket.ticket();
+        var weight = 1;
+        if (ticket instanceof final AuthenticationAwareTicket authnTicket && authnTicket.getAuthentication() != null) {
+            val authentication = authnTicket.getAuthentication();
+            weight += authentication.getAttributes().size() + authentication.getPrincipal().getAttributes().size();
+        }
+        if (ticket instanceof final AuthenticatedServicesAwareTicketGrantingTicket tgt && tgt.getServices() != null) {
+            weight += tgt.getServices().size();
+        }
+        return weight;
+    }
+
+    private static Set<String> getLinkedTicketIds(final Ticket ticket) {
+        val ticketIds = new LinkedHashSet<String>();
+        ticketIds.add(ticket.getId());
+        if (ticket instanceof final TicketGrantingTicket tgt) {
+            Optional.ofNullable(tgt.getProxyGrantingTickets()).ifPresent(tickets -> ticketIds.addAll(tickets.keySet()));
+            Optional.ofNullable(tgt.getDescendantTickets()).ifPresent(ticketIds::addAll);
+        }
+        if (ticket instanceof final AuthenticatedServicesAwareTicketGrantingTicket tgt) {
+            Optional.ofNullable(tgt.getServices()).ifPresent(services -> ticketIds.addAll(services.keySet()));
+        }
+        return ticketIds;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        FunctionCounter.builder("cas.ticket.registry.nearcache.invalidations", localInvalidations, AtomicLong::get)
+            .description("Tickets dropped from the near cache because they were changed on this node")
+            .tag("origin", "local")
+            .register(registry);
+        FunctionCounter.builder("cas.ticket.registry.nearcache.invalidations", remoteInvalidations, AtomicLong::get)
+            .description("Tickets dropped from the near cache because they were changed on another node")
+            .tag("origin", "remote")
+            .register(registry);
+        FunctionCounter.builder("cas.ticket.registry.nearcache.expired", expiredEvictions, AtomicLong::get)
+            .description("Cached tickets that were found to be expired and looked up again from the registry")
+            .register(registry);
+        FunctionCounter.builder("cas.ticket.registry.nearcache.stale.updates", staleUpdates, AtomicLong::get)
+            .description("Updates rejected because the cached ticket had been used on another node")
+            .register(registry);
+        hitAgeTimer = Timer.builder("cas.ticket.registry.nearcache.hit.age")
+            .description("Age of cached tickets at the time they are served from the near cache")
+            .register(registry);
+    }
+
+    @Override
+    public void addTicket(final Ticket ticket) throws Exception {
+        delegate.addTicket(ticket);
+        cacheTicket(ticket);
+    }
+
+    @Override
+    public void addTicket(final Stream<? extends Ticket> toSave) throws Exception {
+        val tickets = toSave.collect(Collectors.toList());
+        delegate.addTicket(tickets.stream());
+        tickets.forEach(this::cacheTicket);
+    }
+
+    @Override
+    public <T extends Ticket> T getTicket(final String ticketId, final @NonNull Class<T> clazz) {
+        val ticket = getTicket(ticketId);
+        if (ticket == null) {
+            LOGGER.debug("Ticket [{}] with type [{}] cannot be found", ticketId, clazz.getSimpleName());
+            throw new InvalidTicketException(ticketId);
+        }
+        if (!clazz.isAssignableFrom(ticket.getClass())) {
+            throw new ClassCastException("Ticket [" + ticket.getId() + " is of type "
+                                         + ticket.getClass() + " when we were expecting " + clazz);
+        }
+        return clazz.cast(ticket);
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId) {
+        return getCachedTicket(ticketId, ticket -> true).orElseGet(() -> {
+            val ticket = delegate.getTicket(ticketId);
+            cacheTicket(ticket);
+            return ticket;
+        });
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
+        return getCachedTicket(ticketId, predicate).orElseGet(() -> {
+            val ticket = delegate.getTicket(ticketId, predicate);
+            cacheTicket(ticket);
+            return ticket;
+        });
+    }
+
+    @Override
+    public int deleteTicket(final String ticketId) throws Exception {
+        if (StringUtils.isBlank(ticketId)) {
+            return 0;
+        }
+        val ticket = getTicket(ticketId);
+        if (ticket != null) {
+            return deleteTicket(ticket);
+        }
+        invalidate(Set.of(ticketId));
+        return delegate.deleteTicket(ticketId);
+    }
+
+    @Override
+    public int deleteTicket(final Ticket ticket) throws Exception {
+        invalidate(getLinkedTicketIds(ticket));
+        return delegate.deleteTicket(ticket);
+    }
+
+    @Override
+    public long deleteAll() {
+        cache.invalidateAll();
+        if (ticketPublisher.isEnabled()) {
+            ticketPublisher.publishMessageToQueue(new DeleteTicketsMessageQueueCommand(publisherIdentifier));
+        }
+        return delegate.deleteAll();
+    }
+
+    @Override
+    public Ticket updateTicket(final Ticket ticket) throws Exception {
+        verifyCachedTicketIsCurrent(ticket);
+        val result = delegate.updateTicket(ticket);
+        publishInvalidations(Set.of(ticket.getId()));
+        cacheTicket(ticket);
+        return result;
+    }
+
+    @Override
+    public Collection<? extends Ticket> getTickets() {
+        return delegate.getTickets();
+    }
+
+    @Override
+    public Stream<? extends Ticket> getTickets(final Predicate<Ticket> predicate) {
+        return delegate.getTickets(predicate);
+    }
+
+    @Override
+    public Stream<? extends Ticket> stream() {
+        return delegate.stream();
+    }
+
+    @Override
+    public Stream<? extends Ticket> stream(final int partition, final int partitionCount) {
+        return delegate.stream(partition, partitionCount);
+    }
+
+    @Override
+    public long sessionCount() {
+        return delegate.sessionCount();
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return delegate.serviceTicketCount();
+    }
+
+    @Override
+    public long countSessionsFor(final String principalId) {
+        return delegate.countSessionsFor(principalId);
+    }
+
+    @Override
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        return delegate.getSessionsFor(principalId);
+    }
+
+    @Override
+    public Stream<? extends Ticket> getSessionsWithAttributes(final Map<String, List<Object>> queryAttributes) {
+        return delegate.getSessionsWithAttributes(queryAttributes);
+    }
+
+    @Override
+    public String digestIdentifier(final String id) {
+        return delegate.digestIdentifier(id);
+    }
+
+    @Override
+    public void addTicketToQueue(final Ticket ticket) {
+        dropRemotelyChangedTickets(Set.of(ticket.getId()));
+    }
+
+    @Override
+    public Ticket updateTicketInQueue(final Ticket ticket) {
+        dropRemotelyChangedTickets(Set.of(ticket.getId()));
+        return ticket;
+    }
+
+    @Override
+    public long deleteTicketFromQueue(final String ticketId) {
+        val ticketIds = Optional.ofNullable(cache.getIfPresent(ticketId))
+            .map(cachedTicket -> getLinkedTicketIds(cachedTicket.ticket()))
+            .orElseGet(() -> Set.of(ticketId));
+        return dropRemotelyChangedTickets(ticketIds);
+    }
+
+    @Override
+    public long deleteAllFromQueue() {
+        val size = cache.estimatedSize();
+        cache.invalidateAll();
+        remoteInvalidations.addAndGet(size);
+        return size;
+    }
+
+    private Optional<Ticket> getCachedTicket(final String ticketId, final Predicate<Ticket> predicate) {
+        if (StringUtils.isBlank(ticketId)) {
+            return Optional.empty();
+        }
+        val cachedTicket = cache.getIfPresent(ticketId);
+        if (cachedTicket == null) {
+            return Optional.empty();
+        }
+        val ticket = cachedTicket.ticket();
+        if (ticket.isExpired()) {
+            LOGGER.trace("Cached ticket [{}] has expired and will be looked up from the registry", ticketId);
+            cache.invalidate(ticketId);
+            expiredEvictions.incrementAndGet();
+            return Optional.empty();
+        }
+        if (!predicate.test(ticket)) {
+            return Optional.empty();
+        }
+        val timer = hitAgeTimer;
+        if (timer != null) {
+            cache.policy().expireAfterWrite().flatMap(policy -> policy.ageOf(ticketId)).ifPresent(timer::record);
+        }
+        return Optional.of(ticket);
+    }
+
+    private void cacheTicket(final Ticket ticket) {
+        if (ticket instanceof TicketGrantingTicket && !ticket.isExpired()) {
+            cache.put(ticket.getId(), new CachedTicket(ticket, ticket.getCountOfUses()));
+        }
+    }
+
+    /**
+     * The cached copy may have been handed out before an invalidation from another node arrived.
+     * Its use count is compared to that of the ticket in the registry, which moves forward
+     * whenever the ticket is used on any node, so that a stale copy is not written back.
+     */
+    private void verifyCachedTicketIsCurrent(final Ticket ticket) {
+        val cachedTicket = cache.getIfPresent(ticket.getId());
+        if (cachedTicket != null) {
+            val currentTicket = delegate.getTicket(ticket.getId(), t -> true);
+            if (currentTicket != null && currentTicket.getCountOfUses() != cachedTicket.countOfUses()) {
+                LOGGER.warn("Ticket [{}] was used on another node since it was cached and will not be updated", ticket.getId());
+                cache.invalidate(ticket.getId());
+                staleUpdates.incrementAndGet();
+                throw new InvalidTicketException(ticket.getId());
+            }
+        }
+    }
+
+    private void invalidate(final Set<String> ticketIds) {
+        cache.invalidateAll(ticketIds);
+        localInvalidations.addAndGet(ticketIds.size());
+        publishInvalidations(ticketIds);
+    }
+
+    private void publishInvalidations(final Set<String> ticketIds) {
+        if (ticketPublisher.isEnabled()) {
+            ticketIds.forEach(ticketId -> {
+                LOGGER.trace("Publishing delete command for id [{}] and ticket [{}]", publisherIdentifier, ticketId);
+                ticketPublisher.publishMessageToQueue(new DeleteTicketMessageQueueCommand(publisherIdentifier, ticketId));
+            });
+        }
+    }
+
+    private long dropRemotelyChangedTickets(final Set<String> ticketIds) {
+        LOGGER.trace("Dropping tickets [{}] changed on another node from the near cache", ticketIds);
+        cache.invalidateAll(ticketIds);
+        remoteInvalidations.addAndGet(ticketIds.size());
+        return ticketIds.size();
+    }
+
+    private record CachedTicket(Ticket ticket, int countOfUses) {
+    }
+}
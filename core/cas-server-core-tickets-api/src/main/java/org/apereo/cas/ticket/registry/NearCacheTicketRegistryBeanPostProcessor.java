@@ -0,0 +1,60 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.ticket.registry.pubsub.QueueableTicketRegistry;
+import org.apereo.cas.ticket.registry.pubsub.queue.QueueableTicketRegistryMessagePublisher;
+import org.apereo.cas.util.PublisherIdentifier;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * This is {@link NearCacheTicketRegistryBeanPostProcessor}. It decorates the ticket registry bean
+ * with a {@link NearCacheTicketRegistry} when the near cache is turned on. Ticket registries
+ * that keep tickets in memory and replicate them through the message queue are left as they are.
+ * The near cache is not turned on unless tickets changed on one node can be announced to the others
+ * through the ticket registry message queue, since other nodes would otherwise keep serving tickets
+ * that were already used or removed, such as service tickets that were validated elsewhere.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class NearCacheTicketRegistryBeanPostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<CasConfigurationProperties> casProperties;
+
+    private final ObjectProvider<QueueableTicketRegistryMessagePublisher> ticketPublisher;
+
+    private final ObjectProvider<PublisherIdentifier> publisherIdentifier;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (TicketRegistry.BEAN_NAME.equals(beanName) && bean instanceof final TicketRegistry ticketRegistry
+            && !(bean instanceof QueueableTicketRegistry)) {
+            val nearCache = casProperties.getObject().getTicket().getRegistry().getCore().getNearCache();
+            if (nearCache.isEnabled()) {
+                val publisher = ticketPublisher.getIfAvailable(QueueableTicketRegistryMessagePublisher::noOp);
+                if (!publisher.isEnabled()) {
+                    LOGGER.warn("Ticket registry near cache is enabled, but no ticket registry message queue is configured "
+                                + "to announce changed tickets to other CAS nodes. The near cache will not be used.");
+                    return bean;
+                }
+                LOGGER.debug("Decorating ticket registry [{}] with a near cache", ticketRegistry.getClass().getSimpleName());
+                val registry = new NearCacheTicketRegistry(ticketRegistry, publisher,
+                    publisherIdentifier.getIfAvailable(PublisherIdentifier::new),
+                    nearCache.getMaximumWeight(), Beans.newDuration(nearCache.getTimeToLive()));
+                meterRegistry.ifAvailable(registry::bindTo);
+                return registry;
+            }
+        }
+        return bean;
+    }
+}
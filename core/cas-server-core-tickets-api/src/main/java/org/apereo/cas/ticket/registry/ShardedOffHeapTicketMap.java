@@ -0,0 +1,443 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.serialization.TicketSerializationManager;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link ShardedOffHeapTicketMap}, a ticket map that keeps tickets outside the Java heap.
+ * Tickets are serialized into bytes using the ticket serializers and written into direct memory segments,
+ * and only an index of ticket ids to their location in those segments is kept on the heap.
+ * Since ticket object graphs are only materialized while a ticket is in use, the collector
+ * no longer has to trace and copy millions of long-lived tickets and their authentications.
+ * <p>
+ * Tickets are distributed over a number of shards by their id, and each shard is guarded
+ * by its own lock and owns its own segments. Writes append to the current segment of the shard.
+ * Space held by removed or replaced tickets is reclaimed incrementally: once less than half of the space
+ * allocated by a shard holds live tickets, each subsequent write or removal evacuates the sparsest segment
+ * of the shard by moving its live tickets to the current segment and releasing it. Compaction stops once
+ * three quarters of the allocated space hold live tickets, or when no segment is sparse enough to be worth
+ * evacuating, so that a shard hovering around the threshold does not keep compacting.
+ * <p>
+ * Tickets returned by this map are copies; changes made to a ticket are only visible
+ * once the ticket is put back into the map. As a result, {@link #put(String, Ticket)}
+ * does not read back and return the previous ticket.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+public class ShardedOffHeapTicketMap extends AbstractMap<String, Ticket> {
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES * 3;
+
+    private static final double COMPACTION_START_THRESHOLD = 0.5D;
+
+    private static final double COMPACTION_STOP_THRESHOLD = 0.75D;
+
+    private final TicketSerializationManager ticketSerializationManager;
+
+    private final int segmentSize;
+
+    private final Shard[] shards;
+
+    public ShardedOffHeapTicketMap(final TicketSerializationManager ticketSerializationManager,
+                                   final int shardCount, final int segmentSize) {
+        if (shardCount <= 0 || segmentSize <= RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("Shard count and segment size must be positive");
+        }
+        this.ticketSerializationManager = ticketSerializationManager;
+        this.segmentSize = segmentSize;
+        this.shards = IntStream.range(0, shardCount).mapToObj(i -> new Shard()).toArray(Shard[]::new);
+    }
+
+    @Override
+    public Ticket get(final Object key) {
+        val record = key instanceof final String ticketId ? getShard(ticketId).read(ticketId) : null;
+        return record != null ? toTicket(record) : null;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return key instanceof final String ticketId && getShard(ticketId).contains(ticketId);
+    }
+
+    @Override
+    public Ticket put(final String ticketId, final Ticket ticket) {
+        val id = ticketId.getBytes(StandardCharsets.UTF_8);
+        val type = ticket.getClass().getName().getBytes(StandardCharsets.UTF_8);
+        val content = ticketSerializationManager.serializeTicketToBytes(ticket);
+        val recordSize = RECORD_HEADER_SIZE + id.length + type.length + content.length;
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException("Ticket " + ticketId + " needs " + recordSize
+                                               + " bytes and does not fit into a segment of " + segmentSize + " bytes");
+        }
+        getShard(ticketId).write(ticketId, id, type, content);
+        return null;
+    }
+
+    @Override
+    public Ticket remove(final Object key) {
+        val record = key instanceof final String ticketId ? getShard(ticketId).remove(ticketId) : null;
+        return record != null ? toTicket(record) : null;
+    }
+
+    @Override
+    public int size() {
+        return Stream.of(shards).mapToInt(Shard::size).sum();
+    }
+
+    @Override
+    public void clear() {
+        Stream.of(shards).forEach(Shard::clear);
+    }
+
+    @Override
+    public Collection<Ticket> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<Ticket> iterator() {
+                return streamTicketIds().map(ShardedOffHeapTicketMap.this::get).filter(Objects::nonNull).iterator();
+            }
+
+            @Override
+            public int size() {
+                return ShardedOffHeapTicketMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Set<Entry<String, Ticket>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Ticket>> iterator() {
+                return streamTicketIds()
+                    .<Entry<String, Ticket>>map(ticketId -> new SimpleImmutableEntry<>(ticketId, get(ticketId)))
+                    .filter(entry -> entry.getValue() != null)
+                    .iterator();
+            }
+
+            @Override
+            public int size() {
+                return ShardedOffHeapTicketMap.this.size();
+            }
+        };
+    }
+
+    /**
+     * Gets the number of bytes allocated off-heap by all shards.
+     *
+     * @return the allocated size
+     */
+    public long getAllocatedSize() {
+        return Stream.of(shards).mapToLong(Shard::getAllocatedSize).sum();
+    }
+
+    /**
+     * Gets the number of off-heap bytes that hold live tickets.
+     *
+     * @return the live size
+     */
+    public long getLiveSize() {
+        return Stream.of(shards).mapToLong(Shard::getLiveSize).sum();
+    }
+
+    private Stream<String> streamTicketIds() {
+        return Stream.of(shards).flatMap(shard -> shard.getTicketIds().stream());
+    }
+
+    private Shard getShard(final String ticketId) {
+        return shards[Math.floorMod(ticketId.hashCode(), shards.length)];
+    }
+
+    private static long toAddress(final int segment, final int offset) {
+        return ((long) segment << Integer.SIZE) | (offset & 0xFFFFFFFFL);
+    }
+
+    private static int toSegment(final long address) {
+        return (int) (address >>> Integer.SIZE);
+    }
+
+    private static int toOffset(final long address) {
+        return (int) address;
+    }
+
+    private Ticket toTicket(final TicketRecord record) {
+        return ticketSerializationManager.deserializeTicketFromBytes(record.content(), new String(record.type(), StandardCharsets.UTF_8));
+    }
+
+    private record TicketRecord(byte[] type, byte[] content) {
+    }
+
+    private static final class Segment {
+        private final ByteBuffer buffer;
+
+        private int used;
+
+        private long liveSize;
+
+        Segment(final int size) {
+            this.buffer = ByteBuffer.allocateDirect(size);
+        }
+
+        int recordSize(final int offset) {
+            return RECORD_HEADER_SIZE + buffer.getInt(offset) + buffer.getInt(offset + Integer.BYTES)
+                   + buffer.getInt(offset + Integer.BYTES * 2);
+        }
+
+        String ticketId(final int offset) {
+            val id = new byte[buffer.getInt(offset)];
+            buffer.get(offset + RECORD_HEADER_SIZE, id);
+            return new String(id, StandardCharsets.UTF_8);
+        }
+
+        TicketRecord read(final int offset) {
+            val idLength = buffer.getInt(offset);
+            val type = new byte[buffer.getInt(offset + Integer.BYTES)];
+            val content = new byte[buffer.getInt(offset + Integer.BYTES * 2)];
+            buffer.get(offset + RECORD_HEADER_SIZE + idLength, type);
+            buffer.get(offset + RECORD_HEADER_SIZE + idLength + type.length, content);
+            return new TicketRecord(type, content);
+        }
+    }
+
+    private final class Shard {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private final Map<String, Long> index = new HashMap<>();
+
+        private final List<Segment> segments = new ArrayList<>();
+
+        private final Deque<Integer> releasedSegments = new ArrayDeque<>();
+
+        private int currentSegment = -1;
+
+        private int allocatedSegments;
+
+        private long liveSize;
+
+        private boolean compacting;
+
+        TicketRecord read(final String ticketId) {
+            lock.readLock().lock();
+            try {
+                val address = index.get(ticketId);
+                return address != null ? segments.get(toSegment(address)).read(toOffset(address)) : null;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        boolean contains(final String ticketId) {
+            lock.readLock().lock();
+            try {
+                return index.containsKey(ticketId);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void write(final String ticketId, final byte[] id, final byte[] type, final byte[] content) {
+            lock.writeLock().lock();
+            try {
+                val address = allocate(RECORD_HEADER_SIZE + id.length + type.length + content.length);
+                val buffer = segments.get(toSegment(address)).buffer;
+                val offset = toOffset(address);
+                buffer.putInt(offset, id.length);
+                buffer.putInt(offset + Integer.BYTES, type.length);
+                buffer.putInt(offset + Integer.BYTES * 2, content.length);
+                buffer.put(offset + RECORD_HEADER_SIZE, id);
+                buffer.put(offset + RECORD_HEADER_SIZE + id.length, type);
+                buffer.put(offset + RECORD_HEADER_SIZE + id.length + type.length, content);
+                val previous = index.put(ticketId, address);
+                if (previous != null) {
+                    release(previous);
+                }
+                compactIfNecessary();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        TicketRecord remove(final String ticketId) {
+            lock.writeLock().lock();
+            try {
+                val address = index.remove(ticketId);
+                if (address == null) {
+                    return null;
+                }
+                val record = segments.get(toSegment(address)).read(toOffset(address));
+                release(address);
+                if (index.isEmpty()) {
+                    clear();
+                } else {
+                    compactIfNecessary();
+                }
+                return record;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return index.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void clear() {
+            lock.writeLock().lock();
+            try {
+                index.clear();
+                segments.clear();
+                releasedSegments.clear();
+                currentSegment = -1;
+                allocatedSegments = 0;
+                liveSize = 0;
+                compacting = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<String> getTicketIds() {
+            lock.readLock().lock();
+            try {
+                return new ArrayList<>(index.keySet());
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        long getAllocatedSize() {
+            lock.readLock().lock();
+            try {
+                return (long) allocatedSegments * segmentSize;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        long getLiveSize() {
+            lock.readLock().lock();
+            try {
+                return liveSize;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private long allocate(final int recordSize) {
+            if (currentSegment < 0 || segments.get(currentSegment).used + recordSize > segmentSize) {
+                val previous = currentSegment;
+                val segment = new Segment(segmentSize);
+                if (releasedSegments.isEmpty()) {
+                    segments.add(segment);
+                    currentSegment = segments.size() - 1;
+                } else {
+                    currentSegment = releasedSegments.pop();
+                    segments.set(currentSegment, segment);
+                }
+                allocatedSegments++;
+                if (previous >= 0 && segments.get(previous).liveSize == 0) {
+                    releaseSegment(previous);
+                }
+            }
+            val segment = segments.get(currentSegment);
+            val address = toAddress(currentSegment, segment.used);
+            segment.used += recordSize;
+            segment.liveSize += recordSize;
+            liveSize += recordSize;
+            return address;
+        }
+
+        private void release(final long address) {
+            val segmentIndex = toSegment(address);
+            val segment = segments.get(segmentIndex);
+            val recordSize = segment.recordSize(toOffset(address));
+            segment.liveSize -= recordSize;
+            liveSize -= recordSize;
+            if (segment.liveSize == 0 && segmentIndex != currentSegment) {
+                releaseSegment(segmentIndex);
+            }
+        }
+
+        private void releaseSegment(final int segmentIndex) {
+            segments.set(segmentIndex, null);
+            releasedSegments.push(segmentIndex);
+            allocatedSegments--;
+        }
+
+        private void compactIfNecessary() {
+            val allocatedSize = (long) allocatedSegments * segmentSize;
+            if (!compacting && allocatedSegments > 1 && liveSize < allocatedSize * COMPACTION_START_THRESHOLD) {
+                compacting = true;
+            }
+            if (compacting) {
+                val sparsestSegment = findSparsestSegment();
+                if (sparsestSegment < 0 || liveSize >= allocatedSize * COMPACTION_STOP_THRESHOLD
+                    || segments.get(sparsestSegment).liveSize >= segmentSize * COMPACTION_STOP_THRESHOLD) {
+                    compacting = false;
+                } else {
+                    evacuate(sparsestSegment);
+                }
+            }
+        }
+
+        private int findSparsestSegment() {
+            var sparsestSegment = -1;
+            for (var i = 0; i < segments.size(); i++) {
+                val segment = segments.get(i);
+                if (i != currentSegment && segment != null
+                    && (sparsestSegment < 0 || segment.liveSize < segments.get(sparsestSegment).liveSize)) {
+                    sparsestSegment = i;
+                }
+            }
+            return sparsestSegment;
+        }
+
+        private void evacuate(final int segmentIndex) {
+            val segment = segments.get(segmentIndex);
+            var offset = 0;
+            var moved = 0;
+            while (offset < segment.used && segment.liveSize > 0) {
+                val recordSize = segment.recordSize(offset);
+                val address = toAddress(segmentIndex, offset);
+                val ticketId = segment.ticketId(offset);
+                if (Objects.equals(index.get(ticketId), address)) {
+                    val target = allocate(recordSize);
+                    segments.get(toSegment(target)).buffer.put(toOffset(target), segment.buffer, offset, recordSize);
+                    index.put(ticketId, target);
+                    release(address);
+                    moved++;
+                }
+                offset += recordSize;
+            }
+            LOGGER.trace("Moved [{}] ticket(s) out of segment [{}]; [{}] segment(s) remain allocated", moved, segmentIndex, allocatedSegments);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TransientSessionTicket;
+import org.apereo.cas.ticket.TransientSessionTicketImpl;
+import org.apereo.cas.ticket.expiration.HardTimeoutExpirationPolicy;
+import org.apereo.cas.util.LoggingUtils;
+import org.apereo.cas.util.lock.LockRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * This is {@link ShardedTicketRegistryCleaner}. The ticket registry is split into shards
+ * using {@link TicketRegistry#stream(int, int)}, and each shard is claimed through a {@link LockRepository}
+ * before it is scanned and cleaned, so that only the node that holds the claim reads the tickets of the shard.
+ * When the lock repository is shared between CAS server nodes, each shard is cleaned by one node at a time
+ * while the other nodes move on to the remaining shards. Once a shard is cleaned, its completion
+ * is recorded in the ticket registry for the current pass, and nodes that run later in the same pass
+ * skip the shard rather than scanning it again.
+ * <p>
+ * Shard claims are made through their own lock repository, separate from the one used to lock tickets,
+ * so that a claim held for the duration of a shard never blocks work on individual tickets.
+ * Since a shard is only ever cleaned by the node that claimed it, tickets within the shard are not locked
+ * one at a time. Claimed shards are cleaned in parallel by a bounded pool of workers. Each worker removes one ticket
+ * at a time, so the size of the pool caps the number of concurrent calls made to the ticket registry
+ * and the number of expired ticket-granting tickets whose logout is in progress, and should be sized
+ * against the concurrency the registry storage can sustain.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@Getter
+public class ShardedTicketRegistryCleaner extends DefaultTicketRegistryCleaner implements MeterBinder, DisposableBean {
+    /**
+     * Name of the lock repository bean used to claim shards.
+     */
+    public static final String SHARD_LOCK_REPOSITORY_BEAN_NAME = "ticketRegistryCleanerShardLockRepository";
+
+    private static final String SHARD_LOCK_KEY_PREFIX = "ticket-registry-cleaner-shard-";
+
+    private final LockRepository shardLockRepository;
+
+    private final TicketRegistry ticketRegistry;
+
+    private final int shardCount;
+
+    private final Duration passInterval;
+
+    private final Clock clock;
+
+    private final ExecutorService executorService;
+
+    private final List<ShardProgress> shardProgress;
+
+    public ShardedTicketRegistryCleaner(final LockRepository lockRepository,
+                                        final LockRepository shardLockRepository,
+                                        final LogoutManager logoutManager,
+                                        final TicketRegistry ticketRegistry,
+                                        final int shardCount,
+                                        final int shardWorkers,
+                                        final Duration passInterval) {
+        this(lockRepository, shardLockRepository, logoutManager, ticketRegistry,
+            shardCount, shardWorkers, passInterval, Clock.systemUTC());
+    }
+
+    public ShardedTicketRegistryCleaner(final LockRepository lockRepository,
+                                        final LockRepository shardLockRepository,
+                                        final LogoutManager logoutManager,
+                                        final TicketRegistry ticketRegistry,
+                                        final int shardCount,
+                                        final int shardWorkers,
+                                        final Duration passInterval,
+                                        final Clock clock) {
+        super(lockRepository, logoutManager, ticketRegistry);
+        this.shardLockRepository = shardLockRepository;
+        this.ticketRegistry = ticketRegistry;
+        this.shardCount = Math.max(1, shardCount);
+        this.passInterval = passInterval.toSeconds() > 0 ? passInterval : Duration.ofSeconds(1);
+        this.clock = clock;
+        this.executorService = Executors.newFixedThreadPool(Math.max(1, shardWorkers),
+            new CustomizableThreadFactory("cas-ticket-registry-cleaner-"));
+        this.shardProgress = IntStream.range(0, this.shardCount).mapToObj(ShardProgress::new).toList();
+    }
+
+    @Override
+    protected int cleanInternal() {
+        val pass = clock.millis() / passInterval.toMillis();
+        val offset = ThreadLocalRandom.current().nextInt(shardCount);
+        val futures = IntStream.range(0, shardCount)
+            .map(index -> (index + offset) % shardCount)
+            .mapToObj(shard -> CompletableFuture.supplyAsync(() -> cleanShard(shard, pass), executorService))
+            .toList();
+        val ticketsDeleted = futures.stream().mapToInt(CompletableFuture::join).sum();
+        LOGGER.info("[{}] expired tickets removed across [{}] shards in pass [{}].", ticketsDeleted, shardCount, pass);
+        return ticketsDeleted;
+    }
+
+    /**
+     * Claim the shard, and scan and clean the expired tickets that belong to it.
+     * Shards that are claimed by another cleaner, or that were already cleaned
+     * during this pass, are skipped.
+     *
+     * @param shard the shard
+     * @param pass  the pass
+     * @return the number of tickets removed
+     */
+    protected int cleanShard(final int shard, final long pass) {
+        val progress = shardProgress.get(shard);
+        if (isShardCompleted(shard, pass)) {
+            LOGGER.debug("Shard [{}] was already cleaned in pass [{}] and will be skipped", shard, pass);
+            progress.skipped().incrementAndGet();
+            return 0;
+        }
+        val result = shardLockRepository.execute(SHARD_LOCK_KEY_PREFIX + shard, () -> {
+            if (isShardCompleted(shard, pass)) {
+                progress.skipped().incrementAndGet();
+                return 0;
+            }
+            LOGGER.debug("Cleaning expired tickets in shard [{}]", shard);
+            try (val expiredTickets = ticketRegistry.stream(shard, shardCount).filter(Objects::nonNull).filter(Ticket::isExpired)) {
+                val removed = expiredTickets.mapToInt(this::cleanTicketInShard).sum();
+                progress.removed().addAndGet(removed);
+                progress.completed().incrementAndGet();
+                recordShardCompletion(shard, pass);
+                return removed;
+            }
+        });
+        if (result.isEmpty()) {
+            LOGGER.debug("Shard [{}] is claimed by another cleaner and will be skipped", shard);
+            progress.skipped().incrementAndGet();
+        }
+        return result.orElse(0);
+    }
+
+    private int cleanTicketInShard(final Ticket ticket) {
+        try {
+            return cleanExpiredTicket(ticket);
+        } catch (final Exception e) {
+            LoggingUtils.warn(LOGGER, e);
+            return 0;
+        }
+    }
+
+    private boolean isShardCompleted(final int shard, final long pass) {
+        return ticketRegistry.getTicket(getShardCompletionId(shard, pass)) != null;
+    }
+
+    /**
+     * Completion is kept as a transient ticket that expires with the pass,
+     * so that it is visible to all nodes that share the registry.
+     */
+    private void recordShardCompletion(final int shard, final long pass) {
+        try {
+            val completion = new TransientSessionTicketImpl(getShardCompletionId(shard, pass),
+                new HardTimeoutExpirationPolicy(passInterval.toSeconds()), null, Map.of());
+            ticketRegistry.addTicket(completion);
+        } catch (final Exception e) {
+            LoggingUtils.warn(LOGGER, e);
+        }
+    }
+
+    protected String getShardCompletionId(final int shard, final long pass) {
+        return TransientSessionTicket.PREFIX + '-' + SHARD_LOCK_KEY_PREFIX + shard + '-' + pass;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        shardProgress.forEach(progress -> {
+            val shard = String.valueOf(progress.shard());
+            Gauge.builder("cas.ticket.registry.cleaner.removed", progress.removed(), AtomicLong::get)
+                .description("Expired tickets removed from this shard")
+                .tag("shard", shard)
+                .register(registry);
+            Gauge.builder("cas.ticket.registry.cleaner.skipped", progress.skipped(), AtomicLong::get)
+                .description("Cleaner passes that skipped this shard because it was claimed or cleaned elsewhere")
+                .tag("shard", shard)
+                .register(registry);
+            Gauge.builder("cas.ticket.registry.cleaner.completed", progress.completed(), AtomicLong::get)
+                .description("Cleaner passes that cleaned this shard on this node")
+                .tag("shard", shard)
+                .register(registry);
+        });
+    }
+
+    @Override
+    public void destroy() {
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Progress of the cleaner for a single shard.
+     *
+     * @param shard     the shard
+     * @param removed   expired tickets removed
+     * @param skipped   passes that skipped the shard
+     * @param completed passes that completed the shard
+     */
+    public record ShardProgress(int shard, AtomicLong removed, AtomicLong skipped, AtomicLong completed) {
+        ShardProgress(final int shard) {
+            this(shard, new AtomicLong(), new AtomicLong(), new AtomicLong());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.apereo.cas.ticket.registry;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * This is {@link TicketExpirationIndexBeanPostProcessor}. It hands the configured
+ * {@link TicketExpirationIndex} to every ticket registry, regardless of the module that created the registry,
+ * so that registries record ticket expiration times for the cleaner.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@RequiredArgsConstructor
+public class TicketExpirationIndexBeanPostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<TicketExpirationIndex> ticketExpirationIndex;
+
+    @Override
+    public Object postProcessBeforeInitialization(final Object bean, final String beanName) {
+        if (bean instanceof final AbstractTicketRegistry ticketRegistry) {
+            val index = ticketExpirationIndex.getIfAvailable();
+            if (index != null && index.isEnabled()) {
+                ticketRegistry.setTicketExpirationIndex(index);
+            }
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,34 @@
+package org.apereo.cas.ticket.registry;
+
+/**
+ * This is {@link TicketIdentifierDigester}, which hashes ticket identifiers
+ * and ticket attributes into the keys that are handed over to the ticket registry
+ * when ticket encryption is turned on.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@FunctionalInterface
+public interface TicketIdentifierDigester {
+    /**
+     * Bean name.
+     */
+    String BEAN_NAME = "ticketIdentifierDigester";
+
+    /**
+     * Default digester that produces hex-encoded {@code SHA-512} digests.
+     *
+     * @return the digester
+     */
+    static TicketIdentifierDigester sha512() {
+        return DefaultTicketIdentifierDigester.SHA512;
+    }
+
+    /**
+     * Digest the identifier.
+     *
+     * @param identifier the identifier
+     * @return the hex-encoded digest
+     */
+    String digest(String identifier);
+}
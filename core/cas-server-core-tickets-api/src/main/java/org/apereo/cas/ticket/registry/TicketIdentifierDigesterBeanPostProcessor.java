@@ -0,0 +1,26 @@
+package org.apereo.cas.ticket.registry;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * This is {@link TicketIdentifierDigesterBeanPostProcessor}. It hands the configured
+ * {@link TicketIdentifierDigester} to every ticket registry that digests identifiers,
+ * regardless of the module that created the registry.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@RequiredArgsConstructor
+public class TicketIdentifierDigesterBeanPostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<TicketIdentifierDigester> ticketIdentifierDigester;
+
+    @Override
+    public Object postProcessBeforeInitialization(final Object bean, final String beanName) {
+        if (bean instanceof final AbstractTicketRegistry ticketRegistry) {
+            ticketIdentifierDigester.ifAvailable(ticketRegistry::setTicketIdentifierDigester);
+        }
+        return bean;
+    }
+}
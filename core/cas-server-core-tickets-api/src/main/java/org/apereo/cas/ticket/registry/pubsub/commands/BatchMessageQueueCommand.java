@@ -0,0 +1,107 @@
+package org.apereo.cas.ticket.registry.pubsub.commands;
+
+import org.apereo.cas.ticket.registry.pubsub.QueueableTicketRegistry;
+import org.apereo.cas.util.PublisherIdentifier;
+import org.apereo.cas.util.function.FunctionUtils;
+import org.apereo.cas.util.serialization.JacksonObjectMapperFactory;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Serial;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * This is {@link BatchMessageQueueCommand}, which carries a number of queue commands
+ * in a single message. Commands are kept as compressed JSON, using the same type information
+ * that is used to transform individual queue commands, and are executed in order.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+@Slf4j
+@Getter
+@ToString(callSuper = true, of = "size")
+public class BatchMessageQueueCommand extends BaseMessageQueueCommand {
+    @Serial
+    private static final long serialVersionUID = 3598271740518062294L;
+
+    private static final ObjectMapper MAPPER = JacksonObjectMapperFactory.builder()
+        .defaultTypingEnabled(true).build().toObjectMapper();
+
+    private static final TypeReference<List<BaseMessageQueueCommand>> COMMANDS_TYPE = new TypeReference<>() {
+    };
+
+    private final int size;
+
+    private final byte[] payload;
+
+    @JsonCreator
+    public BatchMessageQueueCommand(@JsonProperty("id")
+                                    final PublisherIdentifier id,
+                                    @JsonProperty("size")
+                                    final int size,
+                                    @JsonProperty("payload")
+                                    final byte[] payload) {
+        super(id);
+        this.size = size;
+        this.payload = payload;
+    }
+
+    /**
+     * Create a batch from the given commands.
+     *
+     * @param id       the id
+     * @param commands the commands
+     * @return the batch command
+     */
+    public static BatchMessageQueueCommand of(final PublisherIdentifier id, final List<? extends BaseMessageQueueCommand> commands) {
+        val output = new ByteArrayOutputStream();
+        FunctionUtils.doUnchecked(__ -> {
+            try (val gzip = new GZIPOutputStream(output)) {
+                MAPPER.writerFor(COMMANDS_TYPE).writeValue(gzip, commands);
+            }
+        });
+        return new BatchMessageQueueCommand(id, commands.size(), output.toByteArray());
+    }
+
+    /**
+     * Decompress and deserialize the commands carried by this batch.
+     *
+     * @return the commands
+     */
+    @JsonIgnore
+    public List<BaseMessageQueueCommand> getCommands() {
+        return FunctionUtils.doUnchecked(() -> {
+            try (val gzip = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+                return MAPPER.readerFor(COMMANDS_TYPE).readValue(gzip);
+            }
+        });
+    }
+
+    @Override
+    public void execute(final QueueableTicketRegistry registry) throws Exception {
+        LOGGER.debug("Executing [{}] queue command(s) in batch on ticket registry id [{}]", size, getId().getId());
+        for (val command : getCommands()) {
+            command.execute(registry);
+        }
+    }
+
+    @Override
+    public BaseMessageQueueCommand withId(final PublisherIdentifier id) {
+        return new BatchMessageQueueCommand(id, this.size, this.payload);
+    }
+}
@@ -2,11 +2,14 @@ package org.apereo.cas.ticket.registry.pubsub.queue;
 
 import org.apereo.cas.ticket.registry.pubsub.QueueableTicketRegistry;
 import org.apereo.cas.ticket.registry.pubsub.commands.BaseMessageQueueCommand;
+import org.apereo.cas.ticket.registry.pubsub.commands.BatchMessageQueueCommand;
+import org.apereo.cas.util.LoggingUtils;
 import org.apereo.cas.util.PublisherIdentifier;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 
 /**
  * This is {@link BaseQueueableTicketRegistryMessageReceiver}.
@@ -27,6 +30,16 @@ public abstract class BaseQueueableTicketRegistryMessageReceiver implements Queu
         LOGGER.debug("[{}] received message [{}]", ticketRegistryId, command);
         if (command.getId().equals(this.ticketRegistryId)) {
             LOGGER.trace("Ignoring inbound command on ticket registry with id [{}]", this.ticketRegistryId);
+        } else if (command instanceof final BatchMessageQueueCommand batch) {
+            LOGGER.debug("Accepting batch of [{}] command(s) from ticket registry id [{}]", batch.getSize(), command.getId());
+            for (val batchCommand : batch.getCommands()) {
+                try {
+                    batchCommand.withId(this.ticketRegistryId).execute(this.ticketRegistry);
+                } catch (final Exception e) {
+                    LOGGER.warn("Unable to execute command [{}] in batch from ticket registry id [{}]", batchCommand, command.getId());
+                    LoggingUtils.warn(LOGGER, e);
+                }
+            }
         } else {
             LOGGER.debug("Accepting message from ticket registry id [{}]. Executing command [{}]", command.getId(), command);
             command.withId(this.ticketRegistryId).execute(this.ticketRegistry);
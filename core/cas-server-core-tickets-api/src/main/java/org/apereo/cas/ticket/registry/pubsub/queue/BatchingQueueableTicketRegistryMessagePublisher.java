@@ -0,0 +1,185 @@
+package org.apereo.cas.ticket.registry.pubsub.queue;
+
+import org.apereo.cas.ticket.registry.pubsub.commands.AddTicketMessageQueueCommand;
+import org.apereo.cas.ticket.registry.pubsub.commands.BaseMessageQueueCommand;
+import org.apereo.cas.ticket.registry.pubsub.commands.BatchMessageQueueCommand;
+import org.apereo.cas.ticket.registry.pubsub.commands.DeleteTicketMessageQueueCommand;
+import org.apereo.cas.ticket.registry.pubsub.commands.UpdateTicketMessageQueueCommand;
+import org.apereo.cas.util.LoggingUtils;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This is {@link BatchingQueueableTicketRegistryMessagePublisher}. It holds on to ticket commands
+ * for a short window and coalesces them by ticket id before they are handed over to the underlying
+ * publisher as a single batch: a later update of a ticket supersedes earlier ones, an update of a ticket whose
+ * addition is still pending remains an addition, and the deletion of a ticket whose addition is still pending
+ * cancels both. Commands that cannot be coalesced, such as the deletion of all tickets, flush
+ * the pending batch and are published right away, so that peers apply commands in the order they were issued.
+ * Batches are handed over to the underlying publisher outside the lock that guards pending commands,
+ * so that callers are not held up while a batch is on its way; batches are put in an ordered outbox under the lock
+ * and published by one thread at a time, in order.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+public class BatchingQueueableTicketRegistryMessagePublisher implements QueueableTicketRegistryMessagePublisher, DisposableBean {
+    @Getter
+    private final QueueableTicketRegistryMessagePublisher delegate;
+
+    private final int maximumBatchSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final ReentrantLock publishLock = new ReentrantLock();
+
+    private final Queue<List<BaseMessageQueueCommand>> outbox = new ConcurrentLinkedQueue<>();
+
+    private final ScheduledExecutorService scheduler;
+
+    private Map<String, BaseMessageQueueCommand> pendingCommands = new LinkedHashMap<>();
+
+    public BatchingQueueableTicketRegistryMessagePublisher(final QueueableTicketRegistryMessagePublisher delegate,
+                                                           final Duration window, final int maximumBatchSize) {
+        this.delegate = delegate;
+        this.maximumBatchSize = maximumBatchSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("cas-ticket-registry-queue-batch-"));
+        val period = Math.max(1, window.toMillis());
+        scheduler.scheduleWithFixedDelay(this::flush, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void publishMessageToQueue(final BaseMessageQueueCommand command) {
+        val ticketId = getTicketId(command);
+        lock.lock();
+        try {
+            if (ticketId == null) {
+                drainPendingCommands();
+                outbox.add(List.of(command));
+            } else {
+                val pending = pendingCommands.remove(ticketId);
+                if (pending instanceof AddTicketMessageQueueCommand && command instanceof final UpdateTicketMessageQueueCommand update) {
+                    pendingCommands.put(ticketId, new AddTicketMessageQueueCommand(update.getId(), update.getTicket()));
+                } else if (pending instanceof AddTicketMessageQueueCommand && command instanceof DeleteTicketMessageQueueCommand) {
+                    LOGGER.trace("Ticket [{}] was removed before it was published; dropping both commands", ticketId);
+                } else {
+                    pendingCommands.put(ticketId, command);
+                }
+                if (pendingCommands.size() >= maximumBatchSize) {
+                    drainPendingCommands();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        publishOutbox();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return delegate.isEnabled();
+    }
+
+    /**
+     * Publish all pending commands.
+     */
+    public void flush() {
+        lock.lock();
+        try {
+            drainPendingCommands();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            publishOutbox();
+        } catch (final Throwable e) {
+            LoggingUtils.error(LOGGER, e);
+        }
+    }
+
+    /**
+     * Number of commands waiting to be published.
+     *
+     * @return the count
+     */
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return pendingCommands.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        flush();
+    }
+
+    private void drainPendingCommands() {
+        if (!pendingCommands.isEmpty()) {
+            outbox.add(new ArrayList<>(pendingCommands.values()));
+            pendingCommands = new LinkedHashMap<>();
+        }
+    }
+
+    /**
+     * Publish batches in the order they were put in the outbox. Only one thread publishes at a time;
+     * a thread that finds another one publishing leaves its batches to that thread, which checks the outbox
+     * again after it lets go of the lock so that no batch is left behind.
+     */
+    private void publishOutbox() {
+        while (!outbox.isEmpty() && publishLock.tryLock()) {
+            try {
+                var commands = outbox.poll();
+                while (commands != null) {
+                    publish(commands);
+                    commands = outbox.poll();
+                }
+            } finally {
+                publishLock.unlock();
+            }
+        }
+    }
+
+    private void publish(final List<BaseMessageQueueCommand> commands) {
+        if (commands.size() == 1) {
+            delegate.publishMessageToQueue(commands.get(0));
+        } else {
+            val batch = BatchMessageQueueCommand.of(commands.get(0).getId(), commands);
+            LOGGER.debug("Publishing [{}] coalesced command(s) in a batch of [{}] bytes", commands.size(), batch.getPayload().length);
+            delegate.publishMessageToQueue(batch);
+        }
+    }
+
+    private static String getTicketId(final BaseMessageQueueCommand command) {
+        if (command instanceof final AddTicketMessageQueueCommand add) {
+            return add.getTicket().getId();
+        }
+        if (command instanceof final UpdateTicketMessageQueueCommand update) {
+            return update.getTicket().getId();
+        }
+        if (command instanceof final DeleteTicketMessageQueueCommand delete) {
+            return delete.getTicketId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,43 @@
+package org.apereo.cas.ticket.registry.pubsub.queue;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * This is {@link BatchingQueueableTicketRegistryMessagePublisherBeanPostProcessor}. It decorates
+ * the ticket registry message publisher bean with a {@link BatchingQueueableTicketRegistryMessagePublisher}
+ * when batching is turned on and the publisher is enabled.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class BatchingQueueableTicketRegistryMessagePublisherBeanPostProcessor implements BeanPostProcessor {
+    /**
+     * Name of the ticket registry message publisher bean.
+     */
+    public static final String PUBLISHER_BEAN_NAME = "messageQueueTicketRegistryPublisher";
+
+    private final ObjectProvider<CasConfigurationProperties> casProperties;
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (PUBLISHER_BEAN_NAME.equals(beanName) && bean instanceof final QueueableTicketRegistryMessagePublisher publisher
+            && !(bean instanceof BatchingQueueableTicketRegistryMessagePublisher) && publisher.isEnabled()) {
+            val batch = casProperties.getObject().getTicket().getRegistry().getCore().getQueueBatch();
+            if (batch.isEnabled()) {
+                LOGGER.debug("Decorating ticket registry message publisher [{}] with batching", publisher.getClass().getSimpleName());
+                return new BatchingQueueableTicketRegistryMessagePublisher(publisher,
+                    Beans.newDuration(batch.getWindow()), batch.getMaximumSize());
+            }
+        }
+        return bean;
+    }
+}
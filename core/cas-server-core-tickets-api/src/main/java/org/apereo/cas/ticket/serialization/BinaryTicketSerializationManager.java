@@ -0,0 +1,173 @@
+package org.apereo.cas.ticket.serialization;
+
+import org.apereo.cas.ticket.InvalidTicketException;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.LoggingUtils;
+import org.apereo.cas.util.function.FunctionUtils;
+import org.apereo.cas.util.serialization.AbstractJacksonBackedStringSerializer;
+import org.apereo.cas.util.serialization.StringSerializer;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This is {@link BinaryTicketSerializationManager}. It encodes tickets using
+ * the binary Smile format, reusing the object mappers and type information of the registered
+ * Jackson-backed ticket serializers, and caches the resulting readers and writers per ticket type.
+ * <p>
+ * Binary payloads are prefixed with a format-version header. Content without the header
+ * is passed on to the JSON serializers, so tickets written in either format can be read
+ * while a deployment is switching formats. Writing binary payloads is optional, allowing all nodes
+ * to first be upgraded to read both formats before any node begins to write binary payloads.
+ * <p>
+ * Binary payloads are Base64-encoded by {@link #serializeTicket(Ticket)} for callers that can only handle strings.
+ * Ticket registries store the output of {@link #serializeTicketToBytes(Ticket)} instead,
+ * which writes the binary payload after the header as is.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+public class BinaryTicketSerializationManager extends DefaultTicketStringSerializationManager {
+    /**
+     * Header that marks content as binary, along with the version of the binary format.
+     */
+    public static final String BINARY_FORMAT_HEADER = "CASB1:";
+
+    private static final byte[] BINARY_FORMAT_HEADER_BYTES = BINARY_FORMAT_HEADER.getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * First byte of the header that Smile writes ahead of the payload; it never appears in Base64 content.
+     */
+    private static final byte SMILE_HEADER_BYTE = ':';
+
+    private final Map<Class<?>, BinaryTicketCodec> codecs = new ConcurrentHashMap<>();
+
+    private final boolean binaryOutputEnabled;
+
+    public BinaryTicketSerializationManager(final TicketSerializationExecutionPlan ticketSerializationExecutionPlan,
+                                            final boolean binaryOutputEnabled) {
+        super(ticketSerializationExecutionPlan);
+        this.binaryOutputEnabled = binaryOutputEnabled;
+    }
+
+    public BinaryTicketSerializationManager(final TicketSerializationExecutionPlan ticketSerializationExecutionPlan) {
+        this(ticketSerializationExecutionPlan, true);
+    }
+
+    /**
+     * Indicate whether the given content is encoded in the binary format.
+     *
+     * @param ticketContent the ticket content
+     * @return true/false
+     */
+    public static boolean isBinaryFormat(final String ticketContent) {
+        return ticketContent != null && ticketContent.startsWith(BINARY_FORMAT_HEADER);
+    }
+
+    @Override
+    public boolean isBinaryOutputEnabled() {
+        return binaryOutputEnabled;
+    }
+
+    @Override
+    public String serializeTicket(final Ticket ticket) {
+        val content = encode(ticket);
+        return content != null
+            ? BINARY_FORMAT_HEADER + Base64.getEncoder().encodeToString(content)
+            : super.serializeTicket(ticket);
+    }
+
+    @Override
+    public byte[] serializeTicketToBytes(final Ticket ticket) {
+        val content = encode(ticket);
+        if (content == null) {
+            return super.serializeTicketToBytes(ticket);
+        }
+        val result = Arrays.copyOf(BINARY_FORMAT_HEADER_BYTES, BINARY_FORMAT_HEADER_BYTES.length + content.length);
+        System.arraycopy(content, 0, result, BINARY_FORMAT_HEADER_BYTES.length, content.length);
+        return result;
+    }
+
+    @Override
+    public <T extends Ticket> T deserializeTicket(final String ticketContent, final Class<T> clazz) {
+        if (!isBinaryFormat(ticketContent)) {
+            return super.deserializeTicket(ticketContent, clazz);
+        }
+        val content = Base64.getDecoder().decode(ticketContent.substring(BINARY_FORMAT_HEADER.length()));
+        return decode(content, 0, clazz);
+    }
+
+    @Override
+    public Ticket deserializeTicketFromBytes(final byte[] ticketContent, final String type) {
+        val headerLength = BINARY_FORMAT_HEADER_BYTES.length;
+        if (ticketContent.length > headerLength
+            && Arrays.equals(ticketContent, 0, headerLength, BINARY_FORMAT_HEADER_BYTES, 0, headerLength)
+            && ticketContent[headerLength] == SMILE_HEADER_BYTE) {
+            return decode(ticketContent, headerLength, getTicketType(type));
+        }
+        return super.deserializeTicketFromBytes(ticketContent, type);
+    }
+
+    private byte[] encode(final Ticket ticket) {
+        if (!binaryOutputEnabled) {
+            return null;
+        }
+        try {
+            val serializer = Objects.requireNonNull(getTicketSerializationExecutionPlan().getTicketSerializer(ticket),
+                () -> "Unable to find ticket serializer for " + ticket.getId());
+            val codec = getCodec(serializer);
+            return codec != null ? FunctionUtils.doUnchecked(() -> codec.writer().writeValueAsBytes(ticket)) : null;
+        } catch (final Exception e) {
+            LoggingUtils.error(LOGGER, e);
+            throw e;
+        }
+    }
+
+    private <T extends Ticket> T decode(final byte[] content, final int offset, final Class<T> clazz) {
+        val serializer = Objects.requireNonNull(getTicketSerializationExecutionPlan().getTicketSerializer(clazz),
+            () -> "Unable to find ticket deserializer for " + clazz.getSimpleName());
+        val codec = Objects.requireNonNull(getCodec(serializer),
+            () -> "Unable to find binary ticket deserializer for " + clazz.getSimpleName());
+        val ticket = FunctionUtils.doAndHandle(() -> (Ticket) codec.reader().readValue(content, offset, content.length - offset), throwable -> {
+            LOGGER.error("Cannot read binary ticket content to deserialize into type [{}]: [{}]", clazz.getName(), throwable.getMessage());
+            LOGGER.debug(throwable.getMessage(), throwable);
+            return null;
+        }).get();
+        if (ticket == null) {
+            throw new InvalidTicketException(clazz.getName());
+        }
+        if (!clazz.isAssignableFrom(ticket.getClass())) {
+            throw new ClassCastException("Ticket [" + ticket.getId()
+                                         + " is of type " + ticket.getClass()
+                                         + " when we were expecting " + clazz);
+        }
+        return clazz.cast(ticket);
+    }
+
+    private BinaryTicketCodec getCodec(final StringSerializer<Ticket> serializer) {
+        if (serializer instanceof final AbstractJacksonBackedStringSerializer<?> jacksonSerializer) {
+            return codecs.computeIfAbsent(serializer.getTypeToSerialize(), type -> {
+                LOGGER.trace("Building binary ticket codec for [{}]", type.getName());
+                val mapper = jacksonSerializer.getObjectMapper().copyWith(new SmileFactory());
+                return new BinaryTicketCodec(mapper.readerFor(type), mapper.writer());
+            });
+        }
+        LOGGER.debug("Ticket serializer [{}] is not backed by Jackson and cannot produce binary payloads",
+            serializer.getClass().getName());
+        return null;
+    }
+
+    private record BinaryTicketCodec(ObjectReader reader, ObjectWriter writer) {
+    }
+}
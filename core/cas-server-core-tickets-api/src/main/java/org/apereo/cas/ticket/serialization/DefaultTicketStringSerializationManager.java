@@ -4,13 +4,16 @@ import org.apereo.cas.ticket.InvalidTicketException;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.util.LoggingUtils;
 
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.jooq.lambda.Unchecked;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This is {@link DefaultTicketStringSerializationManager}.
@@ -20,7 +23,10 @@ import java.util.Objects;
  */
 @RequiredArgsConstructor
 @Slf4j
+@Getter
 public class DefaultTicketStringSerializationManager implements TicketSerializationManager {
+    private final Map<String, Class<? extends Ticket>> ticketTypes = new ConcurrentHashMap<>();
+
     private final TicketSerializationExecutionPlan ticketSerializationExecutionPlan;
 
     @Override
@@ -44,10 +50,7 @@ public class DefaultTicketStringSerializationManager implements TicketSerializat
         if (serializer == null) {
             throw new IllegalArgumentException("Unable to find ticket deserializer for " + type);
         }
-        return Unchecked.supplier(() -> {
-            val clazz = Class.forName(type);
-            return deserializeTicket(ticketContent, (Class) clazz);
-        }).get();
+        return deserializeTicket(ticketContent, getTicketType(type));
     }
 
     @Override
@@ -66,4 +69,15 @@ public class DefaultTicketStringSerializationManager implements TicketSerializat
         }
         return (T) ticket;
     }
+
+    /**
+     * Gets ticket type for the given class name, loading the class
+     * only once and caching the result for subsequent calls.
+     *
+     * @param type the type
+     * @return the ticket type
+     */
+    protected Class<? extends Ticket> getTicketType(final String type) {
+        return ticketTypes.computeIfAbsent(type, Unchecked.function(className -> Class.forName(className).asSubclass(Ticket.class)));
+    }
 }
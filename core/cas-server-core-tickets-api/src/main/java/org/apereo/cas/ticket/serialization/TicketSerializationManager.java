@@ -2,6 +2,8 @@ package org.apereo.cas.ticket.serialization;
 
 import org.apereo.cas.ticket.Ticket;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * This is {@link TicketSerializationManager}.
  *
@@ -40,4 +42,36 @@ public interface TicketSerializationManager {
      * @return the ticket instance
      */
     <T extends Ticket> T deserializeTicket(String ticketContent, Class<T> clazz);
+
+    /**
+     * Serialize ticket into bytes, for ticket registries that are able to store binary content as is.
+     *
+     * @param ticket the ticket
+     * @return the bytes
+     */
+    default byte[] serializeTicketToBytes(final Ticket ticket) {
+        return serializeTicket(ticket).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Whether tickets are serialized into a binary format. Ticket registries that are able to store
+     * binary content should then store the output of {@link #serializeTicketToBytes(Ticket)}
+     * in their native binary types, instead of the string form.
+     *
+     * @return true/false
+     */
+    default boolean isBinaryOutputEnabled() {
+        return false;
+    }
+
+    /**
+     * Deserialize ticket from bytes produced by {@link #serializeTicketToBytes(Ticket)}.
+     *
+     * @param ticketContent the ticket content
+     * @param type          the type
+     * @return the ticket instance
+     */
+    default Ticket deserializeTicketFromBytes(final byte[] ticketContent, final String type) {
+        return deserializeTicket(new String(ticketContent, StandardCharsets.UTF_8), type);
+    }
 }
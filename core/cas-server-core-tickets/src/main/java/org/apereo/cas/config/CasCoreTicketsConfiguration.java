@@ -5,6 +5,7 @@ import org.apereo.cas.authentication.PseudoPlatformTransactionManager;
 import org.apereo.cas.authentication.policy.UniquePrincipalAuthenticationPolicy;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.features.CasFeatureModule;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCoreProperties;
 import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.ticket.DefaultServiceTicketSessionTrackingPolicy;
@@ -35,12 +36,21 @@ import org.apereo.cas.ticket.factory.DefaultTransientSessionTicketFactory;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicketFactory;
 import org.apereo.cas.ticket.proxy.ProxyTicketFactory;
 import org.apereo.cas.ticket.registry.CachingTicketRegistry;
+import org.apereo.cas.ticket.registry.DefaultTicketAttributeIndex;
+import org.apereo.cas.ticket.registry.DefaultTicketIdentifierDigester;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistrySupport;
+import org.apereo.cas.ticket.registry.NearCacheTicketRegistryBeanPostProcessor;
+import org.apereo.cas.ticket.registry.ShardedTicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.ShardedOffHeapTicketMap;
+import org.apereo.cas.ticket.registry.TicketAttributeIndex;
+import org.apereo.cas.ticket.registry.TicketIdentifierDigester;
+import org.apereo.cas.ticket.registry.TicketIdentifierDigesterBeanPostProcessor;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
 import org.apereo.cas.ticket.registry.pubsub.DefaultQueueableTicketRegistryMessageReceiver;
 import org.apereo.cas.ticket.registry.pubsub.QueueableTicketRegistry;
+import org.apereo.cas.ticket.registry.pubsub.queue.BatchingQueueableTicketRegistryMessagePublisherBeanPostProcessor;
 import org.apereo.cas.ticket.registry.pubsub.queue.QueueableTicketRegistryMessagePublisher;
 import org.apereo.cas.ticket.registry.pubsub.queue.QueueableTicketRegistryMessageReceiver;
 import org.apereo.cas.ticket.serialization.TicketSerializationManager;
@@ -58,10 +68,13 @@ import org.apereo.cas.util.spring.beans.BeanCondition;
 import org.apereo.cas.util.spring.beans.BeanSupplier;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeatureEnabled;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureOrder;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -79,6 +92,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -165,13 +179,85 @@ public class CasCoreTicketsConfiguration {
             LOGGER.info("Runtime memory is used as the persistence storage for retrieving and managing tickets. "
                         + "Tickets that are issued during runtime will be LOST when the web server is restarted. This MAY impact SSO functionality.");
             val mem = casProperties.getTicket().getRegistry().getInMemory();
+            val ticketAttributeIndex = mem.isEnableAttributeIndex() ? new DefaultTicketAttributeIndex() : TicketAttributeIndex.noOp();
             if (mem.isCache()) {
-                return new CachingTicketRegistry(defaultTicketRegistryCipherExecutor, ticketSerializationManager, ticketCatalog,
+                val registry = new CachingTicketRegistry(defaultTicketRegistryCipherExecutor, ticketSerializationManager, ticketCatalog,
                     logoutManager, messageQueueTicketRegistryPublisher, messageQueueTicketRegistryIdentifier);
+                registry.setTicketAttributeIndex(ticketAttributeIndex);
+                return registry;
             }
-            val storageMap = new ConcurrentHashMap<String, Ticket>(mem.getInitialCapacity(), mem.getLoadFactor(), mem.getConcurrency());
-            return new DefaultTicketRegistry(defaultTicketRegistryCipherExecutor, ticketSerializationManager, ticketCatalog,
+            final Map<String, Ticket> storageMap = mem.isOffHeap()
+                ? new ShardedOffHeapTicketMap(ticketSerializationManager, mem.getOffHeapShards(), mem.getOffHeapSegmentSize())
+                : new ConcurrentHashMap<>(mem.getInitialCapacity(), mem.getLoadFactor(), mem.getConcurrency());
+            val registry = new DefaultTicketRegistry(defaultTicketRegistryCipherExecutor, ticketSerializationManager, ticketCatalog,
                 storageMap, messageQueueTicketRegistryPublisher, messageQueueTicketRegistryIdentifier);
+            registry.setTicketAttributeIndex(ticketAttributeIndex);
+            return registry;
+        }
+
+        /**
+         * Create the bean post processor that decorates the ticket registry with a near cache.
+         * Note that {@code BeanPostProcessor} beans should be static.
+         *
+         * @param casProperties    the cas properties
+         * @param ticketPublisher  the ticket publisher
+         * @param ticketRegistryId the ticket registry id
+         * @param meterRegistry    the meter registry
+         * @return the bean post processor
+         */
+        @Bean
+        @ConditionalOnMissingBean(name = "nearCacheTicketRegistryBeanPostProcessor")
+        public static BeanPostProcessor nearCacheTicketRegistryBeanPostProcessor(
+            final ObjectProvider<CasConfigurationProperties> casProperties,
+            @Qualifier("messageQueueTicketRegistryPublisher")
+            final ObjectProvider<QueueableTicketRegistryMessagePublisher> ticketPublisher,
+            @Qualifier("messageQueueTicketRegistryIdentifier")
+            final ObjectProvider<PublisherIdentifier> ticketRegistryId,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
+            return new NearCacheTicketRegistryBeanPostProcessor(casProperties, ticketPublisher, ticketRegistryId, meterRegistry);
+        }
+
+        /**
+         * Create the bean post processor that batches commands published to the ticket registry message queue.
+         * Note that {@code BeanPostProcessor} beans should be static.
+         *
+         * @param casProperties the cas properties
+         * @return the bean post processor
+         */
+        @Bean
+        @ConditionalOnMissingBean(name = "batchingQueueableTicketRegistryMessagePublisherBeanPostProcessor")
+        public static BeanPostProcessor batchingQueueableTicketRegistryMessagePublisherBeanPostProcessor(
+            final ObjectProvider<CasConfigurationProperties> casProperties) {
+            return new BatchingQueueableTicketRegistryMessagePublisherBeanPostProcessor(casProperties);
+        }
+
+        /**
+         * Create the bean post processor that hands the ticket identifier digester to ticket registries.
+         * Note that {@code BeanPostProcessor} beans should be static.
+         *
+         * @param ticketIdentifierDigester the ticket identifier digester
+         * @return the bean post processor
+         */
+        @Bean
+        @ConditionalOnMissingBean(name = "ticketIdentifierDigesterBeanPostProcessor")
+        public static BeanPostProcessor ticketIdentifierDigesterBeanPostProcessor(
+            @Qualifier(TicketIdentifierDigester.BEAN_NAME)
+            final ObjectProvider<TicketIdentifierDigester> ticketIdentifierDigester) {
+            return new TicketIdentifierDigesterBeanPostProcessor(ticketIdentifierDigester);
+        }
+
+        @Bean
+        @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+        @ConditionalOnMissingBean(name = TicketIdentifierDigester.BEAN_NAME)
+        public TicketIdentifierDigester ticketIdentifierDigester(final CasConfigurationProperties casProperties) {
+            val core = casProperties.getTicket().getRegistry().getCore();
+            if (core.getIdentifierDigestAlgorithm() == TicketRegistryCoreProperties.TicketIdentifierDigestAlgorithms.HMAC_SHA256) {
+                if (StringUtils.isBlank(core.getIdentifierDigestKey())) {
+                    throw new IllegalArgumentException("A shared key must be defined to digest ticket identifiers using HMAC_SHA256");
+                }
+                return DefaultTicketIdentifierDigester.hmacSha256(core.getIdentifierDigestKey().getBytes(StandardCharsets.UTF_8));
+            }
+            return TicketIdentifierDigester.sha512();
         }
 
         @Bean
@@ -539,5 +625,27 @@ public class CasCoreTicketsConfiguration {
                 .otherwise(LockRepository::noOp)
                 .get();
         }
+
+        /**
+         * Lock repository used by the ticket registry cleaner to claim shards.
+         * It is kept apart from the repository that locks tickets, since the default
+         * repository stripes keys over a fixed set of locks, and a shard claim that is held while
+         * the shard is cleaned would otherwise block unrelated tickets that share its stripe.
+         *
+         * @param applicationContext the application context
+         * @return the lock repository
+         * @throws Exception the exception
+         */
+        @Bean
+        @ConditionalOnMissingBean(name = ShardedTicketRegistryCleaner.SHARD_LOCK_REPOSITORY_BEAN_NAME)
+        @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+        public LockRepository ticketRegistryCleanerShardLockRepository(
+            final ConfigurableApplicationContext applicationContext) throws Exception {
+            return BeanSupplier.of(LockRepository.class)
+                .when(BeanCondition.on("cas.ticket.registry.core.enable-locking").isTrue().evenIfMissing().given(applicationContext.getEnvironment()))
+                .supply(LockRepository::asDefault)
+                .otherwise(LockRepository::noOp)
+                .get();
+        }
     }
 }
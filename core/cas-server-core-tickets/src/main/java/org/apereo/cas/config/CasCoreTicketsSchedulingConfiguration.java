@@ -2,9 +2,16 @@ package org.apereo.cas.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.features.CasFeatureModule;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCleanerProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.ticket.registry.DefaultTicketExpirationIndex;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.ExpirationIndexedTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.ShardedTicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.TicketExpirationIndex;
+import org.apereo.cas.ticket.registry.TicketExpirationIndexBeanPostProcessor;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
 import org.apereo.cas.util.function.FunctionUtils;
@@ -13,10 +20,13 @@ import org.apereo.cas.util.spring.beans.BeanCondition;
 import org.apereo.cas.util.spring.beans.BeanSupplier;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeatureEnabled;
 import org.apereo.cas.util.spring.boot.ConditionalOnMatchingHostname;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -53,11 +63,24 @@ public class CasCoreTicketsSchedulingConfiguration {
     public TicketRegistryCleaner ticketRegistryCleaner(
         final CasConfigurationProperties casProperties,
         @Qualifier(LockRepository.BEAN_NAME) final LockRepository lockRepository,
+        @Qualifier(ShardedTicketRegistryCleaner.SHARD_LOCK_REPOSITORY_BEAN_NAME) final LockRepository shardLockRepository,
         @Qualifier(LogoutManager.DEFAULT_BEAN_NAME) final LogoutManager logoutManager,
-        @Qualifier(TicketRegistry.BEAN_NAME) final TicketRegistry ticketRegistry) {
-        val isCleanerEnabled = casProperties.getTicket().getRegistry().getCleaner().getSchedule().isEnabled();
-        if (isCleanerEnabled) {
+        @Qualifier(TicketExpirationIndex.BEAN_NAME) final TicketExpirationIndex ticketExpirationIndex,
+        @Qualifier(TicketRegistry.BEAN_NAME) final TicketRegistry ticketRegistry,
+        final ObjectProvider<MeterRegistry> meterRegistry) {
+        val cleaner = casProperties.getTicket().getRegistry().getCleaner();
+        if (cleaner.getSchedule().isEnabled()) {
             LOGGER.debug("Ticket registry cleaner is enabled.");
+            if (cleaner.getMode() == TicketRegistryCleanerProperties.CleanerModes.EXPIRATION_INDEX && ticketExpirationIndex.isEnabled()) {
+                return new ExpirationIndexedTicketRegistryCleaner(lockRepository, logoutManager,
+                    ticketRegistry, ticketExpirationIndex, cleaner.getFullScanInterval());
+            }
+            if (cleaner.getMode() == TicketRegistryCleanerProperties.CleanerModes.SHARDED) {
+                val shardedCleaner = new ShardedTicketRegistryCleaner(lockRepository, shardLockRepository, logoutManager, ticketRegistry,
+                    cleaner.getShardCount(), cleaner.getShardWorkers(), Beans.newDuration(cleaner.getSchedule().getRepeatInterval()));
+                meterRegistry.ifAvailable(shardedCleaner::bindTo);
+                return shardedCleaner;
+            }
             return new DefaultTicketRegistryCleaner(lockRepository, logoutManager, ticketRegistry);
         }
         LOGGER.debug("Ticket registry cleaner is not enabled. "
@@ -66,6 +89,32 @@ public class CasCoreTicketsSchedulingConfiguration {
         return NoOpTicketRegistryCleaner.getInstance();
     }
 
+    @ConditionalOnMissingBean(name = TicketExpirationIndex.BEAN_NAME)
+    @Bean
+    @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+    public TicketExpirationIndex ticketExpirationIndex(final CasConfigurationProperties casProperties) {
+        val cleaner = casProperties.getTicket().getRegistry().getCleaner();
+        if (cleaner.getSchedule().isEnabled() && cleaner.getMode() == TicketRegistryCleanerProperties.CleanerModes.EXPIRATION_INDEX) {
+            return new DefaultTicketExpirationIndex(Beans.newDuration(cleaner.getExpirationBucketDuration()));
+        }
+        return TicketExpirationIndex.noOp();
+    }
+
+    /**
+     * Create the bean post processor that hands the ticket expiration index to ticket registries.
+     * Note that {@code BeanPostProcessor} beans should be static.
+     *
+     * @param ticketExpirationIndex the ticket expiration index
+     * @return the bean post processor
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "ticketExpirationIndexBeanPostProcessor")
+    public static BeanPostProcessor ticketExpirationIndexBeanPostProcessor(
+        @Qualifier(TicketExpirationIndex.BEAN_NAME)
+        final ObjectProvider<TicketExpirationIndex> ticketExpirationIndex) {
+        return new TicketExpirationIndexBeanPostProcessor(ticketExpirationIndex);
+    }
+
     @ConditionalOnMissingBean(name = "ticketRegistryCleanerScheduler")
     @ConditionalOnMatchingHostname(name = "cas.ticket.registry.cleaner.schedule.enabled-on-host")
     @Bean
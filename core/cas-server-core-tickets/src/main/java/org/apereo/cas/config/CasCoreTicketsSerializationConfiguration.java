@@ -2,8 +2,9 @@ package org.apereo.cas.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.features.CasFeatureModule;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCoreProperties;
+import org.apereo.cas.ticket.serialization.BinaryTicketSerializationManager;
 import org.apereo.cas.ticket.serialization.DefaultTicketSerializationExecutionPlan;
-import org.apereo.cas.ticket.serialization.DefaultTicketStringSerializationManager;
 import org.apereo.cas.ticket.serialization.TicketSerializationExecutionPlan;
 import org.apereo.cas.ticket.serialization.TicketSerializationExecutionPlanConfigurer;
 import org.apereo.cas.ticket.serialization.TicketSerializationManager;
@@ -60,8 +61,11 @@ public class CasCoreTicketsSerializationConfiguration {
         @ConditionalOnMissingBean(name = TicketSerializationManager.BEAN_NAME)
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
         public TicketSerializationManager ticketSerializationManager(
+            final CasConfigurationProperties casProperties,
             @Qualifier("ticketSerializationExecutionPlan") final TicketSerializationExecutionPlan ticketSerializationExecutionPlan) {
-            return new DefaultTicketStringSerializationManager(ticketSerializationExecutionPlan);
+            val format = casProperties.getTicket().getRegistry().getCore().getSerializationFormat();
+            return new BinaryTicketSerializationManager(ticketSerializationExecutionPlan,
+                format == TicketRegistryCoreProperties.TicketSerializationFormats.BINARY);
         }
     }
 
@@ -0,0 +1,68 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.ticket.DefaultTicketCatalog;
+import org.apereo.cas.ticket.serialization.TicketSerializationManager;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link DefaultTicketAttributeIndexTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("Tickets")
+class DefaultTicketAttributeIndexTests {
+
+    @Test
+    void verifyIndexAndRemove() {
+        val index = new DefaultTicketAttributeIndex();
+        val tgt = new MockTicketGrantingTicket("casuser");
+        index.index(tgt, "TGT-1", Set.of("cn=casuser", "mail=casuser@example.org"));
+        index.index(tgt, "TGT-2", Set.of("cn=casuser"));
+        assertTrue(index.isEnabled());
+        assertEquals(2, index.size());
+        assertEquals(Set.of("TGT-1", "TGT-2"), index.find(Set.of("cn=casuser")));
+        assertEquals(Set.of("TGT-1"), index.find(Set.of("mail=casuser@example.org", "cn=unknown")));
+
+        index.remove("TGT-1", Set.of());
+        assertEquals(1, index.size());
+        assertEquals(Set.of("TGT-2"), index.find(Set.of("cn=casuser")));
+        assertTrue(index.find(Set.of("mail=casuser@example.org")).isEmpty());
+
+        index.clear();
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void verifyRegistryLookup() throws Exception {
+        val index = new DefaultTicketAttributeIndex();
+        val registry = new DefaultTicketRegistry(mock(TicketSerializationManager.class), new DefaultTicketCatalog());
+        registry.setTicketAttributeIndex(index);
+
+        val tgt1 = new MockTicketGrantingTicket("casuser1", Map.of("cn", List.of("CN1"), "group", List.of("staff")));
+        val tgt2 = new MockTicketGrantingTicket("casuser2", Map.of("cn", List.of("cn2")));
+        registry.addTicket(tgt1);
+        registry.addTicket(tgt2);
+
+        val tickets = registry.getSessionsWithAttributes(Map.of("cn", List.of("cn1"))).toList();
+        assertEquals(List.of(tgt1), tickets);
+        assertEquals(2, registry.getSessionsWithAttributes(Map.of("cn", List.of("cn1", "cn2"))).count());
+        assertEquals(0, registry.getSessionsWithAttributes(Map.of("cn", List.of("cn3"))).count());
+
+        registry.deleteTicket(tgt1);
+        assertEquals(0, registry.getSessionsWithAttributes(Map.of("group", List.of("staff"))).count());
+        registry.deleteAll();
+        assertEquals(0, index.size());
+    }
+}
@@ -0,0 +1,65 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.ticket.expiration.HardTimeoutExpirationPolicy;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link DefaultTicketExpirationIndexTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("Tickets")
+class DefaultTicketExpirationIndexTests {
+
+    @Test
+    void verifyDueTicketsArePolledOnce() {
+        val index = new DefaultTicketExpirationIndex(Duration.ofSeconds(1));
+        val tgt = new MockTicketGrantingTicket("casuser");
+        tgt.setExpirationPolicy(new HardTimeoutExpirationPolicy(30));
+        index.schedule(tgt);
+        assertEquals(1, index.size());
+        assertTrue(index.isEnabled());
+
+        val now = ZonedDateTime.now(ZoneOffset.UTC);
+        assertEquals(0, index.pollDueTickets(now).count());
+        assertEquals(1, index.pollDueTickets(now.plusMinutes(1)).filter(tgt.getId()::equals).count());
+        assertEquals(0, index.size());
+        assertEquals(0, index.pollDueTickets(now.plusMinutes(1)).count());
+    }
+
+    @Test
+    void verifyRescheduleAndRemove() {
+        val index = new DefaultTicketExpirationIndex(Duration.ofSeconds(1));
+        val tgt = new MockTicketGrantingTicket("casuser");
+        tgt.setExpirationPolicy(new HardTimeoutExpirationPolicy(30));
+        index.schedule(tgt);
+        tgt.setExpirationPolicy(new HardTimeoutExpirationPolicy(300));
+        index.schedule(tgt);
+        assertEquals(1, index.size());
+        val now = ZonedDateTime.now(ZoneOffset.UTC);
+        assertEquals(0, index.pollDueTickets(now.plusMinutes(1)).count());
+        index.remove(tgt.getId());
+        assertEquals(0, index.size());
+        assertEquals(0, index.pollDueTickets(now.plusHours(1)).count());
+    }
+
+    @Test
+    void verifyNoOp() {
+        val index = TicketExpirationIndex.noOp();
+        index.schedule(new MockTicketGrantingTicket("casuser"));
+        assertFalse(index.isEnabled());
+        assertEquals(0, index.size());
+        assertEquals(0, index.pollDueTickets(ZonedDateTime.now(ZoneOffset.UTC)).count());
+    }
+}
@@ -0,0 +1,59 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.util.DigestUtils;
+
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link DefaultTicketIdentifierDigesterTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("Tickets")
+class DefaultTicketIdentifierDigesterTests {
+
+    @Test
+    void verifyDigestMatchesDigestUtils() {
+        val digester = TicketIdentifierDigester.sha512();
+        val identifiers = new String[]{"TGT-1-casuser", "mail", "Ĉâśüšéř", StringUtils.repeat("ST-1-", 200), "TGT-2-casuser"};
+        for (val identifier : identifiers) {
+            assertEquals(DigestUtils.sha512(identifier), digester.digest(identifier));
+        }
+    }
+
+    @Test
+    void verifyHmacDigest() {
+        val digester = DefaultTicketIdentifierDigester.hmacSha256("secret".getBytes(StandardCharsets.UTF_8));
+        val digest = digester.digest("TGT-1-casuser");
+        assertEquals(64, digest.length());
+        assertEquals(digest, digester.digest("TGT-1-casuser"));
+        assertNotEquals(digest, DefaultTicketIdentifierDigester.hmacSha256("other".getBytes(StandardCharsets.UTF_8)).digest("TGT-1-casuser"));
+    }
+
+    @Test
+    void verifyDigestsAreCachedPerRequest() {
+        val digester = TicketIdentifierDigester.sha512();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            val digest = digester.digest("TGT-1-casuser");
+            assertSame(digest, digester.digest("TGT-1-casuser"));
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+            val nextRequest = digester.digest("TGT-1-casuser");
+            assertNotSame(digest, nextRequest);
+            assertEquals(digest, nextRequest);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.ticket.DefaultTicketCatalog;
+import org.apereo.cas.ticket.expiration.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.serialization.TicketSerializationManager;
+import org.apereo.cas.util.lock.LockRepository;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link ExpirationIndexedTicketRegistryCleanerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("Tickets")
+class ExpirationIndexedTicketRegistryCleanerTests {
+
+    @Test
+    void verifyDueTicketsAreCleaned() throws Exception {
+        val index = new DefaultTicketExpirationIndex(Duration.ofSeconds(1)) {
+            @Override
+            public Stream<String> pollDueTickets(final ZonedDateTime now) {
+                return super.pollDueTickets(now.plusHours(1));
+            }
+        };
+        val ticketRegistry = new DefaultTicketRegistry(mock(TicketSerializationManager.class), new DefaultTicketCatalog());
+        ticketRegistry.setTicketExpirationIndex(index);
+
+        val expired = new MockTicketGrantingTicket("casuser");
+        expired.setExpirationPolicy(new HardTimeoutExpirationPolicy(1));
+        ticketRegistry.addTicket(expired);
+        val active = new MockTicketGrantingTicket("casuser");
+        active.setExpirationPolicy(new HardTimeoutExpirationPolicy(60));
+        ticketRegistry.addTicket(active);
+        assertEquals(2, index.size());
+
+        expired.markTicketExpired();
+        val cleaner = new ExpirationIndexedTicketRegistryCleaner(LockRepository.noOp(),
+            mock(LogoutManager.class), ticketRegistry, index, 0);
+        assertEquals(1, cleaner.clean());
+        assertNull(ticketRegistry.getTicket(expired.getId(), ticket -> true));
+        assertNotNull(ticketRegistry.getTicket(active.getId(), ticket -> true));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void verifyUpdatedTicketIsRescheduled() throws Exception {
+        val index = new DefaultTicketExpirationIndex(Duration.ofSeconds(1));
+        val ticketRegistry = new DefaultTicketRegistry(mock(TicketSerializationManager.class), new DefaultTicketCatalog());
+        ticketRegistry.setTicketExpirationIndex(index);
+
+        val tgt = new MockTicketGrantingTicket("casuser");
+        tgt.setExpirationPolicy(new HardTimeoutExpirationPolicy(3600));
+        ticketRegistry.addTicket(tgt);
+        val now = ZonedDateTime.now(ZoneOffset.UTC);
+        assertEquals(0, index.pollDueTickets(now.plusMinutes(1)).count());
+
+        tgt.setExpirationPolicy(new HardTimeoutExpirationPolicy(5));
+        ticketRegistry.updateTicket(tgt);
+        assertEquals(List.of(tgt.getId()), index.pollDueTickets(now.plusMinutes(1)).toList());
+    }
+
+    @Test
+    void verifyIndexIsHandedToRegistries() {
+        val index = new DefaultTicketExpirationIndex(Duration.ofSeconds(1));
+        val provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(index);
+        val ticketRegistry = new DefaultTicketRegistry(mock(TicketSerializationManager.class), new DefaultTicketCatalog());
+        new TicketExpirationIndexBeanPostProcessor(provider).postProcessBeforeInitialization(ticketRegistry, TicketRegistry.BEAN_NAME);
+        assertSame(index, ticketRegistry.ticketExpirationIndex);
+
+        val otherRegistry = new DefaultTicketRegistry(mock(TicketSerializationManager.class), new DefaultTicketCatalog());
+        when(provider.getIfAvailable()).thenReturn(TicketExpirationIndex.noOp());
+        new TicketExpirationIndexBeanPostProcessor(provider).postProcessBeforeInitialization(otherRegistry, TicketRegistry.BEAN_NAME);
+        assertFalse(otherRegistry.ticketExpirationIndex.isEnabled());
+    }
+
+    @Test
+    void verifyFullScan() throws Exception {
+        val ticketRegistry = new DefaultTicketRegistry(mock(TicketSerializationManager.class), new DefaultTicketCatalog());
+        val tgt = new MockTicketGrantingTicket("casuser");
+        tgt.setExpirationPolicy(new HardTimeoutExpirationPolicy(1));
+        ticketRegistry.addTicket(tgt);
+        tgt.markTicketExpired();
+        val cleaner = new ExpirationIndexedTicketRegistryCleaner(LockRepository.noOp(),
+            mock(LogoutManager.class), ticketRegistry, TicketExpirationIndex.noOp(), 1);
+        assertEquals(1, cleaner.clean());
+        assertEquals(0, ticketRegistry.sessionCount());
+    }
+}
@@ -0,0 +1,177 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.mock.MockServiceTicket;
+import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.InvalidTicketException;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.pubsub.commands.DeleteTicketMessageQueueCommand;
+import org.apereo.cas.ticket.registry.pubsub.queue.QueueableTicketRegistryMessagePublisher;
+import org.apereo.cas.util.PublisherIdentifier;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link NearCacheTicketRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("Tickets")
+class NearCacheTicketRegistryTests {
+
+    private static NearCacheTicketRegistry getNearCacheTicketRegistry(final TicketRegistry delegate,
+                                                                      final QueueableTicketRegistryMessagePublisher publisher) {
+        return new NearCacheTicketRegistry(delegate, publisher, new PublisherIdentifier(), 1_000, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void verifyRepeatedLookupsAreCached() throws Throwable {
+        val delegate = mock(TicketRegistry.class);
+        val registry = getNearCacheTicketRegistry(delegate, QueueableTicketRegistryMessagePublisher.noOp());
+        val meterRegistry = new SimpleMeterRegistry();
+        registry.bindTo(meterRegistry);
+
+        val tgt = new MockTicketGrantingTicket("casuser");
+        when(delegate.getTicket(tgt.getId())).thenReturn(tgt);
+        assertSame(tgt, registry.getTicket(tgt.getId()));
+        assertSame(tgt, registry.getTicket(tgt.getId(), TicketGrantingTicket.class));
+        assertSame(tgt, registry.getTicket(tgt.getId(), ticket -> true));
+        verify(delegate, times(1)).getTicket(tgt.getId());
+        verify(delegate, never()).getTicket(anyString(), any(Predicate.class));
+
+        assertEquals(2, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(2, meterRegistry.get("cas.ticket.registry.nearcache.hit.age").timer().count());
+    }
+
+    @Test
+    void verifyDeletingTicketGrantingTicketDropsServiceTickets() throws Throwable {
+        val delegate = mock(TicketRegistry.class);
+        val publisher = mock(QueueableTicketRegistryMessagePublisher.class);
+        when(publisher.isEnabled()).thenReturn(true);
+        val registry = getNearCacheTicketRegistry(delegate, publisher);
+
+        val tgt = new MockTicketGrantingTicket("casuser");
+        val service = RegisteredServiceTestUtils.getService();
+        val st = new MockServiceTicket("ST-1", service, tgt);
+        tgt.getServices().put(st.getId(), service);
+        registry.addTicket(tgt);
+        registry.addTicket(st);
+        assertEquals(1, registry.getCache().estimatedSize());
+
+        registry.deleteTicket(tgt);
+        verify(delegate).deleteTicket(tgt);
+        assertNull(registry.getCache().getIfPresent(tgt.getId()));
+        assertNull(registry.getCache().getIfPresent(st.getId()));
+        verify(publisher, times(2)).publishMessageToQueue(any(DeleteTicketMessageQueueCommand.class));
+        assertEquals(2, registry.getLocalInvalidations().get());
+    }
+
+    @Test
+    void verifyServiceTicketsAreNotCached() throws Throwable {
+        val delegate = mock(TicketRegistry.class);
+        val registry = getNearCacheTicketRegistry(delegate, QueueableTicketRegistryMessagePublisher.noOp());
+        val tgt = new MockTicketGrantingTicket("casuser");
+        val st = new MockServiceTicket("ST-1", RegisteredServiceTestUtils.getService(), tgt);
+        registry.addTicket(st);
+        assertNull(registry.getCache().getIfPresent(st.getId()));
+
+        when(delegate.getTicket(st.getId())).thenReturn(st, (Ticket) null);
+        assertSame(st, registry.getTicket(st.getId()));
+        assertNull(registry.getTicket(st.getId()));
+        verify(delegate, times(2)).getTicket(st.getId());
+    }
+
+    @Test
+    void verifyStaleTicketsAreNotWrittenBack() throws Throwable {
+        val delegate = mock(TicketRegistry.class);
+        val registry = getNearCacheTicketRegistry(delegate, QueueableTicketRegistryMessagePublisher.noOp());
+        val tgt = new MockTicketGrantingTicket("casuser");
+        registry.addTicket(tgt);
+
+        val current = new MockTicketGrantingTicket("casuser");
+        when(delegate.getTicket(eq(tgt.getId()), any(Predicate.class))).thenReturn(current);
+        tgt.update();
+        registry.updateTicket(tgt);
+        verify(delegate).updateTicket(tgt);
+
+        current.update();
+        current.update();
+        tgt.update();
+        assertThrows(InvalidTicketException.class, () -> registry.updateTicket(tgt));
+        verify(delegate, times(1)).updateTicket(tgt);
+        assertNull(registry.getCache().getIfPresent(tgt.getId()));
+        assertEquals(1, registry.getStaleUpdates().get());
+    }
+
+    @Test
+    void verifyUpdatesFromOtherNodesInvalidate() throws Throwable {
+        val delegate = mock(TicketRegistry.class);
+        val registry = getNearCacheTicketRegistry(delegate, QueueableTicketRegistryMessagePublisher.noOp());
+        val tgt = new MockTicketGrantingTicket("casuser");
+        registry.addTicket(tgt);
+        assertSame(tgt, registry.getTicket(tgt.getId()));
+
+        assertEquals(1, registry.deleteTicketFromQueue(tgt.getId()));
+        assertNull(registry.getCache().getIfPresent(tgt.getId()));
+        when(delegate.getTicket(tgt.getId())).thenReturn(tgt);
+        assertSame(tgt, registry.getTicket(tgt.getId()));
+        verify(delegate).getTicket(tgt.getId());
+
+        registry.updateTicketInQueue(tgt);
+        assertNull(registry.getCache().getIfPresent(tgt.getId()));
+        registry.addTicket(tgt);
+        assertEquals(1, registry.deleteAllFromQueue());
+        assertEquals(3, registry.getRemoteInvalidations().get());
+    }
+
+    @Test
+    void verifyNearCacheRequiresMessageQueue() {
+        val casProperties = new CasConfigurationProperties();
+        casProperties.getTicket().getRegistry().getCore().getNearCache().setEnabled(true);
+        val propertiesProvider = mock(ObjectProvider.class);
+        when(propertiesProvider.getObject()).thenReturn(casProperties);
+        val publisherProvider = mock(ObjectProvider.class);
+        when(publisherProvider.getIfAvailable(any(Supplier.class))).thenReturn(QueueableTicketRegistryMessagePublisher.noOp());
+        val identifierProvider = mock(ObjectProvider.class);
+        when(identifierProvider.getIfAvailable(any(Supplier.class))).thenReturn(new PublisherIdentifier());
+        val postProcessor = new NearCacheTicketRegistryBeanPostProcessor(propertiesProvider,
+            publisherProvider, identifierProvider, mock(ObjectProvider.class));
+
+        val ticketRegistry = mock(TicketRegistry.class);
+        assertSame(ticketRegistry, postProcessor.postProcessAfterInitialization(ticketRegistry, TicketRegistry.BEAN_NAME));
+
+        val publisher = mock(QueueableTicketRegistryMessagePublisher.class);
+        when(publisher.isEnabled()).thenReturn(true);
+        when(publisherProvider.getIfAvailable(any(Supplier.class))).thenReturn(publisher);
+        val registry = postProcessor.postProcessAfterInitialization(ticketRegistry, TicketRegistry.BEAN_NAME);
+        assertInstanceOf(NearCacheTicketRegistry.class, registry);
+        assertSame(ticketRegistry, ((NearCacheTicketRegistry) registry).getDelegate());
+    }
+
+    @Test
+    void verifyExpiredTicketsAreNotServed() throws Throwable {
+        val delegate = mock(TicketRegistry.class);
+        val registry = getNearCacheTicketRegistry(delegate, QueueableTicketRegistryMessagePublisher.noOp());
+        val tgt = new MockTicketGrantingTicket("casuser");
+        registry.addTicket(tgt);
+        tgt.markTicketExpired();
+        assertNull(registry.getTicket(tgt.getId()));
+        assertEquals(1, registry.getExpiredEvictions().get());
+        verify(delegate).getTicket(tgt.getId());
+    }
+}
@@ -0,0 +1,94 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.serialization.TicketSerializationManager;
+
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link ShardedOffHeapTicketMapTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("Tickets")
+class ShardedOffHeapTicketMapTests {
+    private static final int SEGMENT_SIZE = 4096;
+
+    private static TicketSerializationManager newSerializationManager() {
+        val manager = mock(TicketSerializationManager.class);
+        when(manager.serializeTicketToBytes(any())).thenAnswer(args ->
+            StringUtils.rightPad(args.getArgument(0, Ticket.class).getId(), 200, '#').getBytes(StandardCharsets.UTF_8));
+        when(manager.deserializeTicketFromBytes(any(), anyString())).thenAnswer(args ->
+            newTicket(StringUtils.substringBefore(new String(args.getArgument(0, byte[].class), StandardCharsets.UTF_8), "#")));
+        return manager;
+    }
+
+    private static Ticket newTicket(final String id) {
+        val ticket = mock(Ticket.class);
+        when(ticket.getId()).thenReturn(id);
+        return ticket;
+    }
+
+    private static void put(final ShardedOffHeapTicketMap map, final int index) {
+        val id = "TGT-" + index;
+        map.put(id, newTicket(id));
+    }
+
+    @Test
+    void verifyOperation() {
+        val map = new ShardedOffHeapTicketMap(newSerializationManager(), 4, SEGMENT_SIZE);
+        IntStream.range(0, 10).forEach(i -> put(map, i));
+        assertEquals(10, map.size());
+        assertTrue(map.containsKey("TGT-3"));
+        assertEquals("TGT-3", map.get("TGT-3").getId());
+        assertEquals(10, map.values().size());
+
+        val liveSize = map.getLiveSize();
+        put(map, 3);
+        assertEquals(liveSize, map.getLiveSize());
+
+        assertEquals("TGT-3", map.remove("TGT-3").getId());
+        assertFalse(map.containsKey("TGT-3"));
+        assertNull(map.get("TGT-3"));
+        assertEquals(9, map.size());
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertEquals(0, map.getAllocatedSize());
+    }
+
+    @Test
+    void verifySpaceIsReclaimedIncrementally() {
+        val map = new ShardedOffHeapTicketMap(newSerializationManager(), 1, SEGMENT_SIZE);
+        IntStream.range(0, 200).forEach(i -> put(map, i));
+        val allocatedSize = map.getAllocatedSize();
+        assertTrue(allocatedSize > SEGMENT_SIZE * 10L);
+
+        IntStream.range(0, 200).filter(i -> i % 5 != 0).forEach(i -> map.remove("TGT-" + i));
+        assertEquals(40, map.size());
+        assertTrue(map.getAllocatedSize() < allocatedSize / 2);
+        assertTrue(map.getLiveSize() >= map.getAllocatedSize() * 0.5);
+        IntStream.range(0, 200).filter(i -> i % 5 == 0).forEach(i -> assertEquals("TGT-" + i, map.get("TGT-" + i).getId()));
+    }
+
+    @Test
+    void verifyNoCompactionAboveThreshold() {
+        val map = new ShardedOffHeapTicketMap(newSerializationManager(), 1, SEGMENT_SIZE);
+        IntStream.range(0, 200).forEach(i -> put(map, i));
+        val allocatedSize = map.getAllocatedSize();
+
+        IntStream.range(0, 200).filter(i -> i % 3 == 0).forEach(i -> map.remove("TGT-" + i));
+        assertEquals(allocatedSize, map.getAllocatedSize());
+        assertTrue(map.getLiveSize() > allocatedSize * 0.5);
+    }
+}
@@ -0,0 +1,65 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
+import org.apereo.cas.ticket.registry.pubsub.queue.QueueableTicketRegistryMessagePublisher;
+import org.apereo.cas.util.PublisherIdentifier;
+import org.apereo.cas.util.crypto.CipherExecutor;
+
+import lombok.val;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Tag;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link ShardedOffHeapTicketRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("Tickets")
+class ShardedOffHeapTicketRegistryTests extends BaseTicketRegistryTests {
+
+    @Override
+    public TicketRegistry getNewTicketRegistry() {
+        return new DefaultTicketRegistry(CipherExecutor.noOp(), ticketSerializationManager, ticketCatalog,
+            new ShardedOffHeapTicketMap(ticketSerializationManager, 4, 64 * 1024),
+            QueueableTicketRegistryMessagePublisher.noOp(), new PublisherIdentifier());
+    }
+
+    @RepeatedTest(1)
+    public void verifySegmentsCompacted() {
+        val map = new ShardedOffHeapTicketMap(ticketSerializationManager, 1, 16 * 1024);
+        val tickets = IntStream.range(0, 20)
+            .mapToObj(i -> new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-" + i,
+                CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE))
+            .toList();
+        for (var i = 0; i < 50; i++) {
+            tickets.forEach(ticket -> map.put(ticket.getId(), ticket));
+        }
+        assertEquals(tickets.size(), map.size());
+        assertTrue(map.getAllocatedSize() <= map.getLiveSize() * 2 + 16 * 1024);
+        tickets.forEach(ticket -> assertEquals(ticket, map.get(ticket.getId())));
+        assertEquals(tickets.size(), map.values().size());
+
+        assertNotNull(map.remove(tickets.get(0).getId()));
+        assertNull(map.remove(tickets.get(0).getId()));
+        assertFalse(map.containsKey(tickets.get(0).getId()));
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.getAllocatedSize());
+    }
+
+    @RepeatedTest(1)
+    public void verifyTicketTooLarge() {
+        val map = new ShardedOffHeapTicketMap(ticketSerializationManager, 1, 64);
+        val ticket = new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-1",
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+        assertThrows(IllegalArgumentException.class, () -> map.put(ticket.getId(), ticket));
+    }
+}
@@ -0,0 +1,132 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.ticket.DefaultTicketCatalog;
+import org.apereo.cas.ticket.expiration.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.serialization.TicketSerializationManager;
+import org.apereo.cas.util.lock.LockRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link ShardedTicketRegistryCleanerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("Tickets")
+class ShardedTicketRegistryCleanerTests {
+    private static final Duration PASS_INTERVAL = Duration.ofMinutes(2);
+
+    private static DefaultTicketRegistry getTicketRegistryWithExpiredTickets(final int count) throws Exception {
+        val ticketRegistry = new DefaultTicketRegistry(mock(TicketSerializationManager.class), new DefaultTicketCatalog());
+        for (var i = 0; i < count; i++) {
+            val tgt = new MockTicketGrantingTicket("casuser");
+            tgt.setExpirationPolicy(new HardTimeoutExpirationPolicy(1));
+            ticketRegistry.addTicket(tgt);
+            tgt.markTicketExpired();
+        }
+        return ticketRegistry;
+    }
+
+    private static ShardedTicketRegistryCleaner getCleaner(final LockRepository lockRepository,
+                                                          final LockRepository shardLockRepository,
+                                                          final LogoutManager logoutManager,
+                                                          final TicketRegistry ticketRegistry,
+                                                          final int shardCount, final Clock clock) {
+        return new ShardedTicketRegistryCleaner(lockRepository, shardLockRepository, logoutManager,
+            ticketRegistry, shardCount, 2, PASS_INTERVAL, clock);
+    }
+
+    @Test
+    void verifyShardsAreCleaned() throws Exception {
+        val ticketRegistry = getTicketRegistryWithExpiredTickets(20);
+        val active = new MockTicketGrantingTicket("casuser");
+        active.setExpirationPolicy(new HardTimeoutExpirationPolicy(60));
+        ticketRegistry.addTicket(active);
+
+        val ticketLockRepository = mock(LockRepository.class);
+        when(ticketLockRepository.execute(any(), any())).thenReturn(Optional.empty());
+        val logoutManager = mock(LogoutManager.class);
+        val cleaner = getCleaner(ticketLockRepository, LockRepository.asDefault(), logoutManager, ticketRegistry, 4, Clock.systemUTC());
+        val meterRegistry = new SimpleMeterRegistry();
+        cleaner.bindTo(meterRegistry);
+        try {
+            assertEquals(20, cleaner.clean());
+            assertEquals(1, ticketRegistry.sessionCount());
+            verify(logoutManager, times(20)).performLogout(any());
+            verify(ticketLockRepository, never()).execute(any(), any());
+            assertEquals(20, cleaner.getShardProgress().stream().mapToLong(progress -> progress.removed().get()).sum());
+            assertEquals(4, cleaner.getShardProgress().stream().mapToLong(progress -> progress.completed().get()).sum());
+            val removed = IntStream.range(0, 4)
+                .mapToDouble(shard -> meterRegistry.get("cas.ticket.registry.cleaner.removed")
+                    .tag("shard", String.valueOf(shard)).gauge().value())
+                .sum();
+            assertEquals(20, removed);
+        } finally {
+            cleaner.destroy();
+        }
+    }
+
+    @Test
+    void verifyCompletedShardsAreNotScannedAgainInSamePass() throws Exception {
+        val ticketRegistry = spy(getTicketRegistryWithExpiredTickets(10));
+        val clock = Clock.fixed(Instant.now(), ZoneOffset.UTC);
+        val cleaner = getCleaner(LockRepository.noOp(), LockRepository.asDefault(), mock(LogoutManager.class), ticketRegistry, 4, clock);
+        val otherCleaner = getCleaner(LockRepository.noOp(), LockRepository.asDefault(), mock(LogoutManager.class), ticketRegistry, 4, clock);
+        val nextPassCleaner = getCleaner(LockRepository.noOp(), LockRepository.asDefault(), mock(LogoutManager.class),
+            ticketRegistry, 4, Clock.offset(clock, PASS_INTERVAL));
+        try {
+            assertEquals(10, cleaner.clean());
+            verify(ticketRegistry, times(4)).stream(anyInt(), eq(4));
+            verify(ticketRegistry, never()).stream();
+
+            for (var i = 0; i < 5; i++) {
+                val tgt = new MockTicketGrantingTicket("casuser");
+                ticketRegistry.addTicket(tgt);
+                tgt.markTicketExpired();
+            }
+            assertEquals(0, otherCleaner.clean());
+            assertEquals(4, otherCleaner.getShardProgress().stream().mapToLong(progress -> progress.skipped().get()).sum());
+            verify(ticketRegistry, times(4)).stream(anyInt(), eq(4));
+
+            assertEquals(5, nextPassCleaner.clean());
+            verify(ticketRegistry, times(8)).stream(anyInt(), eq(4));
+        } finally {
+            cleaner.destroy();
+            otherCleaner.destroy();
+            nextPassCleaner.destroy();
+        }
+    }
+
+    @Test
+    void verifyClaimedShardsAreSkipped() throws Exception {
+        val ticketRegistry = getTicketRegistryWithExpiredTickets(10);
+        val shardLockRepository = mock(LockRepository.class);
+        when(shardLockRepository.execute(any(), any())).thenReturn(Optional.empty());
+        val cleaner = getCleaner(LockRepository.noOp(), shardLockRepository, mock(LogoutManager.class), ticketRegistry, 2, Clock.systemUTC());
+        try {
+            assertEquals(0, cleaner.clean());
+            assertEquals(10, ticketRegistry.sessionCount());
+            assertTrue(cleaner.getShardProgress().stream().allMatch(progress -> progress.skipped().get() == 1));
+            assertTrue(cleaner.getShardProgress().stream().allMatch(progress -> progress.completed().get() == 0));
+        } finally {
+            cleaner.destroy();
+        }
+    }
+}
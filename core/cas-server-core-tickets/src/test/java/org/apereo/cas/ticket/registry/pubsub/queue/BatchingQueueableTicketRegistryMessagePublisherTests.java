@@ -0,0 +1,112 @@
+package org.apereo.cas.ticket.registry.pubsub.queue;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.ticket.DefaultTicketCatalog;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
+import org.apereo.cas.ticket.registry.pubsub.DefaultQueueableTicketRegistryMessageReceiver;
+import org.apereo.cas.ticket.registry.pubsub.commands.AddTicketMessageQueueCommand;
+import org.apereo.cas.ticket.registry.pubsub.commands.BaseMessageQueueCommand;
+import org.apereo.cas.ticket.registry.pubsub.commands.BatchMessageQueueCommand;
+import org.apereo.cas.ticket.registry.pubsub.commands.DeleteTicketMessageQueueCommand;
+import org.apereo.cas.ticket.registry.pubsub.commands.DeleteTicketsMessageQueueCommand;
+import org.apereo.cas.ticket.registry.pubsub.commands.UpdateTicketMessageQueueCommand;
+import org.apereo.cas.ticket.serialization.TicketSerializationManager;
+import org.apereo.cas.util.PublisherIdentifier;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link BatchingQueueableTicketRegistryMessagePublisherTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("Tickets")
+class BatchingQueueableTicketRegistryMessagePublisherTests {
+
+    private static TicketGrantingTicketImpl getTicketGrantingTicket(final String id) {
+        return new TicketGrantingTicketImpl(id, CoreAuthenticationTestUtils.getAuthentication(),
+            NeverExpiresExpirationPolicy.INSTANCE);
+    }
+
+    private static QueueableTicketRegistryMessagePublisher getPublisher(final List<BaseMessageQueueCommand> published) {
+        return new QueueableTicketRegistryMessagePublisher() {
+            @Override
+            public void publishMessageToQueue(final BaseMessageQueueCommand cmd) {
+                published.add(cmd);
+            }
+        };
+    }
+
+    @Test
+    void verifyCommandsAreCoalescedAndReplayed() throws Throwable {
+        val published = new ArrayList<BaseMessageQueueCommand>();
+        val publisher = new BatchingQueueableTicketRegistryMessagePublisher(getPublisher(published), Duration.ofHours(1), 100);
+        val id = new PublisherIdentifier();
+
+        val tgt1 = getTicketGrantingTicket("TGT-1");
+        val tgt2 = getTicketGrantingTicket("TGT-2");
+        val tgt3 = getTicketGrantingTicket("TGT-3");
+        publisher.publishMessageToQueue(new AddTicketMessageQueueCommand(id, tgt1));
+        publisher.publishMessageToQueue(new UpdateTicketMessageQueueCommand(id, tgt1));
+        publisher.publishMessageToQueue(new AddTicketMessageQueueCommand(id, tgt2));
+        publisher.publishMessageToQueue(new DeleteTicketMessageQueueCommand(id, tgt2.getId()));
+        publisher.publishMessageToQueue(new UpdateTicketMessageQueueCommand(id, tgt3));
+        assertEquals(2, publisher.getPendingCount());
+        assertTrue(published.isEmpty());
+
+        publisher.flush();
+        assertEquals(1, published.size());
+        val batch = (BatchMessageQueueCommand) published.get(0);
+        assertEquals(2, batch.getSize());
+        val commands = batch.getCommands();
+        assertInstanceOf(AddTicketMessageQueueCommand.class, commands.get(0));
+        assertInstanceOf(UpdateTicketMessageQueueCommand.class, commands.get(1));
+
+        val peer = new DefaultTicketRegistry(mock(TicketSerializationManager.class), new DefaultTicketCatalog());
+        val receiver = new DefaultQueueableTicketRegistryMessageReceiver(peer, new PublisherIdentifier());
+        receiver.receive(batch);
+        assertNotNull(peer.getTicket(tgt1.getId()));
+        assertNull(peer.getTicket(tgt2.getId()));
+        assertNotNull(peer.getTicket(tgt3.getId()));
+        publisher.destroy();
+    }
+
+    @Test
+    void verifyUncoalescedCommandsFlushPendingBatch() {
+        val published = new ArrayList<BaseMessageQueueCommand>();
+        val publisher = new BatchingQueueableTicketRegistryMessagePublisher(getPublisher(published), Duration.ofHours(1), 100);
+        val id = new PublisherIdentifier();
+        publisher.publishMessageToQueue(new AddTicketMessageQueueCommand(id, getTicketGrantingTicket("TGT-1")));
+        publisher.publishMessageToQueue(new DeleteTicketsMessageQueueCommand(id));
+        assertEquals(2, published.size());
+        assertInstanceOf(AddTicketMessageQueueCommand.class, published.get(0));
+        assertInstanceOf(DeleteTicketsMessageQueueCommand.class, published.get(1));
+        assertEquals(0, publisher.getPendingCount());
+        publisher.destroy();
+    }
+
+    @Test
+    void verifyMaximumSizeFlushesBatch() {
+        val published = new ArrayList<BaseMessageQueueCommand>();
+        val publisher = new BatchingQueueableTicketRegistryMessagePublisher(getPublisher(published), Duration.ofHours(1), 2);
+        val id = new PublisherIdentifier();
+        List.of("TGT-1", "TGT-2", "TGT-3").forEach(ticketId ->
+            publisher.publishMessageToQueue(new AddTicketMessageQueueCommand(id, getTicketGrantingTicket(ticketId))));
+        assertEquals(1, published.size());
+        assertEquals(1, publisher.getPendingCount());
+        publisher.destroy();
+        assertEquals(2, published.size());
+    }
+}
@@ -0,0 +1,132 @@
+package org.apereo.cas.ticket.serialization;
+
+import org.apereo.cas.config.CasCoreHttpConfiguration;
+import org.apereo.cas.config.CasCoreNotificationsConfiguration;
+import org.apereo.cas.config.CasCoreServicesConfiguration;
+import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
+import org.apereo.cas.config.CasCoreTicketIdGeneratorsConfiguration;
+import org.apereo.cas.config.CasCoreTicketsConfiguration;
+import org.apereo.cas.config.CasCoreTicketsSerializationConfiguration;
+import org.apereo.cas.config.CasCoreUtilConfiguration;
+import org.apereo.cas.config.CasCoreWebConfiguration;
+import org.apereo.cas.config.CasWebApplicationServiceFactoryConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.InvalidTicketException;
+import org.apereo.cas.ticket.TicketFactory;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketFactory;
+import org.apereo.cas.ticket.proxy.ProxyTicket;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link BinaryTicketSerializationManagerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@SpringBootTest(classes = {
+    RefreshAutoConfiguration.class,
+    CasCoreHttpConfiguration.class,
+    CasCoreTicketsConfiguration.class,
+    CasCoreServicesConfiguration.class,
+    CasCoreTicketCatalogConfiguration.class,
+    CasCoreTicketsSerializationConfiguration.class,
+    CasCoreTicketIdGeneratorsConfiguration.class,
+    CasCoreNotificationsConfiguration.class,
+    CasCoreUtilConfiguration.class,
+    CasCoreWebConfiguration.class,
+    CasWebApplicationServiceFactoryConfiguration.class
+}, properties = "cas.ticket.registry.core.serialization-format=BINARY")
+@Tag("Tickets")
+@Slf4j
+class BinaryTicketSerializationManagerTests {
+    @Autowired
+    @Qualifier(TicketSerializationManager.BEAN_NAME)
+    private TicketSerializationManager ticketSerializationManager;
+
+    @Autowired
+    @Qualifier("ticketSerializationExecutionPlan")
+    private TicketSerializationExecutionPlan ticketSerializationExecutionPlan;
+
+    @Autowired
+    @Qualifier(TicketFactory.BEAN_NAME)
+    private TicketFactory defaultTicketFactory;
+
+    @Test
+    void verifyOperation() {
+        val ticket = createTicketGrantingTicket();
+        val result = ticketSerializationManager.serializeTicket(ticket);
+        assertTrue(BinaryTicketSerializationManager.isBinaryFormat(result));
+        val deserializedTicket = ticketSerializationManager.deserializeTicket(result, TicketGrantingTicket.class);
+        assertEquals(ticket, deserializedTicket);
+        assertEquals(ticket.getAuthentication().getPrincipal().getAttributes(),
+            deserializedTicket.getAuthentication().getPrincipal().getAttributes());
+        assertEquals(ticket, ticketSerializationManager.deserializeTicket(result, ticket.getClass().getName()));
+        assertThrows(InvalidTicketException.class, () -> ticketSerializationManager.deserializeTicket(result, ProxyTicket.class));
+    }
+
+    @Test
+    void verifyMixedFormats() {
+        val ticket = createTicketGrantingTicket();
+        val jsonManager = new BinaryTicketSerializationManager(ticketSerializationExecutionPlan, false);
+        val json = jsonManager.serializeTicket(ticket);
+        assertFalse(BinaryTicketSerializationManager.isBinaryFormat(json));
+        assertEquals(ticket, ticketSerializationManager.deserializeTicket(json, TicketGrantingTicket.class));
+
+        val binary = ticketSerializationManager.serializeTicket(ticket);
+        assertEquals(ticket, jsonManager.deserializeTicket(binary, TicketGrantingTicket.class));
+    }
+
+    @Test
+    void verifyRawBinaryContent() {
+        val attributes = new LinkedHashMap<String, List<Object>>();
+        for (var i = 0; i < 100; i++) {
+            attributes.put("attribute" + i, List.of("value-" + i, "cn=group" + i + ",ou=groups,dc=example,dc=org"));
+        }
+        val ticket = createTicketGrantingTicket(attributes);
+        val jsonManager = new BinaryTicketSerializationManager(ticketSerializationExecutionPlan, false);
+        assertFalse(jsonManager.isBinaryOutputEnabled());
+        assertTrue(ticketSerializationManager.isBinaryOutputEnabled());
+        val json = jsonManager.serializeTicketToBytes(ticket);
+        val encoded = ticketSerializationManager.serializeTicket(ticket).getBytes(StandardCharsets.UTF_8);
+        val raw = ticketSerializationManager.serializeTicketToBytes(ticket);
+        LOGGER.debug("Ticket with [{}] attribute(s) is [{}] byte(s) as JSON, [{}] byte(s) as encoded binary and [{}] byte(s) as raw binary",
+            attributes.size(), json.length, encoded.length, raw.length);
+        assertTrue(raw.length < json.length);
+        assertTrue(raw.length < encoded.length);
+
+        val type = ticket.getClass().getName();
+        val deserializedTicket = (TicketGrantingTicket) ticketSerializationManager.deserializeTicketFromBytes(raw, type);
+        assertEquals(ticket, deserializedTicket);
+        assertEquals(ticket.getAuthentication().getPrincipal().getAttributes(),
+            deserializedTicket.getAuthentication().getPrincipal().getAttributes());
+        assertEquals(ticket, ticketSerializationManager.deserializeTicketFromBytes(json, type));
+        assertEquals(ticket, ticketSerializationManager.deserializeTicketFromBytes(encoded, type));
+        assertEquals(ticket, jsonManager.deserializeTicketFromBytes(raw, type));
+    }
+
+    private TicketGrantingTicket createTicketGrantingTicket() {
+        return createTicketGrantingTicket(Map.of("memberOf", List.of("staff", "faculty"), "mail", List.of("casuser@example.org")));
+    }
+
+    private TicketGrantingTicket createTicketGrantingTicket(final Map<String, List<Object>> attributes) {
+        val factory = (TicketGrantingTicketFactory) defaultTicketFactory.get(TicketGrantingTicket.class);
+        return factory.create(RegisteredServiceTestUtils.getAuthentication("casuser", attributes),
+            RegisteredServiceTestUtils.getService(), TicketGrantingTicket.class);
+    }
+}
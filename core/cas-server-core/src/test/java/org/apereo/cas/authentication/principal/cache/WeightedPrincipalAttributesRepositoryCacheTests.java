@@ -0,0 +1,90 @@
+package org.apereo.cas.authentication.principal.cache;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link WeightedPrincipalAttributesRepositoryCacheTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("Attributes")
+class WeightedPrincipalAttributesRepositoryCacheTests {
+
+    @Test
+    void verifyPutAndFetch() {
+        try (val cache = new WeightedPrincipalAttributesRepositoryCache(1024 * 1024)) {
+            val service = CoreAuthenticationTestUtils.getRegisteredService();
+            val principal = CoreAuthenticationTestUtils.getPrincipal("casuser");
+            val repository = new CachingPrincipalAttributesRepository(TimeUnit.SECONDS.name(), 30);
+            assertTrue(cache.fetchAttributes(service, repository, principal).isEmpty());
+
+            cache.putAttributes(service, repository, principal.getId(), Map.of("memberOf", List.of("admins", "staff")));
+            val attributes = cache.fetchAttributes(service, repository, principal);
+            assertEquals(List.of("admins", "staff"), attributes.get("MEMBEROF"));
+            assertTrue(cache.getWeightedSize() > 0);
+
+            cache.invalidate();
+            assertTrue(cache.fetchAttributes(service, repository, principal).isEmpty());
+        }
+    }
+
+    @Test
+    void verifyWeightGrowsWithPayload() {
+        val small = WeightedPrincipalAttributesRepositoryCache.estimateWeight("key", Map.of("memberOf", List.of("admins")));
+        val large = WeightedPrincipalAttributesRepositoryCache.estimateWeight("key",
+            Map.of("memberOf", List.of("admins", "staff", "faculty", "students")));
+        assertTrue(large > small);
+    }
+
+    @Test
+    void verifyConcurrentRequestsAreCoalesced() throws Exception {
+        try (val cache = new WeightedPrincipalAttributesRepositoryCache(1024 * 1024)) {
+            val service = CoreAuthenticationTestUtils.getRegisteredService();
+            val principal = CoreAuthenticationTestUtils.getPrincipal("casuser");
+            val repository = new CachingPrincipalAttributesRepository(TimeUnit.SECONDS.name(), 30);
+
+            val loads = new AtomicInteger();
+            val start = new CountDownLatch(1);
+            val executor = Executors.newFixedThreadPool(8);
+            try {
+                val results = new ArrayList<Future<Map<String, List<Object>>>>();
+                for (var i = 0; i < 8; i++) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return cache.fetchAttributes(service, repository, principal, () -> {
+                            loads.incrementAndGet();
+                            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(200));
+                            val attributes = Map.<String, List<Object>>of("uid", List.of("casuser"));
+                            cache.putAttributes(service, repository, principal.getId(), attributes);
+                            return attributes;
+                        });
+                    }));
+                }
+                start.countDown();
+                for (val result : results) {
+                    assertEquals(List.of("casuser"), result.get(10, TimeUnit.SECONDS).get("uid"));
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            assertEquals(1, loads.get());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.BaseCasCoreTests;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+
+import lombok.experimental.UtilityClass;
+import lombok.val;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This is {@link CasBenchmarkApplicationContext}. It bootstraps the same
+ * core CAS application context that is used by the core test suites, with scheduled
+ * jobs turned off, so benchmarks can drive the real ticket lifecycle beans.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@UtilityClass
+public class CasBenchmarkApplicationContext {
+
+    /**
+     * Create the application context with the given settings.
+     *
+     * @param properties the properties
+     * @return the application context
+     */
+    public static ConfigurableApplicationContext create(final Map<String, Object> properties) {
+        val settings = new LinkedHashMap<String, Object>();
+        settings.put("cas.ticket.registry.cleaner.schedule.enabled", false);
+        settings.put("cas.authn.policy.any.try-all", true);
+        settings.put("spring.main.allow-bean-definition-overriding", true);
+        settings.putAll(properties);
+        return new SpringApplicationBuilder(CasBenchmarkConfiguration.class)
+            .web(WebApplicationType.NONE)
+            .bannerMode(Banner.Mode.OFF)
+            .logStartupInfo(false)
+            .contextFactory(type -> new GenericWebApplicationContext(new MockServletContext()))
+            .properties(settings)
+            .run();
+    }
+
+    @SpringBootConfiguration
+    @EnableConfigurationProperties(CasConfigurationProperties.class)
+    @EnableAspectJAutoProxy(proxyTargetClass = false)
+    @Import(BaseCasCoreTests.SharedTestConfiguration.class)
+    static class CasBenchmarkConfiguration {
+    }
+}
@@ -0,0 +1,145 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.CentralAuthenticationService;
+import org.apereo.cas.authentication.AuthenticationResult;
+import org.apereo.cas.authentication.AuthenticationSystemSupport;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.validation.Assertion;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link CentralAuthenticationServiceBenchmark}. It drives the ticket lifecycle
+ * of the {@link CentralAuthenticationService} end to end, from creating ticket-granting tickets
+ * to granting and validating service tickets, against the in-memory ticket registries
+ * with and without ticket encryption.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CentralAuthenticationServiceBenchmark {
+    @Param({"false", "true"})
+    protected boolean cachingTicketRegistry;
+
+    @Param({"false", "true"})
+    protected boolean cipherEnabled;
+
+    private ConfigurableApplicationContext applicationContext;
+
+    private CentralAuthenticationService centralAuthenticationService;
+
+    private TicketRegistry ticketRegistry;
+
+    private AuthenticationResult authenticationResult;
+
+    private Service service;
+
+    /**
+     * Bootstrap the application context and authenticate once.
+     *
+     * @throws Throwable the throwable
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Throwable {
+        applicationContext = CasBenchmarkApplicationContext.create(Map.of(
+            "cas.ticket.registry.in-memory.cache", cachingTicketRegistry,
+            "cas.ticket.registry.in-memory.crypto.enabled", cipherEnabled));
+        centralAuthenticationService = applicationContext.getBean(CentralAuthenticationService.BEAN_NAME, CentralAuthenticationService.class);
+        ticketRegistry = applicationContext.getBean(TicketRegistry.BEAN_NAME, TicketRegistry.class);
+        val authenticationSystemSupport = applicationContext.getBean(AuthenticationSystemSupport.BEAN_NAME, AuthenticationSystemSupport.class);
+        service = RegisteredServiceTestUtils.getService();
+        authenticationResult = CoreAuthenticationTestUtils.getAuthenticationResult(authenticationSystemSupport, service);
+    }
+
+    /**
+     * Start every iteration with an empty registry so that the registry does not grow across iterations.
+     */
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        ticketRegistry.deleteAll();
+    }
+
+    /**
+     * Shut down the application context.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public TicketGrantingTicket createTicketGrantingTicket() throws Throwable {
+        return centralAuthenticationService.createTicketGrantingTicket(authenticationResult);
+    }
+
+    @Benchmark
+    public ServiceTicket grantServiceTicket(final TicketGrantingTicketState state) throws Throwable {
+        return centralAuthenticationService.grantServiceTicket(state.ticketGrantingTicket.getId(), service, authenticationResult);
+    }
+
+    @Benchmark
+    public Assertion grantAndValidateServiceTicket(final TicketGrantingTicketState state) throws Throwable {
+        val serviceTicket = centralAuthenticationService.grantServiceTicket(state.ticketGrantingTicket.getId(), service, authenticationResult);
+        return centralAuthenticationService.validateServiceTicket(serviceTicket.getId(), service);
+    }
+
+    /**
+     * Provides each invocation with a fresh ticket-granting ticket, so that service tickets
+     * are not granted by a ticket whose list of services keeps growing over the iteration.
+     * The ticket and the service tickets it granted are removed after the invocation.
+     */
+    @State(Scope.Thread)
+    public static class TicketGrantingTicketState {
+        private TicketGrantingTicket ticketGrantingTicket;
+
+        /**
+         * Create the ticket-granting ticket.
+         *
+         * @param benchmark the benchmark
+         * @throws Throwable the throwable
+         */
+        @Setup(Level.Invocation)
+        public void setup(final CentralAuthenticationServiceBenchmark benchmark) throws Throwable {
+            ticketGrantingTicket = benchmark.centralAuthenticationService.createTicketGrantingTicket(benchmark.authenticationResult);
+        }
+
+        /**
+         * Remove the ticket-granting ticket.
+         *
+         * @param benchmark the benchmark
+         * @throws Throwable the throwable
+         */
+        @TearDown(Level.Invocation)
+        public void tearDown(final CentralAuthenticationServiceBenchmark benchmark) throws Throwable {
+            benchmark.ticketRegistry.deleteTicket(ticketGrantingTicket.getId());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.ServiceTicketFactory;
+import org.apereo.cas.ticket.TicketFactory;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketFactory;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link TicketFactoryBenchmark}. It measures the cost of building tickets
+ * through the default ticket factories, along with the generation of unique ticket identifiers,
+ * without involving the ticket registry.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketFactoryBenchmark {
+    private final DefaultUniqueTicketIdGenerator uniqueTicketIdGenerator = new DefaultUniqueTicketIdGenerator();
+
+    private ConfigurableApplicationContext applicationContext;
+
+    private TicketGrantingTicketFactory ticketGrantingTicketFactory;
+
+    private ServiceTicketFactory serviceTicketFactory;
+
+    private Authentication authentication;
+
+    private Service service;
+
+    private TicketGrantingTicket ticketGrantingTicket;
+
+    /**
+     * Bootstrap the application context and locate the ticket factories.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        applicationContext = CasBenchmarkApplicationContext.create(Map.of());
+        val ticketFactory = applicationContext.getBean(TicketFactory.BEAN_NAME, TicketFactory.class);
+        ticketGrantingTicketFactory = (TicketGrantingTicketFactory) ticketFactory.get(TicketGrantingTicket.class);
+        serviceTicketFactory = (ServiceTicketFactory) ticketFactory.get(ServiceTicket.class);
+        authentication = CoreAuthenticationTestUtils.getAuthentication();
+        service = RegisteredServiceTestUtils.getService();
+        ticketGrantingTicket = ticketGrantingTicketFactory.create(authentication, service, TicketGrantingTicket.class);
+    }
+
+    /**
+     * Shut down the application context.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public String generateUniqueTicketId() {
+        return uniqueTicketIdGenerator.getNewTicketId(TicketGrantingTicket.PREFIX);
+    }
+
+    @Benchmark
+    public TicketGrantingTicket createTicketGrantingTicket() {
+        return ticketGrantingTicketFactory.create(authentication, service, TicketGrantingTicket.class);
+    }
+
+    @Benchmark
+    public ServiceTicket createServiceTicket() {
+        return serviceTicketFactory.create(ticketGrantingTicket, service, false, ServiceTicket.class);
+    }
+}
@@ -0,0 +1,111 @@
+package org.apereo.cas.benchmarks;
+
+import org.apereo.cas.authentication.DefaultAuthenticationBuilder;
+import org.apereo.cas.authentication.DefaultAuthenticationHandlerExecutionResult;
+import org.apereo.cas.authentication.credential.UsernamePasswordCredential;
+import org.apereo.cas.authentication.principal.PrincipalFactoryUtils;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.TicketGrantingTicketExpirationPolicy;
+import org.apereo.cas.ticket.serialization.BinaryTicketSerializationManager;
+import org.apereo.cas.ticket.serialization.DefaultTicketSerializationExecutionPlan;
+import org.apereo.cas.ticket.serialization.TicketSerializationManager;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link TicketSerializationBenchmark}. It compares the JSON and binary
+ * ticket serialization formats when encoding and decoding ticket-granting tickets
+ * whose authentication carries a growing number of principal attributes.
+ * Tickets are encoded both as strings and as raw bytes, the latter being what off-heap registries store.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketSerializationBenchmark {
+    @Param({"10", "100", "1000"})
+    protected int attributeCount;
+
+    @Param({"JSON", "BINARY"})
+    protected String format;
+
+    private TicketSerializationManager serializationManager;
+
+    private TicketGrantingTicket ticket;
+
+    private String encodedTicket;
+
+    private byte[] encodedTicketBytes;
+
+    private static TicketGrantingTicket buildTicketGrantingTicket(final int attributeCount) {
+        val attributes = new LinkedHashMap<String, List<Object>>();
+        for (var i = 0; i < attributeCount; i++) {
+            attributes.put("attribute" + i, List.of("value-" + i, "cn=group" + i + ",ou=groups,dc=example,dc=org"));
+        }
+        val principal = PrincipalFactoryUtils.newPrincipalFactory().createPrincipal("casuser", attributes);
+        val credential = new UsernamePasswordCredential("casuser", "Mellon");
+        val authentication = new DefaultAuthenticationBuilder(principal)
+            .addCredential(credential)
+            .addAttribute("authenticationMethod", "BenchmarkAuthenticationHandler")
+            .addSuccess("BenchmarkAuthenticationHandler",
+                new DefaultAuthenticationHandlerExecutionResult("BenchmarkAuthenticationHandler", credential, principal, new ArrayList<>()))
+            .build();
+        return new TicketGrantingTicketImpl("TGT-1-benchmark", authentication,
+            new TicketGrantingTicketExpirationPolicy(28_800, 7_200));
+    }
+
+    /**
+     * Build the ticket and encode it once.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        serializationManager = new BinaryTicketSerializationManager(new DefaultTicketSerializationExecutionPlan(),
+            "BINARY".equals(format));
+        ticket = buildTicketGrantingTicket(attributeCount);
+        encodedTicket = serializationManager.serializeTicket(ticket);
+        encodedTicketBytes = serializationManager.serializeTicketToBytes(ticket);
+    }
+
+    @Benchmark
+    public String encode() {
+        return serializationManager.serializeTicket(ticket);
+    }
+
+    @Benchmark
+    public TicketGrantingTicket decode() {
+        return serializationManager.deserializeTicket(encodedTicket, TicketGrantingTicket.class);
+    }
+
+    @Benchmark
+    public byte[] encodeToBytes() {
+        return serializationManager.serializeTicketToBytes(ticket);
+    }
+
+    @Benchmark
+    public Object decodeFromBytes() {
+        return serializationManager.deserializeTicketFromBytes(encodedTicketBytes, TicketGrantingTicketImpl.class.getName());
+    }
+}
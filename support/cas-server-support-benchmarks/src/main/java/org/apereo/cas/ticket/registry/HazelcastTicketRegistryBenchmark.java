@@ -0,0 +1,150 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.configuration.model.support.hazelcast.HazelcastTicketRegistryProperties;
+import org.apereo.cas.ticket.DefaultTicketCatalog;
+import org.apereo.cas.ticket.DefaultTicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.TicketGrantingTicketExpirationPolicy;
+import org.apereo.cas.ticket.serialization.DefaultTicketSerializationExecutionPlan;
+import org.apereo.cas.ticket.serialization.DefaultTicketStringSerializationManager;
+import org.apereo.cas.util.crypto.CipherExecutor;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link HazelcastTicketRegistryBenchmark}. It runs session lookups, counts and attribute
+ * queries against the Hazelcast ticket registry backed by an embedded cluster of three members,
+ * with the registry attached to one of them, so that most entries live on other members.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HazelcastTicketRegistryBenchmark {
+    private static final String MAP_NAME = "ticketGrantingTicketsCache";
+
+    private static final int MEMBER_COUNT = 3;
+
+    private static final int PRINCIPAL_COUNT = 500;
+
+    private static final int GROUP_COUNT = 50;
+
+    @Param({"10000", "50000"})
+    protected int ticketCount;
+
+    private final List<HazelcastInstance> members = new ArrayList<>();
+
+    private HazelcastTicketRegistry ticketRegistry;
+
+    private static Config buildMemberConfig(final int index) {
+        val config = new Config()
+            .setClusterName("cas-benchmark")
+            .setInstanceName("cas-benchmark-" + index);
+        config.getNetworkConfig().setPort(5801).setPortAutoIncrement(true);
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        config.getSerializationConfig().getCompactSerializationConfig().addSerializer(new HazelcastTicketHolderSerializer());
+        config.addMapConfig(new MapConfig(MAP_NAME)
+            .addIndexConfig(new IndexConfig(IndexType.HASH, "principal"))
+            .addIndexConfig(new IndexConfig(IndexType.HASH, "prefix"))
+            .addIndexConfig(new IndexConfig(IndexType.HASH, "attributes[any]")));
+        return config;
+    }
+
+    /**
+     * Start the cluster and load tickets.
+     *
+     * @throws Exception the exception
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        for (var i = 0; i < MEMBER_COUNT; i++) {
+            members.add(Hazelcast.newHazelcastInstance(buildMemberConfig(i)));
+        }
+        val ticketCatalog = new DefaultTicketCatalog();
+        val definition = new DefaultTicketDefinition(TicketGrantingTicketImpl.class,
+            TicketGrantingTicket.class, TicketGrantingTicket.PREFIX, 0);
+        definition.getProperties().setStorageName(MAP_NAME);
+        ticketCatalog.register(definition);
+
+        ticketRegistry = new HazelcastTicketRegistry(CipherExecutor.noOp(),
+            new DefaultTicketStringSerializationManager(new DefaultTicketSerializationExecutionPlan()),
+            ticketCatalog, members.get(0), new HazelcastTicketRegistryProperties());
+        for (var i = 0; i < ticketCount; i++) {
+            val authentication = CoreAuthenticationTestUtils.getAuthentication("user-" + (i % PRINCIPAL_COUNT),
+                Map.of("memberOf", List.of("group-" + (i % GROUP_COUNT))));
+            ticketRegistry.addTicket(new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + '-' + i + "-benchmark",
+                authentication, new TicketGrantingTicketExpirationPolicy(28_800, 7_200)));
+        }
+    }
+
+    /**
+     * Shut down the cluster.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        members.forEach(HazelcastInstance::shutdown);
+        members.clear();
+    }
+
+    @Benchmark
+    public long getSessionsFor() {
+        try (val sessions = ticketRegistry.getSessionsFor(randomPrincipal())) {
+            return sessions.count();
+        }
+    }
+
+    @Benchmark
+    public long countSessionsFor() {
+        return ticketRegistry.countSessionsFor(randomPrincipal());
+    }
+
+    @Benchmark
+    public long getSessionsWithAttributes() {
+        val group = "group-" + ThreadLocalRandom.current().nextInt(GROUP_COUNT);
+        try (val sessions = ticketRegistry.getSessionsWithAttributes(Map.of("memberOf", List.of(group)))) {
+            return sessions.count();
+        }
+    }
+
+    @Benchmark
+    public long sessionCount() {
+        return ticketRegistry.sessionCount();
+    }
+
+    private static String randomPrincipal() {
+        return "user-" + ThreadLocalRandom.current().nextInt(PRINCIPAL_COUNT);
+    }
+}
@@ -0,0 +1,118 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.ticket.DefaultTicketCatalog;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.TicketGrantingTicketExpirationPolicy;
+import org.apereo.cas.ticket.registry.pubsub.queue.QueueableTicketRegistryMessagePublisher;
+import org.apereo.cas.ticket.serialization.BinaryTicketSerializationManager;
+import org.apereo.cas.ticket.serialization.DefaultTicketSerializationExecutionPlan;
+import org.apereo.cas.util.PublisherIdentifier;
+import org.apereo.cas.util.crypto.CipherExecutor;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link InMemoryTicketRegistryBenchmark}. It compares the default in-memory ticket registry
+ * when tickets are kept on the heap and when they are kept off-heap, with 1M, 3M and 5M
+ * ticket-granting tickets loaded. Latency of reads and updates is sampled while tickets are added
+ * and removed concurrently, and the gc profiler enabled by the {@code jmh} task reports allocation
+ * rates along with the number and duration of collections.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms12g", "-Xmx12g", "-XX:MaxDirectMemorySize=24g", "-XX:+UseG1GC"})
+@Threads(4)
+public class InMemoryTicketRegistryBenchmark {
+    private static final int PRINCIPAL_COUNT = 100_000;
+
+    @Param({"1000000", "3000000", "5000000"})
+    protected int ticketCount;
+
+    @Param({"HEAP", "OFF_HEAP"})
+    protected String storage;
+
+    private TicketRegistry ticketRegistry;
+
+    private static TicketGrantingTicket buildTicketGrantingTicket(final String id, final int index) {
+        val authentication = CoreAuthenticationTestUtils.getAuthentication("user-" + (index % PRINCIPAL_COUNT),
+            Map.of("memberOf", List.of("group-" + (index % 50)), "mail", List.of("user-" + index + "@example.org")));
+        return new TicketGrantingTicketImpl(id, authentication, new TicketGrantingTicketExpirationPolicy(28_800, 7_200));
+    }
+
+    private static String randomTicketId(final int ticketCount) {
+        return TicketGrantingTicket.PREFIX + '-' + ThreadLocalRandom.current().nextInt(ticketCount) + "-benchmark";
+    }
+
+    /**
+     * Build the registry and load tickets.
+     *
+     * @throws Exception the exception
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        val serializationManager = new BinaryTicketSerializationManager(new DefaultTicketSerializationExecutionPlan(), true);
+        final Map<String, Ticket> storageMap = "OFF_HEAP".equals(storage)
+            ? new ShardedOffHeapTicketMap(serializationManager, 32, 4 * 1024 * 1024)
+            : new ConcurrentHashMap<>(ticketCount);
+        ticketRegistry = new DefaultTicketRegistry(CipherExecutor.noOp(), serializationManager, new DefaultTicketCatalog(),
+            storageMap, QueueableTicketRegistryMessagePublisher.noOp(), new PublisherIdentifier());
+        for (var i = 0; i < ticketCount; i++) {
+            ticketRegistry.addTicket(buildTicketGrantingTicket(TicketGrantingTicket.PREFIX + '-' + i + "-benchmark", i));
+        }
+    }
+
+    /**
+     * Remove all tickets.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ticketRegistry.deleteAll();
+    }
+
+    @Benchmark
+    public TicketGrantingTicket getTicket() {
+        return ticketRegistry.getTicket(randomTicketId(ticketCount), TicketGrantingTicket.class);
+    }
+
+    @Benchmark
+    public Object updateTicket() throws Exception {
+        val ticket = ticketRegistry.getTicket(randomTicketId(ticketCount), TicketGrantingTicket.class);
+        return ticket != null ? ticketRegistry.updateTicket(ticket) : null;
+    }
+
+    @Benchmark
+    public int addAndDeleteTicket() throws Exception {
+        val id = TicketGrantingTicket.PREFIX + '-' + ThreadLocalRandom.current().nextLong() + "-transient";
+        ticketRegistry.addTicket(buildTicketGrantingTicket(id, ThreadLocalRandom.current().nextInt(ticketCount)));
+        return ticketRegistry.deleteTicket(id);
+    }
+}
@@ -0,0 +1,67 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.util.DigestUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link TicketIdentifierDigestBenchmark}. It compares how ticket identifiers
+ * are digested by the ticket registry when ticket encryption is turned on, using
+ * {@link DigestUtils} as the ticket registry used to, the thread-local {@code SHA-512}
+ * digester and the keyed {@code HMAC-SHA256} digester.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class TicketIdentifierDigestBenchmark {
+    private static final String TICKET_ID = "TGT-1-pW2kMA3rGo6ANCUWNVsX0Tdy8QbZLW3ViE4VLi8j6kaK1P04UiCe9qoYpNE4c8TgLGE-cas-server-1";
+
+    private DefaultTicketIdentifierDigester sha512Digester;
+
+    private DefaultTicketIdentifierDigester hmacDigester;
+
+    /**
+     * Build the digesters.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        sha512Digester = (DefaultTicketIdentifierDigester) TicketIdentifierDigester.sha512();
+        hmacDigester = DefaultTicketIdentifierDigester.hmacSha256("benchmark".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public String digestUtils() {
+        return DigestUtils.sha512(TICKET_ID);
+    }
+
+    @Benchmark
+    public String threadLocalSha512() {
+        return sha512Digester.digestInternal(TICKET_ID);
+    }
+
+    @Benchmark
+    public String threadLocalHmacSha256() {
+        return hmacDigester.digestInternal(TICKET_ID);
+    }
+}
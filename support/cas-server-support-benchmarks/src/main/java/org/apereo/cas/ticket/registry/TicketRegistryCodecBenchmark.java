@@ -0,0 +1,80 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.ticket.DefaultTicketCatalog;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.TicketGrantingTicketExpirationPolicy;
+import org.apereo.cas.ticket.serialization.DefaultTicketSerializationExecutionPlan;
+import org.apereo.cas.ticket.serialization.DefaultTicketStringSerializationManager;
+import org.apereo.cas.util.CoreTicketUtils;
+import org.apereo.cas.util.crypto.CipherExecutor;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link TicketRegistryCodecBenchmark}. It measures how tickets are
+ * encoded and decoded by the ticket registry on their way in and out of storage,
+ * with ticket encryption and signing turned on and off.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketRegistryCodecBenchmark {
+    @Param({"false", "true"})
+    protected boolean cipherEnabled;
+
+    private DefaultTicketRegistry ticketRegistry;
+
+    private Ticket ticket;
+
+    private Ticket encodedTicket;
+
+    /**
+     * Build the ticket registry and encode the ticket once.
+     *
+     * @throws Exception the exception
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        val cipherExecutor = cipherEnabled
+            ? CoreTicketUtils.newTicketRegistryCipherExecutor(new EncryptionRandomizedSigningJwtCryptographyProperties(), true, "benchmark")
+            : CipherExecutor.noOp();
+        ticketRegistry = new DefaultTicketRegistry(cipherExecutor,
+            new DefaultTicketStringSerializationManager(new DefaultTicketSerializationExecutionPlan()), new DefaultTicketCatalog());
+        ticket = new TicketGrantingTicketImpl("TGT-1-benchmark", CoreAuthenticationTestUtils.getAuthentication(),
+            new TicketGrantingTicketExpirationPolicy(28_800, 7_200));
+        encodedTicket = ticketRegistry.encodeTicket(ticket);
+    }
+
+    @Benchmark
+    public Ticket encodeTicket() throws Exception {
+        return ticketRegistry.encodeTicket(ticket);
+    }
+
+    @Benchmark
+    public Ticket decodeTicket() {
+        return ticketRegistry.decodeTicket(encodedTicket);
+    }
+}
@@ -11,6 +11,7 @@ import lombok.experimental.SuperBuilder;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.Map;
 
 /**
@@ -37,6 +38,9 @@ public class CassandraTicketHolder implements Serializable {
     @JsonProperty("data")
     private String data;
 
+    @JsonProperty("content")
+    private ByteBuffer content;
+
     @JsonProperty("type")
     private String type;
 
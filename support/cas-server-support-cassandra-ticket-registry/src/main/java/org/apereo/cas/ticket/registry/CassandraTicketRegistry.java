@@ -10,12 +10,17 @@ import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.serialization.TicketSerializationManager;
 import org.apereo.cas.util.crypto.CipherExecutor;
 import org.apereo.cas.util.function.FunctionUtils;
-import org.apereo.cas.util.serialization.JacksonObjectMapperFactory;
 
 import com.datastax.oss.driver.api.core.DefaultConsistencyLevel;
-import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.DefaultBatchType;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
 import com.datastax.oss.driver.api.querybuilder.QueryBuilder;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
@@ -23,19 +28,34 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.data.cassandra.core.cql.BeanPropertyRowMapper;
+import org.springframework.data.cassandra.core.cql.RowMapper;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This is {@link CassandraTicketRegistry}.
+ * All statements issued by the registry are prepared once and cached. Ticket tables are read
+ * one token range at a time when all tickets are fetched; a bounded number of ranges is queried concurrently
+ * and rows are streamed page by page, so that only a few pages are held in memory at any time. Ticket-granting tickets
+ * are also recorded in a table keyed by principal, written in the same logged batch as the ticket,
+ * so that sessions of a principal can be found without reading all tickets.
  *
  * @author Misagh Moayyed
  * @author doomviking
@@ -43,13 +63,16 @@ import java.util.stream.Stream;
  */
 @Slf4j
 public class CassandraTicketRegistry extends AbstractTicketRegistry implements DisposableBean, InitializingBean {
-    private static final ObjectMapper MAPPER = JacksonObjectMapperFactory.builder()
-        .defaultTypingEnabled(false).build().toObjectMapper();
+    private static final String PRINCIPALS_TABLE_SUFFIX = "_principals";
 
     private final CassandraSessionFactory cassandraSessionFactory;
 
     private final CassandraTicketRegistryProperties properties;
 
+    private final Map<String, PreparedStatement> preparedStatements = new ConcurrentHashMap<>();
+
+    private final RowMapper<CassandraTicketHolder> rowMapper = new BeanPropertyRowMapper<>(CassandraTicketHolder.class, true);
+
     public CassandraTicketRegistry(final CipherExecutor cipherExecutor,
                                    final TicketSerializationManager ticketSerializationManager,
                                    final TicketCatalog ticketCatalog,
@@ -85,7 +108,7 @@ public class CassandraTicketRegistry extends AbstractTicketRegistry implements D
             return null;
         }
 
-        val holder = findCassandraTicketBy(definition, encodedTicketId);
+        val holder = findCassandraTicketBy(definition.getProperties().getStorageName(), encodedTicketId);
         if (holder.isEmpty()) {
             LOGGER.debug("Ticket [{}] could not be found in Cassandra", encodedTicketId);
             return null;
@@ -108,27 +131,18 @@ public class CassandraTicketRegistry extends AbstractTicketRegistry implements D
     @Override
     public Ticket updateTicket(final Ticket ticket) throws Exception {
         addTicketToCassandra(ticket, false);
+        ticketExpirationIndex.schedule(ticket);
         return ticket;
     }
 
     @Override
     public Collection<Ticket> getTickets() {
-        return ticketCatalog.findAll()
-            .stream()
-            .map(definition -> {
-                val results = findCassandraTicketBy(definition);
-                return results
-                    .stream()
-                    .map(holder -> {
-                        val result = deserialize(holder);
-                        return decodeTicket(result);
-                    })
-                    .collect(Collectors.toSet());
-            })
-            .flatMap(Set::stream)
-            .filter(Objects::nonNull)
-            .filter(ticket -> !ticket.isExpired())
-            .collect(Collectors.toSet());
+        try (val tickets = stream()) {
+            return tickets
+                .filter(Objects::nonNull)
+                .filter(ticket -> !ticket.isExpired())
+                .collect(Collectors.<Ticket>toSet());
+        }
     }
 
     @Override
@@ -136,23 +150,28 @@ public class CassandraTicketRegistry extends AbstractTicketRegistry implements D
         val ticketId = digestIdentifier(ticketToDelete.getId());
         LOGGER.debug("Deleting ticket [{}]", ticketId);
         val definition = ticketCatalog.find(ticketToDelete);
-        val delete = QueryBuilder
-            .deleteFrom(properties.getKeyspace(), definition.getProperties().getStorageName())
-            .whereColumn("id").isEqualTo(QueryBuilder.literal(ticketId))
-            .build()
-            .setConsistencyLevel(DefaultConsistencyLevel.valueOf(properties.getConsistencyLevel()))
-            .setSerialConsistencyLevel(DefaultConsistencyLevel.valueOf(properties.getSerialConsistencyLevel()))
-            .setTimeout(Beans.newDuration(properties.getTimeout()));
-        cassandraSessionFactory.getCqlTemplate().execute(delete);
+        val delete = bind("DELETE FROM %s.%s WHERE id=?;".formatted(properties.getKeyspace(),
+            definition.getProperties().getStorageName()), ticketId);
+        val principal = getPrincipalFrom(ticketToDelete);
+        if (StringUtils.isNotBlank(principal)) {
+            val deletePrincipal = bind("DELETE FROM %s.%s WHERE principal=? AND id=?;".formatted(properties.getKeyspace(),
+                getPrincipalsTableName()), principal, ticketId);
+            cassandraSessionFactory.getCqlTemplate().execute(newLoggedBatch(delete, deletePrincipal));
+        } else {
+            cassandraSessionFactory.getCqlTemplate().execute(delete);
+        }
         return 1;
     }
 
     @Override
     public long deleteAll() {
-        ticketCatalog.findAll()
+        val ticketTables = ticketCatalog.findAll()
             .stream()
-            .map(definition -> QueryBuilder
-                .truncate(properties.getKeyspace(), definition.getProperties().getStorageName())
+            .map(definition -> definition.getProperties().getStorageName())
+            .filter(StringUtils::isNotBlank);
+        Stream.concat(ticketTables, Stream.of(getPrincipalsTableName()))
+            .map(tableName -> QueryBuilder
+                .truncate(properties.getKeyspace(), tableName)
                 .build()
                 .setConsistencyLevel(DefaultConsistencyLevel.valueOf(properties.getConsistencyLevel()))
                 .setSerialConsistencyLevel(DefaultConsistencyLevel.valueOf(properties.getSerialConsistencyLevel()))
@@ -175,17 +194,29 @@ public class CassandraTicketRegistry extends AbstractTicketRegistry implements D
             });
     }
 
+    @Override
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        val principal = digestIdentifier(principalId);
+        val select = bind("SELECT id, storage FROM %s.%s WHERE principal=?;".formatted(properties.getKeyspace(),
+            getPrincipalsTableName()), principal);
+        LOGGER.debug("Locating tickets recorded for principal [{}]", principal);
+        return cassandraSessionFactory.getCqlTemplate()
+            .queryForStream(select, (row, rowNum) -> Pair.of(row.getString("storage"), row.getString("id")))
+            .flatMap(key -> findCassandraTicketBy(key.getKey(), key.getValue()).stream())
+            .map(holder -> decodeTicket(deserialize(holder)))
+            .filter(Objects::nonNull)
+            .filter(ticket -> ticket instanceof TicketGrantingTicket && !ticket.isExpired());
+    }
+
     @Override
     public Stream<? extends Ticket> getSessionsWithAttributes(final Map<String, List<Object>> queryAttributes) {
         val metadata = ticketCatalog.findTicketDefinition(TicketGrantingTicket.class).orElseThrow();
-        val queryList = new ArrayList<String>();
+        val cql = "SELECT * FROM %s.%s WHERE prefix=? AND attributes CONTAINS KEY ? AND attributes CONTAINS ? ALLOW FILTERING;"
+            .formatted(properties.getKeyspace(), metadata.getProperties().getStorageName());
+        val queryList = new ArrayList<BoundStatement>();
         queryAttributes.forEach((key, values) ->
-            values.forEach(queryValue -> {
-                var cql = "SELECT * FROM %s.%s WHERE prefix='%s' AND ".formatted(properties.getKeyspace(), metadata.getProperties().getStorageName(), metadata.getPrefix());
-                cql += "attributes CONTAINS KEY '%s' AND attributes CONTAINS '%s' ALLOW FILTERING;".formatted(digestIdentifier(key), digestIdentifier(queryValue.toString()));
-                queryList.add(cql);
-            }));
-        val rowMapper = new BeanPropertyRowMapper<>(CassandraTicketHolder.class, true);
+            values.forEach(queryValue -> queryList.add(bind(cql, metadata.getPrefix(),
+                digestIdentifier(key), digestIdentifier(queryValue.toString())))));
         return queryList
             .stream()
             .flatMap(query -> cassandraSessionFactory.getCqlTemplate().queryForStream(query, rowMapper))
@@ -208,36 +239,87 @@ public class CassandraTicketRegistry extends AbstractTicketRegistry implements D
     }
 
     private Ticket deserialize(final CassandraTicketHolder holder) {
+        if (holder.getContent() != null) {
+            val content = new byte[holder.getContent().remaining()];
+            holder.getContent().duplicate().get(content);
+            return ticketSerializationManager.deserializeTicketFromBytes(content, holder.getType());
+        }
         return ticketSerializationManager.deserializeTicket(holder.getData(), holder.getType());
     }
 
-    private Collection<CassandraTicketHolder> findCassandraTicketBy(final TicketDefinition definition) {
-        return findCassandraTicketBy(definition, null);
+    private BoundStatement bind(final String cql, final Object... values) {
+        val prepared = preparedStatements.computeIfAbsent(cql, query -> {
+            LOGGER.trace("Preparing statement [{}]", query);
+            return cassandraSessionFactory.getSession().prepare(query);
+        });
+        return prepared.bind(values)
+            .setConsistencyLevel(DefaultConsistencyLevel.valueOf(properties.getConsistencyLevel()))
+            .setSerialConsistencyLevel(DefaultConsistencyLevel.valueOf(properties.getSerialConsistencyLevel()))
+            .setTimeout(Beans.newDuration(properties.getTimeout()));
     }
 
-    private Collection<CassandraTicketHolder> findCassandraTicketBy(final TicketDefinition definition, final String ticketId) {
-        val builder = QueryBuilder.selectFrom(properties.getKeyspace(), definition.getProperties().getStorageName()).all();
-        if (StringUtils.isNotBlank(ticketId)) {
-            builder.whereColumn("id").isEqualTo(QueryBuilder.literal(ticketId)).limit(1);
-        }
-        val select = builder.build()
+    private Statement<?> newLoggedBatch(final BoundStatement... statements) {
+        return BatchStatement.newInstance(DefaultBatchType.LOGGED, statements)
             .setConsistencyLevel(DefaultConsistencyLevel.valueOf(properties.getConsistencyLevel()))
             .setSerialConsistencyLevel(DefaultConsistencyLevel.valueOf(properties.getSerialConsistencyLevel()))
             .setTimeout(Beans.newDuration(properties.getTimeout()));
-        LOGGER.trace("Attempting to locate ticket via query [{}]", select);
-        val rowMapper = new BeanPropertyRowMapper<>(CassandraTicketHolder.class, true);
+    }
+
+    private String getPrincipalsTableName() {
+        return ticketCatalog.findTicketDefinition(TicketGrantingTicket.class)
+            .orElseThrow()
+            .getProperties()
+            .getStorageName() + PRINCIPALS_TABLE_SUFFIX;
+    }
+
+    private String getPrincipalFrom(final Ticket ticket) {
+        return ticket instanceof TicketGrantingTicket
+            ? digestIdentifier(getPrincipalIdFrom(ticket))
+            : StringUtils.EMPTY;
+    }
+
+    private Collection<CassandraTicketHolder> findCassandraTicketBy(final String tableName, final String ticketId) {
+        val select = bind("SELECT * FROM %s.%s WHERE id=? LIMIT 1;".formatted(properties.getKeyspace(), tableName), ticketId);
+        LOGGER.trace("Attempting to locate ticket [{}] in table [{}]", ticketId, tableName);
         return cassandraSessionFactory.getCqlTemplate().query(select, rowMapper);
     }
 
     private Stream<CassandraTicketHolder> streamCassandraTicketBy(final TicketDefinition definition) {
-        val builder = QueryBuilder.selectFrom(properties.getKeyspace(), definition.getProperties().getStorageName()).all();
-        val select = builder.build()
-            .setConsistencyLevel(DefaultConsistencyLevel.valueOf(properties.getConsistencyLevel()))
-            .setSerialConsistencyLevel(DefaultConsistencyLevel.valueOf(properties.getSerialConsistencyLevel()))
-            .setTimeout(Beans.newDuration(properties.getTimeout()));
-        LOGGER.trace("Attempting to locate ticket via query [{}]", select);
-        val rowMapper = new BeanPropertyRowMapper<>(CassandraTicketHolder.class, true);
-        return cassandraSessionFactory.getCqlTemplate().queryForStream(select, rowMapper);
+        val tableName = definition.getProperties().getStorageName();
+        val tokenRanges = getTokenRanges();
+        if (properties.getScanParallelism() <= 1 || tokenRanges.isEmpty()) {
+            val select = bind("SELECT * FROM %s.%s;".formatted(properties.getKeyspace(), tableName));
+            LOGGER.trace("Attempting to locate tickets via query [{}]", select.getPreparedStatement().getQuery());
+            return cassandraSessionFactory.getCqlTemplate().queryForStream(select, rowMapper);
+        }
+        LOGGER.trace("Reading table [{}] across [{}] token range(s)", tableName, tokenRanges.size());
+        val pages = new TokenRangePageIterator(tableName, tokenRanges.iterator());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .flatMap(page -> StreamSupport.stream(page.currentPage().spliterator(), false))
+            .map(this::mapRow);
+    }
+
+    private CassandraTicketHolder mapRow(final Row row) {
+        return rowMapper.mapRow(row, 0);
+    }
+
+    private BoundStatement selectTokenRange(final String tableName, final TokenRange range) {
+        return range.getEnd().compareTo(range.getStart()) > 0
+            ? bind("SELECT * FROM %s.%s WHERE token(id) > ? AND token(id) <= ?;".formatted(properties.getKeyspace(), tableName))
+                .setToken(0, range.getStart())
+                .setToken(1, range.getEnd())
+            : bind("SELECT * FROM %s.%s WHERE token(id) > ?;".formatted(properties.getKeyspace(), tableName))
+                .setToken(0, range.getStart());
+    }
+
+    private List<TokenRange> getTokenRanges() {
+        return cassandraSessionFactory.getSession().getMetadata().getTokenMap()
+            .map(tokenMap -> tokenMap.getTokenRanges()
+                .stream()
+                .flatMap(range -> range.unwrap().stream())
+                .toList())
+            .filter(ranges -> ranges.stream().noneMatch(TokenRange::isFullRing))
+            .orElseGet(List::of);
     }
 
     private void createTablesIfNecessary() {
@@ -255,10 +337,11 @@ public class CassandraTicketRegistry extends AbstractTicketRegistry implements D
                     LOGGER.trace("Dropping Cassandra table with query [{}]", drop);
                     cassandraSessionFactory.getCqlTemplate().execute(drop);
                 }
-                val createTable = "CREATE TABLE IF NOT EXISTS %s.%s(id text,type text,prefix text,attributes map<text, text>,data text, PRIMARY KEY(id,type));"
-                    .formatted(properties.getKeyspace(), metadata.getProperties().getStorageName());
+                val createTable = ("CREATE TABLE IF NOT EXISTS %s.%s(id text,type text,prefix text,attributes map<text, text>,data text,content blob, "
+                                   + "PRIMARY KEY(id,type));").formatted(properties.getKeyspace(), metadata.getProperties().getStorageName());
                 LOGGER.trace("Creating Cassandra table with query [{}]", createTable);
                 cassandraSessionFactory.getCqlTemplate().execute(createTable);
+                addContentColumnIfNecessary(metadata.getProperties().getStorageName());
 
                 cassandraSessionFactory.getCqlTemplate().execute("DROP INDEX IF EXISTS " + metadata.getProperties().getStorageName() + "_entries_index");
                 val createIndexAttributeNames = "CREATE INDEX " + metadata.getProperties().getStorageName() + "_entries_index ON "
@@ -278,17 +361,44 @@ public class CassandraTicketRegistry extends AbstractTicketRegistry implements D
                 LOGGER.trace("Creating Cassandra index with query [{}]", createIndexAttributeNames3);
                 cassandraSessionFactory.getCqlTemplate().execute(createIndexAttributeNames3);
             });
+
+        val principalsTable = getPrincipalsTableName();
+        if (properties.isDropTablesOnStartup()) {
+            val drop = "DROP TABLE IF EXISTS %s.%s;".formatted(properties.getKeyspace(), principalsTable);
+            LOGGER.trace("Dropping Cassandra table with query [{}]", drop);
+            cassandraSessionFactory.getCqlTemplate().execute(drop);
+        }
+        val createPrincipalsTable = "CREATE TABLE IF NOT EXISTS %s.%s(principal text,id text,storage text, PRIMARY KEY(principal,id));"
+            .formatted(properties.getKeyspace(), principalsTable);
+        LOGGER.trace("Creating Cassandra table with query [{}]", createPrincipalsTable);
+        cassandraSessionFactory.getCqlTemplate().execute(createPrincipalsTable);
     }
 
 
+    /**
+     * Tables that were created by earlier versions do not have the column that holds binary ticket content.
+     */
+    private void addContentColumnIfNecessary(final String tableName) {
+        val table = cassandraSessionFactory.getSession().getMetadata()
+            .getKeyspace(properties.getKeyspace())
+            .flatMap(keyspace -> keyspace.getTable(tableName));
+        if (table.isPresent() && table.get().getColumn("content").isEmpty()) {
+            val alterTable = "ALTER TABLE %s.%s ADD content blob;".formatted(properties.getKeyspace(), tableName);
+            LOGGER.debug("Adding binary content column to Cassandra table with query [{}]", alterTable);
+            cassandraSessionFactory.getCqlTemplate().execute(alterTable);
+        }
+    }
+
     private void addTicketToCassandra(final Ticket ticket, final boolean inserting) throws Exception {
         LOGGER.debug("Adding ticket [{}]", ticket.getId());
         val metadata = ticketCatalog.find(ticket);
         LOGGER.trace("Located ticket definition [{}] in the ticket catalog", metadata);
         val encTicket = encodeTicket(ticket);
-        val data = ticketSerializationManager.serializeTicket(encTicket);
+        val binaryOutput = ticketSerializationManager.isBinaryOutputEnabled();
+        val data = binaryOutput ? null : ticketSerializationManager.serializeTicket(encTicket);
+        val content = binaryOutput ? ByteBuffer.wrap(ticketSerializationManager.serializeTicketToBytes(encTicket)) : null;
         val ttl = getTimeToLive(ticket);
-        var statement = (SimpleStatement) null;
+        val tableName = metadata.getProperties().getStorageName();
 
         val attributeMap = (Map<String, List>) collectAndDigestTicketAttributes(ticket);
         val attributesEncoded = attributeMap
@@ -301,34 +411,65 @@ public class CassandraTicketRegistry extends AbstractTicketRegistry implements D
             })
             .collect(Collectors.toMap(Pair::getKey, v -> v.getValue().toString()));
 
-        if (inserting) {
-            val document = CassandraTicketHolder.builder()
-                .id(encTicket.getId())
-                .data(data)
-                .prefix(ticket.getPrefix())
-                .type(encTicket.getClass().getName())
-                .attributes(attributesEncoded)
-                .build();
-            val json = MAPPER.writeValueAsString(document);
-            statement = QueryBuilder.insertInto(properties.getKeyspace(), metadata.getProperties().getStorageName())
-                .json(json)
-                .usingTtl(ttl)
-                .build();
+        val statement = inserting
+            ? bind("INSERT INTO %s.%s (id,type,prefix,attributes,data,content) VALUES (?,?,?,?,?,?) USING TTL ?;".formatted(properties.getKeyspace(), tableName),
+                encTicket.getId(), encTicket.getClass().getName(), ticket.getPrefix(), attributesEncoded, data, content, ttl)
+            : bind("UPDATE %s.%s USING TTL ? SET data=?, content=?, attributes=? WHERE id=? AND type=?;".formatted(properties.getKeyspace(), tableName),
+                ttl, data, content, attributesEncoded, encTicket.getId(), encTicket.getClass().getName());
+
+        val principal = getPrincipalFrom(ticket);
+        if (StringUtils.isNotBlank(principal)) {
+            val principalStatement = bind("INSERT INTO %s.%s (principal,id,storage) VALUES (?,?,?) USING TTL ?;"
+                .formatted(properties.getKeyspace(), getPrincipalsTableName()), principal, encTicket.getId(), tableName, ttl);
+            cassandraSessionFactory.getCqlTemplate().execute(newLoggedBatch(statement, principalStatement));
         } else {
-            statement = QueryBuilder.update(properties.getKeyspace(), metadata.getProperties().getStorageName())
-                .usingTtl(ttl)
-                .setColumn("data", QueryBuilder.literal(data))
-                .setColumn("attributes", QueryBuilder.literal(attributesEncoded))
-                .whereColumn("id").isEqualTo(QueryBuilder.literal(encTicket.getId()))
-                .whereColumn("type").isEqualTo(QueryBuilder.literal(encTicket.getClass().getName()))
-                .build();
+            cassandraSessionFactory.getCqlTemplate().execute(statement);
         }
-        statement = statement.setConsistencyLevel(DefaultConsistencyLevel.valueOf(properties.getConsistencyLevel()))
-            .setSerialConsistencyLevel(DefaultConsistencyLevel.valueOf(properties.getSerialConsistencyLevel()))
-            .setTimeout(Beans.newDuration(properties.getTimeout()));
-
-        LOGGER.trace("Attempting to locate ticket via query [{}]", statement.getQuery());
-        cassandraSessionFactory.getCqlTemplate().execute(statement);
         LOGGER.debug("Added ticket [{}]", encTicket.getId());
     }
+
+    /**
+     * Iterates over the result pages of all token ranges of a table. Up to {@code scanParallelism}
+     * ranges are queried at the same time; the next page of a range is requested as soon as
+     * its current page is handed out, and the next range is queried once a range is exhausted.
+     */
+    private final class TokenRangePageIterator implements Iterator<AsyncResultSet> {
+        private final String tableName;
+
+        private final Iterator<TokenRange> tokenRanges;
+
+        private final Deque<CompletionStage<AsyncResultSet>> pendingPages = new ArrayDeque<>();
+
+        TokenRangePageIterator(final String tableName, final Iterator<TokenRange> tokenRanges) {
+            this.tableName = tableName;
+            this.tokenRanges = tokenRanges;
+            queryTokenRanges();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !pendingPages.isEmpty();
+        }
+
+        @Override
+        public AsyncResultSet next() {
+            if (pendingPages.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            val page = pendingPages.poll().toCompletableFuture().join();
+            if (page.hasMorePages()) {
+                pendingPages.addFirst(page.fetchNextPage());
+            } else {
+                queryTokenRanges();
+            }
+            return page;
+        }
+
+        private void queryTokenRanges() {
+            while (pendingPages.size() < properties.getScanParallelism() && tokenRanges.hasNext()) {
+                val select = selectTokenRange(tableName, tokenRanges.next());
+                pendingPages.addLast(cassandraSessionFactory.getSession().executeAsync(select));
+            }
+        }
+    }
 }
@@ -1,12 +1,19 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.config.CassandraTicketRegistryConfiguration;
 import org.apereo.cas.config.CassandraTicketRegistryTicketCatalogConfiguration;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.TicketGrantingTicketIdGenerator;
 import org.apereo.cas.util.junit.EnabledIfListeningOnPort;
 
 import lombok.Getter;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +22,10 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.TestPropertySource;
 
+import java.util.HashSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -40,6 +51,8 @@ import static org.junit.jupiter.api.Assertions.*;
 @EnabledIfListeningOnPort(port = 9042)
 @Getter
 class CassandraTicketRegistryTests extends BaseTicketRegistryTests {
+    private static final TicketGrantingTicketIdGenerator ID_GENERATOR = new TicketGrantingTicketIdGenerator(10, StringUtils.EMPTY);
+
     @Autowired
     @Qualifier(TicketRegistry.BEAN_NAME)
     private TicketRegistry newTicketRegistry;
@@ -49,4 +62,43 @@ class CassandraTicketRegistryTests extends BaseTicketRegistryTests {
         assertDoesNotThrow(() -> newTicketRegistry.addTicket((Ticket) null));
     }
 
+    @RepeatedTest(1)
+    public void verifySessionsAreFoundByPrincipal() throws Exception {
+        val principal = UUID.randomUUID().toString();
+        val tickets = new HashSet<TicketGrantingTicket>();
+        for (var i = 0; i < 3; i++) {
+            tickets.add(addTicketGrantingTicket(principal));
+        }
+        val other = addTicketGrantingTicket(UUID.randomUUID().toString());
+
+        try (val sessions = newTicketRegistry.getSessionsFor(principal)) {
+            assertEquals(tickets.stream().map(Ticket::getId).collect(Collectors.toSet()),
+                sessions.map(Ticket::getId).collect(Collectors.toSet()));
+        }
+        newTicketRegistry.deleteTicket(tickets.iterator().next());
+        assertEquals(2, newTicketRegistry.countSessionsFor(principal));
+        assertEquals(1, newTicketRegistry.countSessionsFor(other.getAuthentication().getPrincipal().getId()));
+    }
+
+    @RepeatedTest(1)
+    public void verifyTicketsAreStreamedAcrossTokenRanges() throws Exception {
+        val ids = new HashSet<String>();
+        for (var i = 0; i < 50; i++) {
+            ids.add(addTicketGrantingTicket(UUID.randomUUID().toString()).getId());
+        }
+        try (val tickets = newTicketRegistry.stream()) {
+            val found = tickets.map(Ticket::getId).toList();
+            assertEquals(ids.size(), found.size());
+            assertEquals(ids, new HashSet<>(found));
+        }
+        assertEquals(ids.size(), newTicketRegistry.getTickets().size());
+    }
+
+    private TicketGrantingTicket addTicketGrantingTicket(final String principal) throws Exception {
+        val ticket = new TicketGrantingTicketImpl(ID_GENERATOR.getNewTicketId(TicketGrantingTicket.PREFIX),
+            CoreAuthenticationTestUtils.getAuthentication(principal), NeverExpiresExpirationPolicy.INSTANCE);
+        newTicketRegistry.addTicket(ticket);
+        return ticket;
+    }
+
 }
@@ -146,6 +146,7 @@ public class CosmosDbTicketRegistry extends AbstractTicketRegistry {
             val commands = (List<CosmosItemOperation>) operations.getOrDefault(defn.getProperties().getStorageName(), new ArrayList<>());
             commands.add(CosmosBulkOperations.getCreateItemOperation(holder, new PartitionKey(defn.getPrefix())));
             operations.put(defn.getProperties().getStorageName(), commands);
+            ticketExpirationIndex.schedule(ticket);
         });
         operations.forEach((key, value) -> {
             val container = getTicketContainer(key);
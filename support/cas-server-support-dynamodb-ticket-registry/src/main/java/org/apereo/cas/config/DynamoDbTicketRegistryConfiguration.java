@@ -11,7 +11,9 @@ import org.apereo.cas.ticket.serialization.TicketSerializationManager;
 import org.apereo.cas.util.CoreTicketUtils;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeatureEnabled;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.val;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -64,9 +66,14 @@ public class DynamoDbTicketRegistryConfiguration {
             final DynamoDbClient amazonDynamoDbTicketRegistryClient,
             final CasConfigurationProperties casProperties,
             @Qualifier(TicketCatalog.BEAN_NAME)
-            final TicketCatalog ticketCatalog) {
+            final TicketCatalog ticketCatalog,
+            @Qualifier(TicketSerializationManager.BEAN_NAME)
+            final TicketSerializationManager ticketSerializationManager,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
             val db = casProperties.getTicket().getRegistry().getDynamoDb();
-            val facilitator = new DynamoDbTicketRegistryFacilitator(ticketCatalog, db, amazonDynamoDbTicketRegistryClient);
+            val facilitator = new DynamoDbTicketRegistryFacilitator(ticketCatalog, db,
+                amazonDynamoDbTicketRegistryClient, ticketSerializationManager);
+            meterRegistry.ifAvailable(facilitator::bindTo);
             if (!db.isPreventTableCreationOnStartup()) {
                 facilitator.createTicketTables(db.isDropTablesOnStartup());
             }
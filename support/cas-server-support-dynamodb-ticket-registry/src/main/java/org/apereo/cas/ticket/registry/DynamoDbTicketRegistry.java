@@ -1,6 +1,7 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.monitor.Monitorable;
+import org.apereo.cas.ticket.AuthenticatedServicesAwareTicketGrantingTicket;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
@@ -21,7 +22,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -55,7 +58,6 @@ public class DynamoDbTicketRegistry extends AbstractTicketRegistry {
         val expressionValues = new HashMap<String, AttributeValue>();
         val expressionAttrNames = new HashMap<String, String>();
 
-        filterExpressions.add("prefix=:prefix");
         queryAttributes.forEach((key, queryValues) -> {
             val expressionParameter = isCipherExecutorEnabled()
                 ? digestIdentifier(key)
@@ -76,8 +78,7 @@ public class DynamoDbTicketRegistry extends AbstractTicketRegistry {
         val prefix = dbTableService.getTicketCatalog().findTicketDefinition(TicketGrantingTicket.class)
             .orElseThrow()
             .getPrefix();
-        expressionValues.put(":prefix", AttributeValue.builder().s(prefix).build());
-        return dbTableService.getSessionsWithAttributes(expression, expressionAttrNames, expressionValues)
+        return dbTableService.getSessionsWithAttributes(prefix, expression, expressionAttrNames, expressionValues)
             .map(this::decodeTicket)
             .filter(Objects::nonNull);
     }
@@ -85,7 +86,9 @@ public class DynamoDbTicketRegistry extends AbstractTicketRegistry {
     @Override
     public void addTicket(final Stream<? extends Ticket> toSave) {
         FunctionUtils.doAndHandle(__ -> {
-            val toPut = toSave.map(Unchecked.function(this::toTicketPayload));
+            val toPut = toSave
+                .peek(ticketExpirationIndex::schedule)
+                .map(Unchecked.function(this::toTicketPayload));
             dbTableService.put(toPut);
         });
     }
@@ -153,6 +156,26 @@ public class DynamoDbTicketRegistry extends AbstractTicketRegistry {
         return dbTableService.delete(ticketToDelete.getId(), ticketId) ? 1 : 0;
     }
 
+    @Override
+    protected int deleteChildren(final TicketGrantingTicket ticket) {
+        if (ticket instanceof final AuthenticatedServicesAwareTicketGrantingTicket authTicket
+            && authTicket.getServices() != null && !authTicket.getServices().isEmpty()) {
+            val ticketIds = authTicket.getServices().keySet()
+                .stream()
+                .collect(Collectors.toMap(Function.identity(), this::digestIdentifier, (id1, id2) -> id1));
+            val serviceTickets = dbTableService.get(ticketIds)
+                .stream()
+                .map(this::decodeTicket)
+                .filter(Objects::nonNull)
+                .map(Ticket::getId)
+                .collect(Collectors.toMap(Function.identity(), this::digestIdentifier, (id1, id2) -> id1));
+            val count = dbTableService.delete(serviceTickets);
+            LOGGER.debug("Removed [{}] of [{}] service ticket(s) issued by [{}]", count, serviceTickets.size(), ticket.getId());
+            return (int) count;
+        }
+        return 0;
+    }
+
     @Override
     public long sessionCount() {
         return dbTableService.countTickets(TicketGrantingTicket.class, TicketGrantingTicket.PREFIX);
@@ -6,10 +6,17 @@ import org.apereo.cas.dynamodb.DynamoDbTableUtils;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
+import org.apereo.cas.ticket.serialization.TicketSerializationManager;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.LoggingUtils;
+import org.apereo.cas.util.function.FunctionUtils;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Streams;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -17,21 +24,39 @@ import lombok.experimental.SuperBuilder;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.commons.lang3.tuple.Pair;
 import org.jooq.lambda.Unchecked;
 import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.ComparisonOperator;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
 import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.DeleteRequest;
+import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
 import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GlobalSecondaryIndex;
+import software.amazon.awssdk.services.dynamodb.model.GlobalSecondaryIndexDescription;
+import software.amazon.awssdk.services.dynamodb.model.IndexStatus;
 import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement;
 import software.amazon.awssdk.services.dynamodb.model.KeyType;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.Projection;
+import software.amazon.awssdk.services.dynamodb.model.ProjectionType;
 import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.PutRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
 import software.amazon.awssdk.services.dynamodb.model.ScalarAttributeType;
 import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.Select;
 import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
 
 import java.nio.ByteBuffer;
@@ -43,13 +68,28 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
  * This is {@link DynamoDbTicketRegistryFacilitator}.
+ * Ticket tables may carry global secondary indexes on the ticket prefix and the principal,
+ * which are queried when present instead of scanning tables. The prefix index is keyed by the prefix
+ * along with a shard number derived from the ticket id, so that tickets of the same type are spread over
+ * several partitions of the index rather than a single hot one; shards are queried concurrently. Multiple tickets are written, read
+ * and removed in batches, and the capacity consumed by each kind of operation is tracked as a metric.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
@@ -57,8 +97,50 @@ import java.util.stream.Stream;
 @Slf4j
 @Getter
 @RequiredArgsConstructor
-public class DynamoDbTicketRegistryFacilitator {
-    private static final int BATCH_PUT_REQUEST_LIMIT = 25;
+public class DynamoDbTicketRegistryFacilitator implements MeterBinder {
+    /**
+     * Name of the global secondary index on the sharded ticket prefix.
+     */
+    public static final String PREFIX_INDEX = "prefix-shard-index";
+
+    /**
+     * Name of the global secondary index on the principal, available on the ticket-granting tickets table.
+     */
+    public static final String PRINCIPAL_INDEX = "principal-index";
+
+    private static final int BATCH_WRITE_REQUEST_LIMIT = 25;
+
+    private static final int BATCH_GET_REQUEST_LIMIT = 100;
+
+    private static final int BATCH_MAX_RETRIES = 8;
+
+    private static final long BATCH_RETRY_BASE_DELAY = 25;
+
+    private static final long BATCH_RETRY_MAX_DELAY = 1000;
+
+    private static final long INDEX_CHECK_BASE_DELAY = 1000;
+
+    private static final long INDEX_CHECK_MAX_DELAY = 300_000;
+
+    private static final int INDEX_CHECK_MAX_BACKOFF_SHIFT = 10;
+
+    private static final int PREFIX_QUERY_CONCURRENCY = 8;
+
+    private static final long PREFIX_QUERY_KEEP_ALIVE_SECONDS = 60;
+
+    private static final String OPERATION_GET = "get";
+
+    private static final String OPERATION_PUT = "put";
+
+    private static final String OPERATION_DELETE = "delete";
+
+    private static final String OPERATION_BATCH_GET = "batch-get";
+
+    private static final String OPERATION_BATCH_WRITE = "batch-write";
+
+    private static final String OPERATION_QUERY = "query";
+
+    private static final String OPERATION_SCAN = "scan";
 
     private final TicketCatalog ticketCatalog;
 
@@ -66,7 +148,38 @@ public class DynamoDbTicketRegistryFacilitator {
 
     private final DynamoDbClient amazonDynamoDBClient;
 
-    private static Ticket deserializeTicket(final Map<String, AttributeValue> returnItem) {
+    private final TicketSerializationManager ticketSerializationManager;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<String, TableIndexes> tableIndexes = new ConcurrentHashMap<>();
+
+    @Getter(AccessLevel.NONE)
+    private final ExecutorService prefixQueryExecutor = newPrefixQueryExecutor();
+
+    @Getter(AccessLevel.NONE)
+    private final Map<String, DoubleAdder> consumedCapacity = Set.of(OPERATION_GET, OPERATION_PUT, OPERATION_DELETE,
+            OPERATION_BATCH_GET, OPERATION_BATCH_WRITE, OPERATION_QUERY, OPERATION_SCAN)
+        .stream()
+        .collect(Collectors.toUnmodifiableMap(Function.identity(), operation -> new DoubleAdder()));
+
+    private static ExecutorService newPrefixQueryExecutor() {
+        val threadFactory = new BasicThreadFactory.Builder()
+            .namingPattern("dynamodb-prefix-query-%d")
+            .daemon(true)
+            .build();
+        val executor = new ThreadPoolExecutor(PREFIX_QUERY_CONCURRENCY, PREFIX_QUERY_CONCURRENCY,
+            PREFIX_QUERY_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private Ticket deserializeTicket(final Map<String, AttributeValue> returnItem) {
+        val content = returnItem.get(ColumnNames.CONTENT.getColumnName());
+        if (content != null) {
+            LOGGER.debug("Located binary content of ticket item [{}]. Transforming item into ticket object", returnItem);
+            return ticketSerializationManager.deserializeTicketFromBytes(content.b().asByteArray(),
+                returnItem.get(ColumnNames.TYPE.getColumnName()).s());
+        }
         val encoded = returnItem.get(ColumnNames.ENCODED.getColumnName()).b();
         LOGGER.debug("Located binary encoding of ticket item [{}]. Transforming item into ticket object", returnItem);
         try (val is = encoded.asInputStream()) {
@@ -88,15 +201,36 @@ public class DynamoDbTicketRegistryFacilitator {
         val metadata = this.ticketCatalog.find(ticketId);
         if (metadata != null) {
             val del = DeleteItemRequest.builder().tableName(metadata.getProperties().getStorageName())
-                .key(CollectionUtils.wrap(ColumnNames.ID.getColumnName(), AttributeValue.builder().s(encodedTicketId).build())).build();
+                .key(CollectionUtils.wrap(ColumnNames.ID.getColumnName(), AttributeValue.builder().s(encodedTicketId).build()))
+                .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+                .build();
             LOGGER.debug("Submitting delete request [{}] for ticket [{}]", del, ticketId);
             val res = amazonDynamoDBClient.deleteItem(del);
             LOGGER.debug("Delete request came back with result [{}]", res);
+            if (res != null) {
+                recordConsumedCapacity(OPERATION_DELETE, res.consumedCapacity());
+            }
             return res != null;
         }
         return false;
     }
 
+    /**
+     * Delete tickets in batches.
+     *
+     * @param ticketIds the ticket ids mapped to their encoded ticket ids
+     * @return the number of tickets deleted
+     */
+    public long delete(final Map<String, String> ticketIds) {
+        val requests = ticketIds.entrySet()
+            .stream()
+            .map(entry -> Optional.ofNullable(ticketCatalog.find(entry.getKey()))
+                .map(metadata -> Pair.of(metadata.getProperties().getStorageName(),
+                    WriteRequest.builder().deleteRequest(DeleteRequest.builder().key(buildItemKey(entry.getValue())).build()).build())))
+            .flatMap(Optional::stream);
+        return writeInBatches(requests);
+    }
+
     /**
      * Delete all.
      *
@@ -131,7 +265,7 @@ public class DynamoDbTicketRegistryFacilitator {
                         .operator(ComparisonOperator.EQ)
                         .build());
                 return DynamoDbTableUtils.scanPaginator(amazonDynamoDBClient, defn.getProperties().getStorageName(),
-                    keys, DynamoDbTicketRegistryFacilitator::deserializeTicket);
+                    keys, this::deserializeTicket);
             })
             .toList();
         return Streams.concat(resultStreams.toArray(new Stream[]{}));
@@ -152,7 +286,7 @@ public class DynamoDbTicketRegistryFacilitator {
             LOGGER.debug("Scanned table with result [{}]", scan);
             tickets.addAll(result.items()
                 .stream()
-                .map(DynamoDbTicketRegistryFacilitator::deserializeTicket)
+                .map(this::deserializeTicket)
                 .filter(Objects::nonNull)
                 .filter(ticket -> !ticket.isExpired())
                 .toList());
@@ -172,9 +306,12 @@ public class DynamoDbTicketRegistryFacilitator {
         if (metadata != null) {
             val keys = new HashMap<String, AttributeValue>();
             keys.put(ColumnNames.ID.getColumnName(), AttributeValue.builder().s(encodedTicketId).build());
-            val request = GetItemRequest.builder().key(keys).tableName(metadata.getProperties().getStorageName()).build();
+            val request = GetItemRequest.builder().key(keys).tableName(metadata.getProperties().getStorageName())
+                .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
             LOGGER.debug("Submitting request [{}] to get ticket item [{}]", request, ticketId);
-            val returnItem = amazonDynamoDBClient.getItem(request).item();
+            val response = amazonDynamoDBClient.getItem(request);
+            recordConsumedCapacity(OPERATION_GET, response.consumedCapacity());
+            val returnItem = response.item();
             if (returnItem != null && !returnItem.isEmpty()) {
                 val ticket = deserializeTicket(returnItem);
                 LOGGER.debug("Located ticket [{}]", ticket);
@@ -190,32 +327,64 @@ public class DynamoDbTicketRegistryFacilitator {
         return null;
     }
 
+    /**
+     * Get tickets in batches. Tickets that cannot be found or have expired are skipped.
+     *
+     * @param ticketIds the ticket ids mapped to their encoded ticket ids
+     * @return the tickets
+     */
+    public List<Ticket> get(final Map<String, String> ticketIds) {
+        val keys = ticketIds.entrySet()
+            .stream()
+            .map(entry -> Optional.ofNullable(ticketCatalog.find(entry.getKey()))
+                .map(metadata -> Pair.of(metadata.getProperties().getStorageName(), buildItemKey(entry.getValue()))))
+            .flatMap(Optional::stream)
+            .toList();
+        val tickets = new ArrayList<Ticket>(keys.size());
+        Lists.partition(keys, BATCH_GET_REQUEST_LIMIT).forEach(batch -> {
+            var pending = batch
+                .stream()
+                .collect(Collectors.groupingBy(Pair::getKey, Collectors.collectingAndThen(
+                    Collectors.mapping(Pair::getValue, Collectors.toList()),
+                    tableKeys -> KeysAndAttributes.builder().keys(tableKeys).build())));
+            var attempt = 0;
+            while (!pending.isEmpty()) {
+                val request = BatchGetItemRequest.builder()
+                    .requestItems(pending)
+                    .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+                    .build();
+                LOGGER.debug("Submitting batch request to get [{}] ticket item(s)", batch.size());
+                val response = amazonDynamoDBClient.batchGetItem(request);
+                recordConsumedCapacity(OPERATION_BATCH_GET, response.consumedCapacity());
+                response.responses().values()
+                    .stream()
+                    .flatMap(List::stream)
+                    .map(this::deserializeTicket)
+                    .filter(Objects::nonNull)
+                    .filter(ticket -> !ticket.isExpired())
+                    .forEach(tickets::add);
+                pending = response.unprocessedKeys();
+                if (!pending.isEmpty() && !awaitBatchRetry(++attempt)) {
+                    LOGGER.warn("Unable to get [{}] ticket item(s) after [{}] attempt(s)", pending.size(), attempt);
+                    break;
+                }
+            }
+        });
+        return tickets;
+    }
+
     /**
      * Put.
      *
      * @param toSave the to save
      */
     public void put(final Stream<TicketPayload> toSave) {
-        val queue = new HashMap<String, Collection<WriteRequest>>();
-        val count = new AtomicLong(0);
-        toSave.forEach(entry -> {
+        val requests = toSave.map(entry -> {
             val metadata = ticketCatalog.find(entry.getOriginalTicket());
-            val entries = queue.getOrDefault(metadata.getProperties().getStorageName(), new ArrayList<>());
-            entries.add(WriteRequest.builder().putRequest(buildPutRequest(entry)).build());
-            count.getAndIncrement();
-
-            queue.put(metadata.getProperties().getStorageName(), entries);
-            if (count.get() >= BATCH_PUT_REQUEST_LIMIT) {
-                val batchRequest = BatchWriteItemRequest.builder().requestItems(queue).build();
-                amazonDynamoDBClient.batchWriteItem(batchRequest);
-                queue.clear();
-                count.set(0);
-            }
+            return Pair.of(metadata.getProperties().getStorageName(),
+                WriteRequest.builder().putRequest(buildPutRequest(entry)).build());
         });
-        if (!queue.isEmpty()) {
-            val batchRequest = BatchWriteItemRequest.builder().requestItems(queue).build();
-            amazonDynamoDBClient.batchWriteItem(batchRequest);
-        }
+        writeInBatches(requests);
     }
 
     /**
@@ -228,27 +397,31 @@ public class DynamoDbTicketRegistryFacilitator {
         LOGGER.debug("Submitting put request [{}] for ticket id [{}]", putItemRequest, payload.getEncodedTicket().getId());
         val putItemResult = amazonDynamoDBClient.putItem(putItemRequest);
         LOGGER.debug("Ticket added with result [{}]", putItemResult);
+        recordConsumedCapacity(OPERATION_PUT, putItemResult.consumedCapacity());
     }
 
     /**
-     * Gets sessions with attributes.
+     * Gets sessions with attributes. Ticket-granting tickets are read through the shards of the prefix index
+     * when the table carries one, and the filter expression is applied to each page of results.
+     * Otherwise, the table is scanned page by page.
      *
+     * @param prefix           the ticket-granting ticket prefix
      * @param filterExpression the filter expression
      * @param attributeNames   the attribute names
      * @param attributeValues  the attribute values
      * @return the sessions with attributes
      */
-    public Stream<? extends Ticket> getSessionsWithAttributes(final String filterExpression,
+    public Stream<? extends Ticket> getSessionsWithAttributes(final String prefix,
+                                                              final String filterExpression,
                                                               final Map<String, String> attributeNames,
                                                               final Map<String, AttributeValue> attributeValues) {
-
-        val scanResponse = DynamoDbTableUtils.scan(amazonDynamoDBClient,
-            dynamoDbProperties.getTicketGrantingTicketsTableName(),
-            filterExpression, attributeNames, attributeValues);
-        return scanResponse
-            .items()
-            .stream()
-            .map(DynamoDbTicketRegistryFacilitator::deserializeTicket)
+        val tableName = dynamoDbProperties.getTicketGrantingTicketsTableName();
+        val items = hasIndex(tableName, PREFIX_INDEX)
+            ? queryPrefixIndex(tableName, prefix, filterExpression, attributeNames, attributeValues, Select.ALL_ATTRIBUTES)
+                .flatMap(response -> response.items().stream())
+            : scanWithPrefix(tableName, prefix, filterExpression, attributeNames, attributeValues);
+        return items
+            .map(this::deserializeTicket)
             .filter(Objects::nonNull);
     }
 
@@ -262,7 +435,198 @@ public class DynamoDbTicketRegistryFacilitator {
         val metadata = this.ticketCatalog.find(payload.getOriginalTicket());
         val values = buildTableAttributeValuesMapFromTicket(payload);
         LOGGER.debug("Adding ticket id [{}] with attribute values [{}]", payload.getEncodedTicket().getId(), values);
-        return PutItemRequest.builder().tableName(metadata.getProperties().getStorageName()).item(values).build();
+        return PutItemRequest.builder().tableName(metadata.getProperties().getStorageName()).item(values)
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+    }
+
+    private static Map<String, AttributeValue> buildItemKey(final String encodedTicketId) {
+        return Map.of(ColumnNames.ID.getColumnName(), AttributeValue.builder().s(encodedTicketId).build());
+    }
+
+    private long writeInBatches(final Stream<Pair<String, WriteRequest>> requests) {
+        val queue = new HashMap<String, List<WriteRequest>>();
+        val count = new AtomicInteger();
+        val written = new AtomicLong();
+        requests.forEach(request -> {
+            queue.computeIfAbsent(request.getKey(), key -> new ArrayList<>()).add(request.getValue());
+            if (count.incrementAndGet() >= BATCH_WRITE_REQUEST_LIMIT) {
+                written.addAndGet(submitBatchWrite(queue));
+                queue.clear();
+                count.set(0);
+            }
+        });
+        if (!queue.isEmpty()) {
+            written.addAndGet(submitBatchWrite(queue));
+        }
+        return written.get();
+    }
+
+    private int submitBatchWrite(final Map<String, List<WriteRequest>> requestItems) {
+        val total = requestItems.values().stream().mapToInt(List::size).sum();
+        var pending = Map.copyOf(requestItems);
+        var attempt = 0;
+        while (!pending.isEmpty()) {
+            val request = BatchWriteItemRequest.builder()
+                .requestItems(pending)
+                .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+                .build();
+            LOGGER.debug("Submitting batch write request for [{}] table(s)", pending.size());
+            val response = amazonDynamoDBClient.batchWriteItem(request);
+            recordConsumedCapacity(OPERATION_BATCH_WRITE, response.consumedCapacity());
+            pending = response.unprocessedItems();
+            if (!pending.isEmpty() && !awaitBatchRetry(++attempt)) {
+                val unprocessed = pending.values().stream().mapToInt(List::size).sum();
+                LOGGER.warn("Unable to write [{}] of [{}] ticket item(s) after [{}] attempt(s)", unprocessed, total, attempt);
+                return total - unprocessed;
+            }
+        }
+        return total;
+    }
+
+    private static boolean awaitBatchRetry(final int attempt) {
+        if (attempt > BATCH_MAX_RETRIES) {
+            return false;
+        }
+        val delay = Math.min(BATCH_RETRY_MAX_DELAY, BATCH_RETRY_BASE_DELAY << attempt);
+        LOGGER.debug("Batch request has unprocessed items; retrying in [{}] ms", delay);
+        FunctionUtils.doUnchecked(__ -> Thread.sleep(delay));
+        return true;
+    }
+
+    /**
+     * Whether the table carries the active index. Index status is remembered once all indexes
+     * of the table are active; until then, or if the table cannot be described, the status
+     * is checked again after a delay that grows with each attempt.
+     */
+    private boolean hasIndex(final String tableName, final String indexName) {
+        val now = System.currentTimeMillis();
+        val known = tableIndexes.get(tableName);
+        if (known != null && (known.complete() || now < known.nextCheck())) {
+            return known.activeIndexes().contains(indexName);
+        }
+        val attempt = known == null ? 0 : known.attempt() + 1;
+        val nextCheck = now + Math.min(INDEX_CHECK_MAX_DELAY,
+            INDEX_CHECK_BASE_DELAY << Math.min(attempt, INDEX_CHECK_MAX_BACKOFF_SHIFT));
+        try {
+            val description = amazonDynamoDBClient.describeTable(DescribeTableRequest.builder().tableName(tableName).build()).table();
+            val indexes = description.globalSecondaryIndexes()
+                .stream()
+                .filter(index -> index.indexStatus() == IndexStatus.ACTIVE)
+                .map(GlobalSecondaryIndexDescription::indexName)
+                .collect(Collectors.toSet());
+            val complete = indexes.size() == description.globalSecondaryIndexes().size();
+            tableIndexes.put(tableName, new TableIndexes(indexes, complete, attempt, nextCheck));
+            LOGGER.debug("Table [{}] has active global secondary indexes [{}]", tableName, indexes);
+            return indexes.contains(indexName);
+        } catch (final Exception e) {
+            LoggingUtils.warn(LOGGER, e);
+            tableIndexes.put(tableName, new TableIndexes(Set.of(), false, attempt, nextCheck));
+            return false;
+        }
+    }
+
+    /**
+     * Query all shards of the prefix index concurrently.
+     */
+    private Stream<QueryResponse> queryPrefixIndex(final String tableName, final String prefix,
+                                                   final String filterExpression,
+                                                   final Map<String, String> attributeNames,
+                                                   final Map<String, AttributeValue> attributeValues,
+                                                   final Select select) {
+        val shards = IntStream.range(0, getPrefixIndexShards())
+            .mapToObj(shard -> CompletableFuture.supplyAsync(() ->
+                queryIndex(tableName, PREFIX_INDEX, ColumnNames.PREFIX_SHARD, buildPrefixShard(prefix, shard),
+                    filterExpression, attributeNames, attributeValues, select).toList(), prefixQueryExecutor))
+            .toList();
+        return shards.stream().map(CompletableFuture::join).flatMap(List::stream);
+    }
+
+    private int getPrefixIndexShards() {
+        return Math.max(1, dynamoDbProperties.getPrefixIndexShards());
+    }
+
+    private static String buildPrefixShard(final String prefix, final int shard) {
+        return prefix + '#' + shard;
+    }
+
+    private Stream<QueryResponse> queryIndex(final String tableName, final String indexName,
+                                             final ColumnNames keyColumn, final String keyValue,
+                                             final String filterExpression,
+                                             final Map<String, String> attributeNames,
+                                             final Map<String, AttributeValue> attributeValues,
+                                             final Select select) {
+        val names = new HashMap<>(attributeNames);
+        names.put("#indexKey", keyColumn.getColumnName());
+        val values = new HashMap<>(attributeValues);
+        values.put(":indexKey", AttributeValue.builder().s(keyValue).build());
+        val request = QueryRequest.builder()
+            .tableName(tableName)
+            .indexName(indexName)
+            .keyConditionExpression("#indexKey = :indexKey")
+            .filterExpression(StringUtils.defaultIfBlank(filterExpression, null))
+            .expressionAttributeNames(names)
+            .expressionAttributeValues(values)
+            .select(select)
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .build();
+        LOGGER.debug("Submitting query request [{}] to index [{}] of table [{}]", request, indexName, tableName);
+        return amazonDynamoDBClient.queryPaginator(request)
+            .stream()
+            .peek(response -> recordConsumedCapacity(OPERATION_QUERY, response.consumedCapacity()));
+    }
+
+    private Stream<Map<String, AttributeValue>> scanWithPrefix(final String tableName, final String prefix,
+                                                               final String filterExpression,
+                                                               final Map<String, String> attributeNames,
+                                                               final Map<String, AttributeValue> attributeValues) {
+        val values = new HashMap<>(attributeValues);
+        values.put(":prefix", AttributeValue.builder().s(prefix).build());
+        val expression = StringUtils.isBlank(filterExpression)
+            ? "prefix=:prefix"
+            : "prefix=:prefix AND " + filterExpression;
+        val request = ScanRequest.builder()
+            .tableName(tableName)
+            .filterExpression(expression)
+            .expressionAttributeNames(attributeNames.isEmpty() ? null : attributeNames)
+            .expressionAttributeValues(values)
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .build();
+        LOGGER.debug("Submitting scan request [{}] to table [{}]", request, tableName);
+        return amazonDynamoDBClient.scanPaginator(request)
+            .stream()
+            .peek(response -> recordConsumedCapacity(OPERATION_SCAN, response.consumedCapacity()))
+            .map(ScanResponse::items)
+            .flatMap(List::stream);
+    }
+
+    private void recordConsumedCapacity(final String operation, final Collection<ConsumedCapacity> capacity) {
+        capacity.forEach(units -> recordConsumedCapacity(operation, units));
+    }
+
+    private void recordConsumedCapacity(final String operation, final ConsumedCapacity capacity) {
+        if (capacity != null && capacity.capacityUnits() != null) {
+            consumedCapacity.get(operation).add(capacity.capacityUnits());
+        }
+    }
+
+    /**
+     * Gets the capacity units consumed by the given kind of operation.
+     *
+     * @param operation the operation
+     * @return the consumed capacity units
+     */
+    public double getConsumedCapacity(final String operation) {
+        return Optional.ofNullable(consumedCapacity.get(operation)).map(DoubleAdder::sum).orElse(0D);
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        consumedCapacity.forEach((operation, units) ->
+            FunctionCounter.builder("cas.ticket.registry.dynamodb.consumed.capacity", units, DoubleAdder::sum)
+                .description("Capacity units consumed by DynamoDb ticket registry operations")
+                .baseUnit("capacityUnits")
+                .tag("operation", operation)
+                .register(registry));
     }
 
     /**
@@ -271,27 +635,51 @@ public class DynamoDbTicketRegistryFacilitator {
      * @param deleteTables the delete tables
      */
     public void createTicketTables(final boolean deleteTables) {
+        tableIndexes.clear();
         val metadata = this.ticketCatalog.findAll();
         metadata.forEach(Unchecked.consumer(r -> {
-            val attributeDefns = List.of(
-                AttributeDefinition.builder()
-                    .attributeName(ColumnNames.ID.getColumnName())
-                    .attributeType(ScalarAttributeType.S)
-                    .build());
+            val tableName = r.getProperties().getStorageName();
+            val attributeDefns = new ArrayList<AttributeDefinition>();
+            attributeDefns.add(buildAttributeDefinition(ColumnNames.ID));
             val keySchemaElements = List.of(KeySchemaElement.builder()
                 .attributeName(ColumnNames.ID.getColumnName())
                 .keyType(KeyType.HASH)
                 .build());
+            val indexes = new ArrayList<GlobalSecondaryIndex>();
+            if (dynamoDbProperties.isCreateIndexes()) {
+                attributeDefns.add(buildAttributeDefinition(ColumnNames.PREFIX_SHARD));
+                indexes.add(buildGlobalSecondaryIndex(PREFIX_INDEX, ColumnNames.PREFIX_SHARD));
+                if (tableName.equals(dynamoDbProperties.getTicketGrantingTicketsTableName())) {
+                    attributeDefns.add(buildAttributeDefinition(ColumnNames.PRINCIPAL));
+                    indexes.add(buildGlobalSecondaryIndex(PRINCIPAL_INDEX, ColumnNames.PRINCIPAL));
+                }
+            }
             val tableDesc = DynamoDbTableUtils.createTable(amazonDynamoDBClient, dynamoDbProperties,
-                r.getProperties().getStorageName(),
+                tableName,
                 deleteTables,
                 attributeDefns,
-                keySchemaElements);
+                keySchemaElements,
+                indexes);
             DynamoDbTableUtils.enableTimeToLiveOnTable(amazonDynamoDBClient,
                 tableDesc.tableName(), ColumnNames.EXPIRATION.getColumnName());
         }));
     }
 
+    private static AttributeDefinition buildAttributeDefinition(final ColumnNames column) {
+        return AttributeDefinition.builder()
+            .attributeName(column.getColumnName())
+            .attributeType(ScalarAttributeType.S)
+            .build();
+    }
+
+    private static GlobalSecondaryIndex buildGlobalSecondaryIndex(final String indexName, final ColumnNames column) {
+        return GlobalSecondaryIndex.builder()
+            .indexName(indexName)
+            .keySchema(KeySchemaElement.builder().attributeName(column.getColumnName()).keyType(KeyType.HASH).build())
+            .projection(Projection.builder().projectionType(ProjectionType.ALL).build())
+            .build();
+    }
+
     /**
      * Build table attribute values from ticket map.
      *
@@ -312,10 +700,15 @@ public class DynamoDbTicketRegistryFacilitator {
             AttributeValue.builder().n(String.valueOf(ttl)).build());
         values.put(ColumnNames.ID.getColumnName(),
             AttributeValue.builder().s(payload.getEncodedTicket().getId()).build());
-        values.put(ColumnNames.PRINCIPAL.getColumnName(),
-            AttributeValue.builder().s(payload.getPrincipal()).build());
+        if (StringUtils.isNotBlank(payload.getPrincipal())) {
+            values.put(ColumnNames.PRINCIPAL.getColumnName(),
+                AttributeValue.builder().s(payload.getPrincipal()).build());
+        }
         values.put(ColumnNames.PREFIX.getColumnName(),
             AttributeValue.builder().s(payload.getOriginalTicket().getPrefix()).build());
+        val shard = Math.floorMod(payload.getEncodedTicket().getId().hashCode(), getPrefixIndexShards());
+        values.put(ColumnNames.PREFIX_SHARD.getColumnName(),
+            AttributeValue.builder().s(buildPrefixShard(payload.getOriginalTicket().getPrefix(), shard)).build());
         values.put(ColumnNames.CREATION_TIME.getColumnName(), AttributeValue.builder().
             s(payload.getOriginalTicket().getCreationTime().toString()).build());
         values.put(ColumnNames.COUNT_OF_USES.getColumnName(),
@@ -324,8 +717,15 @@ public class DynamoDbTicketRegistryFacilitator {
             AttributeValue.builder().n(Long.toString(payload.getOriginalTicket().getExpirationPolicy().getTimeToLive())).build());
         values.put(ColumnNames.TIME_TO_IDLE.getColumnName(),
             AttributeValue.builder().n(Long.toString(payload.getOriginalTicket().getExpirationPolicy().getTimeToIdle())).build());
-        values.put(ColumnNames.ENCODED.getColumnName(),
-            AttributeValue.builder().b(SdkBytes.fromByteBuffer(ByteBuffer.wrap(SerializationUtils.serialize(payload.getEncodedTicket())))).build());
+        if (ticketSerializationManager.isBinaryOutputEnabled()) {
+            values.put(ColumnNames.TYPE.getColumnName(),
+                AttributeValue.builder().s(payload.getEncodedTicket().getClass().getName()).build());
+            values.put(ColumnNames.CONTENT.getColumnName(),
+                AttributeValue.builder().b(SdkBytes.fromByteArray(ticketSerializationManager.serializeTicketToBytes(payload.getEncodedTicket()))).build());
+        } else {
+            values.put(ColumnNames.ENCODED.getColumnName(),
+                AttributeValue.builder().b(SdkBytes.fromByteBuffer(ByteBuffer.wrap(SerializationUtils.serialize(payload.getEncodedTicket())))).build());
+        }
         LOGGER.debug("Created attribute values [{}] based on provided ticket [{}]", values, payload.getEncodedTicket().getId());
         return values;
     }
@@ -348,6 +748,15 @@ public class DynamoDbTicketRegistryFacilitator {
      * @return the sessions for
      */
     public Stream<? extends Ticket> getSessionsFor(final String principal) {
+        val tableName = dynamoDbProperties.getTicketGrantingTicketsTableName();
+        if (hasIndex(tableName, PRINCIPAL_INDEX)) {
+            return queryIndex(tableName, PRINCIPAL_INDEX, ColumnNames.PRINCIPAL, principal,
+                null, Map.of(), Map.of(), Select.ALL_ATTRIBUTES)
+                .flatMap(response -> response.items().stream())
+                .map(this::deserializeTicket)
+                .filter(Objects::nonNull)
+                .filter(ticket -> !ticket.isExpired());
+        }
         val keys = List.<DynamoDbQueryBuilder>of(
             DynamoDbQueryBuilder.builder()
                 .key(ColumnNames.PRINCIPAL.getColumnName())
@@ -355,8 +764,8 @@ public class DynamoDbTicketRegistryFacilitator {
                 .operator(ComparisonOperator.EQ)
                 .build());
         return DynamoDbTableUtils.getRecordsByKeys(amazonDynamoDBClient,
-                dynamoDbProperties.getTicketGrantingTicketsTableName(),
-                keys, DynamoDbTicketRegistryFacilitator::deserializeTicket)
+                tableName,
+                keys, this::deserializeTicket)
             .filter(ticket -> !ticket.isExpired());
     }
 
@@ -375,8 +784,15 @@ public class DynamoDbTicketRegistryFacilitator {
                 .operator(ComparisonOperator.EQ)
                 .build());
         return ticketCatalog.findTicketDefinition(ticketType)
-            .map(def -> DynamoDbTableUtils.scan(amazonDynamoDBClient, def.getProperties().getStorageName(), keys).count())
-            .orElse(-1);
+            .map(def -> {
+                val tableName = def.getProperties().getStorageName();
+                if (hasIndex(tableName, PREFIX_INDEX)) {
+                    return queryPrefixIndex(tableName, prefix, null, Map.of(), Map.of(), Select.COUNT)
+                        .mapToLong(QueryResponse::count).sum();
+                }
+                return (long) DynamoDbTableUtils.scan(amazonDynamoDBClient, tableName, keys).count();
+            })
+            .orElse(-1L);
     }
 
 
@@ -403,6 +819,10 @@ public class DynamoDbTicketRegistryFacilitator {
          * prefix column.
          */
         PREFIX("prefix"),
+        /**
+         * prefix shard column, keying the prefix index.
+         */
+        PREFIX_SHARD("prefixShard"),
         /**
          * creationTime column.
          */
@@ -424,13 +844,25 @@ public class DynamoDbTicketRegistryFacilitator {
          */
         EXPIRATION("expiration"),
         /**
-         * encoded column.
+         * encoded column, holding the Java serialization of the ticket.
+         */
+        ENCODED("encoded"),
+        /**
+         * type column, holding the type of the ticket whose binary content is stored.
          */
-        ENCODED("encoded");
+        TYPE("type"),
+        /**
+         * content column, holding the binary content of the ticket
+         * when tickets are serialized in the binary format.
+         */
+        CONTENT("content");
 
         private final String columnName;
     }
 
+    private record TableIndexes(Set<String> activeIndexes, boolean complete, int attempt, long nextCheck) {
+    }
+
     @SuperBuilder
     @Getter
     static class TicketPayload {
@@ -2,6 +2,8 @@ package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.junit.EnabledIfListeningOnPort;
 
@@ -15,6 +17,9 @@ import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
 import software.amazon.awssdk.services.dynamodb.model.DescribeTableResponse;
 
 import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -66,6 +71,37 @@ class DynamoDbTicketRegistryFacilitatorTests {
             assertFalse(dynamoDbTicketRegistryFacilitator.delete("badticket", "badticket"));
             assertTrue(dynamoDbTicketRegistryFacilitator.deleteAll() > 0);
         }
+
+        @Test
+        void verifyBatchOperationsWithIndexes() {
+            dynamoDbTicketRegistryFacilitator.createTicketTables(true);
+            val tickets = IntStream.range(0, 30)
+                .mapToObj(i -> new MockTicketGrantingTicket("casuser"))
+                .toList();
+            dynamoDbTicketRegistryFacilitator.put(tickets.stream()
+                .map(ticket -> DynamoDbTicketRegistryFacilitator.TicketPayload.builder()
+                    .originalTicket(ticket)
+                    .encodedTicket(ticket)
+                    .principal(ticket.getAuthentication().getPrincipal().getId())
+                    .build()));
+            val ticketIds = tickets.stream().collect(Collectors.toMap(Ticket::getId, Ticket::getId));
+            assertEquals(tickets.size(), dynamoDbTicketRegistryFacilitator.get(ticketIds).size());
+            assertEquals(tickets.size(), dynamoDbTicketRegistryFacilitator.countTickets(TicketGrantingTicket.class, TicketGrantingTicket.PREFIX));
+            assertEquals(tickets.size(), dynamoDbTicketRegistryFacilitator.getSessionsFor("casuser").count());
+            assertEquals(tickets.size(), dynamoDbTicketRegistryFacilitator.getSessionsWithAttributes(
+                TicketGrantingTicket.PREFIX, null, Map.of(), Map.of()).count());
+            val shards = tickets.stream()
+                .map(ticket -> dynamoDbTicketRegistryFacilitator.buildTableAttributeValuesMapFromTicket(
+                    DynamoDbTicketRegistryFacilitator.TicketPayload.builder().originalTicket(ticket).encodedTicket(ticket).build()))
+                .map(values -> values.get(DynamoDbTicketRegistryFacilitator.ColumnNames.PREFIX_SHARD.getColumnName()).s())
+                .collect(Collectors.toSet());
+            assertTrue(shards.size() > 1);
+            assertTrue(shards.stream().allMatch(shard -> shard.startsWith(TicketGrantingTicket.PREFIX + '#')));
+            assertTrue(dynamoDbTicketRegistryFacilitator.getConsumedCapacity("batch-write") > 0);
+
+            assertEquals(tickets.size(), dynamoDbTicketRegistryFacilitator.delete(ticketIds));
+            assertTrue(dynamoDbTicketRegistryFacilitator.get(ticketIds).isEmpty());
+        }
     }
 
     @Nested
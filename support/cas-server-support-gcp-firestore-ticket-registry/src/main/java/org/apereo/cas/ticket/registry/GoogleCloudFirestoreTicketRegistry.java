@@ -127,6 +127,7 @@ public class GoogleCloudFirestoreTicketRegistry extends AbstractTicketRegistry {
                 .document(ticketDocument.getTicketId())
                 .update(ticketDocument.asUpdatableMap())
                 .get();
+            ticketExpirationIndex.schedule(ticket);
             LOGGER.debug("Added ticket [{}] to [{}] @ [{}]", ticket.getId(), collectionName, writeResult.getUpdateTime());
         });
         return ticket;
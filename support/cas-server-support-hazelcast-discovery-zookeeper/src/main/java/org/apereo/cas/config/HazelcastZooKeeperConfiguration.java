@@ -75,5 +75,18 @@ public class HazelcastZooKeeperConfiguration {
                 .otherwise(LockRepository::noOp)
                 .get();
         }
+
+        @Bean
+        @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+        public LockRepository ticketRegistryCleanerShardLockRepository(
+            final ConfigurableApplicationContext applicationContext,
+            @Qualifier("casTicketRegistryZooKeeperLockRepository")
+            final LockRegistry casTicketRegistryZooKeeperLockRepository) {
+            return BeanSupplier.of(LockRepository.class)
+                .when(CONDITION.given(applicationContext.getEnvironment()))
+                .supply(() -> new DefaultLockRepository(casTicketRegistryZooKeeperLockRepository))
+                .otherwise(LockRepository::noOp)
+                .get();
+        }
     }
 }
@@ -0,0 +1,135 @@
+package org.apereo.cas.authentication.principal.cache;
+
+import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.authentication.principal.RegisteredServicePrincipalAttributesRepository;
+import org.apereo.cas.services.RegisteredService;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * This is {@link HazelcastPrincipalAttributesRepositoryCache}, which keeps attributes
+ * cached by principal attribute repositories in a Hazelcast distributed map so that they may be shared by all CAS nodes.
+ * Entries expire after the period defined by the caching repository of each registered service.
+ * Updating attributes for a principal on one node replaces the cached entry for all nodes.
+ * <p>
+ * Nodes that ask for attributes of the same principal at the same time are coordinated
+ * via a lock on the cache entry, such that only the node that holds the lock
+ * fetches attributes from attribute repositories while others wait for the results.
+ * The time a node waits for the lock is separate from the lease of the lock, which only
+ * bounds how long a lock may outlive a node that went away while holding it.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@Getter
+public class HazelcastPrincipalAttributesRepositoryCache extends AbstractPrincipalAttributesRepositoryCache {
+    /**
+     * Name of the distributed map that holds cached attributes.
+     */
+    public static final String MAP_NAME = "principalAttributesRepositoryCache";
+
+    private final IMap<String, Map<String, List<Object>>> cache;
+
+    private final Duration lockTimeout;
+
+    private final Duration lockLeaseTime;
+
+    public HazelcastPrincipalAttributesRepositoryCache(final HazelcastInstance hazelcastInstance,
+                                                       final Duration lockTimeout, final Duration lockLeaseTime) {
+        this.cache = hazelcastInstance.getMap(MAP_NAME);
+        this.lockTimeout = lockTimeout;
+        this.lockLeaseTime = lockLeaseTime;
+    }
+
+    @Override
+    public void invalidate() {
+        cache.clear();
+    }
+
+    @Override
+    public Map<String, List<Object>> fetchAttributes(final RegisteredService registeredService,
+                                                     final RegisteredServicePrincipalAttributesRepository repository,
+                                                     final Principal principal) {
+        val cachedAttributes = cache.get(buildPrincipalCacheKey(registeredService, principal.getId()));
+        if (cachedAttributes == null) {
+            LOGGER.debug("No cached attributes could be found for [{}]", principal.getId());
+            return new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        }
+        return cachedAttributes;
+    }
+
+    @Override
+    public void putAttributes(final RegisteredService registeredService,
+                              final RegisteredServicePrincipalAttributesRepository repository,
+                              final String id, final Map<String, List<Object>> attributes) {
+        val cachedAttributes = new TreeMap<String, List<Object>>(String.CASE_INSENSITIVE_ORDER);
+        cachedAttributes.putAll(attributes);
+        cache.set(buildPrincipalCacheKey(registeredService, id), cachedAttributes,
+            getExpiration(repository).toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected Map<String, List<Object>> loadAttributes(final RegisteredService registeredService,
+                                                       final RegisteredServicePrincipalAttributesRepository repository,
+                                                       final Principal principal,
+                                                       final Supplier<Map<String, List<Object>>> loader) {
+        return super.loadAttributes(registeredService, repository, principal, () -> {
+            val key = buildPrincipalCacheKey(registeredService, principal.getId());
+            val locked = acquireLock(key);
+            val leaseDeadline = System.nanoTime() + lockLeaseTime.toNanos();
+            try {
+                if (locked) {
+                    val cachedAttributes = fetchAttributes(registeredService, repository, principal);
+                    if (!cachedAttributes.isEmpty()) {
+                        return cachedAttributes;
+                    }
+                } else {
+                    LOGGER.debug("Unable to obtain lock for [{}] within [{}]", principal.getId(), lockTimeout);
+                }
+                return loader.get();
+            } finally {
+                if (locked) {
+                    releaseLock(key, leaseDeadline);
+                }
+            }
+        });
+    }
+
+    private boolean acquireLock(final String key) {
+        try {
+            return cache.tryLock(key, lockTimeout.toMillis(), TimeUnit.MILLISECONDS,
+                lockLeaseTime.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Release the lock, unless its lease has run out in the meantime; by then the lock
+     * was released by Hazelcast and may well be held by another node.
+     */
+    private void releaseLock(final String key, final long leaseDeadline) {
+        if (System.nanoTime() - leaseDeadline >= 0 || !cache.isLocked(key)) {
+            LOGGER.debug("Lock for [{}] was released after its lease of [{}] ran out", key, lockLeaseTime);
+            return;
+        }
+        try {
+            cache.unlock(key);
+        } catch (final IllegalMonitorStateException e) {
+            LOGGER.debug("Lock for [{}] is no longer held by this node: [{}]", key, e.getMessage());
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package org.apereo.cas.config;
 
+import org.apereo.cas.authentication.principal.PrincipalAttributesRepositoryCache;
+import org.apereo.cas.authentication.principal.cache.HazelcastPrincipalAttributesRepositoryCache;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.features.CasFeatureModule;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.hz.HazelcastConfigurationFactory;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
 import org.apereo.cas.ticket.registry.HazelcastTicketHolder;
+import org.apereo.cas.ticket.registry.HazelcastTicketHolderSerializer;
 import org.apereo.cas.ticket.registry.HazelcastTicketRegistry;
 import org.apereo.cas.ticket.registry.MapAttributeValueExtractor;
 import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
@@ -26,6 +30,7 @@ import lombok.val;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
@@ -76,7 +81,11 @@ public class HazelcastTicketRegistryConfiguration {
         final CasConfigurationProperties casProperties) {
         val hz = casProperties.getTicket().getRegistry().getHazelcast();
         LOGGER.debug("Creating Hazelcast instance for members [{}]", hz.getCluster().getNetwork().getMembers());
-        val hazelcastInstance = HazelcastInstanceFactory.getOrCreateHazelcastInstance(HazelcastConfigurationFactory.build(hz));
+        val config = HazelcastConfigurationFactory.build(hz);
+        if (hz.isCompactSerialization()) {
+            config.getSerializationConfig().getCompactSerializationConfig().addSerializer(new HazelcastTicketHolderSerializer());
+        }
+        val hazelcastInstance = HazelcastInstanceFactory.getOrCreateHazelcastInstance(config);
         val ticketDefinitions = ticketCatalog.findAll();
 
         ticketDefinitions
@@ -89,11 +98,15 @@ public class HazelcastTicketRegistryConfiguration {
                     mapConfig.addIndexConfig(new IndexConfig(IndexType.HASH, "id"));
                     mapConfig.addIndexConfig(new IndexConfig(IndexType.HASH, "type"));
                     mapConfig.addIndexConfig(new IndexConfig(IndexType.HASH, "principal"));
-
-                    val attributeConfig = new AttributeConfig();
-                    attributeConfig.setName("attributes");
-                    attributeConfig.setExtractorClassName(MapAttributeValueExtractor.class.getName());
-                    mapConfig.addAttributeConfig(attributeConfig);
+                    mapConfig.addIndexConfig(new IndexConfig(IndexType.HASH, "prefix"));
+                    if (hz.isCompactSerialization()) {
+                        mapConfig.addIndexConfig(new IndexConfig(IndexType.HASH, "attributes[any]"));
+                    } else {
+                        val attributeConfig = new AttributeConfig();
+                        attributeConfig.setName("attributes");
+                        attributeConfig.setExtractorClassName(MapAttributeValueExtractor.class.getName());
+                        mapConfig.addAttributeConfig(attributeConfig);
+                    }
                 }
                 return cfg;
             })
@@ -101,7 +114,7 @@ public class HazelcastTicketRegistryConfiguration {
 
         if (hz.getCore().isEnableJet()) {
             ticketDefinitions.forEach(defn -> {
-                val query = buildCreateMappingQuery(defn);
+                val query = buildCreateMappingQuery(defn, hz.isCompactSerialization());
                 LOGGER.trace("Creating mapping for [{}] via [{}]", defn.getPrefix(), query);
                 try (val createResults = hazelcastInstance.getSql().execute(query)) {
                     LOGGER.info("Created Hazelcast SQL mapping for [{}]", defn.getPrefix());
@@ -111,18 +124,35 @@ public class HazelcastTicketRegistryConfiguration {
         return hazelcastInstance;
     }
 
-    private static String buildCreateMappingQuery(final TicketDefinition defn) {
+    private static String buildCreateMappingQuery(final TicketDefinition defn, final boolean compactSerialization) {
         val builder = new StringBuilder(String.format("CREATE MAPPING IF NOT EXISTS \"%s\" ", defn.getProperties().getStorageName()));
         builder.append("TYPE IMap ");
         builder.append("OPTIONS (");
         builder.append("'keyFormat' = 'java',");
         builder.append("'keyJavaClass' = 'java.lang.String',");
-        builder.append("'valueFormat' = 'java',");
-        builder.append(String.format("'valueJavaClass' = '%s'", HazelcastTicketHolder.class.getName()));
+        if (compactSerialization) {
+            builder.append("'valueFormat' = 'compact',");
+            builder.append(String.format("'valueCompactTypeName' = '%s'", HazelcastTicketHolderSerializer.TYPE_NAME));
+        } else {
+            builder.append("'valueFormat' = 'java',");
+            builder.append(String.format("'valueJavaClass' = '%s'", HazelcastTicketHolder.class.getName()));
+        }
         builder.append(')');
         return builder.toString();
     }
 
+    @Bean
+    @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+    @ConditionalOnProperty(name = "cas.authn.attribute-repository.core.cache.type", havingValue = "HAZELCAST")
+    public PrincipalAttributesRepositoryCache principalAttributesRepositoryCache(
+        @Qualifier("casTicketRegistryHazelcastInstance")
+        final HazelcastInstance casTicketRegistryHazelcastInstance,
+        final CasConfigurationProperties casProperties) {
+        val cache = casProperties.getAuthn().getAttributeRepository().getCore().getCache();
+        return new HazelcastPrincipalAttributesRepositoryCache(casTicketRegistryHazelcastInstance,
+            Beans.newDuration(cache.getLockTimeout()), Beans.newDuration(cache.getLockLeaseTime()));
+    }
+
     @Bean
     @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
     @Lazy(false)
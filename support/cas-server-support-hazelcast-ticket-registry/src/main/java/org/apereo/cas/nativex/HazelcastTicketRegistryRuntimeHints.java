@@ -1,6 +1,7 @@
 package org.apereo.cas.nativex;
 
 import org.apereo.cas.ticket.registry.HazelcastTicketHolder;
+import org.apereo.cas.ticket.registry.HazelcastTicketHolderSerializer;
 import org.apereo.cas.ticket.registry.MapAttributeValueExtractor;
 import org.apereo.cas.util.nativex.CasRuntimeHintsRegistrar;
 import com.hazelcast.internal.serialization.DataSerializerHook;
@@ -142,6 +143,7 @@ public class HazelcastTicketRegistryRuntimeHints implements CasRuntimeHintsRegis
                 HazelcastRelMdWatermarkedFields.class,
                 RelMdRowCount.class,
 
+                HazelcastTicketHolderSerializer.class,
                 MapAttributeValueExtractor.class
             )
         );
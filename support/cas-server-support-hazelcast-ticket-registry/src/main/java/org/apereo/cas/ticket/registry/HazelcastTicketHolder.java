@@ -34,6 +34,10 @@ public class HazelcastTicketHolder implements Serializable {
 
     private Ticket ticket;
 
+    private byte[] content;
+
+    private String contentType;
+
     private long timeToLive;
 
     private String prefix;
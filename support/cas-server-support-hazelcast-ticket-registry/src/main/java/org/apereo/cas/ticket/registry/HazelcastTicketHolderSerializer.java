@@ -0,0 +1,105 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * This is {@link HazelcastTicketHolderSerializer}, which stores {@link HazelcastTicketHolder} entries
+ * using Hazelcast's compact serialization format. Simple fields are written as individual compact fields,
+ * so that members can query, index and aggregate them without deserializing the ticket itself.
+ * Attributes are written as an array of {@code name=value} entries that can be queried via {@code attributes[any]}.
+ * The ticket is kept as a serialized byte array and is only deserialized when the holder is read,
+ * while binary ticket content produced by the ticket serialization manager is written as is.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+public class HazelcastTicketHolderSerializer implements CompactSerializer<HazelcastTicketHolder> {
+    /**
+     * Compact type name of the ticket holder.
+     */
+    public static final String TYPE_NAME = "HazelcastTicketHolder";
+
+    private static final char ATTRIBUTE_ENTRY_SEPARATOR = '=';
+
+    /**
+     * Build the attribute entry for the given attribute name and value.
+     *
+     * @param name  the name
+     * @param value the value
+     * @return the attribute entry
+     */
+    public static String toAttributeEntry(final String name, final Object value) {
+        return name + ATTRIBUTE_ENTRY_SEPARATOR + value;
+    }
+
+    @Override
+    public HazelcastTicketHolder read(final CompactReader reader) {
+        val attributes = new HashMap<String, List<Object>>();
+        val entries = reader.readArrayOfString("attributes");
+        if (entries != null) {
+            for (val entry : entries) {
+                val name = StringUtils.substringBefore(entry, ATTRIBUTE_ENTRY_SEPARATOR);
+                val value = StringUtils.substringAfter(entry, ATTRIBUTE_ENTRY_SEPARATOR);
+                attributes.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+            }
+        }
+        return HazelcastTicketHolder.builder()
+            .id(reader.readString("id"))
+            .type(reader.readString("type"))
+            .principal(reader.readString("principal"))
+            .prefix(reader.readString("prefix"))
+            .timeToLive(reader.readInt64("timeToLive"))
+            .ticket(Optional.ofNullable(reader.readArrayOfInt8("ticket"))
+                .map(ticket -> SerializationUtils.deserialize(ticket, Ticket.class))
+                .orElse(null))
+            .content(reader.readArrayOfInt8("content"))
+            .contentType(reader.readString("contentType"))
+            .attributes(attributes)
+            .build();
+    }
+
+    @Override
+    public void write(final CompactWriter writer, final HazelcastTicketHolder holder) {
+        writer.writeString("id", holder.getId());
+        writer.writeString("type", holder.getType());
+        writer.writeString("principal", holder.getPrincipal());
+        writer.writeString("prefix", holder.getPrefix());
+        writer.writeInt64("timeToLive", holder.getTimeToLive());
+        writer.writeArrayOfInt8("ticket", Optional.ofNullable(holder.getTicket()).map(SerializationUtils::serialize).orElse(null));
+        writer.writeArrayOfInt8("content", holder.getContent());
+        writer.writeString("contentType", holder.getContentType());
+        writer.writeArrayOfString("attributes", toAttributeEntries(holder.getAttributes()));
+    }
+
+    @Override
+    public String getTypeName() {
+        return TYPE_NAME;
+    }
+
+    @Override
+    public Class<HazelcastTicketHolder> getCompactClass() {
+        return HazelcastTicketHolder.class;
+    }
+
+    private static String[] toAttributeEntries(final Map<String, ?> attributes) {
+        return attributes
+            .entrySet()
+            .stream()
+            .flatMap(entry -> CollectionUtils.toCollection(entry.getValue()).stream().map(value -> toAttributeEntry(entry.getKey(), value)))
+            .toArray(String[]::new);
+    }
+}
@@ -2,6 +2,7 @@ package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.configuration.model.support.hazelcast.HazelcastTicketRegistryProperties;
 import org.apereo.cas.monitor.Monitorable;
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
@@ -11,6 +12,7 @@ import org.apereo.cas.util.crypto.CipherExecutor;
 import org.apereo.cas.util.function.FunctionUtils;
 
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.aggregation.Aggregators;
 import com.hazelcast.map.IMap;
 import com.hazelcast.query.Predicates;
 import lombok.NonNull;
@@ -19,16 +21,15 @@ import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.DisposableBean;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 /**
  * Hazelcast-based implementation of a {@link TicketRegistry}.
@@ -36,6 +37,11 @@ import java.util.stream.StreamSupport;
  * which is an extension of the standard Java's {@code ConcurrentMap}.</p>
  * <p>The heavy lifting of distributed data partitioning, network cluster discovery and
  * join, data replication, etc. is done by Hazelcast's Map implementation.</p>
+ * <p>Session lookups and counts run on the members that own the entries through predicates
+ * and aggregations; only matching tickets or results are sent back. Ticket holders are stored
+ * using Java serialization unless compact serialization is turned on, in which case the fields
+ * of the holder are indexed and queried without deserializing the ticket. When the ticket serialization
+ * manager produces binary output, the holder carries that binary content rather than the ticket object.</p>
  *
  * @author Dmitriy Kopylenko
  * @author Jonathan Johnson
@@ -86,10 +92,15 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
                 .type(metadata.getImplementationClass().getName())
                 .principal(digestIdentifier(getPrincipalIdFrom(ticket)))
                 .timeToLive(ttl)
-                .ticket(encTicket)
                 .prefix(metadata.getPrefix())
                 .attributes(collectAndDigestTicketAttributes(ticket))
                 .build();
+            if (ticketSerializationManager.isBinaryOutputEnabled()) {
+                holder.setContent(ticketSerializationManager.serializeTicketToBytes(encTicket));
+                holder.setContentType(encTicket.getClass().getName());
+            } else {
+                holder.setTicket(encTicket);
+            }
             ticketMap.set(encTicket.getId(), holder, ttl, TimeUnit.SECONDS);
             LOGGER.debug("Added ticket [{}] with ttl [{}s]", encTicket.getId(), ttl);
         } else {
@@ -108,8 +119,8 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
             val map = getTicketMapInstanceByMetadata(metadata);
             if (map != null) {
                 val ticketHolder = map.get(encTicketId);
-                if (ticketHolder != null && ticketHolder.getTicket() != null) {
-                    val result = decodeTicket(ticketHolder.getTicket());
+                if (ticketHolder != null && (ticketHolder.getTicket() != null || ticketHolder.getContent() != null)) {
+                    val result = decodeTicketHolder(ticketHolder);
                     if (predicate != null && predicate.test(result)) {
                         return result;
                     }
@@ -150,79 +161,64 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
     public Collection<? extends Ticket> getTickets() {
         return ticketCatalog.findAll()
             .stream()
-            .map(metadata -> getTicketMapInstanceByMetadata(metadata).values())
-            .flatMap(tickets -> {
-                if (properties.getPageSize() > 0) {
-                    return tickets.stream()
-                        .limit(properties.getPageSize())
-                        .map(HazelcastTicketHolder::getTicket).toList()
-                        .stream();
-                }
-                return tickets
-                    .stream()
-                    .map(HazelcastTicketHolder::getTicket);
+            .map(metadata -> {
+                val ticketMap = getTicketMapInstanceByMetadata(metadata);
+                return properties.getPageSize() > 0
+                    ? ticketMap.values(Predicates.pagingPredicate(properties.getPageSize()))
+                    : ticketMap.values();
             })
-            .map(this::decodeTicket)
+            .flatMap(Collection::stream)
+            .map(this::decodeTicketHolder)
             .collect(Collectors.toSet());
     }
 
+    @Override
+    public long sessionCount() {
+        return countTickets(TicketGrantingTicket.PREFIX);
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return countTickets(ServiceTicket.PREFIX);
+    }
+
     @Override
     public long countSessionsFor(final String principalId) {
-        if (properties.getCore().isEnableJet()) {
-            val md = ticketCatalog.find(TicketGrantingTicket.PREFIX);
-            val sql = String.format("SELECT COUNT(*) FROM %s WHERE principal=?", md.getProperties().getStorageName());
-            LOGGER.debug("Executing SQL query [{}]", sql);
-            try (val results = hazelcastInstance.getSql().execute(sql, digestIdentifier(principalId))) {
-                return results.iterator().next().getObject(0);
-            }
-        }
-        return super.countSessionsFor(principalId);
+        val ticketMap = getTicketMapInstanceByMetadata(ticketCatalog.find(TicketGrantingTicket.PREFIX));
+        return ticketMap.aggregate(Aggregators.count(), Predicates.equal("principal", digestIdentifier(principalId)));
     }
 
     @Override
     public Stream<? extends Ticket> getSessionsWithAttributes(final Map<String, List<Object>> queryAttributes) {
-        if (properties.getCore().isEnableJet()) {
-            val md = ticketCatalog.find(TicketGrantingTicket.PREFIX);
-            val ticketMapInstance = getTicketMapInstance(md.getProperties().getStorageName());
-            val queryBuilder = new ArrayList<String>();
-            queryAttributes.forEach((key, values) -> {
-                val valuesAsString = values.stream()
-                    .map(Object::toString)
-                    .map(this::digestIdentifier)
-                    .map(singleValue -> String.format("'%s'", singleValue))
-                    .collect(Collectors.joining(","));
-                val query = String.format("attributes[%s] IN (%s)", digestIdentifier(key), valuesAsString);
-                queryBuilder.add(query);
-            });
-            val query = '(' + String.join(" OR ", queryBuilder) + ") AND "
-                        + String.format("prefix='%s'", md.getPrefix());
-            LOGGER.debug("Executing SQL query [{}]", query);
-            val results = ticketMapInstance.values(Predicates.sql(query));
-            return results.stream()
-                .map(row -> decodeTicket(row.getTicket()))
-                .filter(ticket -> !ticket.isExpired());
+        val md = ticketCatalog.find(TicketGrantingTicket.PREFIX);
+        val attributeEntries = queryAttributes
+            .entrySet()
+            .stream()
+            .flatMap(entry -> entry.getValue()
+                .stream()
+                .map(value -> HazelcastTicketHolderSerializer.toAttributeEntry(
+                    digestIdentifier(entry.getKey()), digestIdentifier(value.toString()))))
+            .toArray(String[]::new);
+        if (attributeEntries.length == 0) {
+            return Stream.empty();
         }
-        return super.getSessionsWithAttributes(queryAttributes);
+        val predicate = Predicates.and(
+            Predicates.equal("prefix", md.getPrefix()),
+            Predicates.in("attributes[any]", attributeEntries));
+        LOGGER.debug("Querying tickets via [{}]", predicate);
+        return getTicketMapInstanceByMetadata(md).values(predicate)
+            .stream()
+            .map(this::decodeTicketHolder)
+            .filter(ticket -> !ticket.isExpired());
     }
 
     @Override
     public Stream<? extends Ticket> getSessionsFor(final String principalId) {
-        if (properties.getCore().isEnableJet()) {
-            val md = ticketCatalog.find(TicketGrantingTicket.PREFIX);
-            val sql = String.format("SELECT * FROM %s WHERE principal=?", md.getProperties().getStorageName());
-            LOGGER.debug("Executing SQL query [{}]", sql);
-            try (val results = hazelcastInstance.getSql().execute(sql, digestIdentifier(principalId))) {
-                return StreamSupport.stream(results.spliterator(), false)
-                    .map(row -> {
-                        val ticket = (Ticket) row.getObject("ticket");
-                        return decodeTicket(ticket);
-                    })
-                    .filter(ticket -> !ticket.isExpired())
-                    .toList()
-                    .stream();
-            }
-        }
-        return super.getSessionsFor(principalId);
+        val ticketMap = getTicketMapInstanceByMetadata(ticketCatalog.find(TicketGrantingTicket.PREFIX));
+        return ticketMap.values(Predicates.equal("principal", digestIdentifier(principalId)))
+            .stream()
+            .map(this::decodeTicketHolder)
+            .filter(ticket -> !ticket.isExpired());
     }
 
     /**
@@ -245,6 +241,21 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
         shutdown();
     }
 
+    private Ticket decodeTicketHolder(final HazelcastTicketHolder holder) {
+        val ticket = holder.getContent() != null
+            ? ticketSerializationManager.deserializeTicketFromBytes(holder.getContent(), holder.getContentType())
+            : holder.getTicket();
+        return decodeTicket(ticket);
+    }
+
+    private long countTickets(final String prefix) {
+        return Optional.ofNullable(ticketCatalog.find(prefix))
+            .map(this::getTicketMapInstanceByMetadata)
+            .map(IMap::size)
+            .orElse(0)
+            .longValue();
+    }
+
     private IMap<String, HazelcastTicketHolder> getTicketMapInstanceByMetadata(final TicketDefinition metadata) {
         val mapName = metadata.getProperties().getStorageName();
         LOGGER.debug("Locating map name [{}] for ticket definition [{}]", mapName, metadata);
@@ -5,8 +5,13 @@ import com.hazelcast.query.extractor.ValueExtractor;
 import com.hazelcast.query.impl.getters.MultiResult;
 import lombok.val;
 
+import java.util.ArrayList;
+
 /**
- * This is {@link MapAttributeValueExtractor}.
+ * This is {@link MapAttributeValueExtractor}, which collects the attributes of ticket holders
+ * that are stored using Java serialization as {@code name=value} entries, the same way
+ * {@link HazelcastTicketHolderSerializer} writes them in compact form, so that
+ * attribute queries via {@code attributes[any]} work with both formats.
  *
  * @author Misagh Moayyed
  * @since 7.0.0
@@ -15,12 +20,12 @@ public class MapAttributeValueExtractor implements ValueExtractor<HazelcastTicke
 
     @Override
     public void extract(final HazelcastTicketHolder ticketHolder,
-                        final String attributeName,
+                        final String argument,
                         final ValueCollector valueCollector) {
-        val values = ticketHolder.getAttributes().get(attributeName);
-        if (values != null) {
-            valueCollector.addObject(new MultiResult<>(values));
-        }
+        val entries = new ArrayList<String>();
+        ticketHolder.getAttributes().forEach((name, values) ->
+            values.forEach(value -> entries.add(HazelcastTicketHolderSerializer.toAttributeEntry(name, value))));
+        valueCollector.addObject(new MultiResult<>(entries));
     }
 
 }
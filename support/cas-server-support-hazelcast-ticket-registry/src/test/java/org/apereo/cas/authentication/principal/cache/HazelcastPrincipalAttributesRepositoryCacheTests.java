@@ -0,0 +1,123 @@
+package org.apereo.cas.authentication.principal.cache;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import lombok.val;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link HazelcastPrincipalAttributesRepositoryCacheTests}.
+ * Each cache instance stands in for a CAS node; nodes only share the distributed map and its locks.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("Hazelcast")
+class HazelcastPrincipalAttributesRepositoryCacheTests {
+    private static HazelcastInstance HAZELCAST_INSTANCE;
+
+    @BeforeAll
+    public static void startup() {
+        val config = new Config();
+        config.setClusterName(UUID.randomUUID().toString());
+        config.setInstanceName(UUID.randomUUID().toString());
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        HAZELCAST_INSTANCE = Hazelcast.newHazelcastInstance(config);
+    }
+
+    @AfterAll
+    public static void shutdown() {
+        HAZELCAST_INSTANCE.shutdown();
+    }
+
+    private static HazelcastPrincipalAttributesRepositoryCache newCache() {
+        return new HazelcastPrincipalAttributesRepositoryCache(HAZELCAST_INSTANCE, Duration.ofSeconds(5), Duration.ofSeconds(30));
+    }
+
+    @Test
+    void verifyPutAndFetch() {
+        try (val cache = newCache()) {
+            val service = CoreAuthenticationTestUtils.getRegisteredService();
+            val principal = CoreAuthenticationTestUtils.getPrincipal(UUID.randomUUID().toString());
+            val repository = new CachingPrincipalAttributesRepository(TimeUnit.SECONDS.name(), 30);
+            assertTrue(cache.fetchAttributes(service, repository, principal).isEmpty());
+
+            cache.putAttributes(service, repository, principal.getId(), Map.of("memberOf", List.of("admins", "staff")));
+            assertEquals(List.of("admins", "staff"), newCache().fetchAttributes(service, repository, principal).get("MEMBEROF"));
+
+            cache.invalidate();
+            assertTrue(cache.fetchAttributes(service, repository, principal).isEmpty());
+        }
+    }
+
+    @Test
+    void verifyLoadsAreCoalescedAcrossNodes() throws Exception {
+        val nodes = List.of(newCache(), newCache());
+        val service = CoreAuthenticationTestUtils.getRegisteredService();
+        val principal = CoreAuthenticationTestUtils.getPrincipal(UUID.randomUUID().toString());
+        val repository = new CachingPrincipalAttributesRepository(TimeUnit.SECONDS.name(), 30);
+
+        val loads = new AtomicInteger();
+        val start = new CountDownLatch(1);
+        val executor = Executors.newFixedThreadPool(8);
+        try {
+            val results = new ArrayList<Future<Map<String, List<Object>>>>();
+            for (var i = 0; i < 8; i++) {
+                val cache = nodes.get(i % nodes.size());
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.fetchAttributes(service, repository, principal, () -> {
+                        loads.incrementAndGet();
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(300));
+                        val attributes = Map.<String, List<Object>>of("uid", List.of("casuser"));
+                        cache.putAttributes(service, repository, principal.getId(), attributes);
+                        return attributes;
+                    });
+                }));
+            }
+            start.countDown();
+            for (val result : results) {
+                assertEquals(List.of("casuser"), result.get(10, TimeUnit.SECONDS).get("uid"));
+            }
+        } finally {
+            executor.shutdownNow();
+            nodes.get(0).invalidate();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void verifyExpiredLockLeaseIsTolerated() {
+        val cache = new HazelcastPrincipalAttributesRepositoryCache(HAZELCAST_INSTANCE, Duration.ofSeconds(5), Duration.ofMillis(100));
+        val service = CoreAuthenticationTestUtils.getRegisteredService();
+        val principal = CoreAuthenticationTestUtils.getPrincipal(UUID.randomUUID().toString());
+        val repository = new CachingPrincipalAttributesRepository(TimeUnit.SECONDS.name(), 30);
+        val attributes = assertDoesNotThrow(() -> cache.fetchAttributes(service, repository, principal, () -> {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(300));
+            return Map.<String, List<Object>>of("uid", List.of("casuser"));
+        }));
+        assertEquals(List.of("casuser"), attributes.get("uid"));
+        val key = AbstractPrincipalAttributesRepositoryCache.buildPrincipalCacheKey(service, principal.getId());
+        assertFalse(cache.getCache().isLocked(key));
+    }
+}
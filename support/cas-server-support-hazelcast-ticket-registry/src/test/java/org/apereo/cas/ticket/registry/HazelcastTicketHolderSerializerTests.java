@@ -0,0 +1,98 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.query.Predicates;
+import lombok.val;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link HazelcastTicketHolderSerializerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("Hazelcast")
+class HazelcastTicketHolderSerializerTests {
+    private static HazelcastInstance HAZELCAST_INSTANCE;
+
+    @BeforeAll
+    public static void startup() {
+        val config = new Config();
+        config.setClusterName(UUID.randomUUID().toString());
+        config.setInstanceName(UUID.randomUUID().toString());
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getSerializationConfig().getCompactSerializationConfig().addSerializer(new HazelcastTicketHolderSerializer());
+        HAZELCAST_INSTANCE = Hazelcast.newHazelcastInstance(config);
+    }
+
+    @AfterAll
+    public static void shutdown() {
+        HAZELCAST_INSTANCE.shutdown();
+    }
+
+    @Test
+    void verifyRoundTrip() {
+        val ticket = new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-1-" + UUID.randomUUID(),
+            CoreAuthenticationTestUtils.getAuthentication("casuser"), NeverExpiresExpirationPolicy.INSTANCE);
+        val holder = HazelcastTicketHolder.builder()
+            .id(ticket.getId())
+            .type(ticket.getClass().getName())
+            .principal("casuser")
+            .prefix(TicketGrantingTicket.PREFIX)
+            .timeToLive(300)
+            .ticket(ticket)
+            .attributes(Map.of("color", List.of("red", "blue"), "name", List.of("cas=user")))
+            .build();
+        val map = HAZELCAST_INSTANCE.<String, HazelcastTicketHolder>getMap(UUID.randomUUID().toString());
+        map.set(holder.getId(), holder);
+
+        val result = map.get(holder.getId());
+        assertNotSame(holder, result);
+        assertEquals(holder.getId(), result.getId());
+        assertEquals(holder.getType(), result.getType());
+        assertEquals(holder.getPrincipal(), result.getPrincipal());
+        assertEquals(holder.getPrefix(), result.getPrefix());
+        assertEquals(holder.getTimeToLive(), result.getTimeToLive());
+        assertEquals(ticket, result.getTicket());
+        assertEquals(Map.of("color", List.of("red", "blue"), "name", List.of("cas=user")), result.getAttributes());
+    }
+
+    @Test
+    void verifyFieldsAreQueryable() {
+        val ticket = new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-1-" + UUID.randomUUID(),
+            CoreAuthenticationTestUtils.getAuthentication("casuser"), NeverExpiresExpirationPolicy.INSTANCE);
+        val holder = HazelcastTicketHolder.builder()
+            .id(ticket.getId())
+            .type(ticket.getClass().getName())
+            .principal("casuser")
+            .prefix(TicketGrantingTicket.PREFIX)
+            .timeToLive(300)
+            .ticket(ticket)
+            .attributes(Map.of("color", List.of("red")))
+            .build();
+        val map = HAZELCAST_INSTANCE.<String, HazelcastTicketHolder>getMap(UUID.randomUUID().toString());
+        map.set(holder.getId(), holder);
+
+        assertEquals(1, map.keySet(Predicates.equal("principal", "casuser")).size());
+        assertEquals(1, map.keySet(Predicates.equal("attributes[any]",
+            HazelcastTicketHolderSerializer.toAttributeEntry("color", "red"))).size());
+        assertTrue(map.keySet(Predicates.equal("attributes[any]",
+            HazelcastTicketHolderSerializer.toAttributeEntry("color", "blue"))).isEmpty());
+    }
+}
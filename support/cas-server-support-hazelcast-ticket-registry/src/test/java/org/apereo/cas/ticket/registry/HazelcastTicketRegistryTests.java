@@ -56,6 +56,26 @@ class HazelcastTicketRegistryTests {
         private TicketRegistry newTicketRegistry;
     }
 
+    @Nested
+    @SuppressWarnings("ClassCanBeStatic")
+    @Getter
+    @Import({
+        HazelcastTicketRegistryConfiguration.class,
+        HazelcastTicketRegistryTicketCatalogConfiguration.class,
+        BaseTicketRegistryTests.SharedTestConfiguration.class
+    })
+    @TestPropertySource(
+        properties = {
+            "cas.ticket.registry.hazelcast.compact-serialization=true",
+            "cas.ticket.registry.hazelcast.cluster.network.port-auto-increment=false",
+            "cas.ticket.registry.hazelcast.cluster.network.port=5709",
+            "cas.ticket.registry.hazelcast.cluster.core.instance-name=testcompactinstance"
+        })
+    class CompactSerializationTests extends BaseTicketRegistryTests {
+        @Autowired
+        @Qualifier(TicketRegistry.BEAN_NAME)
+        private TicketRegistry newTicketRegistry;
+    }
 
     @Nested
     @SuppressWarnings("ClassCanBeStatic")
@@ -5,10 +5,13 @@ import org.apereo.cas.authentication.principal.PrincipalFactory;
 import org.apereo.cas.services.ServicesManager;
 
 import lombok.Getter;
+import lombok.Setter;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 
 import javax.sql.DataSource;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Abstract class for database authentication handlers.
@@ -25,6 +28,12 @@ public abstract class AbstractJdbcUsernamePasswordAuthenticationHandler extends
 
     private final DataSource dataSource;
 
+    /**
+     * Cache of successfully verified credentials, if any.
+     */
+    @Setter
+    private JdbcVerifiedCredentialCache verifiedCredentialCache;
+
     protected AbstractJdbcUsernamePasswordAuthenticationHandler(final String name, final ServicesManager servicesManager,
                                                                 final PrincipalFactory principalFactory,
                                                                 final Integer order, final DataSource dataSource) {
@@ -33,4 +42,42 @@ public abstract class AbstractJdbcUsernamePasswordAuthenticationHandler extends
         this.jdbcTemplate = new JdbcTemplate(dataSource);
         this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(this.jdbcTemplate);
     }
+
+    /**
+     * Gets the account that was looked up before for the username, if the same password was verified
+     * against it recently. Handlers that find the account here skip the database query
+     * and the password verification, and evaluate the state of the account as usual.
+     *
+     * @param username the username
+     * @param password the password
+     * @return the account, if any
+     */
+    protected Optional<Map<String, Object>> getVerifiedAccount(final String username, final String password) {
+        return verifiedCredentialCache != null ? verifiedCredentialCache.get(username, password) : Optional.empty();
+    }
+
+    /**
+     * Remember the account for a username whose password is verified, as long as verifying
+     * the password is expensive enough to be worth skipping. Handlers whose comparison is
+     * cheaper than the digest kept by the cache never remember accounts.
+     *
+     * @param username the username
+     * @param password the password
+     * @param account  the account
+     */
+    protected void rememberVerifiedAccount(final String username, final String password, final Map<String, Object> account) {
+        if (verifiedCredentialCache != null && isPasswordVerificationExpensive(account)) {
+            verifiedCredentialCache.put(username, password, account);
+        }
+    }
+
+    /**
+     * Whether verifying the password against the given account is expensive.
+     *
+     * @param account the account
+     * @return true if expensive
+     */
+    protected boolean isPasswordVerificationExpensive(final Map<String, Object> account) {
+        return false;
+    }
 }
@@ -8,9 +8,11 @@ import org.apereo.cas.authentication.support.password.PasswordEncoderUtils;
 import org.apereo.cas.authentication.support.password.PasswordPolicyContext;
 import org.apereo.cas.configuration.model.support.jdbc.authn.BaseJdbcAuthenticationProperties;
 import org.apereo.cas.configuration.model.support.jdbc.authn.BindJdbcAuthenticationProperties;
+import org.apereo.cas.configuration.model.support.jdbc.authn.JdbcCredentialCacheProperties;
 import org.apereo.cas.configuration.model.support.jdbc.authn.QueryEncodeJdbcAuthenticationProperties;
 import org.apereo.cas.configuration.model.support.jdbc.authn.QueryJdbcAuthenticationProperties;
 import org.apereo.cas.configuration.model.support.jdbc.authn.SearchJdbcAuthenticationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.configuration.support.JpaBeans;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.util.CollectionUtils;
@@ -53,6 +55,21 @@ public class JdbcAuthenticationUtils {
         LOGGER.trace("Configured authentication handler [{}] to handle database url at [{}]", handler.getName(), properties.getName());
     }
 
+    /**
+     * Configure the cache of verified accounts for a JDBC authentication handler, if enabled.
+     *
+     * @param handler    the authn handler
+     * @param properties the cache properties
+     */
+    public static void configureVerifiedCredentialCache(final AbstractJdbcUsernamePasswordAuthenticationHandler handler,
+                                                        final JdbcCredentialCacheProperties properties) {
+        if (properties.isEnabled()) {
+            LOGGER.debug("Caching verified accounts for authentication handler [{}]", handler.getName());
+            handler.setVerifiedCredentialCache(new JdbcVerifiedCredentialCache(handler.getName(),
+                Beans.newDuration(properties.getExpiration()), properties.getMaximumSize()));
+        }
+    }
+
     /**
      * New authentication handler.
      *
@@ -92,6 +109,7 @@ public class JdbcAuthenticationUtils {
         val handler = new QueryAndEncodeDatabaseAuthenticationHandler(properties, servicesManager,
             jdbcPrincipalFactory, JpaBeans.newDataSource(properties));
         configureJdbcAuthenticationHandler(handler, queryAndEncodePasswordPolicyConfiguration, properties, applicationContext);
+        configureVerifiedCredentialCache(handler, properties.getCredentialCache());
         return handler;
     }
 
@@ -115,6 +133,7 @@ public class JdbcAuthenticationUtils {
         val handler = new QueryDatabaseAuthenticationHandler(properties, servicesManager, jdbcPrincipalFactory,
             JpaBeans.newDataSource(properties), CollectionUtils.wrap(attributes));
         configureJdbcAuthenticationHandler(handler, queryPasswordPolicyConfiguration, properties, applicationContext);
+        configureVerifiedCredentialCache(handler, properties.getCredentialCache());
         return handler;
     }
 
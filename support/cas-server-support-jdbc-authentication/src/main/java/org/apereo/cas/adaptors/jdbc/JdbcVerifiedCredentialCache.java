@@ -0,0 +1,142 @@
+package org.apereo.cas.adaptors.jdbc;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This is {@link JdbcVerifiedCredentialCache}, which remembers for a short period of time the account that was looked up
+ * for a user whose password was successfully verified, such that a burst of login attempts by the same user
+ * neither repeats the database query nor the (possibly expensive) password verification. The account is remembered
+ * as it was returned by the database, so that authentication handlers can still evaluate its state and collect its attributes.
+ * Passwords are never kept as they are; each entry holds a salted Argon2 digest of the password,
+ * which is a memory-hard function, so that the contents of the cache are of little use to an attacker
+ * who manages to obtain them. A password that does not match the cached digest is not rejected; the entry is removed
+ * and the password is verified as usual, so that repeated attempts with a wrong password do not pay for the digest again.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@Getter
+public class JdbcVerifiedCredentialCache implements MeterBinder {
+    private static final int SALT_LENGTH = 16;
+
+    private static final int HASH_LENGTH = 32;
+
+    private static final int PARALLELISM = 1;
+
+    private static final int MEMORY_IN_KB = 4096;
+
+    private static final int ITERATIONS = 2;
+
+    private final Cache<String, VerifiedAccount> cache;
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final String name;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    public JdbcVerifiedCredentialCache(final String name, final Duration expiration, final long maximumSize) {
+        this.name = name;
+        this.cache = Caffeine.newBuilder()
+            .expireAfterWrite(expiration)
+            .maximumSize(maximumSize)
+            .build();
+        this.passwordEncoder = new Argon2PasswordEncoder(SALT_LENGTH, HASH_LENGTH, PARALLELISM, MEMORY_IN_KB, ITERATIONS);
+    }
+
+    /**
+     * Gets the account that was remembered for the username, if the password was verified before.
+     * An entry whose digest does not match the password is removed.
+     *
+     * @param username the username
+     * @param password the password
+     * @return the account as it was returned by the database, if any
+     */
+    public Optional<Map<String, Object>> get(final String username, final String password) {
+        val verifiedAccount = cache.getIfPresent(username);
+        if (verifiedAccount != null) {
+            if (passwordEncoder.matches(toDigestSource(password), verifiedAccount.digest())) {
+                LOGGER.debug("Password for [{}] was verified before by [{}]", username, name);
+                hits.increment();
+                return Optional.of(verifiedAccount.account());
+            }
+            cache.asMap().remove(username, verifiedAccount);
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Remember the account for a username whose password is verified.
+     *
+     * @param username the username
+     * @param password the password
+     * @param account  the account as it was returned by the database
+     */
+    public void put(final String username, final String password, final Map<String, Object> account) {
+        cache.put(username, new VerifiedAccount(passwordEncoder.encode(toDigestSource(password)), Collections.unmodifiableMap(account)));
+    }
+
+    /**
+     * Forget the verified credential for the username.
+     *
+     * @param username the username
+     */
+    public void invalidate(final String username) {
+        LOGGER.debug("Removing verified credential for [{}] from [{}]", username, name);
+        cache.invalidate(username);
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder("cas.jdbc.authentication.credential.cache.hits", hits, LongAdder::sum)
+            .description("Number of accounts found in the credential cache")
+            .tag("handler", name)
+            .register(registry);
+        FunctionCounter.builder("cas.jdbc.authentication.credential.cache.misses", misses, LongAdder::sum)
+            .description("Number of accounts that had to be looked up in the database")
+            .tag("handler", name)
+            .register(registry);
+        Gauge.builder("cas.jdbc.authentication.credential.cache.hit.ratio", this, JdbcVerifiedCredentialCache::getHitRatio)
+            .description("Ratio of accounts found in the credential cache")
+            .tag("handler", name)
+            .register(registry);
+    }
+
+    /**
+     * Gets the ratio of accounts found in the cache.
+     *
+     * @return the hit ratio
+     */
+    public double getHitRatio() {
+        val hitCount = hits.sum();
+        val total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    private static String toDigestSource(final String password) {
+        return password.length() + ":" + password;
+    }
+
+    private record VerifiedAccount(String digest, Map<String, Object> account) {
+    }
+}
@@ -0,0 +1,42 @@
+package org.apereo.cas.adaptors.jdbc;
+
+import org.apereo.cas.authentication.AuthenticationHandler;
+import org.apereo.cas.support.events.authentication.CasPasswordChangeSuccessfulEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * This is {@link JdbcVerifiedCredentialCacheEventListener}, which removes verified accounts
+ * from the caches of JDBC authentication handlers once the password for the account has changed.
+ * Events are only seen by the CAS node that changed the password; other nodes rely on the entry expiring.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class JdbcVerifiedCredentialCacheEventListener {
+    private final Collection<AuthenticationHandler> authenticationHandlers;
+
+    /**
+     * Handle password change event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handlePasswordChangeEvent(final CasPasswordChangeSuccessfulEvent event) {
+        LOGGER.trace("Password has changed for [{}]; removing verified accounts", event.getUsername());
+        authenticationHandlers
+            .stream()
+            .filter(AbstractJdbcUsernamePasswordAuthenticationHandler.class::isInstance)
+            .map(AbstractJdbcUsernamePasswordAuthenticationHandler.class::cast)
+            .map(AbstractJdbcUsernamePasswordAuthenticationHandler::getVerifiedCredentialCache)
+            .filter(Objects::nonNull)
+            .forEach(cache -> cache.invalidate(event.getUsername()));
+    }
+}
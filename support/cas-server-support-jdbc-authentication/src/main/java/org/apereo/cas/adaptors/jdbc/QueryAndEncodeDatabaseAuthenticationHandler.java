@@ -69,11 +69,14 @@ public class QueryAndEncodeDatabaseAuthenticationHandler extends AbstractJdbcUse
 
         val username = transformedCredential.getUsername();
         try {
-            val values = performSqlQuery(username);
-            val digestedPassword = digestEncodedPassword(transformedCredential.toPassword(), values);
-
-            if (!values.get(properties.getPasswordFieldName()).equals(digestedPassword)) {
-                throw new FailedLoginException("Password does not match value on record.");
+            val verifiedAccount = getVerifiedAccount(username, transformedCredential.toPassword());
+            val values = verifiedAccount.orElseGet(() -> performSqlQuery(username));
+            if (verifiedAccount.isEmpty()) {
+                val digestedPassword = digestEncodedPassword(transformedCredential.toPassword(), values);
+                if (!values.get(properties.getPasswordFieldName()).equals(digestedPassword)) {
+                    throw new FailedLoginException("Password does not match value on record.");
+                }
+                rememberVerifiedAccount(username, transformedCredential.toPassword(), values);
             }
             if (StringUtils.isNotBlank(properties.getExpiredFieldName()) && values.containsKey(properties.getExpiredFieldName())) {
                 val dbExpired = values.get(properties.getExpiredFieldName()).toString();
@@ -99,6 +102,11 @@ public class QueryAndEncodeDatabaseAuthenticationHandler extends AbstractJdbcUse
         }
     }
 
+    @Override
+    protected boolean isPasswordVerificationExpensive(final Map<String, Object> account) {
+        return getNumberOfIterations(account) > 1;
+    }
+
     protected Map<String, Object> performSqlQuery(final String username) {
         return getJdbcTemplate().queryForMap(properties.getSql(), username);
     }
@@ -117,12 +125,7 @@ public class QueryAndEncodeDatabaseAuthenticationHandler extends AbstractJdbcUse
         }
         hashService.setHashAlgorithmName(properties.getAlgorithmName());
 
-        if (values.containsKey(properties.getNumberOfIterationsFieldName())) {
-            val longAsStr = values.get(properties.getNumberOfIterationsFieldName()).toString();
-            hashService.setHashIterations(Integer.parseInt(longAsStr));
-        } else {
-            hashService.setHashIterations(properties.getNumberOfIterations());
-        }
+        hashService.setHashIterations(getNumberOfIterations(values));
 
         if (!values.containsKey(properties.getSaltFieldName())) {
             throw new IllegalArgumentException("Specified field name for salt does not exist in the results");
@@ -135,4 +138,12 @@ public class QueryAndEncodeDatabaseAuthenticationHandler extends AbstractJdbcUse
             .build();
         return hashService.computeHash(request).toHex();
     }
+
+    private int getNumberOfIterations(final Map<String, Object> values) {
+        if (values.containsKey(properties.getNumberOfIterationsFieldName())) {
+            val longAsStr = values.get(properties.getNumberOfIterationsFieldName()).toString();
+            return Integer.parseInt(longAsStr);
+        }
+        return properties.getNumberOfIterations();
+    }
 }
@@ -19,6 +19,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
 
 import javax.security.auth.login.AccountNotFoundException;
 import javax.security.auth.login.FailedLoginException;
@@ -74,31 +75,12 @@ public class QueryDatabaseAuthenticationHandler extends AbstractJdbcUsernamePass
         val username = credential.getUsername();
         val password = credential.toPassword();
         try {
-            val dbFields = query(credential);
-            if (dbFields.containsKey(properties.getFieldPassword())) {
-                val dbPassword = (String) dbFields.get(properties.getFieldPassword());
-
-                val originalPasswordMatchFails = StringUtils.isNotBlank(originalPassword) && !matches(originalPassword, dbPassword);
-                val originalPasswordEquals = StringUtils.isBlank(originalPassword) && !StringUtils.equals(password, dbPassword);
-                if (originalPasswordMatchFails || originalPasswordEquals) {
-                    throw new FailedLoginException("Password does not match value on record.");
-                }
-            } else {
-                LOGGER.debug("Password field is not found in the query results. Checking for result count...");
-                if (!dbFields.containsKey("total")) {
-                    throw new FailedLoginException("Missing field 'total' from the query results for " + username);
-                }
-
-                val count = dbFields.get("total");
-                if (count == null || !NumberUtils.isCreatable(count.toString())) {
-                    throw new FailedLoginException("Missing field value 'total' from the query results for "
-                                                   + username + " or value not parseable as a number");
-                }
-
-                val number = NumberUtils.createNumber(count.toString());
-                if (number.longValue() != 1) {
-                    throw new FailedLoginException("No records found for user " + username);
-                }
+            val givenPassword = StringUtils.defaultIfBlank(originalPassword, password);
+            val verifiedAccount = getVerifiedAccount(username, givenPassword);
+            val dbFields = verifiedAccount.orElseGet(() -> query(credential));
+            if (verifiedAccount.isEmpty()) {
+                verifyAccount(username, password, originalPassword, dbFields);
+                rememberVerifiedAccount(username, givenPassword, dbFields);
             }
 
             if (StringUtils.isNotBlank(properties.getFieldDisabled()) && dbFields.containsKey(properties.getFieldDisabled())) {
@@ -126,6 +108,38 @@ public class QueryDatabaseAuthenticationHandler extends AbstractJdbcUsernamePass
         return createHandlerResult(credential, principal, new ArrayList<>(0));
     }
 
+    @Override
+    protected boolean isPasswordVerificationExpensive(final Map<String, Object> account) {
+        return account.containsKey(properties.getFieldPassword()) && !(getPasswordEncoder() instanceof NoOpPasswordEncoder);
+    }
+
+    private void verifyAccount(final String username, final String password, final String originalPassword,
+                               final Map<String, Object> dbFields) throws FailedLoginException {
+        if (dbFields.containsKey(properties.getFieldPassword())) {
+            val dbPassword = (String) dbFields.get(properties.getFieldPassword());
+            val passwordMatches = StringUtils.isNotBlank(originalPassword) ? matches(originalPassword, dbPassword) : StringUtils.equals(password, dbPassword);
+            if (!passwordMatches) {
+                throw new FailedLoginException("Password does not match value on record.");
+            }
+        } else {
+            LOGGER.debug("Password field is not found in the query results. Checking for result count...");
+            if (!dbFields.containsKey("total")) {
+                throw new FailedLoginException("Missing field 'total' from the query results for " + username);
+            }
+
+            val count = dbFields.get("total");
+            if (count == null || !NumberUtils.isCreatable(count.toString())) {
+                throw new FailedLoginException("Missing field value 'total' from the query results for "
+                                               + username + " or value not parseable as a number");
+            }
+
+            val number = NumberUtils.createNumber(count.toString());
+            if (number.longValue() != 1) {
+                throw new FailedLoginException("No records found for user " + username);
+            }
+        }
+    }
+
     private Map<String, Object> query(final UsernamePasswordCredential credential) {
         if (properties.getSql().contains("?")) {
             return getJdbcTemplate().queryForMap(properties.getSql(), credential.getUsername());
@@ -9,6 +9,7 @@ import org.apereo.cas.authentication.principal.PrincipalFactoryUtils;
 import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.configuration.model.support.jdbc.authn.QueryJdbcAuthenticationProperties;
 import org.apereo.cas.jpa.JpaPersistenceProviderContext;
+import org.apereo.cas.support.events.authentication.CasPasswordChangeSuccessfulEvent;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.RandomUtils;
 
@@ -62,6 +63,13 @@ class QueryDatabaseAuthenticationHandlerTests extends BaseDatabaseAuthentication
             "user" + i, "psw" + i, expired, disabled, "123456789");
     }
 
+    private void updatePassword(final String username, final String password) throws Exception {
+        try (val c = this.dataSource.getConnection(); val s = c.createStatement()) {
+            c.setAutoCommit(true);
+            s.execute(String.format("update casusers set password='%s' where username='%s';", password, username));
+        }
+    }
+
     @BeforeEach
     public void initialize() throws Exception {
         try (val c = this.dataSource.getConnection()) {
@@ -140,6 +148,73 @@ class QueryDatabaseAuthenticationHandlerTests extends BaseDatabaseAuthentication
         assertTrue(result.getPrincipal().getAttributes().containsKey("phoneNumber"));
     }
 
+    @Test
+    void verifySuccessWithVerifiedCredentialCache() throws Exception {
+        val encoder = new BCryptPasswordEncoder(4, RandomUtils.getNativeInstance());
+        updatePassword("user3", encoder.encode("psw3"));
+        val map = CoreAuthenticationUtils.transformPrincipalAttributesListIntoMultiMap(List.of("phone:phoneNumber"));
+        val properties = new QueryJdbcAuthenticationProperties().setSql(SQL).setFieldPassword(PASSWORD_FIELD).setFieldDisabled("disabled");
+        properties.getCredentialCache().setEnabled(true);
+        val q = new QueryDatabaseAuthenticationHandler(properties, null, PrincipalFactoryUtils.newPrincipalFactory(),
+            this.dataSource, CollectionUtils.wrap(map));
+        q.setPasswordEncoder(encoder);
+        JdbcAuthenticationUtils.configureVerifiedCredentialCache(q, properties.getCredentialCache());
+        val cache = q.getVerifiedCredentialCache();
+        assertNotNull(cache);
+
+        val credential = CoreAuthenticationTestUtils.getCredentialsWithDifferentUsernameAndPassword("user3", "psw3");
+        assertNotNull(q.authenticate(credential, mock(Service.class)));
+        val result = q.authenticate(credential, mock(Service.class));
+        assertEquals("user3", result.getPrincipal().getId());
+        assertTrue(result.getPrincipal().getAttributes().containsKey("phoneNumber"));
+        assertEquals(1, cache.getHits().sum());
+
+        assertThrows(FailedLoginException.class, () -> q.authenticate(
+            CoreAuthenticationTestUtils.getCredentialsWithDifferentUsernameAndPassword("user3", "psw4"), mock(Service.class)));
+        assertNotNull(q.authenticate(credential, mock(Service.class)));
+        assertEquals(1, cache.getHits().sum());
+
+        afterEachTest();
+        assertNotNull(q.authenticate(credential, mock(Service.class)));
+        assertEquals(2, cache.getHits().sum());
+        new JdbcVerifiedCredentialCacheEventListener(List.of(q))
+            .handlePasswordChangeEvent(new CasPasswordChangeSuccessfulEvent(this, "user3", null));
+        assertThrows(AccountNotFoundException.class, () -> q.authenticate(credential, mock(Service.class)));
+    }
+
+    @Test
+    void verifyVerifiedCredentialCacheEvaluatesAccountState() throws Exception {
+        val encoder = new BCryptPasswordEncoder(4, RandomUtils.getNativeInstance());
+        updatePassword("user21", encoder.encode("psw21"));
+        val properties = new QueryJdbcAuthenticationProperties().setSql(SQL).setFieldPassword(PASSWORD_FIELD).setFieldDisabled("disabled");
+        properties.getCredentialCache().setEnabled(true);
+        val q = new QueryDatabaseAuthenticationHandler(properties, null, PrincipalFactoryUtils.newPrincipalFactory(),
+            this.dataSource, new HashMap<>(0));
+        q.setPasswordEncoder(encoder);
+        JdbcAuthenticationUtils.configureVerifiedCredentialCache(q, properties.getCredentialCache());
+
+        val credential = CoreAuthenticationTestUtils.getCredentialsWithDifferentUsernameAndPassword("user21", "psw21");
+        assertThrows(AccountDisabledException.class, () -> q.authenticate(credential, mock(Service.class)));
+        assertThrows(AccountDisabledException.class, () -> q.authenticate(credential, mock(Service.class)));
+        assertEquals(1, q.getVerifiedCredentialCache().getHits().sum());
+    }
+
+    @Test
+    void verifyVerifiedCredentialCacheIsBypassedForPlainPasswords() throws Exception {
+        val properties = new QueryJdbcAuthenticationProperties().setSql(SQL).setFieldPassword(PASSWORD_FIELD);
+        properties.getCredentialCache().setEnabled(true);
+        val q = new QueryDatabaseAuthenticationHandler(properties, null, PrincipalFactoryUtils.newPrincipalFactory(),
+            this.dataSource, new HashMap<>(0));
+        JdbcAuthenticationUtils.configureVerifiedCredentialCache(q, properties.getCredentialCache());
+
+        val credential = CoreAuthenticationTestUtils.getCredentialsWithDifferentUsernameAndPassword("user4", "psw4");
+        assertNotNull(q.authenticate(credential, mock(Service.class)));
+        assertNotNull(q.authenticate(credential, mock(Service.class)));
+        assertEquals(0, q.getVerifiedCredentialCache().getHits().sum());
+        afterEachTest();
+        assertThrows(AccountNotFoundException.class, () -> q.authenticate(credential, mock(Service.class)));
+    }
+
     @Test
     void verifyFindUserAndExpired() {
         val properties = new QueryJdbcAuthenticationProperties().setSql(SQL).setFieldPassword(PASSWORD_FIELD).setFieldExpired("expired");
@@ -1,6 +1,8 @@
 package org.apereo.cas.config;
 
+import org.apereo.cas.adaptors.jdbc.AbstractJdbcUsernamePasswordAuthenticationHandler;
 import org.apereo.cas.adaptors.jdbc.JdbcAuthenticationUtils;
+import org.apereo.cas.adaptors.jdbc.JdbcVerifiedCredentialCacheEventListener;
 import org.apereo.cas.authentication.AuthenticationEventExecutionPlanConfigurer;
 import org.apereo.cas.authentication.AuthenticationHandler;
 import org.apereo.cas.authentication.principal.PrincipalFactory;
@@ -12,8 +14,10 @@ import org.apereo.cas.configuration.features.CasFeatureModule;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeatureEnabled;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -25,6 +29,7 @@ import org.springframework.context.annotation.ScopedProxyMode;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Objects;
 
 /**
  * This is {@link CasJdbcAuthenticationConfiguration}.
@@ -131,6 +136,21 @@ public class CasJdbcAuthenticationConfiguration {
         return handlers;
     }
 
+    @ConditionalOnMissingBean(name = "jdbcVerifiedCredentialCacheEventListener")
+    @Bean
+    @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+    public JdbcVerifiedCredentialCacheEventListener jdbcVerifiedCredentialCacheEventListener(
+        @Qualifier("jdbcAuthenticationHandlers") final Collection<AuthenticationHandler> jdbcAuthenticationHandlers,
+        final ObjectProvider<MeterRegistry> meterRegistry) {
+        jdbcAuthenticationHandlers
+            .stream()
+            .filter(AbstractJdbcUsernamePasswordAuthenticationHandler.class::isInstance)
+            .map(handler -> ((AbstractJdbcUsernamePasswordAuthenticationHandler) handler).getVerifiedCredentialCache())
+            .filter(Objects::nonNull)
+            .forEach(cache -> meterRegistry.ifAvailable(cache::bindTo));
+        return new JdbcVerifiedCredentialCacheEventListener(jdbcAuthenticationHandlers);
+    }
+
     @ConditionalOnMissingBean(name = "jdbcPrincipalFactory")
     @Bean
     @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
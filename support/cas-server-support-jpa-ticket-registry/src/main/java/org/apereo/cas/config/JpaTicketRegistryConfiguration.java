@@ -6,10 +6,19 @@ import org.apereo.cas.configuration.model.support.jpa.JpaConfigurationContext;
 import org.apereo.cas.configuration.support.CloseableDataSource;
 import org.apereo.cas.configuration.support.JpaBeans;
 import org.apereo.cas.jpa.JpaBeanFactory;
+import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.JpaTicketAttributeIndex;
 import org.apereo.cas.ticket.registry.JpaTicketEntityFactory;
 import org.apereo.cas.ticket.registry.JpaTicketRegistry;
+import org.apereo.cas.ticket.registry.JpaTicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.NearCacheTicketRegistry;
+import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.TicketAttributeIndex;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.index.JpaTicketAttributeIndexEntity;
 import org.apereo.cas.ticket.serialization.TicketSerializationManager;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.CoreTicketUtils;
@@ -28,6 +37,7 @@ import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.integration.IntegrationDataSourceScriptDatabaseInitializer;
 import org.springframework.boot.autoconfigure.integration.IntegrationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -35,6 +45,7 @@ import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.ScopedProxyMode;
 import org.springframework.integration.jdbc.lock.JdbcLockRegistry;
@@ -90,7 +101,11 @@ public class JpaTicketRegistryConfiguration {
                 .supply(() -> {
                     val jpa = casProperties.getTicket().getRegistry().getJpa();
                     val type = new JpaTicketEntityFactory(jpa.getDialect()).getType();
-                    return BeanContainer.of(CollectionUtils.wrapSet(type.getPackage().getName()));
+                    val packages = CollectionUtils.wrapSet(type.getPackage().getName());
+                    if (jpa.isEnableAttributeIndex()) {
+                        packages.add(JpaTicketAttributeIndexEntity.class.getPackage().getName());
+                    }
+                    return BeanContainer.of(packages);
                 })
                 .otherwiseProxy()
                 .get();
@@ -166,6 +181,23 @@ public class JpaTicketRegistryConfiguration {
                 .get();
         }
 
+        @Bean
+        @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+        @ConditionalOnMissingBean(name = "jpaTicketAttributeIndex")
+        public TicketAttributeIndex jpaTicketAttributeIndex(
+            final ConfigurableApplicationContext applicationContext,
+            final CasConfigurationProperties casProperties,
+            @Qualifier("jpaTicketRegistryTransactionTemplate")
+            final TransactionOperations jpaTicketRegistryTransactionTemplate) {
+            return BeanSupplier.of(TicketAttributeIndex.class)
+                .when(CONDITION.given(applicationContext.getEnvironment()))
+                .supply(() -> casProperties.getTicket().getRegistry().getJpa().isEnableAttributeIndex()
+                    ? new JpaTicketAttributeIndex(jpaTicketRegistryTransactionTemplate)
+                    : TicketAttributeIndex.noOp())
+                .otherwise(TicketAttributeIndex::noOp)
+                .get();
+        }
+
         @Bean
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
         public TicketRegistry ticketRegistry(
@@ -178,18 +210,44 @@ public class JpaTicketRegistryConfiguration {
             @Qualifier(TicketCatalog.BEAN_NAME)
             final TicketCatalog ticketCatalog,
             @Qualifier(JpaBeanFactory.DEFAULT_BEAN_NAME)
-            final JpaBeanFactory jpaBeanFactory) {
+            final JpaBeanFactory jpaBeanFactory,
+            @Qualifier("jpaTicketAttributeIndex")
+            final TicketAttributeIndex jpaTicketAttributeIndex) {
             return BeanSupplier.of(TicketRegistry.class)
                 .when(CONDITION.given(applicationContext.getEnvironment()))
                 .supply(() -> {
                     val jpa = casProperties.getTicket().getRegistry().getJpa();
                     val cipher = CoreTicketUtils.newTicketRegistryCipherExecutor(jpa.getCrypto(), "jpa");
-                    return new JpaTicketRegistry(cipher, ticketSerializationManager, ticketCatalog,
+                    val registry = new JpaTicketRegistry(cipher, ticketSerializationManager, ticketCatalog,
                         jpaBeanFactory, jpaTicketRegistryTransactionTemplate, casProperties);
+                    registry.setTicketAttributeIndex(jpaTicketAttributeIndex);
+                    return registry;
                 })
                 .otherwiseProxy()
                 .get();
         }
+
+        @Bean
+        @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+        @Lazy(false)
+        @ConditionalOnProperty(name = "cas.ticket.registry.cleaner.mode", havingValue = "DEFAULT", matchIfMissing = true)
+        public TicketRegistryCleaner ticketRegistryCleaner(
+            final CasConfigurationProperties casProperties,
+            @Qualifier(LockRepository.BEAN_NAME)
+            final LockRepository lockRepository,
+            @Qualifier(LogoutManager.DEFAULT_BEAN_NAME)
+            final LogoutManager logoutManager,
+            @Qualifier(TicketRegistry.BEAN_NAME)
+            final TicketRegistry ticketRegistry) {
+            if (!casProperties.getTicket().getRegistry().getCleaner().getSchedule().isEnabled()) {
+                return NoOpTicketRegistryCleaner.getInstance();
+            }
+            val registry = ticketRegistry instanceof final NearCacheTicketRegistry nearCache ? nearCache.getDelegate() : ticketRegistry;
+            if (registry instanceof final JpaTicketRegistry jpaTicketRegistry) {
+                return new JpaTicketRegistryCleaner(lockRepository, logoutManager, jpaTicketRegistry);
+            }
+            return new DefaultTicketRegistryCleaner(lockRepository, logoutManager, ticketRegistry);
+        }
     }
 
     @Configuration(value = "JpaTicketRegistryLockingConfiguration", proxyBeanMethods = false)
@@ -246,6 +304,19 @@ public class JpaTicketRegistryConfiguration {
                 .get();
         }
 
+        @Bean
+        @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+        public LockRepository ticketRegistryCleanerShardLockRepository(
+            final ConfigurableApplicationContext applicationContext,
+            @Qualifier("jdbcLockRegistry")
+            final LockRegistry jdbcLockRegistry) {
+            return BeanSupplier.of(LockRepository.class)
+                .when(CONDITION.given(applicationContext.getEnvironment()))
+                .supply(() -> new DefaultLockRepository(jdbcLockRegistry))
+                .otherwise(LockRepository::noOp)
+                .get();
+        }
+
         @Bean
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
         InitializingBean casTicketRegistryLockDataSourceScriptDatabaseInitializer(
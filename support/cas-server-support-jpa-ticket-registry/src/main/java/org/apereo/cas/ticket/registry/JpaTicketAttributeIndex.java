@@ -0,0 +1,91 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.registry.index.JpaTicketAttributeIndexEntity;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.transaction.support.TransactionOperations;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * This is {@link JpaTicketAttributeIndex}, which keeps the inverted index
+ * in a dedicated table keyed by attribute index key and ticket key. When a ticket is indexed again,
+ * as happens every time a ticket-granting ticket is updated, only links that have changed are written.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class JpaTicketAttributeIndex implements TicketAttributeIndex {
+    private static final String ENTITY_NAME = JpaTicketAttributeIndexEntity.class.getSimpleName();
+
+    private final TransactionOperations transactionTemplate;
+
+    @PersistenceContext(unitName = "jpaTicketRegistryContext")
+    private EntityManager entityManager;
+
+    @Override
+    public void index(final Ticket ticket, final String ticketKey, final Set<String> indexKeys) {
+        transactionTemplate.executeWithoutResult(status -> {
+            val existingKeys = new HashSet<>(entityManager
+                .createQuery(String.format("SELECT e.indexKey FROM %s e WHERE e.ticketId = :ticketId", ENTITY_NAME), String.class)
+                .setParameter("ticketId", ticketKey)
+                .getResultList());
+            val removedKeys = new HashSet<>(existingKeys);
+            removedKeys.removeAll(indexKeys);
+            if (!removedKeys.isEmpty()) {
+                entityManager
+                    .createQuery(String.format("DELETE FROM %s e WHERE e.ticketId = :ticketId AND e.indexKey IN :indexKeys", ENTITY_NAME))
+                    .setParameter("ticketId", ticketKey)
+                    .setParameter("indexKeys", removedKeys)
+                    .executeUpdate();
+            }
+            indexKeys
+                .stream()
+                .filter(indexKey -> !existingKeys.contains(indexKey))
+                .forEach(indexKey -> entityManager.persist(new JpaTicketAttributeIndexEntity(indexKey, ticketKey)));
+        });
+    }
+
+    @Override
+    public void remove(final String ticketKey, final Set<String> indexKeys) {
+        transactionTemplate.executeWithoutResult(status -> entityManager
+            .createQuery(String.format("DELETE FROM %s e WHERE e.ticketId = :ticketId", ENTITY_NAME))
+            .setParameter("ticketId", ticketKey)
+            .executeUpdate());
+    }
+
+    @Override
+    public Set<String> find(final Set<String> indexKeys) {
+        if (indexKeys.isEmpty()) {
+            return Set.of();
+        }
+        return transactionTemplate.execute(status -> {
+            val results = entityManager
+                .createQuery(String.format("SELECT DISTINCT e.ticketId FROM %s e WHERE e.indexKey IN :indexKeys", ENTITY_NAME), String.class)
+                .setParameter("indexKeys", indexKeys)
+                .getResultList();
+            LOGGER.debug("Found [{}] ticket(s) linked to [{}] attribute index key(s)", results.size(), indexKeys.size());
+            return new HashSet<>(results);
+        });
+    }
+
+    @Override
+    public void clear() {
+        transactionTemplate.executeWithoutResult(status ->
+            entityManager.createQuery(String.format("DELETE FROM %s e", ENTITY_NAME)).executeUpdate());
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
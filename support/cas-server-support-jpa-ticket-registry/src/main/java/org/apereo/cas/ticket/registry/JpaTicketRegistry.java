@@ -25,10 +25,15 @@ import jakarta.persistence.LockModeType;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.PersistenceContext;
 
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -36,6 +41,11 @@ import java.util.stream.Stream;
 /**
  * JPA implementation of a CAS {@link TicketRegistry}. This implementation of
  * ticket registry is suitable for HA environments.
+ * <p>
+ * Each row carries the projected expiration time of its ticket in an indexed column,
+ * which allows expired rows to be located and removed with set-based queries.
+ * Multiple tickets are added in a single transaction that is flushed in JDBC batches,
+ * and streaming operations page through rows by ticket id using the configured fetch size.
  *
  * @author Scott Battaglia
  * @author Marvin S. Addison
@@ -70,26 +80,63 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return ((Number) result).longValue();
     }
 
+    /**
+     * Gets the expiration time recorded for the ticket. Tickets that are already
+     * expired are recorded as expiring now, so that they are picked up by the next cleaner pass.
+     *
+     * @param ticket the ticket
+     * @return the expiration time, or null if the expiration policy cannot project one.
+     */
+    protected static ZonedDateTime getExpirationTime(final Ticket ticket) {
+        if (ticket.isExpired()) {
+            return ZonedDateTime.now(Clock.systemUTC());
+        }
+        return DefaultTicketExpirationIndex.getProjectedExpirationTime(ticket).orElse(null);
+    }
+
     @Override
     public void addTicketInternal(final Ticket ticket) {
         transactionTemplate.executeWithoutResult(Unchecked.consumer(status -> {
             val ticketEntity = getTicketEntityFrom(ticket);
-            if (ticket instanceof final TicketGrantingTicketAwareTicket grantingTicketAware && grantingTicketAware.getTicketGrantingTicket() != null) {
-                val parentId = digestIdentifier(grantingTicketAware.getTicketGrantingTicket().getId());
-                ticketEntity.setParentId(parentId);
-            }
             entityManager.persist(ticketEntity);
+            indexTicketAttributes(ticket);
             LOGGER.debug("Added ticket [{}] to registry.", ticketEntity.getId());
         }));
     }
 
+    @Override
+    public void addTicket(final Stream<? extends Ticket> toSave) {
+        val batchSize = Math.max(1, casProperties.getTicket().getRegistry().getJpa().getBatchSize());
+        transactionTemplate.executeWithoutResult(status -> {
+            val count = new AtomicInteger();
+            toSave
+                .filter(ticket -> !ticket.isExpired())
+                .forEach(ticket -> {
+                    entityManager.persist(getTicketEntityFrom(ticket));
+                    indexTicketAttributes(ticket);
+                    ticketExpirationIndex.schedule(ticket);
+                    if (count.incrementAndGet() % batchSize == 0) {
+                        entityManager.flush();
+                        entityManager.clear();
+                    }
+                });
+            LOGGER.debug("Added [{}] ticket(s) to registry in batches of [{}]", count.get(), batchSize);
+        });
+    }
+
     protected BaseTicketEntity getTicketEntityFrom(final Ticket ticket) {
         return FunctionUtils.doUnchecked(() -> {
             val encodeTicket = encodeTicket(ticket);
-            return getJpaTicketEntityFactory()
+            val ticketEntity = getJpaTicketEntityFactory()
                 .fromTicket(encodeTicket)
                 .setPrincipalId(digestIdentifier(getPrincipalIdFrom(ticket)))
-                .setAttributes(collectAndDigestTicketAttributes(ticket));
+                .setAttributes(collectAndDigestTicketAttributes(ticket))
+                .setExpirationTime(getExpirationTime(ticket));
+            if (ticket instanceof final TicketGrantingTicketAwareTicket grantingTicketAware && grantingTicketAware.getTicketGrantingTicket() != null) {
+                val parentId = digestIdentifier(grantingTicketAware.getTicketGrantingTicket().getId());
+                ticketEntity.setParentId(parentId);
+            }
+            return ticketEntity;
         });
     }
 
@@ -126,6 +173,7 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return transactionTemplate.execute(status -> {
             val factory = getJpaTicketEntityFactory();
             val query = entityManager.createQuery(String.format("DELETE FROM %s", factory.getEntityName()));
+            ticketAttributeIndex.clear();
             return Long.valueOf(query.executeUpdate());
         });
     }
@@ -152,6 +200,8 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
             LOGGER.trace("Updating ticket [{}]", ticket);
             val ticketEntity = getTicketEntityFrom(ticket);
             entityManager.merge(ticketEntity);
+            indexTicketAttributes(ticket);
+            ticketExpirationIndex.schedule(ticket);
             LOGGER.debug("Updated ticket [{}]", ticketEntity.getId());
             return encodeTicket(ticket);
         }));
@@ -160,22 +210,55 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
     /**
      * This method purposefully doesn't lock any rows, because the stream traversing can take an indeterminate
      * amount of time, and logging in to an application with an existing TGT will update the TGT row in the database.
+     * Rows are read in pages that are keyed by the last ticket id seen.
      *
      * @return streamable results
      */
     @Override
     public Stream<? extends Ticket> stream() {
         val factory = getJpaTicketEntityFactory();
-        val sql = String.format("SELECT t FROM %s t", factory.getEntityName());
-        val query = entityManager.createQuery(sql, factory.getType());
-        query.setLockMode(LockModeType.NONE);
-        return jpaBeanFactory
-            .streamQuery(query)
-            .map(BaseTicketEntity.class::cast)
+        return streamTicketEntities(StringUtils.EMPTY, Map.of())
+            .map(factory::toTicket)
+            .map(this::decodeTicket);
+    }
+
+    /**
+     * Gets tickets that must be individually cleaned because their projected expiration time has passed
+     * and their removal may require logout notifications, or because they do not carry an expiration time.
+     * When ciphers are enabled, ticket types are encoded and all expired rows are returned.
+     *
+     * @param now the current time
+     * @return the tickets
+     */
+    public Stream<? extends Ticket> getExpiredSessions(final ZonedDateTime now) {
+        val factory = getJpaTicketEntityFactory();
+        val criteria = "(t.expirationTime IS NULL OR (t.expirationTime <= :now AND t.type IN :types))";
+        return streamTicketEntities(criteria, Map.of("now", now, "types", getSessionTicketTypeNames()))
             .map(factory::toTicket)
             .map(this::decodeTicket);
     }
 
+    /**
+     * Delete expired tickets that are not sessions using a single set-based query.
+     * When ciphers are enabled, ticket types are encoded and are cleaned via {@link #getExpiredSessions(ZonedDateTime)}.
+     *
+     * @param now the current time
+     * @return the count of removed tickets
+     */
+    public int deleteExpiredTickets(final ZonedDateTime now) {
+        if (isCipherExecutorEnabled()) {
+            return 0;
+        }
+        return Objects.requireNonNull(transactionTemplate.execute(status -> {
+            val factory = getJpaTicketEntityFactory();
+            val sql = String.format("DELETE FROM %s t WHERE t.expirationTime <= :now AND t.type NOT IN :types", factory.getEntityName());
+            return entityManager.createQuery(sql)
+                .setParameter("now", now)
+                .setParameter("types", getSessionTicketTypeNames())
+                .executeUpdate();
+        }));
+    }
+
     @Override
     public long sessionCount() {
         return transactionTemplate.execute(status -> {
@@ -189,14 +272,10 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
     @Override
     public Stream<? extends Ticket> getSessionsFor(final String principalId) {
         val factory = getJpaTicketEntityFactory();
-        val sql = String.format("SELECT t FROM %s t WHERE t.type=:type AND t.principalId=:principalId", factory.getEntityName());
-        val query = entityManager.createQuery(sql, factory.getType())
-            .setParameter("principalId", digestIdentifier(principalId))
-            .setParameter("type", getTicketTypeName(TicketGrantingTicket.class));
-        query.setLockMode(LockModeType.NONE);
-        return jpaBeanFactory
-            .streamQuery(query)
-            .map(BaseTicketEntity.class::cast)
+        val parameters = Map.<String, Object>of(
+            "principalId", digestIdentifier(principalId),
+            "type", getTicketTypeName(TicketGrantingTicket.class));
+        return streamTicketEntities("t.type=:type AND t.principalId=:principalId", parameters)
             .map(factory::toTicket)
             .map(this::decodeTicket)
             .filter(ticket -> !ticket.isExpired());
@@ -204,6 +283,9 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public Stream<? extends Ticket> getSessionsWithAttributes(final Map<String, List<Object>> queryAttributes) {
+        if (ticketAttributeIndex.isEnabled()) {
+            return super.getSessionsWithAttributes(queryAttributes);
+        }
         val factory = getJpaTicketEntityFactory();
         val criterias = queryAttributes.entrySet()
             .stream()
@@ -259,6 +341,76 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
             .filter(ticket -> !ticket.isExpired());
     }
 
+    @Override
+    protected Stream<? extends Ticket> getTicketsFromAttributeIndex(final Set<String> ticketKeys) {
+        val tickets = transactionTemplate.execute(status -> {
+            val factory = getJpaTicketEntityFactory();
+            val sql = String.format("SELECT t FROM %s t WHERE t.id IN :ids", factory.getEntityName());
+            return entityManager.createQuery(sql, factory.getType())
+                .setParameter("ids", ticketKeys)
+                .setLockMode(LockModeType.NONE)
+                .getResultStream()
+                .map(factory::toTicket)
+                .map(this::decodeTicket)
+                .filter(TicketGrantingTicket.class::isInstance)
+                .collect(Collectors.toList());
+        });
+        return Objects.requireNonNull(tickets).stream();
+    }
+
+    protected Set<String> getSessionTicketTypeNames() {
+        if (isCipherExecutorEnabled()) {
+            return Set.of(DefaultEncodedTicket.class.getName());
+        }
+        return ticketCatalog.findTicketImplementations(TicketGrantingTicket.class)
+            .stream()
+            .map(definition -> definition.getImplementationClass().getName())
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * Stream ticket entities in pages of the configured fetch size, ordered by ticket id.
+     * Each page is read in its own query that starts after the last id of the previous page,
+     * so that no database cursor is kept open while the stream is consumed.
+     *
+     * @param criteria   the criteria
+     * @param parameters the parameters
+     * @return the stream
+     */
+    protected Stream<BaseTicketEntity> streamTicketEntities(final String criteria, final Map<String, Object> parameters) {
+        val pageSize = Math.max(1, casProperties.getTicket().getRegistry().getJpa().getFetchSize());
+        val firstPage = fetchTicketEntities(criteria, parameters, null, pageSize);
+        return Stream.iterate(firstPage, page -> !page.isEmpty(),
+                page -> page.size() < pageSize
+                    ? List.of()
+                    : fetchTicketEntities(criteria, parameters, page.get(page.size() - 1).getId(), pageSize))
+            .flatMap(List::stream);
+    }
+
+    private List<BaseTicketEntity> fetchTicketEntities(final String criteria, final Map<String, Object> parameters,
+                                                       final String lastTicketId, final int pageSize) {
+        return transactionTemplate.execute(status -> {
+            val factory = getJpaTicketEntityFactory();
+            val conditions = new ArrayList<String>();
+            if (StringUtils.isNotBlank(criteria)) {
+                conditions.add(criteria);
+            }
+            if (lastTicketId != null) {
+                conditions.add("t.id > :lastTicketId");
+            }
+            val whereClause = conditions.isEmpty() ? StringUtils.EMPTY : " WHERE " + String.join(" AND ", conditions);
+            val sql = String.format("SELECT t FROM %s t%s ORDER BY t.id", factory.getEntityName(), whereClause);
+            val query = entityManager.createQuery(sql, factory.getType())
+                .setLockMode(LockModeType.NONE)
+                .setMaxResults(pageSize);
+            parameters.forEach(query::setParameter);
+            if (lastTicketId != null) {
+                query.setParameter("lastTicketId", lastTicketId);
+            }
+            return query.getResultList();
+        });
+    }
+
     protected String getTicketTypeName(final Class<? extends Ticket> clazz) {
         return isCipherExecutorEnabled()
             ? DefaultEncodedTicket.class.getName()
@@ -283,6 +435,9 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
             val encTicketId = digestIdentifier(ticketToDelete.getId());
             var totalCount = 0;
             val md = ticketCatalog.find(ticketToDelete);
+            if (ticketToDelete instanceof TicketGrantingTicket) {
+                ticketAttributeIndex.remove(encTicketId, Set.of());
+            }
 
             if (md.getProperties().isCascadeRemovals()) {
                 totalCount = deleteTicketGrantingTickets(encTicketId);
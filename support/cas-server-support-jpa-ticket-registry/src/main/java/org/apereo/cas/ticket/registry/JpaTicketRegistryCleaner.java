@@ -0,0 +1,43 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.lock.LockRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.time.Clock;
+import java.time.ZonedDateTime;
+
+/**
+ * This is {@link JpaTicketRegistryCleaner}. It uses the expiration time column of the JPA ticket registry
+ * to only load expired ticket-granting tickets, which are cleaned one at a time so that logout notifications
+ * can be sent, and removes all other expired tickets with a single set-based delete statement.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+public class JpaTicketRegistryCleaner extends DefaultTicketRegistryCleaner {
+    private final JpaTicketRegistry ticketRegistry;
+
+    public JpaTicketRegistryCleaner(final LockRepository lockRepository,
+                                    final LogoutManager logoutManager,
+                                    final JpaTicketRegistry ticketRegistry) {
+        super(lockRepository, logoutManager, ticketRegistry);
+        this.ticketRegistry = ticketRegistry;
+    }
+
+    @Override
+    protected int cleanInternal() {
+        val now = ZonedDateTime.now(Clock.systemUTC());
+        try (val expiredSessions = ticketRegistry.getExpiredSessions(now)) {
+            val sessionsDeleted = expiredSessions.filter(Ticket::isExpired).mapToInt(this::cleanTicket).sum();
+            val ticketsDeleted = ticketRegistry.deleteExpiredTickets(now);
+            LOGGER.info("[{}] expired tickets removed, including [{}] ticket(s) removed in bulk.",
+                sessionsDeleted + ticketsDeleted, ticketsDeleted);
+            return sessionsDeleted + ticketsDeleted;
+        }
+    }
+}
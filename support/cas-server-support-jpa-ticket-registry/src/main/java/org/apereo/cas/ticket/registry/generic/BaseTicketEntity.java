@@ -55,6 +55,9 @@ public abstract class BaseTicketEntity implements Serializable {
     @Column(nullable = false, length = 512)
     private ZonedDateTime creationTime;
 
+    @Column
+    private ZonedDateTime expirationTime;
+
     /**
      * Sets attributes.
      *
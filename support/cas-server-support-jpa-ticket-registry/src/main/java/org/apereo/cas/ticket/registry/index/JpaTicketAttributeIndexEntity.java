@@ -0,0 +1,63 @@
+package org.apereo.cas.ticket.registry.index;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * This is {@link JpaTicketAttributeIndexEntity}. Each row links
+ * a digested attribute name and value to the key of a ticket-granting ticket.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Entity(name = "JpaTicketAttributeIndexEntity")
+@Table(name = "CasTicketAttributeIndex", indexes = @Index(name = "CasTicketAttributeIndexTicketId", columnList = "ticketId"))
+@IdClass(JpaTicketAttributeIndexEntity.JpaTicketAttributeIndexEntityId.class)
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class JpaTicketAttributeIndexEntity implements Serializable {
+    @Serial
+    private static final long serialVersionUID = -1936702846371412213L;
+
+    @Id
+    @Column(nullable = false, length = 128)
+    private String indexKey;
+
+    @Id
+    @Column(nullable = false, length = 512)
+    private String ticketId;
+
+    /**
+     * Primary key of the index entity.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class JpaTicketAttributeIndexEntityId implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 5342563104817416082L;
+
+        private String indexKey;
+
+        private String ticketId;
+    }
+}
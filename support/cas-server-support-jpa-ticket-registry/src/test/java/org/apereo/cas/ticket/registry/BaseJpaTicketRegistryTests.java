@@ -103,6 +103,7 @@ public abstract class BaseJpaTicketRegistryTests extends BaseTicketRegistryTests
         newTicketRegistry.addTicket(ticketGrantingTickets);
 
         assertEquals(COUNT, newTicketRegistry.getTickets().size());
+        assertEquals(COUNT, newTicketRegistry.stream().count());
         stopwatch.stop();
         var time = stopwatch.getTime(TimeUnit.SECONDS);
         assertTrue(time <= 20);
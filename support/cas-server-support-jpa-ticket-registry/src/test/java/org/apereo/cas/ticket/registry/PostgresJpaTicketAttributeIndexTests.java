@@ -0,0 +1,83 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.TicketGrantingTicketIdGenerator;
+import org.apereo.cas.util.junit.EnabledIfListeningOnPort;
+
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for {@link JpaTicketAttributeIndex} class.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@TestPropertySource(properties = {
+    "cas.ticket.registry.jpa.enable-attribute-index=true",
+    "cas.ticket.registry.jpa.user=postgres",
+    "cas.ticket.registry.jpa.password=password",
+    "cas.ticket.registry.jpa.driver-class=org.postgresql.Driver",
+    "cas.ticket.registry.jpa.url=jdbc:postgresql://localhost:5432/tickets",
+    "cas.ticket.registry.jpa.dialect=org.hibernate.dialect.PostgreSQLDialect"
+})
+@EnabledIfListeningOnPort(port = 5432)
+@Tag("Postgres")
+class PostgresJpaTicketAttributeIndexTests extends BaseJpaTicketRegistryTests {
+    @Autowired
+    @Qualifier("jpaTicketAttributeIndex")
+    private TicketAttributeIndex jpaTicketAttributeIndex;
+
+    @RepeatedTest(1)
+    public void verifyIndexLinksAreUpdated() {
+        assertTrue(jpaTicketAttributeIndex.isEnabled());
+        val tgt = new MockTicketGrantingTicket("casuser");
+        val ticketKey = UUID.randomUUID().toString();
+        val cn = UUID.randomUUID().toString();
+        val mail = UUID.randomUUID().toString();
+        jpaTicketAttributeIndex.index(tgt, ticketKey, Set.of(cn, mail));
+        assertEquals(Set.of(ticketKey), jpaTicketAttributeIndex.find(Set.of(cn)));
+        assertEquals(Set.of(ticketKey), jpaTicketAttributeIndex.find(Set.of(cn, mail)));
+
+        val group = UUID.randomUUID().toString();
+        jpaTicketAttributeIndex.index(tgt, ticketKey, Set.of(cn, group));
+        assertTrue(jpaTicketAttributeIndex.find(Set.of(mail)).isEmpty());
+        assertEquals(Set.of(ticketKey), jpaTicketAttributeIndex.find(Set.of(group)));
+
+        jpaTicketAttributeIndex.remove(ticketKey, Set.of());
+        assertTrue(jpaTicketAttributeIndex.find(Set.of(cn, group)).isEmpty());
+    }
+
+    @RepeatedTest(1)
+    public void verifySessionsAreFoundByAttributes() throws Exception {
+        val value = UUID.randomUUID().toString();
+        val tgt = new TicketGrantingTicketImpl(new TicketGrantingTicketIdGenerator(10, StringUtils.EMPTY)
+            .getNewTicketId(TicketGrantingTicket.PREFIX),
+            CoreAuthenticationTestUtils.getAuthentication("casuser", Map.of("department", List.of(value))),
+            NeverExpiresExpirationPolicy.INSTANCE);
+        newTicketRegistry.addTicket(tgt);
+        try (val results = newTicketRegistry.getSessionsWithAttributes(Map.of("department", List.of(value)))) {
+            assertEquals(List.of(tgt.getId()), results.map(TicketGrantingTicket.class::cast).map(TicketGrantingTicket::getId).toList());
+        }
+        newTicketRegistry.deleteTicket(tgt.getId());
+        try (val results = newTicketRegistry.getSessionsWithAttributes(Map.of("department", List.of(value)))) {
+            assertEquals(0, results.count());
+        }
+    }
+}
@@ -27,6 +27,7 @@ import org.apereo.cas.ticket.device.OAuth20DeviceUserCodeFactory;
 import org.apereo.cas.ticket.expiration.HardTimeoutExpirationPolicy;
 import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
 import org.apereo.cas.ticket.registry.BaseJpaTicketRegistryTests;
+import org.apereo.cas.ticket.registry.JpaTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
 import org.apereo.cas.util.CollectionUtils;
@@ -51,6 +52,7 @@ import java.util.HashMap;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -126,6 +128,23 @@ public abstract class BaseJpaTicketRegistryCleanerTests {
         assertEquals(0, ticketRegistry.serviceTicketCount());
     }
 
+    @Test
+    void verifyExpiredTicketsRemovedInBulk() throws Exception {
+        assertInstanceOf(JpaTicketRegistryCleaner.class, ticketRegistryCleaner);
+        val transientFactory = (TransientSessionTicketFactory) ticketFactory.get(TransientSessionTicket.class);
+        val expiredTickets = Stream.generate(() -> transientFactory.create(RegisteredServiceTestUtils.getService()))
+            .limit(10)
+            .toList();
+        ticketRegistry.addTicket(expiredTickets.stream());
+        ticketRegistry.addTicket(transientFactory.create(RegisteredServiceTestUtils.getService()));
+        for (val ticket : expiredTickets) {
+            ticket.markTicketExpired();
+            ticketRegistry.updateTicket(ticket);
+        }
+        assertEquals(expiredTickets.size(), ticketRegistryCleaner.clean());
+        assertEquals(1, ticketRegistry.getTickets().size());
+    }
+
     @Test
     void verifyTransientTicketCleaning() throws Exception {
         val tgtFactory = (TicketGrantingTicketFactory) ticketFactory.get(TicketGrantingTicket.class);
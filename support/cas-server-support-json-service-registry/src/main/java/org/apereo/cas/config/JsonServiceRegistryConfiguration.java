@@ -13,6 +13,7 @@ import org.apereo.cas.util.io.WatcherService;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeatureEnabled;
 
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
@@ -25,6 +26,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ScopedProxyMode;
 import org.springframework.core.Ordered;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -59,6 +61,12 @@ public class JsonServiceRegistryConfiguration {
             registeredServiceReplicationStrategy,
             resourceNamingStrategy,
             Optional.ofNullable(serviceRegistryListeners.getIfAvailable()).orElseGet(ArrayList::new));
+        val loading = registry.getJson().getLoading();
+        json.setLoadParallelism(loading.getParallelism());
+        if (loading.isIncremental()) {
+            json.enableIncrementalLoading(Optional.ofNullable(StringUtils.trimToNull(loading.getSnapshotLocation()))
+                .map(File::new).orElse(null));
+        }
         if (registry.getJson().isWatcherEnabled()) {
             json.enableDefaultWatcherService();
         }
@@ -16,8 +16,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import org.springframework.context.support.StaticApplicationContext;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import java.io.File;
 import java.net.URI;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -119,6 +122,46 @@ class JsonServiceRegistryTests extends BaseResourceBasedServiceRegistryTests {
         assertEquals("casuser", username);
     }
 
+    @Test
+    void verifyIncrementalParallelLoading() throws Exception {
+        val directory = Files.createTempDirectory("services").toFile();
+        val snapshot = new File(directory.getParentFile(), directory.getName() + ".snapshot");
+        val writer = buildResourceBasedServiceRegistry(new FileSystemResource(directory));
+        for (var i = 1; i <= 10; i++) {
+            writer.save(buildRegisteredService(i));
+        }
+
+        val registry = buildResourceBasedServiceRegistry(new FileSystemResource(directory));
+        registry.setLoadParallelism(4);
+        registry.enableIncrementalLoading(snapshot);
+        assertEquals(10, registry.load().size());
+        assertTrue(snapshot.exists());
+        val service = registry.findServiceById(1);
+        assertEquals(10, registry.load().size());
+        service.setDescription("Changed");
+        assertEquals(10, registry.load().size());
+        assertNotSame(service, registry.findServiceById(1));
+        assertNotEquals("Changed", registry.findServiceById(1).getDescription());
+
+        val restored = buildResourceBasedServiceRegistry(new FileSystemResource(directory));
+        restored.enableIncrementalLoading(snapshot);
+        assertEquals(10, restored.load().size());
+        assertEquals(registry.findServiceById(1), restored.findServiceById(1));
+
+        val updated = buildRegisteredService(1);
+        updated.setDescription("Updated");
+        writer.save(updated);
+        assertEquals(10, restored.load().size());
+        assertEquals("Updated", restored.findServiceById(1).getDescription());
+    }
+
+    private static CasRegisteredService buildRegisteredService(final long id) {
+        val service = RegisteredServiceTestUtils.getRegisteredService("https://app" + id + ".example.org");
+        service.setId(id);
+        service.setName("App" + id);
+        return service;
+    }
+
     private static AbstractResourceBasedServiceRegistry buildResourceBasedServiceRegistry(final Resource location) throws Exception {
         val appCtx = new StaticApplicationContext();
         appCtx.refresh();
@@ -4,9 +4,12 @@ import org.apereo.cas.authentication.credential.UsernamePasswordCredential;
 import org.apereo.cas.authentication.handler.support.AbstractUsernamePasswordAuthenticationHandler;
 import org.apereo.cas.authentication.principal.Principal;
 import org.apereo.cas.authentication.principal.PrincipalFactory;
+import org.apereo.cas.authentication.support.LdapAuthenticationMetrics;
+import org.apereo.cas.authentication.support.LdapEntryResolutionPipeline;
 import org.apereo.cas.monitor.Monitorable;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.LdapUtils;
 
 import com.google.common.collect.Maps;
 import lombok.Getter;
@@ -89,6 +92,16 @@ public class LdapAuthenticationHandler extends AbstractUsernamePasswordAuthentic
      */
     private String principalDnAttributeName = "principalLdapDn";
 
+    /**
+     * Records the latency of LDAP operations carried out by this handler.
+     */
+    private LdapAuthenticationMetrics metrics;
+
+    /**
+     * Resolves the user entry concurrently with the bind operation, if defined.
+     */
+    private LdapEntryResolutionPipeline entryResolutionPipeline;
+
     /**
      * Creates a new authentication handler that delegates to the given authenticator.
      *
@@ -110,7 +123,10 @@ public class LdapAuthenticationHandler extends AbstractUsernamePasswordAuthentic
 
     @Override
     public void destroy() {
-        authenticator.close();
+        if (entryResolutionPipeline != null) {
+            entryResolutionPipeline.close();
+        }
+        LdapUtils.closeLdaptiveAuthenticator(authenticator);
     }
 
     /**
@@ -255,6 +271,10 @@ public class LdapAuthenticationHandler extends AbstractUsernamePasswordAuthentic
         } catch (final LdapException e) {
             LOGGER.trace(e.getMessage(), e);
             throw new PreventedException(e);
+        } finally {
+            if (entryResolutionPipeline != null) {
+                entryResolutionPipeline.discard();
+            }
         }
     }
 
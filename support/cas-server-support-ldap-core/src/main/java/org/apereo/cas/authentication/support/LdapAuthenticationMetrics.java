@@ -0,0 +1,170 @@
+package org.apereo.cas.authentication.support;
+
+import org.apereo.cas.util.LdapConnectionPoolMonitor;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.ldaptive.LdapException;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This is {@link LdapAuthenticationMetrics}, which records the latency of the operations
+ * carried out by an LDAP authentication handler, such as DN resolution, bind and entry resolution,
+ * along with the time spent waiting for and holding on to pooled connections.
+ * Connection pools used by the handler are discovered as their connections are checked out,
+ * and their utilization is reported for the LDAP server the handler is configured with.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Getter
+@RequiredArgsConstructor
+public class LdapAuthenticationMetrics implements MeterBinder, LdapConnectionPoolMonitor.Listener {
+    private final String name;
+
+    private final String ldapUrl;
+
+    private final Set<LdapConnectionPoolMonitor> connectionPools = ConcurrentHashMap.newKeySet();
+
+    private final Map<Operation, Latency> latencies = new EnumMap<>(Map.of(
+        Operation.DN_RESOLUTION, new Latency(),
+        Operation.BIND, new Latency(),
+        Operation.ENTRY_RESOLUTION, new Latency(),
+        Operation.POOL_WAIT, new Latency(),
+        Operation.POOL_BORROW, new Latency()));
+
+    /**
+     * Execute and time the operation.
+     *
+     * @param <T>       the type parameter
+     * @param operation the operation type
+     * @param task      the task
+     * @return the result of the task
+     * @throws LdapException the ldap exception
+     */
+    public <T> T time(final Operation operation, final LdapConnectionPoolMonitor.LdapOperation<T> task) throws LdapException {
+        val startTime = System.nanoTime();
+        try {
+            return LdapConnectionPoolMonitor.execute(this, task);
+        } finally {
+            latencies.get(operation).record(System.nanoTime() - startTime);
+        }
+    }
+
+    @Override
+    public void onConnectionCheckedOut(final LdapConnectionPoolMonitor monitor, final long waitTime) {
+        connectionPools.add(monitor);
+        latencies.get(Operation.POOL_WAIT).record(waitTime);
+    }
+
+    @Override
+    public void onConnectionReturned(final LdapConnectionPoolMonitor monitor, final long borrowTime) {
+        latencies.get(Operation.POOL_BORROW).record(borrowTime);
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        val tags = Tags.of("handler", name, "server", ldapUrl);
+        latencies.forEach((operation, latency) ->
+            FunctionTimer.builder(operation.getMeterName(), latency, Latency::getCount, Latency::getTotalTime, TimeUnit.NANOSECONDS)
+                .description(operation.getDescription())
+                .tags(tags)
+                .register(registry));
+        Gauge.builder("cas.ldap.connection.pool.active", this,
+                metrics -> metrics.getConnectionPools().stream().mapToInt(LdapConnectionPoolMonitor::getActiveCount).sum())
+            .description("Number of LDAP connections checked out from the pools of the LDAP server")
+            .tags(tags)
+            .register(registry);
+        Gauge.builder("cas.ldap.connection.pool.available", this,
+                metrics -> metrics.getConnectionPools().stream().mapToInt(LdapConnectionPoolMonitor::getAvailableCount).sum())
+            .description("Number of LDAP connections available in the pools of the LDAP server")
+            .tags(tags)
+            .register(registry);
+        Gauge.builder("cas.ldap.connection.pool.utilization", this,
+                metrics -> metrics.getConnectionPools().stream().mapToDouble(LdapConnectionPoolMonitor::getUtilization).max().orElse(0))
+            .description("Highest ratio of checked out connections to the maximum pool size among the pools of the LDAP server")
+            .tags(tags)
+            .register(registry);
+    }
+
+    /**
+     * Operations whose latency is recorded.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Operation {
+        /**
+         * Resolution of the user DN.
+         */
+        DN_RESOLUTION("cas.ldap.authentication.dn.resolution", "Time spent resolving user DNs"),
+        /**
+         * Bind or compare operation that verifies the credential.
+         */
+        BIND("cas.ldap.authentication.bind", "Time spent verifying credentials"),
+        /**
+         * Resolution of the user entry and its attributes.
+         */
+        ENTRY_RESOLUTION("cas.ldap.authentication.entry.resolution", "Time spent resolving user entries"),
+        /**
+         * Time spent waiting for a pooled connection.
+         */
+        POOL_WAIT("cas.ldap.connection.pool.wait", "Time spent waiting to obtain pooled connections"),
+        /**
+         * Time a pooled connection was held by an operation.
+         */
+        POOL_BORROW("cas.ldap.connection.pool.borrow", "Time pooled connections were held by operations");
+
+        private final String meterName;
+
+        private final String description;
+    }
+
+    /**
+     * Latency of an operation.
+     */
+    public static class Latency {
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder totalTime = new LongAdder();
+
+        /**
+         * Record the duration of an operation.
+         *
+         * @param duration the duration in nanoseconds
+         */
+        public void record(final long duration) {
+            count.increment();
+            totalTime.add(duration);
+        }
+
+        /**
+         * Gets the number of recorded operations.
+         *
+         * @return the count
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * Gets the total time of recorded operations.
+         *
+         * @return the total time in nanoseconds
+         */
+        public double getTotalTime() {
+            return totalTime.sum();
+        }
+    }
+}
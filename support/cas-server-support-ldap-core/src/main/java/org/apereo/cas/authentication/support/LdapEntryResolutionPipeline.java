@@ -0,0 +1,121 @@
+package org.apereo.cas.authentication.support;
+
+import org.apereo.cas.util.function.FunctionUtils;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.ldaptive.LdapEntry;
+import org.ldaptive.LdapException;
+import org.ldaptive.auth.AuthenticationCriteria;
+import org.ldaptive.auth.AuthenticationHandlerResponse;
+import org.ldaptive.auth.EntryResolver;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This is {@link LdapEntryResolutionPipeline}, which sends off the search for the user entry
+ * as soon as the user DN is resolved, such that the search runs concurrently with the bind operation.
+ * The entry is handed over to the authenticator once the bind has completed; if the search could not
+ * be completed ahead of time, the entry is resolved as usual. If the bind fails, the pending search is discarded:
+ * a search that has not yet been sent is never sent, and the result of a search already in flight is dropped.
+ * When all pipeline threads are busy, the entry is not fetched ahead of time at all
+ * rather than being searched for on the calling thread before the bind. The pipeline is only useful
+ * with entry resolvers that have their own connection factory, since the bind connection
+ * is not available while the search is running.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+public class LdapEntryResolutionPipeline implements AutoCloseable {
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final ThreadLocal<PendingEntry> pendingEntry = new ThreadLocal<>();
+
+    private final ExecutorService executor;
+
+    public LdapEntryResolutionPipeline(final String name, final int maximumConcurrency) {
+        this(new ThreadPoolExecutor(0, Math.max(1, maximumConcurrency), KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), new BasicThreadFactory.Builder()
+                .namingPattern("ldap-entry-resolution-" + name + "-%d")
+                .daemon(true)
+                .build(), new ThreadPoolExecutor.AbortPolicy()));
+    }
+
+    public LdapEntryResolutionPipeline(final ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Start resolving the entry for the authentication criteria in the background.
+     *
+     * @param criteria      the criteria
+     * @param entryResolver the entry resolver
+     */
+    public void prefetch(final AuthenticationCriteria criteria, final EntryResolver entryResolver) {
+        val discarded = new AtomicBoolean();
+        try {
+            val future = CompletableFuture.supplyAsync(FunctionUtils.doAndHandle(
+                () -> discarded.get() ? null : entryResolver.resolve(criteria, null),
+                throwable -> {
+                    LOGGER.debug("Unable to resolve entry ahead of time for [{}]: [{}]", criteria.getDn(), throwable.getMessage());
+                    return null;
+                }), executor);
+            pendingEntry.set(new PendingEntry(criteria.getDn(), discarded, future));
+        } catch (final RejectedExecutionException e) {
+            LOGGER.trace("Entry for [{}] will not be resolved ahead of time: [{}]", criteria.getDn(), e.getMessage());
+        }
+    }
+
+    /**
+     * Resolve the entry, using the entry that was fetched ahead of time if any.
+     *
+     * @param criteria      the criteria
+     * @param response      the response of the authentication handler
+     * @param entryResolver the entry resolver
+     * @return the ldap entry
+     * @throws LdapException the ldap exception
+     */
+    public LdapEntry resolve(final AuthenticationCriteria criteria, final AuthenticationHandlerResponse response,
+                             final EntryResolver entryResolver) throws LdapException {
+        val pending = pendingEntry.get();
+        pendingEntry.remove();
+        if (pending != null && Objects.equals(pending.dn(), criteria.getDn())) {
+            val entry = pending.entry().join();
+            if (entry != null) {
+                LOGGER.trace("Using entry [{}] resolved ahead of time", entry.getDn());
+                return entry;
+            }
+        }
+        return entryResolver.resolve(criteria, response);
+    }
+
+    /**
+     * Discard the entry fetched ahead of time for the current thread, if any.
+     * The search is not sent if it has not been started yet.
+     */
+    public void discard() {
+        val pending = pendingEntry.get();
+        if (pending != null) {
+            pending.discarded().set(true);
+            pending.entry().cancel(true);
+            pendingEntry.remove();
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private record PendingEntry(String dn, AtomicBoolean discarded, CompletableFuture<LdapEntry> entry) {
+    }
+}
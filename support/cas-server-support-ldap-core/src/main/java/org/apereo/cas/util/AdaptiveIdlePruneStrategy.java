@@ -0,0 +1,38 @@
+package org.apereo.cas.util;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.ldaptive.pool.IdlePruneStrategy;
+import org.ldaptive.pool.PooledConnectionProxy;
+
+import java.time.Duration;
+
+/**
+ * This is {@link AdaptiveIdlePruneStrategy}, which prunes idle connections from the pool
+ * only when the pool is not under pressure. The pool grows on demand up to its maximum size at peak times;
+ * connections are retained for as long as most of them are in use or callers wait too long for connections,
+ * and are pruned back towards the minimum pool size once demand drops.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@Getter
+@RequiredArgsConstructor
+public class AdaptiveIdlePruneStrategy extends IdlePruneStrategy {
+    private final LdapConnectionPoolMonitor monitor;
+
+    private final double utilizationThreshold;
+
+    private final Duration waitTimeThreshold;
+
+    @Override
+    public Boolean apply(final PooledConnectionProxy connection) {
+        if (monitor.isUnderPressure(utilizationThreshold, waitTimeThreshold, getIdleTime())) {
+            LOGGER.trace("Connection pool is under pressure with utilization [{}]; idle connections are retained", monitor.getUtilization());
+            return Boolean.FALSE;
+        }
+        return super.apply(connection);
+    }
+}
@@ -0,0 +1,170 @@
+package org.apereo.cas.util;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.ldaptive.LdapException;
+import org.ldaptive.PooledConnectionFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This is {@link LdapConnectionPoolMonitor}, which keeps track of the utilization of an LDAP connection pool
+ * and of the time callers wait to obtain connections from it. The monitor is installed as the activator
+ * of the pool and is notified each time a connection is checked out. Wait and borrow times can only be observed
+ * for operations that are executed via {@link #execute(Listener, LdapOperation)}, which marks the point in time
+ * at which a connection is requested and the point in time at which the operation is done with it.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Getter
+@RequiredArgsConstructor
+public class LdapConnectionPoolMonitor {
+    private static final ThreadLocal<PendingOperation> PENDING_OPERATION = new ThreadLocal<>();
+
+    private static final double SMOOTHING_FACTOR = 0.2;
+
+    private final PooledConnectionFactory connectionFactory;
+
+    private final AtomicLong averageWaitTime = new AtomicLong();
+
+    private final AtomicLong lastCheckOutTime = new AtomicLong(System.nanoTime());
+
+    /**
+     * Execute an LDAP operation, keeping track of the time it waits for
+     * and holds on to connections obtained from monitored connection pools.
+     *
+     * @param <T>       the type parameter
+     * @param listener  the listener to notify
+     * @param operation the operation
+     * @return the result of the operation
+     * @throws LdapException the ldap exception
+     */
+    public static <T> T execute(final Listener listener, final LdapOperation<T> operation) throws LdapException {
+        val previous = PENDING_OPERATION.get();
+        val pending = new PendingOperation(listener, System.nanoTime(), new ArrayList<>());
+        PENDING_OPERATION.set(pending);
+        try {
+            return operation.execute();
+        } finally {
+            val now = System.nanoTime();
+            pending.checkOuts().forEach(checkOut -> listener.onConnectionReturned(checkOut.monitor(), now - checkOut.time()));
+            if (previous == null) {
+                PENDING_OPERATION.remove();
+            } else {
+                PENDING_OPERATION.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Invoked by the pool when a connection is checked out.
+     *
+     * @param connection the connection
+     * @return always true, allowing the connection to be handed out
+     */
+    public boolean activate(final Object connection) {
+        val now = System.nanoTime();
+        lastCheckOutTime.set(now);
+        val pending = PENDING_OPERATION.get();
+        if (pending != null) {
+            val waitTime = now - pending.startTime();
+            averageWaitTime.updateAndGet(average -> average + (long) (SMOOTHING_FACTOR * (waitTime - average)));
+            pending.checkOuts().add(new CheckOut(this, now));
+            pending.listener().onConnectionCheckedOut(this, waitTime);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of connections that are checked out.
+     *
+     * @return the active count
+     */
+    public int getActiveCount() {
+        return connectionFactory.activeCount();
+    }
+
+    /**
+     * Gets the number of connections that are available in the pool.
+     *
+     * @return the available count
+     */
+    public int getAvailableCount() {
+        return connectionFactory.availableCount();
+    }
+
+    /**
+     * Gets the ratio of checked out connections to the maximum pool size.
+     *
+     * @return the utilization
+     */
+    public double getUtilization() {
+        val maxPoolSize = connectionFactory.getMaxPoolSize();
+        return maxPoolSize <= 0 ? 0 : (double) getActiveCount() / maxPoolSize;
+    }
+
+    /**
+     * Determine whether the pool is under pressure, either because most connections are checked out
+     * or because callers have recently been waiting too long to obtain connections.
+     *
+     * @param utilizationThreshold the utilization threshold
+     * @param waitTimeThreshold    the wait time threshold
+     * @param window               how far back a checkout must have happened for wait times to count
+     * @return true/false
+     */
+    public boolean isUnderPressure(final double utilizationThreshold, final Duration waitTimeThreshold, final Duration window) {
+        if (getUtilization() >= utilizationThreshold) {
+            return true;
+        }
+        val recentlyActive = System.nanoTime() - lastCheckOutTime.get() <= window.toNanos();
+        return recentlyActive && averageWaitTime.get() >= waitTimeThreshold.toNanos();
+    }
+
+    /**
+     * Listener that is notified about connections used by an operation.
+     */
+    public interface Listener {
+        /**
+         * Invoked when a connection is checked out from a monitored pool.
+         *
+         * @param monitor  the monitor of the pool
+         * @param waitTime the time in nanoseconds spent waiting for the connection
+         */
+        void onConnectionCheckedOut(LdapConnectionPoolMonitor monitor, long waitTime);
+
+        /**
+         * Invoked when the operation that checked out a connection is done.
+         *
+         * @param monitor    the monitor of the pool
+         * @param borrowTime the time in nanoseconds the connection was held
+         */
+        void onConnectionReturned(LdapConnectionPoolMonitor monitor, long borrowTime);
+    }
+
+    /**
+     * An LDAP operation.
+     *
+     * @param <T> the type parameter
+     */
+    @FunctionalInterface
+    public interface LdapOperation<T> {
+        /**
+         * Execute the operation.
+         *
+         * @return the result
+         * @throws LdapException the ldap exception
+         */
+        T execute() throws LdapException;
+    }
+
+    private record CheckOut(LdapConnectionPoolMonitor monitor, long time) {
+    }
+
+    private record PendingOperation(Listener listener, long startTime, List<CheckOut> checkOuts) {
+    }
+}
@@ -6,6 +6,8 @@ import org.apereo.cas.authentication.LdapAuthenticationHandler;
 import org.apereo.cas.authentication.principal.PrincipalFactory;
 import org.apereo.cas.authentication.principal.PrincipalNameTransformerUtils;
 import org.apereo.cas.authentication.support.DefaultLdapAccountStateHandler;
+import org.apereo.cas.authentication.support.LdapAuthenticationMetrics;
+import org.apereo.cas.authentication.support.LdapEntryResolutionPipeline;
 import org.apereo.cas.authentication.support.OptionalWarningLdapAccountStateHandler;
 import org.apereo.cas.authentication.support.RejectResultCodeLdapPasswordPolicyHandlingStrategy;
 import org.apereo.cas.authentication.support.password.DefaultPasswordPolicyHandlingStrategy;
@@ -487,7 +489,13 @@ public class LdapUtils {
         pooledCf.setValidatePeriodically(props.isValidatePeriodically());
         pooledCf.setBlockWaitTime(Beans.newDuration(props.getBlockWaitTime()));
 
-        val strategy = new IdlePruneStrategy();
+        val monitor = new LdapConnectionPoolMonitor(pooledCf);
+        pooledCf.setActivator(monitor::activate);
+
+        val strategy = props.isAdaptivePoolSizing()
+            ? new AdaptiveIdlePruneStrategy(monitor, props.getAdaptivePoolUtilizationThreshold(),
+                Beans.newDuration(props.getAdaptivePoolWaitTimeThreshold()))
+            : new IdlePruneStrategy();
         strategy.setIdleTime(Beans.newDuration(props.getIdleTime()));
         strategy.setPrunePeriod(Beans.newDuration(props.getPrunePeriod()));
 
@@ -1054,6 +1062,15 @@ public class LdapUtils {
             props.getOrder(), authenticator, strategy);
         handler.setCollectDnAttribute(props.isCollectDnAttribute());
 
+        val metrics = new LdapAuthenticationMetrics(handler.getName(), props.getLdapUrl());
+        handler.setMetrics(metrics);
+        if (props.isPipelineEntryResolution() && props.getType() != AbstractLdapAuthenticationProperties.AuthenticationTypes.DIRECT
+            && authenticator.getEntryResolver() != null) {
+            LOGGER.debug("Entry resolution for [{}] is pipelined with the bind operation", props.getLdapUrl());
+            handler.setEntryResolutionPipeline(new LdapEntryResolutionPipeline(handler.getName(), props.getMaxPoolSize()));
+        }
+        instrumentLdaptiveAuthenticator(authenticator, metrics, handler.getEntryResolutionPipeline());
+
         if (!props.getAdditionalAttributes().isEmpty()) {
             val additional = CoreAuthenticationUtils.transformPrincipalAttributesListIntoMultiMap(props.getAdditionalAttributes());
             multiMapAttributes.putAll(additional);
@@ -1094,6 +1111,102 @@ public class LdapUtils {
         return handler;
     }
 
+    /**
+     * Instrument the components of the authenticator, such that the latency of DN resolution, bind
+     * and entry resolution is recorded. If an entry resolution pipeline is given, the user entry
+     * is resolved concurrently with the bind operation.
+     *
+     * @param authenticator the authenticator
+     * @param metrics       the metrics
+     * @param pipeline      the entry resolution pipeline, if any
+     */
+    public static void instrumentLdaptiveAuthenticator(final Authenticator authenticator,
+                                                       final LdapAuthenticationMetrics metrics,
+                                                       final LdapEntryResolutionPipeline pipeline) {
+        authenticator.setDnResolver(new InstrumentedLdapDnResolver(authenticator.getDnResolver(), metrics));
+        val entryResolver = authenticator.getEntryResolver() == null
+            ? null
+            : new InstrumentedLdapEntryResolver(authenticator.getEntryResolver(), metrics);
+        authenticator.setAuthenticationHandler(new InstrumentedLdapAuthenticationHandler(
+            authenticator.getAuthenticationHandler(), metrics, entryResolver, pipeline));
+        if (entryResolver != null) {
+            authenticator.setEntryResolver(pipeline == null ? entryResolver : new PipelinedLdapEntryResolver(entryResolver, pipeline));
+        }
+    }
+
+    /**
+     * Close the authenticator along with the connection factories of its components,
+     * removing any instrumentation first.
+     *
+     * @param authenticator the authenticator
+     */
+    public static void closeLdaptiveAuthenticator(final Authenticator authenticator) {
+        if (authenticator.getDnResolver() instanceof final InstrumentedLdapDnResolver resolver) {
+            authenticator.setDnResolver(resolver.resolver());
+        }
+        if (authenticator.getAuthenticationHandler() instanceof final InstrumentedLdapAuthenticationHandler handler) {
+            authenticator.setAuthenticationHandler(handler.handler());
+        }
+        if (authenticator.getEntryResolver() instanceof final PipelinedLdapEntryResolver resolver) {
+            authenticator.setEntryResolver(resolver.resolver().resolver());
+        } else if (authenticator.getEntryResolver() instanceof final InstrumentedLdapEntryResolver resolver) {
+            authenticator.setEntryResolver(resolver.resolver());
+        }
+        authenticator.close();
+    }
+
+    @SuppressWarnings("UnusedVariable")
+    private record InstrumentedLdapDnResolver(DnResolver resolver, LdapAuthenticationMetrics metrics) implements DnResolver {
+        @Override
+        @SneakyThrows
+        public String resolve(final User user) {
+            return metrics.time(LdapAuthenticationMetrics.Operation.DN_RESOLUTION, () -> resolver.resolve(user));
+        }
+    }
+
+    @SuppressWarnings("UnusedVariable")
+    private record InstrumentedLdapAuthenticationHandler(AuthenticationHandler handler, LdapAuthenticationMetrics metrics,
+                                                         EntryResolver entryResolver,
+                                                         LdapEntryResolutionPipeline pipeline) implements AuthenticationHandler {
+        @Override
+        @SneakyThrows
+        public AuthenticationHandlerResponse authenticate(final AuthenticationCriteria criteria) {
+            if (pipeline == null || entryResolver == null) {
+                return metrics.time(LdapAuthenticationMetrics.Operation.BIND, () -> handler.authenticate(criteria));
+            }
+            pipeline.prefetch(criteria, entryResolver);
+            var bound = false;
+            try {
+                val response = metrics.time(LdapAuthenticationMetrics.Operation.BIND, () -> handler.authenticate(criteria));
+                bound = response != null && response.isSuccess();
+                return response;
+            } finally {
+                if (!bound) {
+                    pipeline.discard();
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("UnusedVariable")
+    private record InstrumentedLdapEntryResolver(EntryResolver resolver, LdapAuthenticationMetrics metrics) implements EntryResolver {
+        @Override
+        @SneakyThrows
+        public LdapEntry resolve(final AuthenticationCriteria criteria, final AuthenticationHandlerResponse response) {
+            return metrics.time(LdapAuthenticationMetrics.Operation.ENTRY_RESOLUTION, () -> resolver.resolve(criteria, response));
+        }
+    }
+
+    @SuppressWarnings("UnusedVariable")
+    private record PipelinedLdapEntryResolver(InstrumentedLdapEntryResolver resolver,
+                                              LdapEntryResolutionPipeline pipeline) implements EntryResolver {
+        @Override
+        @SneakyThrows
+        public LdapEntry resolve(final AuthenticationCriteria criteria, final AuthenticationHandlerResponse response) {
+            return pipeline.resolve(criteria, response, resolver);
+        }
+    }
+
     @SuppressWarnings("UnusedVariable")
     private record ChainingLdapDnResolver(List<? extends DnResolver> resolvers) implements DnResolver {
         @Override
@@ -0,0 +1,64 @@
+package org.apereo.cas.authentication.support;
+
+import org.apereo.cas.util.LdapConnectionPoolMonitor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.ldaptive.PooledConnectionFactory;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link LdapAuthenticationMetricsTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("LdapAuthentication")
+class LdapAuthenticationMetricsTests {
+    @Test
+    void verifyOperationsAreTimed() throws Exception {
+        val connectionFactory = mock(PooledConnectionFactory.class);
+        when(connectionFactory.activeCount()).thenReturn(2);
+        when(connectionFactory.availableCount()).thenReturn(3);
+        when(connectionFactory.getMaxPoolSize()).thenReturn(10);
+        val monitor = new LdapConnectionPoolMonitor(connectionFactory);
+
+        val metrics = new LdapAuthenticationMetrics("LDAP", "ldap://localhost:389");
+        val dn = metrics.time(LdapAuthenticationMetrics.Operation.DN_RESOLUTION, () -> {
+            monitor.activate(null);
+            return "uid=casuser,ou=people,dc=example,dc=org";
+        });
+        assertNotNull(dn);
+        assertEquals(1, metrics.getLatencies().get(LdapAuthenticationMetrics.Operation.DN_RESOLUTION).getCount());
+        assertEquals(1, metrics.getLatencies().get(LdapAuthenticationMetrics.Operation.POOL_WAIT).getCount());
+        assertEquals(1, metrics.getLatencies().get(LdapAuthenticationMetrics.Operation.POOL_BORROW).getCount());
+        assertEquals(0, metrics.getLatencies().get(LdapAuthenticationMetrics.Operation.BIND).getCount());
+        assertTrue(metrics.getConnectionPools().contains(monitor));
+
+        val registry = new SimpleMeterRegistry();
+        metrics.bindTo(registry);
+        assertEquals(1, registry.get("cas.ldap.authentication.dn.resolution").tag("server", "ldap://localhost:389").functionTimer().count());
+        assertEquals(2, registry.get("cas.ldap.connection.pool.active").gauge().value());
+        assertEquals(3, registry.get("cas.ldap.connection.pool.available").gauge().value());
+        assertEquals(0.2, registry.get("cas.ldap.connection.pool.utilization").gauge().value(), 0.001);
+    }
+
+    @Test
+    void verifyPoolPressure() {
+        val connectionFactory = mock(PooledConnectionFactory.class);
+        when(connectionFactory.getMaxPoolSize()).thenReturn(10);
+        val monitor = new LdapConnectionPoolMonitor(connectionFactory);
+
+        when(connectionFactory.activeCount()).thenReturn(9);
+        assertTrue(monitor.isUnderPressure(0.75, Duration.ofMillis(100), Duration.ofMinutes(1)));
+
+        when(connectionFactory.activeCount()).thenReturn(1);
+        assertFalse(monitor.isUnderPressure(0.75, Duration.ofMillis(100), Duration.ofMinutes(1)));
+    }
+}
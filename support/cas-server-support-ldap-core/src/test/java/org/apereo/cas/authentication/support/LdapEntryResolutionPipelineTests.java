@@ -0,0 +1,179 @@
+package org.apereo.cas.authentication.support;
+
+import org.apereo.cas.util.LdapUtils;
+
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.ldaptive.LdapEntry;
+import org.ldaptive.LdapException;
+import org.ldaptive.auth.AuthenticationCriteria;
+import org.ldaptive.auth.AuthenticationHandler;
+import org.ldaptive.auth.AuthenticationHandlerResponse;
+import org.ldaptive.auth.Authenticator;
+import org.ldaptive.auth.DnResolver;
+import org.ldaptive.auth.EntryResolver;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link LdapEntryResolutionPipelineTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("LdapAuthentication")
+class LdapEntryResolutionPipelineTests {
+    private static final String USER_DN = "uid=casuser,ou=people,dc=example,dc=org";
+
+    private ExecutorService executor;
+
+    private LdapEntryResolutionPipeline pipeline;
+
+    @BeforeEach
+    void setup() {
+        executor = Executors.newSingleThreadExecutor();
+        pipeline = new LdapEntryResolutionPipeline(executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.close();
+    }
+
+    @Test
+    void verifyPrefetchedEntryIsUsed() throws Exception {
+        val criteria = newCriteria(USER_DN);
+        val entry = new LdapEntry();
+        entry.setDn(USER_DN);
+        val entryResolver = mock(EntryResolver.class);
+        when(entryResolver.resolve(criteria, null)).thenReturn(entry);
+
+        pipeline.prefetch(criteria, entryResolver);
+        val response = mock(AuthenticationHandlerResponse.class);
+        assertSame(entry, pipeline.resolve(criteria, response, entryResolver));
+        verify(entryResolver).resolve(criteria, null);
+        verify(entryResolver, never()).resolve(criteria, response);
+    }
+
+    @Test
+    void verifyEntryIsResolvedWhenDnDoesNotMatch() throws Exception {
+        val entryResolver = mock(EntryResolver.class);
+        pipeline.prefetch(newCriteria(USER_DN), entryResolver);
+
+        val criteria = newCriteria("uid=other,ou=people,dc=example,dc=org");
+        val response = mock(AuthenticationHandlerResponse.class);
+        val entry = new LdapEntry();
+        when(entryResolver.resolve(criteria, response)).thenReturn(entry);
+        assertSame(entry, pipeline.resolve(criteria, response, entryResolver));
+        verify(entryResolver).resolve(criteria, response);
+    }
+
+    @Test
+    void verifyDiscardedSearchIsNeverSent() throws Exception {
+        val latch = blockExecutor();
+        val criteria = newCriteria(USER_DN);
+        val entryResolver = mock(EntryResolver.class);
+        pipeline.prefetch(criteria, entryResolver);
+        pipeline.discard();
+        latch.countDown();
+        awaitExecutor();
+        verifyNoInteractions(entryResolver);
+    }
+
+    @Test
+    void verifyInstrumentedAuthenticatorDiscardsOnFailedBind() throws Exception {
+        val latch = blockExecutor();
+        val criteria = newCriteria(USER_DN);
+        val response = mock(AuthenticationHandlerResponse.class);
+        when(response.isSuccess()).thenReturn(Boolean.FALSE);
+        val entryResolver = mock(EntryResolver.class);
+        val authenticator = newAuthenticator(entryResolver, response);
+        val metrics = new LdapAuthenticationMetrics("LDAP", "ldap://localhost:389");
+        LdapUtils.instrumentLdaptiveAuthenticator(authenticator, metrics, pipeline);
+
+        assertSame(response, authenticator.getAuthenticationHandler().authenticate(criteria));
+        latch.countDown();
+        awaitExecutor();
+        verifyNoInteractions(entryResolver);
+        assertEquals(1, metrics.getLatencies().get(LdapAuthenticationMetrics.Operation.BIND).getCount());
+    }
+
+    @Test
+    void verifyInstrumentedAuthenticatorDiscardsOnBindError() throws Exception {
+        val latch = blockExecutor();
+        val criteria = newCriteria(USER_DN);
+        val handler = mock(AuthenticationHandler.class);
+        when(handler.authenticate(criteria)).thenThrow(new LdapException("Bind failed"));
+        val entryResolver = mock(EntryResolver.class);
+        val authenticator = new Authenticator(mock(DnResolver.class), handler);
+        authenticator.setEntryResolver(entryResolver);
+        LdapUtils.instrumentLdaptiveAuthenticator(authenticator, new LdapAuthenticationMetrics("LDAP", "ldap://localhost:389"), pipeline);
+
+        assertThrows(LdapException.class, () -> authenticator.getAuthenticationHandler().authenticate(criteria));
+        latch.countDown();
+        awaitExecutor();
+        verifyNoInteractions(entryResolver);
+    }
+
+    @Test
+    void verifyInstrumentedAuthenticatorUsesPrefetchedEntry() throws Exception {
+        val criteria = newCriteria(USER_DN);
+        val response = mock(AuthenticationHandlerResponse.class);
+        when(response.isSuccess()).thenReturn(Boolean.TRUE);
+        val entry = new LdapEntry();
+        entry.setDn(USER_DN);
+        val entryResolver = mock(EntryResolver.class);
+        when(entryResolver.resolve(criteria, null)).thenReturn(entry);
+        val authenticator = newAuthenticator(entryResolver, response);
+        val metrics = new LdapAuthenticationMetrics("LDAP", "ldap://localhost:389");
+        LdapUtils.instrumentLdaptiveAuthenticator(authenticator, metrics, pipeline);
+
+        assertSame(response, authenticator.getAuthenticationHandler().authenticate(criteria));
+        assertSame(entry, authenticator.getEntryResolver().resolve(criteria, response));
+        verify(entryResolver).resolve(criteria, null);
+        verify(entryResolver, never()).resolve(criteria, response);
+        assertEquals(1, metrics.getLatencies().get(LdapAuthenticationMetrics.Operation.BIND).getCount());
+        assertEquals(1, metrics.getLatencies().get(LdapAuthenticationMetrics.Operation.ENTRY_RESOLUTION).getCount());
+    }
+
+    private CountDownLatch blockExecutor() {
+        val latch = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                latch.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        return latch;
+    }
+
+    private void awaitExecutor() throws Exception {
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    private static Authenticator newAuthenticator(final EntryResolver entryResolver,
+                                                  final AuthenticationHandlerResponse response) throws Exception {
+        val handler = mock(AuthenticationHandler.class);
+        when(handler.authenticate(any())).thenReturn(response);
+        val authenticator = new Authenticator(mock(DnResolver.class), handler);
+        authenticator.setEntryResolver(entryResolver);
+        return authenticator;
+    }
+
+    private static AuthenticationCriteria newCriteria(final String dn) {
+        val criteria = mock(AuthenticationCriteria.class);
+        when(criteria.getDn()).thenReturn(dn);
+        return criteria;
+    }
+}
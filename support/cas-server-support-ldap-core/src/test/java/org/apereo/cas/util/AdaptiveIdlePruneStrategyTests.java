@@ -0,0 +1,45 @@
+package org.apereo.cas.util;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.ldaptive.PooledConnectionFactory;
+import org.ldaptive.pool.PooledConnectionProxy;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link AdaptiveIdlePruneStrategyTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("LdapAuthentication")
+class AdaptiveIdlePruneStrategyTests {
+    @Test
+    void verifyConnectionsAreRetainedUnderPressure() {
+        val connectionFactory = mock(PooledConnectionFactory.class);
+        when(connectionFactory.getMaxPoolSize()).thenReturn(10);
+        when(connectionFactory.activeCount()).thenReturn(9);
+        val strategy = new AdaptiveIdlePruneStrategy(new LdapConnectionPoolMonitor(connectionFactory), 0.75, Duration.ofMillis(100));
+
+        val connection = mock(PooledConnectionProxy.class);
+        assertFalse(strategy.apply(connection));
+        verifyNoInteractions(connection);
+    }
+
+    @Test
+    void verifyIdleConnectionsArePrunedWhenDemandDrops() {
+        val connectionFactory = mock(PooledConnectionFactory.class);
+        when(connectionFactory.getMaxPoolSize()).thenReturn(10);
+        when(connectionFactory.activeCount()).thenReturn(1);
+        val strategy = new AdaptiveIdlePruneStrategy(new LdapConnectionPoolMonitor(connectionFactory), 0.75, Duration.ofMillis(100));
+
+        val connection = mock(PooledConnectionProxy.class, RETURNS_DEEP_STUBS);
+        assertNotNull(strategy.apply(connection));
+        assertFalse(mockingDetails(connection).getInvocations().isEmpty());
+    }
+}
@@ -11,9 +11,11 @@ import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.util.LdapUtils;
 import org.apereo.cas.util.spring.beans.BeanContainer;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeatureEnabled;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -62,7 +64,8 @@ public class LdapAuthenticationConfiguration {
             @Qualifier("ldapPrincipalFactory")
             final PrincipalFactory ldapPrincipalFactory,
             @Qualifier(ServicesManager.BEAN_NAME)
-            final ServicesManager servicesManager) {
+            final ServicesManager servicesManager,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
             val handlers = casProperties.getAuthn().getLdap()
                 .stream()
                 .filter(prop -> {
@@ -75,6 +78,7 @@ public class LdapAuthenticationConfiguration {
                     val handler = LdapUtils.createLdapAuthenticationHandler(prop,
                         applicationContext, servicesManager, ldapPrincipalFactory);
                     handler.setState(prop.getState());
+                    meterRegistry.ifAvailable(handler.getMetrics()::bindTo);
                     return handler;
                 })
                 .collect(Collectors.toList());
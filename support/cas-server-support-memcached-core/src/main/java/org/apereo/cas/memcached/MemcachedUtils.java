@@ -65,6 +65,7 @@ public class MemcachedUtils {
                 LOGGER.debug("Creating memcached transcoder [{}]", whalinv1.getClass().getName());
                 return whalinv1;
             }
+            case TICKET -> throw new IllegalArgumentException("Ticket transcoder can only be used by the memcached ticket registry");
             default -> {
                 val kryoPool = new CasKryoPool(kryoSerializableClasses, true,
                     memcachedProperties.isKryoRegistrationRequired(),
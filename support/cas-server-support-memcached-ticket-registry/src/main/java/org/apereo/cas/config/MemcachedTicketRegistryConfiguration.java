@@ -2,10 +2,12 @@ package org.apereo.cas.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.features.CasFeatureModule;
+import org.apereo.cas.configuration.model.support.memcached.BaseMemcachedProperties;
 import org.apereo.cas.memcached.MemcachedPooledClientConnectionFactory;
 import org.apereo.cas.memcached.MemcachedUtils;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.registry.MemcachedTicketRegistry;
+import org.apereo.cas.ticket.registry.MemcachedTicketTranscoder;
 import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
@@ -14,8 +16,10 @@ import org.apereo.cas.util.CoreTicketUtils;
 import org.apereo.cas.util.serialization.ComponentSerializationPlan;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeatureEnabled;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.val;
 import net.spy.memcached.transcoders.Transcoder;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -43,11 +47,16 @@ public class MemcachedTicketRegistryConfiguration {
     @Bean
     public Transcoder memcachedTicketRegistryTranscoder(
         final CasConfigurationProperties casProperties,
+        @Qualifier(TicketSerializationManager.BEAN_NAME)
+        final TicketSerializationManager ticketSerializationManager,
         @Qualifier("componentSerializationPlan")
         final ComponentSerializationPlan componentSerializationPlan) {
         val memcached = casProperties.getTicket()
             .getRegistry()
             .getMemcached();
+        if (memcached.getTranscoder() == BaseMemcachedProperties.TranscoderTypes.TICKET) {
+            return new MemcachedTicketTranscoder(ticketSerializationManager);
+        }
         return MemcachedUtils.newTranscoder(memcached, componentSerializationPlan.getRegisteredClasses());
     }
 
@@ -72,13 +81,16 @@ public class MemcachedTicketRegistryConfiguration {
                                          @Qualifier(TicketSerializationManager.BEAN_NAME)
                                          final TicketSerializationManager ticketSerializationManager,
                                          @Qualifier("memcachedTicketRegistryTranscoder")
-                                         final Transcoder memcachedTicketRegistryTranscoder) {
+                                         final Transcoder memcachedTicketRegistryTranscoder,
+                                         final ObjectProvider<MeterRegistry> meterRegistry) {
         val memcached = casProperties.getTicket()
             .getRegistry()
             .getMemcached();
         val factory = new MemcachedPooledClientConnectionFactory(memcached, memcachedTicketRegistryTranscoder);
         val cipherExecutor = CoreTicketUtils.newTicketRegistryCipherExecutor(memcached.getCrypto(), "memcached");
-        return new MemcachedTicketRegistry(cipherExecutor, ticketSerializationManager, ticketCatalog, factory.getObjectPool());
+        val registry = new MemcachedTicketRegistry(cipherExecutor, ticketSerializationManager, ticketCatalog, factory.getObjectPool());
+        meterRegistry.ifAvailable(registry::bindTo);
+        return registry;
     }
 
     @Bean
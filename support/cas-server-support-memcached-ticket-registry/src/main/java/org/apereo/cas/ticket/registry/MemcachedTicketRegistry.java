@@ -1,27 +1,61 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.ticket.AuthenticatedServicesAwareTicketGrantingTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.serialization.TicketSerializationManager;
+import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.util.LoggingUtils;
 import org.apereo.cas.util.crypto.CipherExecutor;
 import org.apereo.cas.util.function.FunctionUtils;
 
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import net.spy.memcached.CASResponse;
 import net.spy.memcached.MemcachedClientIF;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.commons.pool2.ObjectPool;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.jooq.lambda.fi.util.function.CheckedFunction;
 import org.springframework.beans.factory.DisposableBean;
 
+import java.time.Instant;
+import java.time.chrono.ChronoZonedDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Key-value ticket registry implementation that stores tickets in memcached keyed on the ticket ID.
  * <p>
  * If the number sent by a client is larger than {@link #THIRTY_DAYS_IN_SECONDS}, the expiration
  * time of the ticket will be set to {@link #THIRTY_DAYS_IN_SECONDS} itself.
+ * <p>
+ * Ticket-granting ticket ids are also tracked per principal under a CAS-managed index key,
+ * updated using check-and-set operations, so that sessions can be looked up and counted
+ * for a principal. Each entry of the index carries the time by which its ticket expires at the latest;
+ * entries that are past it are dropped whenever the index is updated, and the index itself is kept
+ * only as long as its longest-lived entry. Entries whose tickets have disappeared are pruned when read.
  *
  * @author Scott Battaglia
  * @author Marvin S. Addison
@@ -31,48 +65,77 @@ import java.util.function.Predicate;
 @SuppressWarnings("FutureReturnValueIgnored")
 @Slf4j
 @Deprecated(since = "7.0.0")
-public class MemcachedTicketRegistry extends AbstractTicketRegistry implements DisposableBean {
+public class MemcachedTicketRegistry extends AbstractTicketRegistry implements DisposableBean, MeterBinder {
     private static final int THIRTY_DAYS_IN_SECONDS = 60 * 60 * 24 * 30;
 
+    private static final String PRINCIPAL_INDEX_KEY_PREFIX = "cas:principal:";
+
+    private static final String PRINCIPAL_INDEX_SEPARATOR = ",";
+
+    private static final char PRINCIPAL_INDEX_EXPIRATION_SEPARATOR = '|';
+
+    private static final int PRINCIPAL_INDEX_UPDATE_ATTEMPTS = 10;
+
+    private static final String OPERATION_BORROW = "borrow";
+
+    private static final String OPERATION_GET = "get";
+
+    private static final String OPERATION_ADD = "add";
+
+    private static final String OPERATION_UPDATE = "update";
+
+    private static final String OPERATION_DELETE = "delete";
+
+    private static final String OPERATION_DELETE_CHILDREN = "delete-children";
+
+    private static final String OPERATION_GET_SESSIONS = "get-sessions";
+
     /**
      * Memcached client.
      */
     private final ObjectPool<MemcachedClientIF> connectionPool;
 
+    private final Map<String, OperationStatistics> operationStatistics = new ConcurrentHashMap<>();
+
     public MemcachedTicketRegistry(final CipherExecutor cipherExecutor, final TicketSerializationManager ticketSerializationManager,
                                    final TicketCatalog ticketCatalog, final ObjectPool<MemcachedClientIF> connectionPool) {
         super(cipherExecutor, ticketSerializationManager, ticketCatalog);
         this.connectionPool = connectionPool;
+        Stream.of(OPERATION_BORROW, OPERATION_GET, OPERATION_ADD, OPERATION_UPDATE, OPERATION_DELETE,
+                OPERATION_DELETE_CHILDREN, OPERATION_GET_SESSIONS)
+            .forEach(operation -> operationStatistics.put(operation, new OperationStatistics()));
     }
 
     @Override
     public Ticket updateTicket(final Ticket ticketToUpdate) throws Exception {
         val ticket = encodeTicket(ticketToUpdate);
         LOGGER.debug("Updating ticket [{}]", ticket);
-        val clientFromPool = getClientFromPool();
         try {
-            clientFromPool.replace(ticket.getId(), getTimeout(ticketToUpdate), ticket);
+            execute(OPERATION_UPDATE, client -> client.replace(ticket.getId(), getTimeout(ticketToUpdate), ticket));
+            ticketExpirationIndex.schedule(ticketToUpdate);
         } catch (final Exception e) {
             LOGGER.error("Failed updating [{}]", ticket);
             LoggingUtils.error(LOGGER, e);
-        } finally {
-            returnClientToPool(clientFromPool);
         }
         return ticket;
     }
 
     @Override
     public void addTicketInternal(final Ticket ticketToAdd) {
-        val clientFromPool = getClientFromPool();
         try {
             val ticket = encodeTicket(ticketToAdd);
             LOGGER.trace("Adding ticket [{}]", ticket);
-            clientFromPool.set(ticket.getId(), getTimeout(ticketToAdd), ticket);
+            execute(OPERATION_ADD, client -> {
+                client.set(ticket.getId(), getTimeout(ticketToAdd), ticket);
+                if (ticketToAdd instanceof TicketGrantingTicket) {
+                    val expiration = getMaximumExpirationTime(ticketToAdd);
+                    updatePrincipalIndex(client, getPrincipalIdFrom(ticketToAdd), ticketIds -> ticketIds.put(ticket.getId(), expiration));
+                }
+                return ticket;
+            });
         } catch (final Exception e) {
             LOGGER.error("Failed adding [{}]", ticketToAdd);
             LoggingUtils.error(LOGGER, e);
-        } finally {
-            returnClientToPool(clientFromPool);
         }
     }
 
@@ -84,25 +147,27 @@ public class MemcachedTicketRegistry extends AbstractTicketRegistry implements D
 
     @Override
     public long deleteSingleTicket(final Ticket ticketToDelete) {
-        val clientFromPool = getClientFromPool();
         val ticketId = digestIdentifier(ticketToDelete.getId());
         try {
-            clientFromPool.delete(ticketId);
+            execute(OPERATION_DELETE, client -> {
+                client.delete(ticketId);
+                if (ticketToDelete instanceof TicketGrantingTicket) {
+                    updatePrincipalIndex(client, getPrincipalIdFrom(ticketToDelete), ticketIds -> ticketIds.remove(ticketId));
+                }
+                return ticketId;
+            });
         } catch (final Exception e) {
             LOGGER.error("Ticket not found or is already removed. Failed deleting [{}]", ticketId);
             LoggingUtils.error(LOGGER, e);
-        } finally {
-            returnClientToPool(clientFromPool);
         }
         return 1;
     }
 
     @Override
     public Ticket getTicket(final String ticketIdToGet, final Predicate<Ticket> predicate) {
-        val clientFromPool = getClientFromPool();
         val ticketId = digestIdentifier(ticketIdToGet);
         try {
-            val ticketFromCache = (Ticket) clientFromPool.get(ticketId);
+            val ticketFromCache = execute(OPERATION_GET, client -> (Ticket) client.get(ticketId));
             if (ticketFromCache != null) {
                 val result = decodeTicket(ticketFromCache);
                 if (predicate.test(result)) {
@@ -113,8 +178,6 @@ public class MemcachedTicketRegistry extends AbstractTicketRegistry implements D
         } catch (final Exception e) {
             LOGGER.error("Failed fetching [{}] ", ticketId);
             LoggingUtils.error(LOGGER, e);
-        } finally {
-            returnClientToPool(clientFromPool);
         }
         return null;
     }
@@ -125,11 +188,111 @@ public class MemcachedTicketRegistry extends AbstractTicketRegistry implements D
         return new ArrayList<>(0);
     }
 
+    @Override
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        try {
+            val sessions = execute(OPERATION_GET_SESSIONS, client -> {
+                val now = Instant.now().getEpochSecond();
+                val ticketIds = toTicketIds((String) client.get(getPrincipalIndexKey(principalId)))
+                    .entrySet()
+                    .stream()
+                    .filter(entry -> entry.getValue() > now)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+                if (ticketIds.isEmpty()) {
+                    return List.<Ticket>of();
+                }
+                val tickets = client.getBulk(ticketIds);
+                val missingTicketIds = ticketIds
+                    .stream()
+                    .filter(ticketId -> !tickets.containsKey(ticketId))
+                    .collect(Collectors.toSet());
+                if (!missingTicketIds.isEmpty()) {
+                    LOGGER.debug("Removing [{}] ticket(s) that no longer exist from the index of [{}]", missingTicketIds.size(), principalId);
+                    updatePrincipalIndex(client, principalId, ids -> ids.keySet().removeAll(missingTicketIds));
+                }
+                return tickets.values()
+                    .stream()
+                    .map(Ticket.class::cast)
+                    .map(this::decodeTicket)
+                    .filter(Objects::nonNull)
+                    .filter(ticket -> ticket instanceof TicketGrantingTicket && !ticket.isExpired())
+                    .filter(ticket -> getPrincipalIdFrom(ticket).equals(principalId))
+                    .collect(Collectors.toList());
+            });
+            return sessions.stream();
+        } catch (final Exception e) {
+            LOGGER.error("Failed fetching sessions for [{}]", principalId);
+            LoggingUtils.error(LOGGER, e);
+        }
+        return Stream.empty();
+    }
+
+    @Override
+    public long countSessionsFor(final String principalId) {
+        try (val sessions = getSessionsFor(principalId)) {
+            return sessions.count();
+        }
+    }
+
     @Override
     public void destroy() {
         this.connectionPool.close();
     }
 
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        operationStatistics.forEach((operation, statistics) ->
+            FunctionTimer.builder("cas.ticket.registry.memcached.operations", statistics,
+                    stats -> stats.getCount().sum(), stats -> stats.getTotalTime().sum(), TimeUnit.NANOSECONDS)
+                .description("Latency of memcached ticket registry operations, including the time spent waiting for a pooled client")
+                .tag("operation", operation)
+                .register(registry));
+        if (connectionPool instanceof final GenericObjectPool<MemcachedClientIF> pool) {
+            Gauge.builder("cas.ticket.registry.memcached.pool.active", pool, GenericObjectPool::getNumActive)
+                .description("Number of memcached clients borrowed from the pool")
+                .register(registry);
+            Gauge.builder("cas.ticket.registry.memcached.pool.idle", pool, GenericObjectPool::getNumIdle)
+                .description("Number of idle memcached clients in the pool")
+                .register(registry);
+            Gauge.builder("cas.ticket.registry.memcached.pool.waiters", pool, GenericObjectPool::getNumWaiters)
+                .description("Number of threads waiting to borrow a memcached client from the pool")
+                .register(registry);
+            Gauge.builder("cas.ticket.registry.memcached.pool.max", pool, GenericObjectPool::getMaxTotal)
+                .description("Maximum number of memcached clients in the pool")
+                .register(registry);
+        }
+    }
+
+    @Override
+    protected int deleteChildren(final TicketGrantingTicket ticket) {
+        if (ticket instanceof final AuthenticatedServicesAwareTicketGrantingTicket authTicket
+            && authTicket.getServices() != null && !authTicket.getServices().isEmpty()) {
+            val ticketIds = authTicket.getServices().keySet()
+                .stream()
+                .map(this::digestIdentifier)
+                .collect(Collectors.toList());
+            try {
+                val count = execute(OPERATION_DELETE_CHILDREN, client -> {
+                    val deletions = ticketIds.stream().map(client::delete).collect(Collectors.toList());
+                    var deleted = 0;
+                    for (val deletion : deletions) {
+                        if (Boolean.TRUE.equals(deletion.get())) {
+                            deleted++;
+                        }
+                    }
+                    return deleted;
+                });
+                LOGGER.debug("Removed [{}] ticket(s) linked to [{}]", count, ticket.getId());
+                return count;
+            } catch (final Exception e) {
+                LOGGER.error("Failed deleting tickets linked to [{}]", ticket.getId());
+                LoggingUtils.error(LOGGER, e);
+            }
+        }
+        return 0;
+    }
+
     /**
      * If not time out value is specified, expire the ticket immediately.
      *
@@ -149,8 +312,102 @@ public class MemcachedTicketRegistry extends AbstractTicketRegistry implements D
         return ttl.intValue();
     }
 
+    /**
+     * Gets the time, in epoch seconds, by which the ticket expires at the latest.
+     * Tickets without a hard limit are assumed to live as long as memcached allows.
+     */
+    private static long getMaximumExpirationTime(final Ticket ticket) {
+        val limit = Instant.now().getEpochSecond() + THIRTY_DAYS_IN_SECONDS;
+        return Optional.ofNullable(ticket.getExpirationPolicy().getMaximumExpirationTime(ticket))
+            .map(ChronoZonedDateTime::toEpochSecond)
+            .map(expiration -> Math.min(expiration, limit))
+            .orElse(limit);
+    }
+
+    /**
+     * Parse the index into ticket ids mapped to their expiration time in epoch seconds.
+     * Entries written without an expiration time are kept until they are pruned when read.
+     */
+    private static Map<String, Long> toTicketIds(final String index) {
+        val ticketIds = new LinkedHashMap<String, Long>();
+        if (StringUtils.isNotBlank(index)) {
+            Arrays.stream(StringUtils.split(index, PRINCIPAL_INDEX_SEPARATOR)).forEach(entry -> {
+                val separator = entry.lastIndexOf(PRINCIPAL_INDEX_EXPIRATION_SEPARATOR);
+                val expiration = separator > 0 ? NumberUtils.toLong(entry.substring(separator + 1), Long.MAX_VALUE) : Long.MAX_VALUE;
+                ticketIds.put(separator > 0 ? entry.substring(0, separator) : entry, expiration);
+            });
+        }
+        return ticketIds;
+    }
+
+    private static String toIndexValue(final Map<String, Long> ticketIds) {
+        return ticketIds.entrySet()
+            .stream()
+            .map(entry -> entry.getKey() + PRINCIPAL_INDEX_EXPIRATION_SEPARATOR + entry.getValue())
+            .collect(Collectors.joining(PRINCIPAL_INDEX_SEPARATOR));
+    }
+
+    private String getPrincipalIndexKey(final String principalId) {
+        return PRINCIPAL_INDEX_KEY_PREFIX + DigestUtils.sha256(digestIdentifier(principalId));
+    }
+
+    /**
+     * Update the ticket-granting ticket ids indexed for the principal.
+     * The index is read and written back using check-and-set, and the update
+     * is retried when the index was changed concurrently by another node.
+     * Entries that are past their expiration time are dropped as part of the update,
+     * and the index is kept until its longest-lived entry expires.
+     *
+     * @param client      the client
+     * @param principalId the principal id
+     * @param updater     the updater of the indexed ticket ids
+     * @throws Exception the exception
+     */
+    private void updatePrincipalIndex(final MemcachedClientIF client, final String principalId,
+                                      final Consumer<Map<String, Long>> updater) throws Exception {
+        if (StringUtils.isBlank(principalId)) {
+            return;
+        }
+        val key = getPrincipalIndexKey(principalId);
+        for (var attempt = 1; attempt <= PRINCIPAL_INDEX_UPDATE_ATTEMPTS; attempt++) {
+            val current = client.gets(key);
+            val ticketIds = toTicketIds(current == null ? null : (String) current.getValue());
+            updater.accept(ticketIds);
+            val now = Instant.now().getEpochSecond();
+            ticketIds.values().removeIf(expiration -> expiration <= now);
+            val value = toIndexValue(ticketIds);
+            val timeout = (int) Math.min(THIRTY_DAYS_IN_SECONDS,
+                Math.max(1, ticketIds.values().stream().mapToLong(expiration -> expiration - now).max().orElse(1)));
+            if (current == null) {
+                if (ticketIds.isEmpty() || client.add(key, timeout, value).get()) {
+                    return;
+                }
+            } else if (client.cas(key, current.getCas(), timeout, value) == CASResponse.OK) {
+                return;
+            }
+            LOGGER.trace("Index of [{}] was modified concurrently; retrying update attempt [{}]", principalId, attempt);
+        }
+        LOGGER.warn("Unable to update the index of [{}] after [{}] attempt(s)", principalId, PRINCIPAL_INDEX_UPDATE_ATTEMPTS);
+    }
+
+    private <T> T execute(final String operation, final CheckedFunction<MemcachedClientIF, T> function) {
+        val startTime = System.nanoTime();
+        val clientFromPool = getClientFromPool();
+        try {
+            return FunctionUtils.doUnchecked(() -> function.apply(clientFromPool));
+        } finally {
+            returnClientToPool(clientFromPool);
+            operationStatistics.get(operation).record(System.nanoTime() - startTime);
+        }
+    }
+
     private MemcachedClientIF getClientFromPool() {
-        return FunctionUtils.doUnchecked(this.connectionPool::borrowObject);
+        val startTime = System.nanoTime();
+        try {
+            return FunctionUtils.doUnchecked(this.connectionPool::borrowObject);
+        } finally {
+            operationStatistics.get(OPERATION_BORROW).record(System.nanoTime() - startTime);
+        }
     }
 
     private void returnClientToPool(final MemcachedClientIF clientFromPool) {
@@ -162,4 +419,16 @@ public class MemcachedTicketRegistry extends AbstractTicketRegistry implements D
             LoggingUtils.error(LOGGER, e);
         }
     }
+
+    @Getter
+    private static final class OperationStatistics {
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder totalTime = new LongAdder();
+
+        void record(final long elapsedNanos) {
+            count.increment();
+            totalTime.add(elapsedNanos);
+        }
+    }
 }
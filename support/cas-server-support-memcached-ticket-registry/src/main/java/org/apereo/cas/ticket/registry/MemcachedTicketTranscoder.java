@@ -0,0 +1,84 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.serialization.TicketSerializationManager;
+import org.apereo.cas.util.function.FunctionUtils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import net.spy.memcached.CachedData;
+import net.spy.memcached.transcoders.Transcoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This is {@link MemcachedTicketTranscoder}, which stores tickets in memcached using the CAS ticket serializers
+ * rather than Java or Kryo serialization. A ticket entry carries the ticket type followed by the serialized ticket,
+ * so the stored format follows the serialization format configured for the ticket registry. Plain strings,
+ * used by the registry for its principal index, are stored as UTF-8 bytes.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@RequiredArgsConstructor
+public class MemcachedTicketTranscoder implements Transcoder<Object> {
+    /**
+     * Flag marking entries that hold a serialized ticket.
+     */
+    static final int FLAG_TICKET = 1 << 12;
+
+    /**
+     * Flag marking entries that hold a plain string.
+     */
+    static final int FLAG_STRING = 1 << 13;
+
+    private final TicketSerializationManager ticketSerializationManager;
+
+    @Override
+    public boolean asyncDecode(final CachedData data) {
+        return false;
+    }
+
+    @Override
+    public CachedData encode(final Object value) {
+        if (value instanceof final Ticket ticket) {
+            return FunctionUtils.doUnchecked(() -> {
+                try (val bytes = new ByteArrayOutputStream();
+                     val output = new DataOutputStream(bytes)) {
+                    output.writeUTF(ticket.getClass().getName());
+                    output.write(ticketSerializationManager.serializeTicket(ticket).getBytes(StandardCharsets.UTF_8));
+                    output.flush();
+                    return new CachedData(FLAG_TICKET, bytes.toByteArray(), getMaxSize());
+                }
+            });
+        }
+        if (value instanceof final String string) {
+            return new CachedData(FLAG_STRING, string.getBytes(StandardCharsets.UTF_8), getMaxSize());
+        }
+        throw new IllegalArgumentException("Unable to encode value of type " + value.getClass().getName());
+    }
+
+    @Override
+    public Object decode(final CachedData data) {
+        return switch (data.getFlags()) {
+            case FLAG_TICKET -> FunctionUtils.doUnchecked(() -> {
+                try (val input = new DataInputStream(new ByteArrayInputStream(data.getData()))) {
+                    val type = input.readUTF();
+                    val content = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+                    return ticketSerializationManager.deserializeTicket(content, type);
+                }
+            });
+            case FLAG_STRING -> new String(data.getData(), StandardCharsets.UTF_8);
+            default -> throw new IllegalArgumentException("Unable to decode entry with flags " + data.getFlags());
+        };
+    }
+
+    @Override
+    public int getMaxSize() {
+        return CachedData.MAX_SIZE;
+    }
+}
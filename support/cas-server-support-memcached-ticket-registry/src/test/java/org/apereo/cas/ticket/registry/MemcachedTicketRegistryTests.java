@@ -17,8 +17,11 @@ import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.support.oauth.OAuth20GrantTypes;
 import org.apereo.cas.support.oauth.OAuth20ResponseTypes;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
 import org.apereo.cas.ticket.code.OAuth20Code;
 import org.apereo.cas.ticket.code.OAuth20DefaultOAuthCodeFactory;
+import org.apereo.cas.ticket.expiration.HardTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
 import org.apereo.cas.util.crypto.CipherExecutor;
@@ -28,17 +31,23 @@ import org.apereo.cas.util.serialization.ComponentSerializationPlanConfigurer;
 
 import lombok.Getter;
 import lombok.val;
+import net.spy.memcached.CASResponse;
+import net.spy.memcached.CASValue;
 import net.spy.memcached.MemcachedClientIF;
 import org.apache.commons.pool2.ObjectPool;
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Tag;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.TestPropertySource;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -142,6 +151,60 @@ class MemcachedTicketRegistryTests extends BaseTicketRegistryTests {
         });
     }
 
+    @RepeatedTest(2)
+    public void verifySessionsForPrincipal() throws Exception {
+        val id = UUID.randomUUID().toString();
+        val tickets = new ArrayList<TicketGrantingTicket>();
+        for (var i = 0; i < 3; i++) {
+            val tgt = new TicketGrantingTicketImpl(new DefaultUniqueTicketIdGenerator().getNewTicketId(TicketGrantingTicket.PREFIX),
+                CoreAuthenticationTestUtils.getAuthentication(id), NeverExpiresExpirationPolicy.INSTANCE);
+            newTicketRegistry.addTicket(tgt);
+            tickets.add(tgt);
+        }
+        assertEquals(3, newTicketRegistry.countSessionsFor(id));
+        newTicketRegistry.deleteTicket(tickets.get(0).getId());
+        try (val results = newTicketRegistry.getSessionsFor(id)) {
+            assertEquals(2, results.count());
+        }
+        assertEquals(0, newTicketRegistry.countSessionsFor(UUID.randomUUID().toString()));
+    }
+
+    @RepeatedTest(1)
+    public void verifyExpiredSessionsArePrunedOnWrite() throws Exception {
+        val pool = mock(ObjectPool.class);
+        val client = mock(MemcachedClientIF.class);
+        when(pool.borrowObject()).thenReturn(client);
+        val expired = Instant.now().minusSeconds(60).getEpochSecond();
+        when(client.gets(anyString())).thenReturn(new CASValue<>(1, "TGT-expired|" + expired + ",TGT-legacy"));
+        when(client.cas(anyString(), anyLong(), anyInt(), any())).thenReturn(CASResponse.OK);
+
+        val registry = new MemcachedTicketRegistry(CipherExecutor.noOp(), ticketSerializationManager, ticketCatalog, pool);
+        val tgt = new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(), new HardTimeoutExpirationPolicy(300));
+        registry.addTicket(tgt);
+
+        val timeout = ArgumentCaptor.forClass(Integer.class);
+        val index = ArgumentCaptor.forClass(Object.class);
+        verify(client).cas(anyString(), eq(1L), timeout.capture(), index.capture());
+        val entries = index.getValue().toString();
+        assertFalse(entries.contains("TGT-expired"));
+        assertTrue(entries.contains("TGT-legacy"));
+        assertTrue(entries.contains(tgt.getId() + '|'));
+        assertTrue(timeout.getValue() > 0);
+    }
+
+    @RepeatedTest(1)
+    public void verifyTicketTranscoder() {
+        val transcoder = new MemcachedTicketTranscoder(ticketSerializationManager);
+        val tgt = new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+        val decoded = (TicketGrantingTicket) transcoder.decode(transcoder.encode(tgt));
+        assertEquals(tgt.getId(), decoded.getId());
+        assertEquals(tgt.getAuthentication().getPrincipal(), decoded.getAuthentication().getPrincipal());
+        assertEquals("TGT-1,TGT-2", transcoder.decode(transcoder.encode("TGT-1,TGT-2")));
+        assertThrows(IllegalArgumentException.class, () -> transcoder.encode(new Object()));
+    }
+
     @TestConfiguration(value = "MemcachedTicketRegistryTestConfiguration", proxyBeanMethods = false)
     @Deprecated(since = "7.0.0")
     static class MemcachedTicketRegistryTestConfiguration implements ComponentSerializationPlanConfigurer {
@@ -3,6 +3,7 @@ package org.apereo.cas.config;
 import org.apereo.cas.authentication.CasSSLContext;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.features.CasFeatureModule;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.mongo.MongoDbConnectionFactory;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.registry.MongoDbTicketRegistry;
@@ -22,6 +23,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ScopedProxyMode;
 import org.springframework.data.mongodb.core.MongoOperations;
 
+import java.time.Duration;
+
 /**
  * This is {@link MongoDbTicketRegistryConfiguration}.
  *
@@ -45,8 +48,10 @@ public class MongoDbTicketRegistryConfiguration {
         final TicketSerializationManager ticketSerializationManager) {
 
         val mongo = casProperties.getTicket().getRegistry().getMongo();
+        val cleaner = casProperties.getTicket().getRegistry().getCleaner().getSchedule();
+        val expirationGracePeriod = cleaner.isEnabled() ? Beans.newDuration(cleaner.getRepeatInterval()) : Duration.ZERO;
         new MongoDbTicketRegistryFacilitator(ticketCatalog, mongoDbTicketRegistryTemplate,
-            mongo.isDropCollection(), mongo.isUpdateIndexes(), mongo.isDropIndexes())
+            mongo.isDropCollection(), mongo.isUpdateIndexes(), mongo.isDropIndexes(), expirationGracePeriod)
             .createTicketCollections();
 
         val cipher = CoreTicketUtils.newTicketRegistryCipherExecutor(mongo.getCrypto(), "mongo");
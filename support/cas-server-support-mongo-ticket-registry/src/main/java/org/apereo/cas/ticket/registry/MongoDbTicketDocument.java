@@ -32,6 +32,11 @@ public class MongoDbTicketDocument implements Serializable {
      */
     public static final String FIELD_NAME_JSON = "json";
 
+    /**
+     * Field name to hold binary ticket content.
+     */
+    public static final String FIELD_NAME_CONTENT = "content";
+
     /**
      * Field name to hold ticket type.
      */
@@ -63,6 +68,9 @@ public class MongoDbTicketDocument implements Serializable {
     @JsonProperty
     private String json;
 
+    @JsonProperty
+    private byte[] content;
+
     @JsonProperty
     private String ticketId;
 
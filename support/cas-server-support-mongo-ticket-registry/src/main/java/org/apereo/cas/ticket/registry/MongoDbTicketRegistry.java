@@ -1,6 +1,7 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.monitor.Monitorable;
+import org.apereo.cas.ticket.AuthenticatedServicesAwareTicketGrantingTicket;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
@@ -18,27 +19,30 @@ import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.hjson.JsonValue;
 import org.hjson.Stringify;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
-import org.springframework.data.mongodb.core.query.TextCriteria;
-import org.springframework.data.mongodb.core.query.TextQuery;
 import org.springframework.data.mongodb.core.query.Update;
 
-import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * A Ticket Registry storage backend based on MongoDB.
+ * <p>
+ * Each document carries an expiration date that is projected from the ticket's expiration policy
+ * and is backed by a TTL index, so that MongoDb removes expired tickets on its own. Multiple tickets
+ * are written, and child tickets are removed, using unordered bulk operations per collection.
+ * Lookups only fetch the fields that are needed to rebuild the ticket.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
@@ -46,8 +50,6 @@ import java.util.stream.Stream;
 @Slf4j
 @Monitorable
 public class MongoDbTicketRegistry extends AbstractTicketRegistry {
-    private static final int PAGE_SIZE = 500;
-
     private final MongoOperations mongoTemplate;
 
     public MongoDbTicketRegistry(final CipherExecutor cipherExecutor, final TicketSerializationManager ticketSerializationManager,
@@ -58,18 +60,58 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
     }
 
     /**
-     * Calculate the time at which the ticket is eligible for automated deletion by MongoDb.
+     * Calculate the time at which the ticket is eligible for automated deletion by MongoDb,
+     * projected from the ticket's expiration policy.
      * Makes the assumption that the CAS server date and the Mongo server date are in sync.
      */
     private static Date getExpireAt(final Ticket ticket) {
-        val expirationPolicy = ticket.getExpirationPolicy();
-        val ttl = expirationPolicy.getTimeToLive(ticket);
-        if (ttl < 1 || ttl == Long.MAX_VALUE) {
-            LOGGER.trace("Expiration date is undefined for ttl value [{}]", ttl);
-            return null;
-        }
-        val exp = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttl);
-        return DateTimeUtils.dateOf(Instant.ofEpochMilli(exp));
+        return DefaultTicketExpirationIndex.getProjectedExpirationTime(ticket)
+            .map(DateTimeUtils::dateOf)
+            .orElseGet(() -> {
+                LOGGER.trace("Expiration date is undefined for ticket [{}]", ticket.getId());
+                return null;
+            });
+    }
+
+    /**
+     * Build a query that only fetches the fields required to rebuild tickets.
+     */
+    private static Query ticketQuery(final Criteria criteria) {
+        val query = new Query(criteria);
+        query.fields().include(MongoDbTicketDocument.FIELD_NAME_JSON, MongoDbTicketDocument.FIELD_NAME_CONTENT, MongoDbTicketDocument.FIELD_NAME_TYPE);
+        return query;
+    }
+
+    /**
+     * Build a query for the unexpired ticket-granting tickets of the given (digested) principal.
+     * Documents without an expiration date are never removed by MongoDb and are always included.
+     */
+    private static Criteria sessionCriteria(final String principal) {
+        return Criteria.where(MongoDbTicketDocument.FIELD_NAME_PRINCIPAL).is(principal)
+            .and(MongoDbTicketDocument.FIELD_NAME_EXPIRE_AT).not().lte(new Date());
+    }
+
+    @Override
+    public void addTicket(final Stream<? extends Ticket> toSave) {
+        val documents = new HashMap<String, List<MongoDbTicketDocument>>();
+        toSave
+            .filter(ticket -> !ticket.isExpired())
+            .forEach(ticket -> FunctionUtils.doAndHandle(__ -> {
+                val metadata = ticketCatalog.find(ticket);
+                if (metadata == null) {
+                    LOGGER.error("Could not locate ticket definition in the catalog for ticket [{}]", ticket.getId());
+                    return;
+                }
+                val collectionName = getTicketCollectionInstanceByMetadata(metadata);
+                documents.computeIfAbsent(collectionName, name -> new ArrayList<>()).add(buildTicketAsDocument(ticket));
+                ticketExpirationIndex.schedule(ticket);
+            }));
+        documents.forEach((collectionName, tickets) -> FunctionUtils.doAndHandle(__ -> {
+            val result = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collectionName)
+                .insert(tickets)
+                .execute();
+            LOGGER.debug("Added [{}] ticket(s) to collection [{}]", result.getInsertedCount(), collectionName);
+        }));
     }
 
     @Override
@@ -133,11 +175,7 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
             .stream()
             .map(this::getTicketCollectionInstanceByMetadata)
             .filter(StringUtils::isNotBlank)
-            .mapToLong(collectionName -> {
-                val countTickets = mongoTemplate.count(query, collectionName);
-                mongoTemplate.remove(query, collectionName);
-                return countTickets;
-            })
+            .mapToLong(collectionName -> mongoTemplate.remove(query, collectionName).getDeletedCount())
             .sum();
     }
 
@@ -145,7 +183,7 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
     public Collection<? extends Ticket> getTickets() {
         return ticketCatalog.findAll().stream()
             .map(this::getTicketCollectionInstanceByMetadata)
-            .map(map -> mongoTemplate.findAll(MongoDbTicketDocument.class, map))
+            .map(map -> mongoTemplate.find(ticketQuery(new Criteria()), MongoDbTicketDocument.class, map))
             .flatMap(List::stream)
             .map(ticket -> decodeTicket(deserializeTicketFromMongoDocument(ticket)))
             .filter(ticket -> !ticket.isExpired())
@@ -165,10 +203,16 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
             LOGGER.debug("Located ticket definition [{}] in the ticket catalog", metadata);
             val collectionName = getTicketCollectionInstanceByMetadata(metadata);
             val query = new Query(Criteria.where(MongoDbTicketDocument.FIELD_NAME_ID).is(holder.getTicketId()));
-            val update = Update.update(MongoDbTicketDocument.FIELD_NAME_JSON, holder.getJson());
+            val update = Update.update(MongoDbTicketDocument.FIELD_NAME_JSON, holder.getJson())
+                .set(MongoDbTicketDocument.FIELD_NAME_CONTENT, holder.getContent())
+                .set(MongoDbTicketDocument.FIELD_NAME_EXPIRE_AT, holder.getExpireAt());
             val result = mongoTemplate.updateFirst(query, update, collectionName);
             LOGGER.debug("Updated ticket [{}] with result [{}]", ticket, result);
-            return result.getMatchedCount() > 0 ? ticket : null;
+            if (result.getMatchedCount() > 0) {
+                ticketExpirationIndex.schedule(ticket);
+                return ticket;
+            }
+            return null;
         } catch (final Exception e) {
             LOGGER.error("Failed updating [{}]", ticket);
             LoggingUtils.error(LOGGER, e);
@@ -182,7 +226,7 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
             .findAll()
             .stream()
             .map(this::getTicketCollectionInstanceByMetadata)
-            .flatMap(map -> mongoTemplate.stream(new Query(), MongoDbTicketDocument.class, map))
+            .flatMap(map -> mongoTemplate.stream(ticketQuery(new Criteria()), MongoDbTicketDocument.class, map))
             .map(ticket -> decodeTicket(deserializeTicketFromMongoDocument(ticket)));
     }
 
@@ -193,7 +237,12 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public long countSessionsFor(final String principalId) {
-        return getSessionsFor(principalId).count();
+        val query = new Query(sessionCriteria(digestIdentifier(principalId)));
+        return ticketCatalog.findTicketImplementations(TicketGrantingTicket.class)
+            .stream()
+            .map(this::getTicketCollectionInstanceByMetadata)
+            .mapToLong(map -> mongoTemplate.count(query, map))
+            .sum();
     }
 
     @Override
@@ -202,12 +251,7 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         return ticketDefinitions
             .stream()
             .map(this::getTicketCollectionInstanceByMetadata)
-            .flatMap(map -> {
-                val query = isCipherExecutorEnabled()
-                    ? new Query(Criteria.where(MongoDbTicketDocument.FIELD_NAME_PRINCIPAL).is(digestIdentifier(principalId)))
-                    : TextQuery.queryText(TextCriteria.forDefaultLanguage().matchingAny(principalId)).sortByScore().with(PageRequest.of(0, PAGE_SIZE));
-                return mongoTemplate.stream(query, MongoDbTicketDocument.class, map);
-            })
+            .flatMap(map -> mongoTemplate.stream(ticketQuery(sessionCriteria(digestIdentifier(principalId))), MongoDbTicketDocument.class, map))
             .map(ticket -> decodeTicket(deserializeTicketFromMongoDocument(ticket)))
             .filter(ticket -> !ticket.isExpired());
     }
@@ -234,8 +278,7 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
                     .collect(Collectors.toList());
                 val finalCriteria = new Criteria().andOperator(criterias);
                 LOGGER.debug("Authenticated sessions query criteria is [{}]", finalCriteria.getCriteriaObject());
-                val query = new Query(finalCriteria);
-                return mongoTemplate.stream(query, MongoDbTicketDocument.class, map);
+                return mongoTemplate.stream(ticketQuery(finalCriteria), MongoDbTicketDocument.class, map);
             })
             .map(ticket -> decodeTicket(deserializeTicketFromMongoDocument(ticket)))
             .filter(ticket -> !ticket.isExpired());
@@ -258,35 +301,77 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         return res.getDeletedCount();
     }
 
+    @Override
+    protected int deleteChildren(final TicketGrantingTicket ticket) {
+        if (ticket instanceof final AuthenticatedServicesAwareTicketGrantingTicket authTicket
+            && authTicket.getServices() != null && !authTicket.getServices().isEmpty()) {
+            val ticketIds = new HashMap<String, List<String>>();
+            authTicket.getServices().keySet().forEach(ticketId -> {
+                val metadata = ticketCatalog.find(ticketId);
+                if (metadata != null) {
+                    ticketIds.computeIfAbsent(getTicketCollectionInstanceByMetadata(metadata), name -> new ArrayList<>())
+                        .add(digestIdentifier(ticketId));
+                }
+            });
+            val count = ticketIds.entrySet()
+                .stream()
+                .mapToLong(entry -> {
+                    val queries = entry.getValue()
+                        .stream()
+                        .map(ticketId -> new Query(Criteria.where(MongoDbTicketDocument.FIELD_NAME_ID).is(ticketId)))
+                        .toList();
+                    return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entry.getKey())
+                        .remove(queries)
+                        .execute()
+                        .getDeletedCount();
+                })
+                .sum();
+            LOGGER.debug("Removed [{}] service ticket(s) issued by [{}]", count, ticket.getId());
+            return (int) count;
+        }
+        return 0;
+    }
+
+    /**
+     * Count tickets by ticket type. Counts are estimated from collection metadata
+     * and may include expired documents that are not yet removed by MongoDb.
+     *
+     * @param ticketType the ticket type
+     * @return the count
+     */
     protected long countTicketsByTicketType(final Class<? extends Ticket> ticketType) {
         val ticketDefinitions = ticketCatalog.findTicketImplementations(ticketType);
         return ticketDefinitions.stream()
             .map(this::getTicketCollectionInstanceByMetadata)
-            .mapToLong(map -> mongoTemplate.count(new Query(), map))
+            .mapToLong(mongoTemplate::estimatedCount)
             .sum();
     }
 
     protected MongoDbTicketDocument buildTicketAsDocument(final Ticket ticket) throws Exception {
         val encTicket = encodeTicket(ticket);
 
-        val json = serializeTicket(encTicket);
-        FunctionUtils.throwIf(StringUtils.isBlank(json),
-            () -> new IllegalArgumentException("Ticket " + ticket.getId() + " cannot be serialized to JSON"));
-        LOGGER.trace("Serialized ticket into a JSON document as\n [{}]",
-            JsonValue.readJSON(json).toString(Stringify.FORMATTED));
-
         val expireAt = getExpireAt(ticket);
         LOGGER.trace("Calculated expiration date for ticket ttl as [{}]", expireAt);
 
         val principal = getPrincipalIdFrom(ticket);
-        return MongoDbTicketDocument.builder()
+        val document = MongoDbTicketDocument.builder()
             .expireAt(expireAt)
             .type(encTicket.getClass().getName())
             .ticketId(encTicket.getId())
-            .json(json)
             .principal(digestIdentifier(principal))
             .attributes(collectAndDigestTicketAttributes(ticket))
             .build();
+        if (ticketSerializationManager.isBinaryOutputEnabled()) {
+            document.setContent(ticketSerializationManager.serializeTicketToBytes(encTicket));
+            return document;
+        }
+        val json = serializeTicket(encTicket);
+        FunctionUtils.throwIf(StringUtils.isBlank(json),
+            () -> new IllegalArgumentException("Ticket " + ticket.getId() + " cannot be serialized to JSON"));
+        LOGGER.trace("Serialized ticket into a JSON document as\n [{}]",
+            JsonValue.readJSON(json).toString(Stringify.FORMATTED));
+        document.setJson(json);
+        return document;
     }
 
     protected String getTicketCollectionInstanceByMetadata(final TicketDefinition metadata) {
@@ -305,7 +390,9 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
     }
 
     protected Ticket deserializeTicketFromMongoDocument(final MongoDbTicketDocument document) {
-        return ticketSerializationManager.deserializeTicket(document.getJson(), document.getType());
+        return document.getContent() != null
+            ? ticketSerializationManager.deserializeTicketFromBytes(document.getContent(), document.getType())
+            : ticketSerializationManager.deserializeTicket(document.getJson(), document.getType());
     }
 }
 
@@ -14,13 +14,14 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.index.IndexDefinition;
-import org.springframework.data.mongodb.core.index.TextIndexDefinition;
 
 import java.time.Duration;
 import java.util.ArrayList;
 
 /**
  * This is {@link MongoDbTicketRegistryFacilitator}.
+ * Documents are removed by MongoDb once their expiration date has passed by the given grace period,
+ * which leaves the ticket registry cleaner a chance to process expired tickets first.
  *
  * @author Misagh Moayyed
  * @since 6.2.0
@@ -37,7 +38,9 @@ public class MongoDbTicketRegistryFacilitator {
     private final boolean createIndexes;
 
     private final boolean dropExistingIndexes;
-    
+
+    private final Duration expirationGracePeriod;
+
     /**
      * Create ticket collections.
      */
@@ -62,21 +65,18 @@ public class MongoDbTicketRegistryFacilitator {
                 MongoDbConnectionFactory.dropCollectionIndexes(collection);
             }
 
-            val columnsIndex = new TextIndexDefinition.TextIndexDefinitionBuilder()
-                .onField(MongoDbTicketDocument.FIELD_NAME_JSON)
-                .onField(MongoDbTicketDocument.FIELD_NAME_TYPE)
-                .onField(MongoDbTicketDocument.FIELD_NAME_ID)
-                .build();
-            val expireIndex = new Index().on(MongoDbTicketDocument.FIELD_NAME_EXPIRE_AT, Sort.Direction.ASC);
-            
-            val timeout = ticket.getProperties().getStorageTimeout();
-            if (timeout > 0 && timeout != Long.MAX_VALUE) {
-                expireIndex.expire(Duration.ofSeconds(timeout));
-            }
+            val ticketIdIndex = new Index().on(MongoDbTicketDocument.FIELD_NAME_ID, Sort.Direction.ASC).unique();
+            val principalIndex = new Index()
+                .on(MongoDbTicketDocument.FIELD_NAME_PRINCIPAL, Sort.Direction.ASC)
+                .on(MongoDbTicketDocument.FIELD_NAME_EXPIRE_AT, Sort.Direction.ASC);
+            val expireIndex = new Index()
+                .on(MongoDbTicketDocument.FIELD_NAME_EXPIRE_AT, Sort.Direction.ASC)
+                .expire(expirationGracePeriod);
 
             val expectedIndexes = new ArrayList<IndexDefinition>();
+            expectedIndexes.add(ticketIdIndex);
+            expectedIndexes.add(principalIndex);
             expectedIndexes.add(expireIndex);
-            expectedIndexes.add(columnsIndex);
             LOGGER.debug("Expected indexes are [{}]", expectedIndexes);
             MongoDbConnectionFactory.createOrUpdateIndexes(mongoTemplate, collection, expectedIndexes);
         }
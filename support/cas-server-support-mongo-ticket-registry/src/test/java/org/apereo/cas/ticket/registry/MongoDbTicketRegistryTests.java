@@ -23,9 +23,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.test.context.TestPropertySource;
 
+import java.time.Duration;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -77,6 +83,33 @@ class MongoDbTicketRegistryTests extends BaseTicketRegistryTests {
         assertNull(result);
     }
 
+    @RepeatedTest(1)
+    public void verifyBulkOperations() throws Exception {
+        val tickets = IntStream.range(0, 10)
+            .mapToObj(i -> new MockTicketGrantingTicket("casuser-bulk"))
+            .toList();
+        newTicketRegistry.addTicket(tickets.stream());
+        assertEquals(tickets.size(), newTicketRegistry.countSessionsFor("casuser-bulk"));
+        assertEquals(tickets.size(), newTicketRegistry.getSessionsFor("casuser-bulk").count());
+        assertTrue(newTicketRegistry.sessionCount() >= tickets.size());
+
+        val collectionName = ticketCatalog.find(tickets.get(0)).getProperties().getStorageName();
+        val document = mongoDbTicketRegistryTemplate.findOne(new Query(Criteria.where(MongoDbTicketDocument.FIELD_NAME_ID)
+            .is(newTicketRegistry.digestIdentifier(tickets.get(0).getId()))), MongoDbTicketDocument.class, collectionName);
+        assertNotNull(document);
+        assertNotNull(document.getExpireAt());
+    }
+
+    @RepeatedTest(1)
+    public void verifyExpirationIndexKeepsCleanerGracePeriod() {
+        val collectionName = ticketCatalog.find(new MockTicketGrantingTicket("casuser")).getProperties().getStorageName();
+        val expireIndex = StreamSupport.stream(mongoDbTicketRegistryTemplate.getCollection(collectionName).listIndexes().spliterator(), false)
+            .filter(index -> index.containsKey("expireAfterSeconds"))
+            .findFirst()
+            .orElseThrow();
+        assertEquals(Duration.ofMinutes(2).toSeconds(), expireIndex.get("expireAfterSeconds", Number.class).longValue());
+    }
+
     @RepeatedTest(1)
     public void verifyBadTicketInCatalog() throws Exception {
         val ticket = new MockTicketGrantingTicket("casuser");
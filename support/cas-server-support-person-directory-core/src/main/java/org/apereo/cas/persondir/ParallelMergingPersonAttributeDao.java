@@ -0,0 +1,333 @@
+package org.apereo.cas.persondir;
+
+import org.apereo.cas.util.CollectionUtils;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.IPersonAttributeDaoFilter;
+import org.apereo.services.persondir.IPersonAttributes;
+import org.apereo.services.persondir.support.BasePersonAttributeDao;
+import org.apereo.services.persondir.support.NamedPersonImpl;
+import org.apereo.services.persondir.support.merger.IAttributeMerger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link ParallelMergingPersonAttributeDao}, which queries all attribute repositories at the same time
+ * and merges their results using the configured attribute merger in the order in which repositories respond.
+ * Repositories that do not respond before the deadline are cancelled and left out of the final result,
+ * so that a single slow repository cannot hold up principal resolution for longer than the deadline.
+ * Each repository is also given its own bulkhead: no more than a fixed number of queries may be outstanding
+ * against a repository at any given time, and queries beyond that are rejected right away rather than queued, so that
+ * a repository that hangs cannot tie up the threads that all other repositories rely on. A query keeps its place
+ * in the bulkhead until it actually returns, even after it has been abandoned because of the deadline.
+ * The latency of each repository along with the number of times it failed to respond in time
+ * or was rejected by its bulkhead are published as metrics.
+ * <p>
+ * Since results are merged in the order of arrival, merging strategies that favor a particular source
+ * (i.e. the first or the last to be merged) may produce different results from one request to the next
+ * when repositories report conflicting values for the same attribute.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+public class ParallelMergingPersonAttributeDao extends BasePersonAttributeDao implements MeterBinder, DisposableBean {
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final Map<String, RepositoryStatistics> repositoryStatistics = new ConcurrentHashMap<>();
+
+    @Getter
+    private final List<IPersonAttributeDao> personAttributeDaos;
+
+    @Getter
+    private final IAttributeMerger attributeMerger;
+
+    private final ExecutorService executorService;
+
+    @Getter
+    private final Duration timeout;
+
+    @Getter
+    private final int repositoryConcurrency;
+
+    @Getter
+    @Setter
+    private boolean requireAll;
+
+    @Getter
+    @Setter
+    private boolean recoverExceptions = true;
+
+    public ParallelMergingPersonAttributeDao(final List<IPersonAttributeDao> personAttributeDaos,
+                                             final IAttributeMerger attributeMerger,
+                                             final int poolSize, final int repositoryConcurrency,
+                                             final Duration timeout) {
+        this.personAttributeDaos = personAttributeDaos;
+        this.attributeMerger = attributeMerger;
+        this.executorService = new ThreadPoolExecutor(0, Math.max(1, poolSize), KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), new CustomizableThreadFactory("cas-attribute-repository-"), new ThreadPoolExecutor.AbortPolicy());
+        this.timeout = timeout;
+        this.repositoryConcurrency = Math.max(1, repositoryConcurrency);
+        personAttributeDaos.forEach(dao -> repositoryStatistics.put(getRepositoryId(dao), new RepositoryStatistics(this.repositoryConcurrency)));
+    }
+
+    private static String getRepositoryId(final IPersonAttributeDao dao) {
+        return String.join(",", dao.getId());
+    }
+
+    private static Map<String, List<Object>> stuffAttributesIntoList(final Map<String, ?> personAttributesMap) {
+        val entries = (Set<? extends Map.Entry<String, ?>>) personAttributesMap.entrySet();
+        return entries.stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, entry -> CollectionUtils.toCollection(entry.getValue(), ArrayList.class)));
+    }
+
+    @Override
+    public IPersonAttributes getPerson(final String uid, final Set<IPersonAttributes> resolvedPeople,
+                                       final IPersonAttributeDaoFilter filter) {
+        val results = aggregate(filter, dao -> {
+            val person = dao.getPerson(uid, resolvedPeople, filter);
+            return person != null ? Set.of(person) : null;
+        });
+        if (results == null || results.isEmpty()) {
+            return null;
+        }
+        if (results.size() == 1) {
+            return results.iterator().next();
+        }
+        Map<String, List<Object>> attributes = new LinkedHashMap<>();
+        for (val person : results) {
+            attributes = attributeMerger.mergeAttributes(attributes, person.getAttributes());
+        }
+        return new NamedPersonImpl(uid, attributes);
+    }
+
+    @Override
+    public Set<IPersonAttributes> getPeople(final Map<String, Object> map, final IPersonAttributeDaoFilter filter,
+                                            final Set<IPersonAttributes> resolvedPeople) {
+        return getPeopleWithMultivaluedAttributes(stuffAttributesIntoList(map), filter, resolvedPeople);
+    }
+
+    @Override
+    public Set<IPersonAttributes> getPeopleWithMultivaluedAttributes(final Map<String, List<Object>> map,
+                                                                     final IPersonAttributeDaoFilter filter,
+                                                                     final Set<IPersonAttributes> resolvedPeople) {
+        return aggregate(filter, dao -> dao.getPeopleWithMultivaluedAttributes(map, filter, resolvedPeople));
+    }
+
+    @Override
+    public Set<String> getPossibleUserAttributeNames(final IPersonAttributeDaoFilter filter) {
+        return getChosenPersonAttributeDaos(filter)
+            .stream()
+            .map(dao -> dao.getPossibleUserAttributeNames(filter))
+            .filter(Objects::nonNull)
+            .flatMap(Set::stream)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    @Override
+    public Set<String> getAvailableQueryAttributes(final IPersonAttributeDaoFilter filter) {
+        return getChosenPersonAttributeDaos(filter)
+            .stream()
+            .map(dao -> dao.getAvailableQueryAttributes(filter))
+            .filter(Objects::nonNull)
+            .flatMap(Set::stream)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        repositoryStatistics.forEach((repository, statistics) -> {
+            FunctionTimer.builder("cas.person.directory.repository.latency", statistics,
+                    stats -> stats.getCount().sum(), stats -> stats.getTotalTime().sum(), TimeUnit.NANOSECONDS)
+                .description("Latency of attribute repositories queried in parallel")
+                .tag("repository", repository)
+                .register(registry);
+            FunctionCounter.builder("cas.person.directory.repository.timeouts", statistics, stats -> stats.getTimeouts().sum())
+                .description("Number of times an attribute repository failed to respond before the deadline")
+                .tag("repository", repository)
+                .register(registry);
+            FunctionCounter.builder("cas.person.directory.repository.rejections", statistics, stats -> stats.getRejections().sum())
+                .description("Number of times an attribute repository was not queried because too many queries were outstanding")
+                .tag("repository", repository)
+                .register(registry);
+        });
+    }
+
+    @Override
+    public void destroy() {
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Gets attribute repositories chosen by the filter.
+     *
+     * @param filter the filter
+     * @return the chosen attribute repositories
+     */
+    protected List<IPersonAttributeDao> getChosenPersonAttributeDaos(final IPersonAttributeDaoFilter filter) {
+        return personAttributeDaos
+            .stream()
+            .filter(dao -> filter == null || filter.choosePersonAttributeDao(dao))
+            .toList();
+    }
+
+    /**
+     * Query the chosen attribute repositories in parallel and merge results as they arrive,
+     * until all repositories have responded or the deadline has passed.
+     *
+     * @param filter          the filter
+     * @param repositoryQuery the query to run against each repository
+     * @return the merged results, or null if no repository produced a result
+     * or if all repositories are required to produce a result and one failed to do so.
+     */
+    protected Set<IPersonAttributes> aggregate(final IPersonAttributeDaoFilter filter,
+                                               final Function<IPersonAttributeDao, Set<IPersonAttributes>> repositoryQuery) {
+        val completionService = new ExecutorCompletionService<Set<IPersonAttributes>>(executorService);
+        val pending = new LinkedHashMap<Future<Set<IPersonAttributes>>, PendingQuery>();
+        var rejected = false;
+        for (val dao : getChosenPersonAttributeDaos(filter)) {
+            val statistics = repositoryStatistics.computeIfAbsent(getRepositoryId(dao), id -> new RepositoryStatistics(repositoryConcurrency));
+            val query = new PendingQuery(dao, statistics, new AtomicBoolean());
+            if (!statistics.getBulkhead().tryAcquire()) {
+                LOGGER.warn("Attribute repository [{}] has [{}] outstanding queries; skipping", getRepositoryId(dao), repositoryConcurrency);
+                statistics.getRejections().increment();
+                rejected = true;
+                continue;
+            }
+            try {
+                val future = completionService.submit(() -> {
+                    if (!query.started().compareAndSet(false, true)) {
+                        return null;
+                    }
+                    val startTime = System.nanoTime();
+                    try {
+                        return repositoryQuery.apply(dao);
+                    } finally {
+                        statistics.getCount().increment();
+                        statistics.getTotalTime().add(System.nanoTime() - startTime);
+                        statistics.getBulkhead().release();
+                    }
+                });
+                pending.put(future, query);
+            } catch (final RejectedExecutionException e) {
+                LOGGER.warn("Attribute repository [{}] cannot be queried since all threads are busy", getRepositoryId(dao));
+                statistics.getBulkhead().release();
+                statistics.getRejections().increment();
+                rejected = true;
+            }
+        }
+
+        val deadline = System.nanoTime() + timeout.toNanos();
+        Set<IPersonAttributes> resultPeople = null;
+        var missingResults = rejected;
+        try {
+            while (!pending.isEmpty()) {
+                val future = completionService.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (future == null) {
+                    pending.values().forEach(query -> {
+                        LOGGER.warn("Attribute repository [{}] did not respond within [{}]", getRepositoryId(query.dao()), timeout);
+                        query.statistics().getTimeouts().increment();
+                    });
+                    missingResults = true;
+                    break;
+                }
+                val dao = pending.remove(future).dao();
+                val currentPeople = getResults(dao, future);
+                if (currentPeople == null || currentPeople.isEmpty()) {
+                    LOGGER.debug("Attribute repository [{}] produced no results", getRepositoryId(dao));
+                    missingResults = true;
+                } else {
+                    resultPeople = resultPeople == null
+                        ? new LinkedHashSet<>(currentPeople)
+                        : attributeMerger.mergeResults(resultPeople, currentPeople);
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            missingResults = true;
+        } finally {
+            pending.forEach((future, query) -> {
+                future.cancel(true);
+                if (query.started().compareAndSet(false, true)) {
+                    query.statistics().getBulkhead().release();
+                }
+            });
+        }
+
+        if (requireAll && missingResults) {
+            LOGGER.warn("Not all attribute repositories produced results, while all repositories are required to do so");
+            return null;
+        }
+        return resultPeople;
+    }
+
+    private Set<IPersonAttributes> getResults(final IPersonAttributeDao dao,
+                                              final Future<Set<IPersonAttributes>> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (final ExecutionException e) {
+            if (!recoverExceptions) {
+                throw new IllegalStateException("Attribute repository " + getRepositoryId(dao) + " has failed", e.getCause());
+            }
+            LOGGER.warn("Recovering from exception thrown by attribute repository [{}]: [{}]",
+                getRepositoryId(dao), e.getCause().getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    @Getter
+    private static final class RepositoryStatistics {
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder totalTime = new LongAdder();
+
+        private final LongAdder timeouts = new LongAdder();
+
+        private final LongAdder rejections = new LongAdder();
+
+        private final Semaphore bulkhead;
+
+        RepositoryStatistics(final int concurrency) {
+            this.bulkhead = new Semaphore(concurrency);
+        }
+    }
+
+    /**
+     * A query submitted against a repository. The query holds a place in the bulkhead of the repository
+     * from the time it is submitted; if it is abandoned before it gets to start, the place is given back by the caller.
+     */
+    private record PendingQuery(IPersonAttributeDao dao, RepositoryStatistics statistics, AtomicBoolean started) {
+    }
+}
@@ -10,8 +10,10 @@ import org.apereo.cas.authentication.principal.PrincipalResolutionExecutionPlanC
 import org.apereo.cas.authentication.principal.PrincipalResolver;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.features.CasFeatureModule;
+import org.apereo.cas.configuration.model.core.authentication.PrincipalAttributesCoreProperties;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.persondir.DefaultPersonDirectoryAttributeRepositoryPlan;
+import org.apereo.cas.persondir.ParallelMergingPersonAttributeDao;
 import org.apereo.cas.persondir.PersonDirectoryAttributeRepositoryCustomizer;
 import org.apereo.cas.persondir.PersonDirectoryAttributeRepositoryPlan;
 import org.apereo.cas.persondir.PersonDirectoryAttributeRepositoryPlanConfigurer;
@@ -22,6 +24,7 @@ import org.apereo.cas.util.spring.beans.BeanSupplier;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeatureEnabled;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apereo.services.persondir.IPersonAttributeDao;
@@ -215,16 +218,10 @@ public class CasPersonDirectoryConfiguration {
             @Qualifier("attributeRepositoryAttributeMerger")
             final IAttributeMerger attributeRepositoryAttributeMerger,
             final CasConfigurationProperties casProperties,
+            final ObjectProvider<MeterRegistry> meterRegistry,
             @Qualifier("personDirectoryAttributeRepositoryPlan")
             final PersonDirectoryAttributeRepositoryPlan personDirectoryAttributeRepositoryPlan) {
-            val aggregate = getAggregateAttributeRepository(casProperties);
-            aggregate.setMerger(attributeRepositoryAttributeMerger);
-
             val list = personDirectoryAttributeRepositoryPlan.getAttributeRepositories();
-            aggregate.setPersonAttributeDaos(list);
-
-            val properties = casProperties.getAuthn().getAttributeRepository();
-            aggregate.setRequireAll(properties.getCore().isRequireAllRepositorySources());
             if (list.isEmpty()) {
                 LOGGER.debug("No attribute repository sources are available/defined to merge together.");
             } else {
@@ -235,10 +232,25 @@ public class CasPersonDirectoryConfiguration {
                 LOGGER.debug("Configured attribute repository sources to merge together: [{}]", names);
             }
 
+            val properties = casProperties.getAuthn().getAttributeRepository();
             val recoverExceptions = properties.getCore().isRecoverExceptions();
-            aggregate.setRecoverExceptions(recoverExceptions);
             LOGGER.trace("Configured attribute repository to recover from exceptions: [{}]", recoverExceptions);
 
+            if (properties.getCore().getAggregation() == PrincipalAttributesCoreProperties.AggregationStrategyTypes.PARALLEL) {
+                val aggregate = new ParallelMergingPersonAttributeDao(list, attributeRepositoryAttributeMerger,
+                    properties.getCore().getAggregationPoolSize(), properties.getCore().getAggregationRepositoryConcurrency(),
+                    Beans.newDuration(properties.getCore().getAggregationTimeout()));
+                aggregate.setRequireAll(properties.getCore().isRequireAllRepositorySources());
+                aggregate.setRecoverExceptions(recoverExceptions);
+                meterRegistry.ifAvailable(aggregate::bindTo);
+                return aggregate;
+            }
+
+            val aggregate = getAggregateAttributeRepository(casProperties);
+            aggregate.setMerger(attributeRepositoryAttributeMerger);
+            aggregate.setPersonAttributeDaos(list);
+            aggregate.setRequireAll(properties.getCore().isRequireAllRepositorySources());
+            aggregate.setRecoverExceptions(recoverExceptions);
             return aggregate;
         }
 
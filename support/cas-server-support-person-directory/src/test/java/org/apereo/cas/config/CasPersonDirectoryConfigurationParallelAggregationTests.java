@@ -0,0 +1,133 @@
+package org.apereo.cas.config;
+
+import org.apereo.cas.BasePrincipalAttributeRepositoryTests;
+import org.apereo.cas.persondir.ParallelMergingPersonAttributeDao;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.IPersonAttributeDaoFilter;
+import org.apereo.services.persondir.IPersonAttributes;
+import org.apereo.services.persondir.support.StubPersonAttributeDao;
+import org.apereo.services.persondir.support.merger.MultivaluedAttributeMerger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link CasPersonDirectoryConfigurationParallelAggregationTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@SpringBootTest(classes = BasePrincipalAttributeRepositoryTests.SharedTestConfiguration.class, properties = {
+    "cas.authn.attribute-repository.stub.attributes.uid=cas",
+    "cas.authn.attribute-repository.stub.attributes.givenName=apereo-cas",
+    "cas.authn.attribute-repository.stub.attributes.eppn=casuser",
+
+    "cas.authn.attribute-repository.groovy[0].location=classpath:/GroovyAttributeRepository.groovy",
+    "cas.authn.attribute-repository.groovy[0].order=1",
+
+    "cas.authn.attribute-repository.json[0].location=classpath:/json-attribute-repository.json",
+    "cas.authn.attribute-repository.json[0].order=2",
+
+    "cas.authn.attribute-repository.core.aggregation=PARALLEL",
+    "cas.authn.attribute-repository.core.merger=MULTIVALUED",
+
+    "cas.authn.attribute-repository.core.expiration-time=0"
+})
+@Tag("Attributes")
+class CasPersonDirectoryConfigurationParallelAggregationTests {
+    @Autowired
+    @Qualifier("aggregatingAttributeRepository")
+    private IPersonAttributeDao aggregatingAttributeRepository;
+
+    private static IPersonAttributeDao getSlowAttributeRepository() {
+        val repository = mock(IPersonAttributeDao.class);
+        when(repository.getId()).thenReturn(new String[]{"Slow"});
+        when(repository.getPerson(anyString(), any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return null;
+        });
+        return repository;
+    }
+
+    @Test
+    void verifyOperation() {
+        assertInstanceOf(ParallelMergingPersonAttributeDao.class, aggregatingAttributeRepository);
+        val person = aggregatingAttributeRepository.getPerson("casuser");
+        assertNotNull(person);
+        assertNotNull(person.getAttributeValue("uid"));
+        assertNotNull(person.getAttributeValue("givenName"));
+        assertEquals(2, person.getAttributeValues("eppn").size());
+        assertNotNull(person.getAttributeValue("username"));
+        assertNotNull(person.getAttributeValue("likes"));
+        assertNotNull(person.getAttributeValue("oldName"));
+        assertNotNull(person.getAttributeValue("newName"));
+        assertEquals(5, person.getAttributeValues("id").size());
+    }
+
+    @Test
+    void verifySlowRepositoryTimesOut() throws Exception {
+        val stub = new StubPersonAttributeDao(Map.<String, List<Object>>of("uid", List.of("cas")));
+        stub.setId("Stub");
+        val dao = new ParallelMergingPersonAttributeDao(List.of(stub, getSlowAttributeRepository()),
+            new MultivaluedAttributeMerger(), 4, 4, Duration.ofMillis(200));
+        val registry = new SimpleMeterRegistry();
+        dao.bindTo(registry);
+        try {
+            val person = dao.getPerson("casuser", Set.<IPersonAttributes>of(), IPersonAttributeDaoFilter.alwaysChoose());
+            assertNotNull(person);
+            assertEquals(List.of("cas"), person.getAttributeValues("uid"));
+            assertEquals(1, registry.get("cas.person.directory.repository.timeouts").tag("repository", "Slow").functionCounter().count());
+
+            dao.setRequireAll(true);
+            assertNull(dao.getPerson("casuser", Set.<IPersonAttributes>of(), IPersonAttributeDaoFilter.alwaysChoose()));
+        } finally {
+            dao.destroy();
+        }
+    }
+
+    @Test
+    void verifyHungRepositoryIsRejected() {
+        val stub = new StubPersonAttributeDao(Map.<String, List<Object>>of("uid", List.of("cas")));
+        stub.setId("Stub");
+        val latch = new CountDownLatch(1);
+        val hung = mock(IPersonAttributeDao.class);
+        when(hung.getId()).thenReturn(new String[]{"Hung"});
+        when(hung.getPerson(anyString(), any(), any())).thenAnswer(invocation -> {
+            Uninterruptibles.awaitUninterruptibly(latch);
+            return null;
+        });
+        val dao = new ParallelMergingPersonAttributeDao(List.of(stub, hung),
+            new MultivaluedAttributeMerger(), 4, 1, Duration.ofMillis(200));
+        val registry = new SimpleMeterRegistry();
+        dao.bindTo(registry);
+        try {
+            assertNotNull(dao.getPerson("casuser", Set.<IPersonAttributes>of(), IPersonAttributeDaoFilter.alwaysChoose()));
+            val startTime = System.nanoTime();
+            val person = dao.getPerson("casuser", Set.<IPersonAttributes>of(), IPersonAttributeDaoFilter.alwaysChoose());
+            assertTrue(Duration.ofNanos(System.nanoTime() - startTime).compareTo(Duration.ofMillis(200)) < 0);
+            assertEquals(List.of("cas"), person.getAttributeValues("uid"));
+            assertEquals(1, registry.get("cas.person.directory.repository.timeouts").tag("repository", "Hung").functionCounter().count());
+            assertEquals(1, registry.get("cas.person.directory.repository.rejections").tag("repository", "Hung").functionCounter().count());
+            verify(hung, times(1)).getPerson(anyString(), any(), any());
+        } finally {
+            latch.countDown();
+            dao.destroy();
+        }
+    }
+}
@@ -10,8 +10,10 @@ import org.apereo.cas.pm.PasswordChangeRequest;
 import org.apereo.cas.pm.PasswordHistoryService;
 import org.apereo.cas.pm.PasswordManagementQuery;
 import org.apereo.cas.pm.PasswordManagementService;
+import org.apereo.cas.support.events.authentication.CasPasswordChangeSuccessfulEvent;
 import org.apereo.cas.util.LoggingUtils;
 import org.apereo.cas.util.crypto.CipherExecutor;
+import org.apereo.cas.util.spring.ApplicationContextProvider;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +26,7 @@ import org.jose4j.jwt.JwtClaims;
 import org.jose4j.jwt.NumericDate;
 
 import java.io.Serializable;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -135,6 +138,9 @@ public abstract class BasePasswordManagementService implements PasswordManagemen
             return false;
         }
         if (changeInternal(bean)) {
+            Optional.ofNullable(ApplicationContextProvider.getApplicationContext())
+                .ifPresent(applicationContext -> applicationContext.publishEvent(
+                    new CasPasswordChangeSuccessfulEvent(this, bean.getUsername(), ClientInfoHolder.getClientInfo())));
             if (passwordHistoryService != null) {
                 LOGGER.debug("Password successfully changed; storing used password in history for [{}]...", bean.getUsername());
                 return passwordHistoryService.store(bean);
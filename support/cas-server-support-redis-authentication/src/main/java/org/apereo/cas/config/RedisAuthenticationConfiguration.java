@@ -3,6 +3,7 @@ package org.apereo.cas.config;
 import org.apereo.cas.authentication.AuthenticationEventExecutionPlanConfigurer;
 import org.apereo.cas.authentication.AuthenticationHandler;
 import org.apereo.cas.authentication.CasSSLContext;
+import org.apereo.cas.authentication.principal.PrincipalAttributesRepositoryCache;
 import org.apereo.cas.authentication.principal.PrincipalFactory;
 import org.apereo.cas.authentication.principal.PrincipalFactoryUtils;
 import org.apereo.cas.authentication.principal.PrincipalNameTransformerUtils;
@@ -10,9 +11,11 @@ import org.apereo.cas.authentication.principal.PrincipalResolver;
 import org.apereo.cas.authentication.support.password.PasswordEncoderUtils;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.features.CasFeatureModule;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.persondir.PersonDirectoryAttributeRepositoryPlanConfigurer;
 import org.apereo.cas.redis.RedisAuthenticationHandler;
 import org.apereo.cas.redis.RedisPersonAttributeDao;
+import org.apereo.cas.redis.RedisPrincipalAttributesRepositoryCache;
 import org.apereo.cas.redis.core.CasRedisTemplate;
 import org.apereo.cas.redis.core.RedisObjectFactory;
 import org.apereo.cas.services.ServicesManager;
@@ -28,6 +31,7 @@ import org.apereo.services.persondir.IPersonAttributeDao;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.ConfigurableApplicationContext;
@@ -163,6 +167,21 @@ public class RedisAuthenticationConfiguration {
             .get();
     }
 
+    @Bean
+    @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+    @ConditionalOnProperty(name = "cas.authn.attribute-repository.core.cache.type", havingValue = "REDIS")
+    public PrincipalAttributesRepositoryCache principalAttributesRepositoryCache(
+        @Qualifier(CasSSLContext.BEAN_NAME)
+        final CasSSLContext casSslContext,
+        final CasConfigurationProperties casProperties) {
+        val cache = casProperties.getAuthn().getAttributeRepository().getCore().getCache();
+        val conn = RedisObjectFactory.newRedisConnectionFactory(cache.getRedis(), true, casSslContext);
+        final CasRedisTemplate<String, Object> template = RedisObjectFactory.newRedisTemplate(conn);
+        template.initialize();
+        return new RedisPrincipalAttributesRepositoryCache(template,
+            Beans.newDuration(cache.getLockTimeout()), Beans.newDuration(cache.getLockLeaseTime()));
+    }
+
     @ConditionalOnMissingBean(name = "redisAttributeRepositoryPlanConfigurer")
     @Bean
     @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
@@ -0,0 +1,135 @@
+package org.apereo.cas.redis;
+
+import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.authentication.principal.RegisteredServicePrincipalAttributesRepository;
+import org.apereo.cas.authentication.principal.cache.AbstractPrincipalAttributesRepositoryCache;
+import org.apereo.cas.redis.core.CasRedisTemplate;
+import org.apereo.cas.services.RegisteredService;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * This is {@link RedisPrincipalAttributesRepositoryCache}, which keeps attributes
+ * cached by principal attribute repositories in Redis so that they may be shared by all CAS nodes.
+ * Entries expire after the period defined by the caching repository of each registered service.
+ * Updating attributes for a principal on one node replaces the cached entry for all nodes.
+ * <p>
+ * Nodes that ask for attributes of the same principal at the same time are coordinated
+ * via a short-lived lock, such that only the node that holds the lock
+ * fetches attributes from attribute repositories while others wait for the results to show up in Redis.
+ * The lock is released with a script that deletes it only if it still carries the token of the node
+ * that took it, so that a node whose lock expired cannot release a lock that was since taken by another node.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Getter
+public class RedisPrincipalAttributesRepositoryCache extends AbstractPrincipalAttributesRepositoryCache {
+    /**
+     * Prefix of keys for cached attributes.
+     */
+    public static final String CACHE_KEY_PREFIX = "CAS_PRINCIPAL_ATTRIBUTES:";
+
+    private static final String LOCK_KEY_PREFIX = "CAS_PRINCIPAL_ATTRIBUTES_LOCK:";
+
+    private static final long SCAN_COUNT = 1000;
+
+    private static final long LOCK_POLL_INTERVAL = 50;
+
+    private static final RedisScript<Long> RELEASE_LOCK_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end", Long.class);
+
+    private final CasRedisTemplate<String, Object> redisTemplate;
+
+    private final Duration lockTimeout;
+
+    private final Duration lockLeaseTime;
+
+    @Override
+    public void invalidate() {
+        try (val keys = redisTemplate.scan(CACHE_KEY_PREFIX + '*', SCAN_COUNT)) {
+            keys.forEach(redisTemplate::delete);
+        }
+    }
+
+    @Override
+    public Map<String, List<Object>> fetchAttributes(final RegisteredService registeredService,
+                                                     final RegisteredServicePrincipalAttributesRepository repository,
+                                                     final Principal principal) {
+        val key = CACHE_KEY_PREFIX + buildPrincipalCacheKey(registeredService, principal.getId());
+        val cachedAttributes = (Map<String, List<Object>>) redisTemplate.opsForValue().get(key);
+        if (cachedAttributes == null) {
+            LOGGER.debug("No cached attributes could be found for [{}]", principal.getId());
+            return new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        }
+        return cachedAttributes;
+    }
+
+    @Override
+    public void putAttributes(final RegisteredService registeredService,
+                              final RegisteredServicePrincipalAttributesRepository repository,
+                              final String id, final Map<String, List<Object>> attributes) {
+        val key = CACHE_KEY_PREFIX + buildPrincipalCacheKey(registeredService, id);
+        val cachedAttributes = new TreeMap<String, List<Object>>(String.CASE_INSENSITIVE_ORDER);
+        cachedAttributes.putAll(attributes);
+        redisTemplate.opsForValue().set(key, cachedAttributes, getExpiration(repository));
+    }
+
+    @Override
+    protected Map<String, List<Object>> loadAttributes(final RegisteredService registeredService,
+                                                       final RegisteredServicePrincipalAttributesRepository repository,
+                                                       final Principal principal,
+                                                       final Supplier<Map<String, List<Object>>> loader) {
+        return super.loadAttributes(registeredService, repository, principal,
+            () -> loadAttributesWithLock(registeredService, repository, principal, loader));
+    }
+
+    private Map<String, List<Object>> loadAttributesWithLock(final RegisteredService registeredService,
+                                                             final RegisteredServicePrincipalAttributesRepository repository,
+                                                             final Principal principal,
+                                                             final Supplier<Map<String, List<Object>>> loader) {
+        val lockKey = LOCK_KEY_PREFIX + buildPrincipalCacheKey(registeredService, principal.getId());
+        val lockToken = UUID.randomUUID().toString();
+        val acquired = redisTemplate.opsForValue().setIfAbsent(lockKey, lockToken, lockLeaseTime);
+        if (Boolean.TRUE.equals(acquired)) {
+            try {
+                return loader.get();
+            } finally {
+                redisTemplate.execute(RELEASE_LOCK_SCRIPT, List.of(lockKey), lockToken);
+            }
+        }
+
+        LOGGER.debug("Waiting for attributes of [{}] that are being loaded by another CAS node", principal.getId());
+        val deadline = System.nanoTime() + lockTimeout.toNanos();
+        try {
+            while (System.nanoTime() < deadline) {
+                Thread.sleep(LOCK_POLL_INTERVAL);
+                val cachedAttributes = fetchAttributes(registeredService, repository, principal);
+                if (!cachedAttributes.isEmpty()) {
+                    return cachedAttributes;
+                }
+                if (!Boolean.TRUE.equals(redisTemplate.hasKey(lockKey))) {
+                    break;
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        val cachedAttributes = fetchAttributes(registeredService, repository, principal);
+        return cachedAttributes.isEmpty() ? loader.get() : cachedAttributes;
+    }
+}
@@ -0,0 +1,134 @@
+package org.apereo.cas.redis;
+
+import org.apereo.cas.authentication.CasSSLContext;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.principal.cache.CachingPrincipalAttributesRepository;
+import org.apereo.cas.configuration.model.support.redis.BaseRedisProperties;
+import org.apereo.cas.redis.core.CasRedisTemplate;
+import org.apereo.cas.redis.core.RedisObjectFactory;
+import org.apereo.cas.util.junit.EnabledIfListeningOnPort;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import lombok.val;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link RedisPrincipalAttributesRepositoryCacheTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("Redis")
+@EnabledIfListeningOnPort(port = 6379)
+class RedisPrincipalAttributesRepositoryCacheTests {
+    private CasRedisTemplate<String, Object> redisTemplate;
+
+    @BeforeEach
+    public void initialize() {
+        val conn = RedisObjectFactory.newRedisConnectionFactory(new BaseRedisProperties(), true, CasSSLContext.disabled());
+        redisTemplate = RedisObjectFactory.newRedisTemplate(conn);
+        redisTemplate.initialize();
+    }
+
+    private RedisPrincipalAttributesRepositoryCache newCache() {
+        return new RedisPrincipalAttributesRepositoryCache(redisTemplate, Duration.ofSeconds(5), Duration.ofSeconds(30));
+    }
+
+    @Test
+    void verifyPutAndFetch() {
+        try (val cache = newCache()) {
+            val service = CoreAuthenticationTestUtils.getRegisteredService();
+            val principal = CoreAuthenticationTestUtils.getPrincipal(UUID.randomUUID().toString());
+            val repository = new CachingPrincipalAttributesRepository(TimeUnit.SECONDS.name(), 30);
+            assertTrue(cache.fetchAttributes(service, repository, principal).isEmpty());
+
+            cache.putAttributes(service, repository, principal.getId(), Map.of("memberOf", List.of("admins", "staff")));
+            assertEquals(List.of("admins", "staff"), cache.fetchAttributes(service, repository, principal).get("MEMBEROF"));
+
+            cache.invalidate();
+            assertTrue(cache.fetchAttributes(service, repository, principal).isEmpty());
+        }
+    }
+
+    @Test
+    void verifyLoadsAreCoalescedAcrossNodes() throws Exception {
+        val nodes = List.of(newCache(), newCache());
+        val service = CoreAuthenticationTestUtils.getRegisteredService();
+        val principal = CoreAuthenticationTestUtils.getPrincipal(UUID.randomUUID().toString());
+        val repository = new CachingPrincipalAttributesRepository(TimeUnit.SECONDS.name(), 30);
+
+        val loads = new AtomicInteger();
+        val start = new CountDownLatch(1);
+        val executor = Executors.newFixedThreadPool(8);
+        try {
+            val results = new ArrayList<Future<Map<String, List<Object>>>>();
+            for (var i = 0; i < 8; i++) {
+                val cache = nodes.get(i % nodes.size());
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.fetchAttributes(service, repository, principal, () -> {
+                        loads.incrementAndGet();
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(300));
+                        val attributes = Map.<String, List<Object>>of("uid", List.of("casuser"));
+                        cache.putAttributes(service, repository, principal.getId(), attributes);
+                        return attributes;
+                    });
+                }));
+            }
+            start.countDown();
+            for (val result : results) {
+                assertEquals(List.of("casuser"), result.get(10, TimeUnit.SECONDS).get("uid"));
+            }
+        } finally {
+            executor.shutdownNow();
+            nodes.forEach(RedisPrincipalAttributesRepositoryCache::invalidate);
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void verifyExpiredLockIsNotReleasedForAnotherNode() {
+        val service = CoreAuthenticationTestUtils.getRegisteredService();
+        val principal = CoreAuthenticationTestUtils.getPrincipal(UUID.randomUUID().toString());
+        val repository = new CachingPrincipalAttributesRepository(TimeUnit.SECONDS.name(), 30);
+        val first = new RedisPrincipalAttributesRepositoryCache(redisTemplate, Duration.ofSeconds(5), Duration.ofMillis(100));
+        val second = newCache();
+        val secondHoldsLock = new CountDownLatch(1);
+        val releaseSecond = new CountDownLatch(1);
+        val executor = Executors.newSingleThreadExecutor();
+        try {
+            val attributes = first.fetchAttributes(service, repository, principal, () -> {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(300));
+                executor.submit(() -> second.fetchAttributes(service, repository, principal, () -> {
+                    secondHoldsLock.countDown();
+                    Uninterruptibles.awaitUninterruptibly(releaseSecond);
+                    return Map.<String, List<Object>>of("uid", List.of("second"));
+                }));
+                Uninterruptibles.awaitUninterruptibly(secondHoldsLock);
+                return Map.<String, List<Object>>of("uid", List.of("first"));
+            });
+            assertEquals(List.of("first"), attributes.get("uid"));
+            assertEquals(1, redisTemplate.keys("CAS_PRINCIPAL_ATTRIBUTES_LOCK:*:" + principal.getId()).size());
+        } finally {
+            releaseSecond.countDown();
+            executor.shutdown();
+            first.invalidate();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.apereo.cas.config;
 import org.apereo.cas.authentication.CasSSLContext;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.features.CasFeatureModule;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCleanerProperties;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.redis.core.CasRedisTemplate;
 import org.apereo.cas.redis.core.RedisObjectFactory;
@@ -11,9 +12,13 @@ import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.registry.CachedTicketExpirationPolicy;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
 import org.apereo.cas.ticket.registry.RedisCompositeKey;
+import org.apereo.cas.ticket.registry.RedisTicketAttributeIndex;
 import org.apereo.cas.ticket.registry.RedisTicketDocument;
+import org.apereo.cas.ticket.registry.RedisTicketExpirationIndex;
 import org.apereo.cas.ticket.registry.RedisTicketRegistry;
 import org.apereo.cas.ticket.registry.RedisTicketRegistryCacheEndpoint;
+import org.apereo.cas.ticket.registry.TicketExpirationIndex;
+import org.apereo.cas.ticket.registry.TicketIdentifierDigester;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.pub.DefaultRedisTicketRegistryMessagePublisher;
 import org.apereo.cas.ticket.registry.pub.RedisTicketRegistryMessagePublisher;
@@ -207,6 +212,31 @@ public class RedisTicketRegistryConfiguration {
             return new RedisTicketRegistry.CasRedisTemplates(ticketRedisTemplate, sessionsRedisTemplate);
         }
 
+        @Bean
+        @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+        public TicketExpirationIndex ticketExpirationIndex(
+            @Qualifier("casRedisTemplates")
+            final RedisTicketRegistry.CasRedisTemplates casRedisTemplates,
+            @Qualifier(TicketIdentifierDigester.BEAN_NAME)
+            final TicketIdentifierDigester ticketIdentifierDigester,
+            final ConfigurableApplicationContext applicationContext,
+            final CasConfigurationProperties casProperties) {
+            return BeanSupplier.of(TicketExpirationIndex.class)
+                .when(CONDITION.given(applicationContext.getEnvironment()))
+                .supply(() -> {
+                    val cleaner = casProperties.getTicket().getRegistry().getCleaner();
+                    if (cleaner.getSchedule().isEnabled() && cleaner.getMode() == TicketRegistryCleanerProperties.CleanerModes.EXPIRATION_INDEX) {
+                        val redis = casProperties.getTicket().getRegistry().getRedis();
+                        val cipher = CoreTicketUtils.newTicketRegistryCipherExecutor(redis.getCrypto(), "redis");
+                        return new RedisTicketExpirationIndex(casRedisTemplates.getSessionsRedisTemplate(), cipher,
+                            ticketIdentifierDigester, Beans.newDuration(cleaner.getExpirationBucketDuration()));
+                    }
+                    return TicketExpirationIndex.noOp();
+                })
+                .otherwise(TicketExpirationIndex::noOp)
+                .get();
+        }
+
         @Bean
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
         public TicketRegistry ticketRegistry(
@@ -228,8 +258,12 @@ public class RedisTicketRegistryConfiguration {
                     val redis = casProperties.getTicket().getRegistry().getRedis();
                     val cipher = CoreTicketUtils.newTicketRegistryCipherExecutor(redis.getCrypto(), "redis");
                     val searchCommands = redis.isEnableRedisSearch() ? RedisObjectFactory.newRedisModulesCommands(redis) : Optional.<RedisModulesCommands>empty();
-                    return new RedisTicketRegistry(cipher, ticketSerializationManager, ticketCatalog,
+                    val registry = new RedisTicketRegistry(cipher, ticketSerializationManager, ticketCatalog,
                         casRedisTemplates, redisTicketRegistryCache, redisTicketRegistryMessagePublisher, searchCommands);
+                    if (redis.isEnableAttributeIndex()) {
+                        registry.setTicketAttributeIndex(new RedisTicketAttributeIndex(casRedisTemplates.getSessionsRedisTemplate()));
+                    }
+                    return registry;
                 })
                 .otherwise(() -> new DefaultTicketRegistry(ticketSerializationManager, ticketCatalog))
                 .get();
@@ -271,5 +305,18 @@ public class RedisTicketRegistryConfiguration {
                 .otherwise(LockRepository::noOp)
                 .get();
         }
+
+        @Bean
+        @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+        public LockRepository ticketRegistryCleanerShardLockRepository(
+            final ConfigurableApplicationContext applicationContext,
+            @Qualifier("casTicketRegistryRedisLockRegistry")
+            final LockRegistry casTicketRegistryRedisLockRegistry) {
+            return BeanSupplier.of(LockRepository.class)
+                .when(CONDITION_LOCKING.given(applicationContext.getEnvironment()))
+                .supply(() -> new DefaultLockRepository(casTicketRegistryRedisLockRegistry))
+                .otherwise(LockRepository::noOp)
+                .get();
+        }
     }
 }
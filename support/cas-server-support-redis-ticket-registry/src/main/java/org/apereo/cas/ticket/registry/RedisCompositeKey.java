@@ -35,6 +35,16 @@ public class RedisCompositeKey {
      */
     private static final String CAS_PRINCIPAL_PREFIX = "CAS_PRINCIPAL";
 
+    /**
+     * Attribute prefix.
+     */
+    private static final String CAS_ATTRIBUTE_PREFIX = "CAS_ATTRIBUTE";
+
+    /**
+     * Expiration prefix.
+     */
+    private static final String CAS_EXPIRATION_PREFIX = "CAS_EXPIRATION";
+
     @Builder.Default
     private final String query = "*";
 
@@ -59,6 +69,24 @@ public class RedisCompositeKey {
         return RedisCompositeKey.builder().prefix(CAS_PRINCIPAL_PREFIX).build();
     }
 
+    /**
+     * For attribute redis composite key.
+     *
+     * @return the redis composite key
+     */
+    public static RedisCompositeKey forAttribute() {
+        return RedisCompositeKey.builder().prefix(CAS_ATTRIBUTE_PREFIX).build();
+    }
+
+    /**
+     * For expiration redis composite key.
+     *
+     * @return the redis composite key
+     */
+    public static RedisCompositeKey forExpiration() {
+        return RedisCompositeKey.builder().prefix(CAS_EXPIRATION_PREFIX).build();
+    }
+
     /**
      * To key pattern string.
      *
@@ -0,0 +1,110 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.redis.core.CasRedisTemplate;
+import org.apereo.cas.ticket.Ticket;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * This is {@link RedisTicketAttributeIndex}, which keeps the inverted index in Redis sets,
+ * one set of ticket keys per attribute index key. Sets expire along with the longest-living
+ * ticket-granting ticket that they point to; the expiration of a set is only ever extended,
+ * so that a short-lived session does not cut short the index entries of other sessions.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RedisTicketAttributeIndex implements TicketAttributeIndex {
+    private final CasRedisTemplate<String, String> sessionsRedisTemplate;
+
+    private static String getRedisKey(final String indexKey) {
+        return RedisCompositeKey.forAttribute().withQuery(indexKey).toKeyPattern();
+    }
+
+    @Override
+    public void index(final Ticket ticket, final String ticketKey, final Set<String> indexKeys) {
+        if (indexKeys.isEmpty()) {
+            return;
+        }
+        val redisKeys = indexKeys.stream().map(RedisTicketAttributeIndex::getRedisKey).toList();
+        val timeout = RedisCompositeKey.getTimeout(ticket);
+        val expirations = executeInPipeline(operations -> redisKeys.forEach(operations::getExpire));
+        executeInPipeline(operations -> {
+            for (var i = 0; i < redisKeys.size(); i++) {
+                val redisKey = redisKeys.get(i);
+                operations.opsForSet().add(redisKey, ticketKey);
+                val expiration = i < expirations.size() && expirations.get(i) instanceof final Number number ? number.longValue() : -2L;
+                if (expiration == -2L || (expiration >= 0 && expiration < timeout)) {
+                    operations.expire(redisKey, timeout, TimeUnit.SECONDS);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void remove(final String ticketKey, final Set<String> indexKeys) {
+        if (!indexKeys.isEmpty()) {
+            executeInPipeline(operations -> indexKeys.forEach(indexKey ->
+                operations.opsForSet().remove(getRedisKey(indexKey), ticketKey)));
+        }
+    }
+
+    @Override
+    public Set<String> find(final Set<String> indexKeys) {
+        if (indexKeys.isEmpty()) {
+            return Set.of();
+        }
+        val redisKeys = indexKeys.stream().map(RedisTicketAttributeIndex::getRedisKey).collect(Collectors.toList());
+        LOGGER.debug("Looking up sessions from attribute index keys [{}]", redisKeys);
+        val members = sessionsRedisTemplate.opsForSet().union(redisKeys);
+        return members == null ? Set.of() : new HashSet<>(members);
+    }
+
+    @Override
+    public void clear() {
+        val options = ScanOptions.scanOptions().match(RedisCompositeKey.forAttribute().toKeyPattern()).build();
+        try (val result = sessionsRedisTemplate.scan(options)) {
+            sessionsRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StreamSupport.stream(result.spliterator(), false)
+                    .forEach(key -> connection.keyCommands().del(key.getBytes(StandardCharsets.UTF_8)));
+                return null;
+            });
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    private List<Object> executeInPipeline(final Consumer<RedisOperations<String, String>> commands) {
+        val results = sessionsRedisTemplate.executePipelined(new SessionCallback<>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(final RedisOperations<K, V> operations) {
+                commands.accept((RedisOperations<String, String>) operations);
+                return null;
+            }
+        });
+        return Objects.requireNonNullElseGet(results, ArrayList::new);
+    }
+}
@@ -8,10 +8,13 @@ import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.Accessors;
 import lombok.experimental.SuperBuilder;
+import lombok.val;
 import org.springframework.data.annotation.Id;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -34,6 +37,11 @@ public class RedisTicketDocument implements Serializable {
      */
     public static final String FIELD_NAME_JSON = "json";
 
+    /**
+     * Field name to hold binary ticket content.
+     */
+    public static final String FIELD_NAME_CONTENT = "content";
+
     /**
      * Field name to hold ticket type.
      */
@@ -65,6 +73,9 @@ public class RedisTicketDocument implements Serializable {
     @JsonProperty
     private String json;
 
+    @JsonProperty
+    private byte[] content;
+
     @JsonProperty
     @Id
     private String ticketId;
@@ -97,4 +108,50 @@ public class RedisTicketDocument implements Serializable {
             .attributes(document.get(FIELD_NAME_ATTRIBUTES))
             .build();
     }
+
+    /**
+     * From the raw redis hash entries to redis document.
+     * Binary ticket content is kept as is, while all other fields are read as strings.
+     *
+     * @param hash the hash entries
+     * @return the redis ticket document
+     */
+    public static RedisTicketDocument fromHash(final Map<byte[], byte[]> hash) {
+        val document = new LinkedHashMap<String, String>(hash.size());
+        byte[] content = null;
+        for (val entry : hash.entrySet()) {
+            val field = new String(entry.getKey(), StandardCharsets.UTF_8);
+            if (FIELD_NAME_CONTENT.equals(field)) {
+                content = entry.getValue();
+            } else {
+                document.put(field, new String(entry.getValue(), StandardCharsets.UTF_8));
+            }
+        }
+        return from(document).setContent(content);
+    }
+
+    /**
+     * To raw redis hash entries.
+     *
+     * @return the hash entries
+     */
+    public Map<byte[], byte[]> toHash() {
+        val hash = new LinkedHashMap<byte[], byte[]>();
+        putHashEntry(hash, FIELD_NAME_TYPE, type);
+        putHashEntry(hash, FIELD_NAME_ID, ticketId);
+        putHashEntry(hash, FIELD_NAME_JSON, json);
+        if (content != null) {
+            hash.put(FIELD_NAME_CONTENT.getBytes(StandardCharsets.UTF_8), content);
+        }
+        putHashEntry(hash, FIELD_NAME_PREFIX, prefix);
+        putHashEntry(hash, FIELD_NAME_PRINCIPAL, principal);
+        putHashEntry(hash, FIELD_NAME_ATTRIBUTES, attributes);
+        return hash;
+    }
+
+    private static void putHashEntry(final Map<byte[], byte[]> hash, final String field, final String value) {
+        if (value != null) {
+            hash.put(field.getBytes(StandardCharsets.UTF_8), value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
 }
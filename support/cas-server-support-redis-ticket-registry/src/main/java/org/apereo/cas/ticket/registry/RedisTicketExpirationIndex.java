@@ -0,0 +1,145 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.redis.core.CasRedisTemplate;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.EncodingUtils;
+import org.apereo.cas.util.crypto.CipherExecutor;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link RedisTicketExpirationIndex}, which keeps the projected expiration times of tickets
+ * in a Redis sorted set, scored by the epoch second at which each ticket is due to expire.
+ * Since the sorted set is shared by all CAS server nodes, every node sees tickets added by the others,
+ * and a due ticket is only handed to the node that manages to remove it from the set first.
+ * <p>
+ * When ticket encryption is turned on, members of the sorted set are the digested ticket identifiers,
+ * and the encrypted ticket identifiers are kept in a separate hash so that due tickets can be fetched.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RedisTicketExpirationIndex implements TicketExpirationIndex {
+    /**
+     * Key of the sorted set that holds projected expiration times.
+     */
+    static final String SCHEDULE_KEY = RedisCompositeKey.forExpiration().withQuery("schedule").toKeyPattern();
+
+    /**
+     * Key of the hash that holds encrypted ticket identifiers.
+     */
+    static final String TICKETS_KEY = RedisCompositeKey.forExpiration().withQuery("tickets").toKeyPattern();
+
+    private final CasRedisTemplate<String, String> redisTemplate;
+
+    private final CipherExecutor cipherExecutor;
+
+    private final TicketIdentifierDigester ticketIdentifierDigester;
+
+    private final Duration defaultDelay;
+
+    @Override
+    public void schedule(final Ticket ticket) {
+        val expirationTime = DefaultTicketExpirationIndex.getProjectedExpirationTime(ticket)
+            .orElseGet(() -> ZonedDateTime.now(ZoneOffset.UTC).plus(defaultDelay));
+        val ticketKey = getTicketKey(ticket.getId());
+        executeInPipeline(operations -> {
+            operations.opsForZSet().add(SCHEDULE_KEY, ticketKey, expirationTime.toEpochSecond());
+            if (isCipherExecutorEnabled()) {
+                operations.opsForHash().put(TICKETS_KEY, ticketKey, encodeTicketId(ticket.getId()));
+            }
+        });
+        LOGGER.trace("Scheduled ticket [{}] for expiration at [{}]", ticketKey, expirationTime);
+    }
+
+    @Override
+    public void remove(final String ticketId) {
+        val ticketKey = getTicketKey(ticketId);
+        executeInPipeline(operations -> {
+            operations.opsForZSet().remove(SCHEDULE_KEY, ticketKey);
+            if (isCipherExecutorEnabled()) {
+                operations.opsForHash().delete(TICKETS_KEY, ticketKey);
+            }
+        });
+    }
+
+    @Override
+    public Stream<String> pollDueTickets(final ZonedDateTime now) {
+        val dueKeys = redisTemplate.opsForZSet().rangeByScore(SCHEDULE_KEY, Double.NEGATIVE_INFINITY, now.toEpochSecond());
+        if (dueKeys == null || dueKeys.isEmpty()) {
+            return Stream.empty();
+        }
+        val candidates = new ArrayList<>(dueKeys);
+        val removals = executeInPipeline(operations -> candidates.forEach(ticketKey -> operations.opsForZSet().remove(SCHEDULE_KEY, ticketKey)));
+        val claimedKeys = new ArrayList<Object>();
+        for (var i = 0; i < candidates.size(); i++) {
+            if (i < removals.size() && removals.get(i) instanceof final Number number && number.longValue() > 0) {
+                claimedKeys.add(candidates.get(i));
+            }
+        }
+        LOGGER.debug("Claimed [{}] ticket(s) due for expiration out of [{}] due ticket(s)", claimedKeys.size(), candidates.size());
+        if (claimedKeys.isEmpty() || !isCipherExecutorEnabled()) {
+            return claimedKeys.stream().map(Object::toString);
+        }
+        val encodedTicketIds = redisTemplate.opsForHash().multiGet(TICKETS_KEY, claimedKeys);
+        redisTemplate.opsForHash().delete(TICKETS_KEY, claimedKeys.toArray());
+        return encodedTicketIds
+            .stream()
+            .filter(Objects::nonNull)
+            .map(encodedTicketId -> decodeTicketId(encodedTicketId.toString()));
+    }
+
+    @Override
+    public long size() {
+        return Objects.requireNonNullElse(redisTemplate.opsForZSet().zCard(SCHEDULE_KEY), 0L);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    private boolean isCipherExecutorEnabled() {
+        return cipherExecutor != null && cipherExecutor.isEnabled();
+    }
+
+    private String getTicketKey(final String ticketId) {
+        return isCipherExecutorEnabled() ? ticketIdentifierDigester.digest(ticketId) : ticketId;
+    }
+
+    private String encodeTicketId(final String ticketId) {
+        return EncodingUtils.encodeBase64(SerializationUtils.serializeAndEncodeObject(cipherExecutor, ticketId));
+    }
+
+    private String decodeTicketId(final String encodedTicketId) {
+        return SerializationUtils.decodeAndDeserializeObject(EncodingUtils.decodeBase64(encodedTicketId), cipherExecutor, String.class);
+    }
+
+    private List<Object> executeInPipeline(final Consumer<RedisOperations<String, String>> commands) {
+        val results = redisTemplate.executePipelined(new SessionCallback<>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(final RedisOperations<K, V> operations) {
+                commands.accept((RedisOperations<String, String>) operations);
+                return null;
+            }
+        });
+        return Objects.requireNonNullElseGet(results, ArrayList::new);
+    }
+}
@@ -2,6 +2,7 @@ package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.monitor.Monitorable;
 import org.apereo.cas.redis.core.CasRedisTemplate;
+import org.apereo.cas.ticket.AuthenticatedServicesAwareTicketGrantingTicket;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
@@ -21,30 +22,28 @@ import com.redis.lettucemod.search.Field;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
-import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.hjson.JsonValue;
 import org.hjson.Stringify;
 import org.springframework.data.redis.core.RedisCallback;
-import org.springframework.data.redis.core.RedisKeyValueAdapter;
 import org.springframework.data.redis.core.ScanOptions;
-import org.springframework.data.redis.core.convert.KeyspaceConfiguration;
-import org.springframework.data.redis.core.convert.MappingConfiguration;
-import org.springframework.data.redis.core.index.IndexConfiguration;
-import org.springframework.data.redis.core.mapping.RedisMappingContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -60,6 +59,8 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
 
     private static final String SEARCH_INDEX_NAME = RedisTicketDocument.class.getSimpleName() + "Index";
 
+    private static final int BATCH_SIZE = 500;
+
     private final CasRedisTemplates casRedisTemplates;
 
     private final Cache<String, Ticket> ticketCache;
@@ -88,7 +89,7 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
     @Override
     public long deleteAll() {
         val size = new AtomicLong();
-        var options = ScanOptions.scanOptions().match(RedisCompositeKey.forTickets().toKeyPattern()).build();
+        val options = ScanOptions.scanOptions().match(RedisCompositeKey.forTickets().toKeyPattern()).build();
         try (val result = casRedisTemplates.getTicketsRedisTemplate().scan(options)) {
             casRedisTemplates.getTicketsRedisTemplate().executePipelined((RedisCallback<Object>) connection -> {
                 StreamSupport.stream(result.spliterator(), false).forEach(id -> {
@@ -99,14 +100,15 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
             });
         }
 
-        options = ScanOptions.scanOptions().match(RedisCompositeKey.forPrincipal().toKeyPattern()).build();
-        try (val result = casRedisTemplates.getSessionsRedisTemplate().scan(options)) {
+        val indexOptions = ScanOptions.scanOptions().match(RedisCompositeKey.forPrincipal().toKeyPattern()).build();
+        try (val result = casRedisTemplates.getSessionsRedisTemplate().scan(indexOptions)) {
             casRedisTemplates.getSessionsRedisTemplate().executePipelined((RedisCallback<Object>) connection -> {
                 StreamSupport.stream(result.spliterator(), false)
                     .forEach(id -> connection.keyCommands().del(id.getBytes(StandardCharsets.UTF_8)));
                 return null;
             });
         }
+        ticketAttributeIndex.clear();
         ticketCache.invalidateAll();
         messagePublisher.deleteAll();
         return size.get();
@@ -114,37 +116,26 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public long deleteSingleTicket(final Ticket ticket) {
-        val redisTicketsKey = RedisCompositeKey.forTickets().withTicketId(ticket.getPrefix(), digestIdentifier(ticket.getId()));
-        val redisKeyPattern = redisTicketsKey.toKeyPattern();
-        val count = Stream.of(redisKeyPattern)
-            .mapToInt(id -> BooleanUtils.toBoolean(casRedisTemplates.getTicketsRedisTemplate().delete(id)) ? 1 : 0)
-            .sum();
-
-        val principal = digestIdentifier(getPrincipalIdFrom(ticket));
-        val redisPrincipalKey = RedisCompositeKey.forPrincipal().withQuery(principal);
-        val redisPrincipalPattern = redisPrincipalKey.toKeyPattern();
-        Stream.of(redisPrincipalPattern)
-            .forEach(id -> casRedisTemplates.getSessionsRedisTemplate().delete(id));
-
-        ticketCache.invalidate(redisTicketsKey.getQuery());
-        messagePublisher.delete(ticket);
-        return count;
+        return deleteTicketsInPipeline(List.of(ticket));
     }
 
     @Override
     public void addTicket(final Stream<? extends Ticket> toSave) {
-        FunctionUtils.doAndHandle(__ ->
-            casRedisTemplates.getTicketsRedisTemplate().executePipelined((RedisCallback<Object>) connection -> {
-                toSave.forEach(this::addTicketInternal);
-                return null;
-            }));
+        FunctionUtils.doAndHandle(__ -> {
+            val tickets = toSave.filter(Objects::nonNull).collect(Collectors.toList());
+            addOrUpdateTickets(tickets);
+            tickets.forEach(ticket -> {
+                messagePublisher.add(ticket);
+                ticketExpirationIndex.schedule(ticket);
+            });
+        });
     }
 
     @Override
     public void addTicketInternal(final Ticket ticket) {
         FunctionUtils.doAndHandle(__ -> {
             LOGGER.debug("Adding ticket [{}]", ticket);
-            addOrUpdateTicket(ticket);
+            addOrUpdateTickets(List.of(ticket));
             messagePublisher.add(ticket);
         });
     }
@@ -153,7 +144,8 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
     public Ticket updateTicket(final Ticket ticket) {
         return FunctionUtils.doAndHandle(() -> {
             LOGGER.debug("Updating ticket [{}]", ticket);
-            addOrUpdateTicket(ticket);
+            addOrUpdateTickets(List.of(ticket));
+            ticketExpirationIndex.schedule(ticket);
             messagePublisher.update(ticket);
             return ticket;
         });
@@ -161,12 +153,7 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
-        return FunctionUtils.doAndHandle(() -> {
-            val ticketPrefix = StringUtils.substring(ticketId, 0, ticketId.indexOf(UniqueTicketIdGenerator.SEPARATOR));
-            val redisKey = RedisCompositeKey.forTickets().withTicketId(ticketPrefix, digestIdentifier(ticketId));
-            return getTicketFromRedisByKey(predicate, redisKey);
-        });
-
+        return FunctionUtils.doAndHandle(() -> getTicketFromRedisByKey(predicate, getRedisKey(ticketId)));
     }
 
     @Override
@@ -178,30 +165,17 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public Stream<? extends Ticket> stream() {
-        return fetchKeysForTickets()
-            .map(redisKey -> {
-                val adapter = buildRedisKeyValueAdapter(redisKey);
-                val document = adapter.get(redisKey, redisKey, RedisTicketDocument.class);
-                if (document == null) {
-                    casRedisTemplates.getTicketsRedisTemplate().delete(redisKey);
-                    return null;
-                }
-                return document;
-            })
-            .filter(Objects::nonNull)
-            .map(RedisTicketDocument.class::cast)
-            .map(this::deserializeAsTicket)
-            .map(this::decodeTicket)
-            .filter(Objects::nonNull)
-            .peek(ticket -> {
-                if (!ticket.isExpired()) {
-                    val redisTicketsKey = RedisCompositeKey.forTickets()
-                        .withTicketId(ticket.getPrefix(), digestIdentifier(ticket.getId()));
-                    ticketCache.put(redisTicketsKey.getQuery(), ticket);
-                }
-            });
+        return streamTickets(fetchKeysForTickets());
     }
 
+    @Override
+    public Stream<? extends Ticket> stream(final int partition, final int partitionCount) {
+        val redisKeys = fetchKeysForTickets()
+            .stream()
+            .filter(key -> Math.floorMod(key.hashCode(), partitionCount) == partition)
+            .collect(Collectors.toList());
+        return streamTickets(redisKeys);
+    }
 
     @Override
     public Stream<? extends Ticket> getSessionsFor(final String principalId) {
@@ -209,16 +183,7 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         val redisPrincipalKey = RedisCompositeKey.forPrincipal().withQuery(userId);
         val members = casRedisTemplates.getSessionsRedisTemplate()
             .boundSetOps(redisPrincipalKey.toKeyPattern()).members();
-        return Objects.requireNonNull(members)
-            .stream()
-            .filter(Objects::nonNull)
-            .map(ticketId -> {
-                val redisKey = RedisCompositeKey.forTickets().withTicketId(TicketGrantingTicket.PREFIX, ticketId);
-                return getTicketFromRedisByKey(ticket -> !ticket.isExpired(), redisKey);
-            })
-            .map(this::decodeTicket)
-            .filter(Objects::nonNull)
-            .filter(ticket -> !ticket.isExpired());
+        return getTicketGrantingTickets(Objects.requireNonNull(members));
     }
 
     @Override
@@ -254,36 +219,109 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
                     RedisTicketDocument.FIELD_NAME_PREFIX, TicketGrantingTicket.PREFIX);
                 LOGGER.debug("Executing search query [{}]", query);
                 val results = command.ftSearch(SEARCH_INDEX_NAME, query);
-                return results
+                val ticketIds = results
                     .stream()
-                    .map(document -> {
-                        val searchDoc = (Document) document;
-                        val redisDoc = RedisTicketDocument.from(searchDoc);
-                        val ticket = deserializeAsTicket(redisDoc);
-                        return decodeTicket(ticket);
-                    })
-                    .filter(ticket -> !((Ticket) ticket).isExpired());
+                    .map(document -> ((Document<String, String>) document).get(RedisTicketDocument.FIELD_NAME_ID))
+                    .collect(Collectors.toList());
+                return getTicketGrantingTickets(ticketIds);
             })
             .orElseGet(() -> super.getSessionsWithAttributes(queryAttributes));
     }
 
-    private Stream<String> fetchKeysForTickets() {
-        return fetchKeysForTickets(RedisCompositeKey.forTickets().toKeyPattern());
+    @Override
+    protected Stream<? extends Ticket> getTicketsFromAttributeIndex(final Set<String> ticketKeys) {
+        return getTicketGrantingTickets(ticketKeys);
     }
 
-    private Stream<String> fetchKeysForTickets(final String key) {
-        LOGGER.debug("Loading keys for pattern [{}]", key);
-        return Objects.requireNonNull(casRedisTemplates.getTicketsRedisTemplate().keys(key)).stream();
+    @Override
+    protected int deleteChildren(final TicketGrantingTicket ticket) {
+        if (ticket instanceof final AuthenticatedServicesAwareTicketGrantingTicket authTicket
+            && authTicket.getServices() != null && !authTicket.getServices().isEmpty()) {
+            val redisKeys = authTicket.getServices().keySet()
+                .stream()
+                .map(this::getRedisKey)
+                .map(RedisCompositeKey::toKeyPattern)
+                .collect(Collectors.toList());
+            val serviceTickets = fetchTicketDocuments(redisKeys)
+                .stream()
+                .map(this::deserializeAsTicket)
+                .map(this::decodeTicket)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+            val count = deleteTicketsInPipeline(serviceTickets);
+            LOGGER.debug("Removed [{}] ticket(s) linked to [{}]", count, ticket.getId());
+            return (int) count;
+        }
+        return 0;
+    }
+
+    private Stream<? extends Ticket> getTicketGrantingTickets(final Collection<String> digestedIds) {
+        val redisKeys = digestedIds
+            .stream()
+            .filter(Objects::nonNull)
+            .map(ticketId -> RedisCompositeKey.forTickets().withTicketId(TicketGrantingTicket.PREFIX, ticketId).toKeyPattern())
+            .collect(Collectors.toList());
+        return fetchTicketDocuments(redisKeys)
+            .stream()
+            .map(this::deserializeAsTicket)
+            .map(this::decodeTicket)
+            .filter(Objects::nonNull)
+            .filter(ticket -> !ticket.isExpired())
+            .peek(ticket -> ticketCache.put(getRedisKey(ticket).getQuery(), ticket));
+    }
+
+    private Stream<? extends Ticket> streamTickets(final List<String> redisKeys) {
+        return IntStream.iterate(0, index -> index < redisKeys.size(), index -> index + BATCH_SIZE)
+            .mapToObj(index -> redisKeys.subList(index, Math.min(index + BATCH_SIZE, redisKeys.size())))
+            .flatMap(batch -> fetchTicketDocuments(batch).stream())
+            .map(this::deserializeAsTicket)
+            .map(this::decodeTicket)
+            .filter(Objects::nonNull)
+            .peek(ticket -> {
+                if (!ticket.isExpired()) {
+                    ticketCache.put(getRedisKey(ticket).getQuery(), ticket);
+                }
+            });
+    }
+
+    private List<String> fetchKeysForTickets() {
+        val pattern = RedisCompositeKey.forTickets().toKeyPattern();
+        LOGGER.debug("Scanning keys for pattern [{}]", pattern);
+        val options = ScanOptions.scanOptions().match(pattern).count(BATCH_SIZE).build();
+        try (val result = casRedisTemplates.getTicketsRedisTemplate().scan(options)) {
+            return result.stream().collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Fetch ticket documents for the given keys in a single pipelined round trip.
+     * Raw hash entries are read directly from the connection to avoid the value serializers
+     * of the template, and keys that no longer exist are skipped.
+     *
+     * @param redisKeys the redis keys
+     * @return the documents
+     */
+    private List<RedisTicketDocument> fetchTicketDocuments(final List<String> redisKeys) {
+        if (redisKeys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        val results = casRedisTemplates.getTicketsRedisTemplate().execute((RedisCallback<List<Object>>) connection -> {
+            connection.openPipeline();
+            redisKeys.forEach(key -> connection.hashCommands().hGetAll(key.getBytes(StandardCharsets.UTF_8)));
+            return connection.closePipeline();
+        });
+        return Objects.requireNonNull(results)
+            .stream()
+            .filter(Map.class::isInstance)
+            .map(result -> (Map<byte[], byte[]>) result)
+            .filter(hash -> !hash.isEmpty())
+            .map(RedisTicketDocument::fromHash)
+            .collect(Collectors.toList());
     }
 
     protected RedisTicketDocument buildTicketAsDocument(final Ticket ticket) {
         return FunctionUtils.doUnchecked(() -> {
             val encTicket = encodeTicket(ticket);
-            val json = serializeTicket(encTicket);
-            FunctionUtils.throwIf(StringUtils.isBlank(json),
-                () -> new IllegalArgumentException("Ticket " + ticket.getId() + " cannot be serialized to JSON"));
-            LOGGER.trace("Serialized ticket into a JSON document as\n [{}]",
-                JsonValue.readJSON(json).toString(Stringify.FORMATTED));
 
             val principal = getPrincipalIdFrom(ticket);
             val attributeMap = (Map<String, Object>) collectAndDigestTicketAttributes(ticket);
@@ -297,14 +335,22 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
                 })
                 .collect(Collectors.joining(","));
 
-            return RedisTicketDocument.builder()
+            val document = RedisTicketDocument.builder()
                 .type(encTicket.getClass().getName())
                 .ticketId(encTicket.getId())
-                .json(json)
                 .prefix(ticket.getPrefix())
                 .principal(digestIdentifier(principal))
                 .attributes(attributesEncoded)
                 .build();
+            if (ticketSerializationManager.isBinaryOutputEnabled()) {
+                return document.setContent(ticketSerializationManager.serializeTicketToBytes(encTicket));
+            }
+            val json = serializeTicket(encTicket);
+            FunctionUtils.throwIf(StringUtils.isBlank(json),
+                () -> new IllegalArgumentException("Ticket " + ticket.getId() + " cannot be serialized to JSON"));
+            LOGGER.trace("Serialized ticket into a JSON document as\n [{}]",
+                JsonValue.readJSON(json).toString(Stringify.FORMATTED));
+            return document.setJson(json);
         });
     }
 
@@ -314,20 +360,14 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
             .filter(predicate)
             .stream()
             .findFirst()
-            .orElseGet(() -> {
-                val redisKeyPattern = redisKey.toKeyPattern();
-                return Stream.of(redisKeyPattern)
-                    .map(key -> {
-                        val adapter = buildRedisKeyValueAdapter(key);
-                        return adapter.get(key, key, RedisTicketDocument.class);
-                    })
-                    .filter(Objects::nonNull)
-                    .map(this::deserializeAsTicket)
-                    .map(this::decodeTicket)
-                    .filter(predicate)
-                    .findFirst()
-                    .orElse(null);
-            });
+            .orElseGet(() -> fetchTicketDocuments(List.of(redisKey.toKeyPattern()))
+                .stream()
+                .map(this::deserializeAsTicket)
+                .map(this::decodeTicket)
+                .filter(Objects::nonNull)
+                .filter(predicate)
+                .findFirst()
+                .orElse(null));
         if (ticket != null && predicate.test(ticket) && !ticket.isExpired()) {
             ticketCache.put(redisKey.getQuery(), ticket);
             return ticket;
@@ -337,51 +377,100 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         return null;
     }
 
+    /**
+     * Write tickets, along with the session index entries of ticket-granting tickets,
+     * in a single pipelined round trip.
+     *
+     * @param tickets the tickets
+     */
+    private void addOrUpdateTickets(final Collection<? extends Ticket> tickets) {
+        val documents = tickets
+            .stream()
+            .collect(Collectors.toMap(Function.identity(), this::buildTicketAsDocument, (first, second) -> second, LinkedHashMap::new));
+        casRedisTemplates.getTicketsRedisTemplate().executePipelined((RedisCallback<Object>) connection -> {
+            documents.forEach((ticket, document) -> {
+                val timeout = RedisCompositeKey.getTimeout(ticket);
+                val redisKey = getRedisKey(ticket).toKeyPattern().getBytes(StandardCharsets.UTF_8);
+                connection.keyCommands().del(redisKey);
+                connection.hashCommands().hMSet(redisKey, document.toHash());
+                connection.keyCommands().expire(redisKey, timeout);
+
+                if (ticket instanceof TicketGrantingTicket) {
+                    val member = serializeSessionIndexMember(digestIdentifier(ticket.getId()));
+                    getSessionIndexKeys(ticket).forEach(indexKey -> {
+                        val key = indexKey.getBytes(StandardCharsets.UTF_8);
+                        connection.setCommands().sAdd(key, member);
+                        connection.keyCommands().expire(key, timeout);
+                    });
+                }
+            });
+            return null;
+        });
+        documents.keySet().forEach(ticket -> {
+            ticketCache.put(getRedisKey(ticket).getQuery(), ticket);
+            indexTicketAttributes(ticket);
+        });
+    }
 
-    private RedisCompositeKey addOrUpdateTicket(final Ticket ticket) {
-        val userId = digestIdentifier(getPrincipalIdFrom(ticket));
-
-        val digestedId = digestIdentifier(ticket.getId());
-        val redisKey = RedisCompositeKey.forTickets().withTicketId(ticket.getPrefix(), digestedId);
-
-        val timeout = RedisCompositeKey.getTimeout(ticket);
-        val redisKeyPattern = redisKey.toKeyPattern();
-
-        val ticketDocument = buildTicketAsDocument(ticket);
-
-        casRedisTemplates.getTicketsRedisTemplate().boundValueOps(redisKeyPattern).set(ticketDocument, timeout, TimeUnit.SECONDS);
-        val adapter = buildRedisKeyValueAdapter(redisKeyPattern);
-        adapter.put(ticketDocument.getTicketId(), ticketDocument, redisKeyPattern);
-        casRedisTemplates.getTicketsRedisTemplate().expire(redisKeyPattern, timeout, TimeUnit.SECONDS);
-        ticketCache.put(redisKey.getQuery(), ticket);
+    /**
+     * Delete tickets in a single pipelined round trip, and remove ticket-granting tickets
+     * from the session index entries that point to them, leaving other sessions
+     * of the same principal intact.
+     *
+     * @param tickets the tickets
+     * @return the number of tickets removed
+     */
+    private long deleteTicketsInPipeline(final Collection<? extends Ticket> tickets) {
+        if (tickets.isEmpty()) {
+            return 0;
+        }
+        val results = casRedisTemplates.getTicketsRedisTemplate().executePipelined((RedisCallback<Object>) connection -> {
+            tickets.forEach(ticket -> connection.keyCommands().del(getRedisKey(ticket).toKeyPattern().getBytes(StandardCharsets.UTF_8)));
+            tickets
+                .stream()
+                .filter(TicketGrantingTicket.class::isInstance)
+                .forEach(ticket -> {
+                    val member = serializeSessionIndexMember(digestIdentifier(ticket.getId()));
+                    getSessionIndexKeys(ticket).forEach(indexKey ->
+                        connection.setCommands().sRem(indexKey.getBytes(StandardCharsets.UTF_8), member));
+                });
+            return null;
+        });
+        val count = results
+            .stream()
+            .limit(tickets.size())
+            .filter(Number.class::isInstance)
+            .mapToLong(result -> ((Number) result).longValue())
+            .sum();
+        tickets.forEach(ticket -> {
+            ticketCache.invalidate(getRedisKey(ticket).getQuery());
+            messagePublisher.delete(ticket);
+            removeTicketAttributes(ticket);
+        });
+        return count;
+    }
 
-        if (StringUtils.isNotBlank(userId) && ticket instanceof TicketGrantingTicket) {
-            val redisPrincipalPattern = RedisCompositeKey.forPrincipal().withQuery(userId).toKeyPattern();
-            val ops = casRedisTemplates.getSessionsRedisTemplate().boundSetOps(redisPrincipalPattern);
-            ops.add(digestedId);
-            ops.expire(timeout, TimeUnit.SECONDS);
+    private Set<String> getSessionIndexKeys(final Ticket ticket) {
+        val indexKeys = new LinkedHashSet<String>();
+        val userId = digestIdentifier(getPrincipalIdFrom(ticket));
+        if (StringUtils.isNotBlank(userId)) {
+            indexKeys.add(RedisCompositeKey.forPrincipal().withQuery(userId).toKeyPattern());
         }
+        return indexKeys;
+    }
 
-        return redisKey;
+    private byte[] serializeSessionIndexMember(final String digestedId) {
+        val serializer = (RedisSerializer<String>) casRedisTemplates.getSessionsRedisTemplate().getValueSerializer();
+        return serializer.serialize(digestedId);
     }
 
-    private RedisKeyValueAdapter buildRedisKeyValueAdapter(final String redisKeyPattern) {
-        val redisMappingContext = new RedisMappingContext(
-            new MappingConfiguration(new IndexConfiguration(), new KeyspaceConfiguration() {
-                @Override
-                protected Iterable<KeyspaceSettings> initialConfiguration() {
-                    return Collections.singleton(new KeyspaceSettings(RedisTicketDocument.class, redisKeyPattern));
-                }
-            }));
+    private RedisCompositeKey getRedisKey(final Ticket ticket) {
+        return RedisCompositeKey.forTickets().withTicketId(ticket.getPrefix(), digestIdentifier(ticket.getId()));
+    }
 
-        val adapter = new RedisKeyValueAdapter(casRedisTemplates.getTicketsRedisTemplate(), redisMappingContext) {
-            @Override
-            public byte[] createKey(final String keyspace, final String id) {
-                return toBytes(redisKeyPattern);
-            }
-        };
-        adapter.afterPropertiesSet();
-        return adapter;
+    private RedisCompositeKey getRedisKey(final String ticketId) {
+        val ticketPrefix = StringUtils.substring(ticketId, 0, ticketId.indexOf(UniqueTicketIdGenerator.SEPARATOR));
+        return RedisCompositeKey.forTickets().withTicketId(ticketPrefix, digestIdentifier(ticketId));
     }
 
     private void createIndexesIfNecessary() {
@@ -404,7 +493,9 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
     }
 
     protected Ticket deserializeAsTicket(final RedisTicketDocument document) {
-        return ticketSerializationManager.deserializeTicket(document.getJson(), document.getType());
+        return document.getContent() != null
+            ? ticketSerializationManager.deserializeTicketFromBytes(document.getContent(), document.getType())
+            : ticketSerializationManager.deserializeTicket(document.getJson(), document.getType());
     }
 
     @Data
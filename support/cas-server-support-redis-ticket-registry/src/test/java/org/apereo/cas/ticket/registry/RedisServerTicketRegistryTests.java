@@ -8,6 +8,8 @@ import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketGrantingTicketImpl;
 import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
 import org.apereo.cas.ticket.registry.pub.RedisTicketRegistryMessagePublisher;
+import org.apereo.cas.ticket.serialization.DefaultTicketStringSerializationManager;
+import org.apereo.cas.ticket.serialization.TicketSerializationExecutionPlan;
 import org.apereo.cas.util.ServiceTicketIdGenerator;
 import org.apereo.cas.util.TicketGrantingTicketIdGenerator;
 import org.apereo.cas.util.crypto.CipherExecutor;
@@ -22,8 +24,14 @@ import org.jooq.lambda.Unchecked;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.test.context.TestPropertySource;
 
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -133,6 +141,83 @@ class RedisServerTicketRegistryTests {
 
     }
 
+    @Nested
+    @SuppressWarnings("ClassCanBeStatic")
+    @TestPropertySource(properties = {
+        "cas.ticket.registry.redis.queue-identifier=cas-node-100",
+        "cas.ticket.registry.redis.host=localhost",
+        "cas.ticket.registry.redis.port=6379",
+        "cas.ticket.registry.redis.enable-redis-search=false",
+        "cas.ticket.registry.redis.enable-attribute-index=true",
+        "cas.ticket.registry.redis.crypto.encryption.key=AZ5y4I9qzKPYUVNL2Td4RMbpg6Z-ldui8VEFg8hsj1M",
+        "cas.ticket.registry.redis.crypto.signing.key=cAPyoHMrOMWrwydOXzBA-ufZQM-TilnLjbRgMQWlUlwFmy07bOtAgCIdNBma3c5P4ae_JV6n1OpOAYqSh2NkmQ"
+    })
+    class WithAttributeIndexTests extends BaseRedisSentinelTicketRegistryTests {
+        @RepeatedTest(2)
+        public void verifyPrincipalIndexKeepsOtherSessions() throws Exception {
+            val authentication = CoreAuthenticationTestUtils.getAuthentication(UUID.randomUUID().toString());
+            val first = new TicketGrantingTicketImpl(new TicketGrantingTicketIdGenerator(10, StringUtils.EMPTY)
+                .getNewTicketId(TicketGrantingTicket.PREFIX), authentication, NeverExpiresExpirationPolicy.INSTANCE);
+            val second = new TicketGrantingTicketImpl(new TicketGrantingTicketIdGenerator(10, StringUtils.EMPTY)
+                .getNewTicketId(TicketGrantingTicket.PREFIX), authentication, NeverExpiresExpirationPolicy.INSTANCE);
+            getNewTicketRegistry().addTicket(Stream.of(first, second));
+            assertEquals(2, getNewTicketRegistry().getSessionsFor(authentication.getPrincipal().getId()).count());
+
+            getNewTicketRegistry().deleteTicket(first);
+            val sessions = getNewTicketRegistry().getSessionsFor(authentication.getPrincipal().getId()).toList();
+            assertEquals(1, sessions.size());
+            assertEquals(second.getId(), sessions.get(0).getId());
+        }
+    }
+
+    @Nested
+    @SuppressWarnings("ClassCanBeStatic")
+    @TestPropertySource(properties = {
+        "cas.ticket.registry.core.serialization-format=BINARY",
+        "cas.ticket.registry.redis.queue-identifier=cas-node-100",
+        "cas.ticket.registry.redis.host=localhost",
+        "cas.ticket.registry.redis.port=6379",
+        "cas.ticket.registry.redis.cache.cache-size=0",
+        "cas.ticket.registry.redis.enable-redis-search=false",
+        "cas.ticket.registry.redis.crypto.encryption.key=AZ5y4I9qzKPYUVNL2Td4RMbpg6Z-ldui8VEFg8hsj1M",
+        "cas.ticket.registry.redis.crypto.signing.key=cAPyoHMrOMWrwydOXzBA-ufZQM-TilnLjbRgMQWlUlwFmy07bOtAgCIdNBma3c5P4ae_JV6n1OpOAYqSh2NkmQ"
+    })
+    class WithBinarySerializationTests extends BaseRedisSentinelTicketRegistryTests {
+        @Autowired
+        @Qualifier("ticketSerializationExecutionPlan")
+        private TicketSerializationExecutionPlan ticketSerializationExecutionPlan;
+
+        @RepeatedTest(2)
+        public void verifyTicketContentIsStoredAsBinary() throws Exception {
+            val attributes = new LinkedHashMap<String, List<Object>>();
+            for (var i = 0; i < 100; i++) {
+                attributes.put("attribute" + i, List.of("value-" + i, "cn=group" + i + ",ou=groups,dc=example,dc=org"));
+            }
+            val principal = CoreAuthenticationTestUtils.getPrincipal(UUID.randomUUID().toString(), attributes);
+            val authentication = CoreAuthenticationTestUtils.getAuthentication(principal);
+            val tgt = new TicketGrantingTicketImpl(new TicketGrantingTicketIdGenerator(10, StringUtils.EMPTY)
+                .getNewTicketId(TicketGrantingTicket.PREFIX), authentication, NeverExpiresExpirationPolicy.INSTANCE);
+            getNewTicketRegistry().addTicket(tgt);
+
+            val pattern = RedisCompositeKey.forTickets().withIdPattern(TicketGrantingTicket.PREFIX).toKeyPattern();
+            try (val keys = ticketRedisTemplate.scan(pattern, 1)) {
+                val redisKey = keys.findFirst().orElseThrow();
+                val document = RedisTicketDocument.fromHash(ticketRedisTemplate.execute((RedisCallback<Map<byte[], byte[]>>)
+                    connection -> connection.hashCommands().hGetAll(redisKey.getBytes(StandardCharsets.UTF_8))));
+                assertNull(document.getJson());
+                assertNotNull(document.getContent());
+
+                val storedTicket = ticketSerializationManager.deserializeTicketFromBytes(document.getContent(), document.getType());
+                val json = new DefaultTicketStringSerializationManager(ticketSerializationExecutionPlan).serializeTicketToBytes(storedTicket);
+                assertTrue(document.getContent().length < json.length);
+            }
+
+            val ticket = (TicketGrantingTicket) getNewTicketRegistry().getTicket(tgt.getId());
+            assertEquals(tgt, ticket);
+            assertEquals(attributes, ticket.getAuthentication().getPrincipal().getAttributes());
+        }
+    }
+
     @Nested
     @SuppressWarnings("ClassCanBeStatic")
     @TestPropertySource(properties = {
@@ -0,0 +1,75 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CasSSLContext;
+import org.apereo.cas.configuration.model.support.redis.BaseRedisProperties;
+import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.redis.core.CasRedisTemplate;
+import org.apereo.cas.redis.core.RedisObjectFactory;
+import org.apereo.cas.util.junit.EnabledIfListeningOnPort;
+
+import lombok.val;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link RedisTicketAttributeIndexTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("Redis")
+@EnabledIfListeningOnPort(port = 6379)
+class RedisTicketAttributeIndexTests {
+    private CasRedisTemplate<String, String> redisTemplate;
+
+    private RedisTicketAttributeIndex index;
+
+    @BeforeEach
+    public void initialize() {
+        val conn = RedisObjectFactory.newRedisConnectionFactory(new BaseRedisProperties(), true, CasSSLContext.disabled());
+        redisTemplate = RedisObjectFactory.newRedisTemplate(conn);
+        redisTemplate.initialize();
+        index = new RedisTicketAttributeIndex(redisTemplate);
+        index.clear();
+    }
+
+    @Test
+    void verifyIndexAndRemove() {
+        val tgt = new MockTicketGrantingTicket("casuser");
+        val cn = UUID.randomUUID().toString();
+        val mail = UUID.randomUUID().toString();
+        index.index(tgt, "TGT-1", Set.of(cn, mail));
+        index.index(tgt, "TGT-2", Set.of(cn));
+        assertTrue(index.isEnabled());
+        assertEquals(Set.of("TGT-1", "TGT-2"), index.find(Set.of(cn)));
+        assertEquals(Set.of("TGT-1"), index.find(Set.of(mail, UUID.randomUUID().toString())));
+
+        index.remove("TGT-1", Set.of(cn, mail));
+        assertEquals(Set.of("TGT-2"), index.find(Set.of(cn)));
+        assertTrue(index.find(Set.of(mail)).isEmpty());
+
+        index.clear();
+        assertTrue(index.find(Set.of(cn)).isEmpty());
+    }
+
+    @Test
+    void verifyExpirationIsOnlyExtended() {
+        val indexKey = UUID.randomUUID().toString();
+        val redisKey = RedisCompositeKey.forAttribute().withQuery(indexKey).toKeyPattern();
+        index.index(new MockTicketGrantingTicket("casuser"), "TGT-1", Set.of(indexKey));
+        val expiration = redisTemplate.getExpire(redisKey, TimeUnit.SECONDS);
+        assertNotNull(expiration);
+
+        redisTemplate.expire(redisKey, expiration + 600, TimeUnit.SECONDS);
+        index.index(new MockTicketGrantingTicket("casuser"), "TGT-2", Set.of(indexKey));
+        assertTrue(redisTemplate.getExpire(redisKey, TimeUnit.SECONDS) > expiration);
+        assertEquals(Set.of("TGT-1", "TGT-2"), index.find(Set.of(indexKey)));
+    }
+}
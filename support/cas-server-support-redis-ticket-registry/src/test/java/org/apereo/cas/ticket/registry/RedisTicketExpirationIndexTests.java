@@ -0,0 +1,87 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CasSSLContext;
+import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.configuration.model.support.redis.BaseRedisProperties;
+import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.redis.core.CasRedisTemplate;
+import org.apereo.cas.redis.core.RedisObjectFactory;
+import org.apereo.cas.ticket.expiration.HardTimeoutExpirationPolicy;
+import org.apereo.cas.util.CoreTicketUtils;
+import org.apereo.cas.util.crypto.CipherExecutor;
+import org.apereo.cas.util.junit.EnabledIfListeningOnPort;
+
+import lombok.val;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link RedisTicketExpirationIndexTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 7.0.0
+ */
+@Tag("Redis")
+@EnabledIfListeningOnPort(port = 6379)
+class RedisTicketExpirationIndexTests {
+    private CasRedisTemplate<String, String> redisTemplate;
+
+    @BeforeEach
+    public void initialize() {
+        val conn = RedisObjectFactory.newRedisConnectionFactory(new BaseRedisProperties(), true, CasSSLContext.disabled());
+        redisTemplate = RedisObjectFactory.newRedisTemplate(conn);
+        redisTemplate.initialize();
+        redisTemplate.delete(List.of(RedisTicketExpirationIndex.SCHEDULE_KEY, RedisTicketExpirationIndex.TICKETS_KEY));
+    }
+
+    @Test
+    void verifyScheduleAndPoll() {
+        val index = new RedisTicketExpirationIndex(redisTemplate, CipherExecutor.noOp(),
+            TicketIdentifierDigester.sha512(), Duration.ofSeconds(10));
+        val expiring = new MockTicketGrantingTicket("casuser");
+        expiring.setExpirationPolicy(new HardTimeoutExpirationPolicy(5));
+        val active = new MockTicketGrantingTicket("casuser");
+        active.setExpirationPolicy(new HardTimeoutExpirationPolicy(3600));
+        index.schedule(expiring);
+        index.schedule(active);
+        assertTrue(index.isEnabled());
+        assertEquals(2, index.size());
+
+        val now = ZonedDateTime.now(ZoneOffset.UTC);
+        assertEquals(List.of(expiring.getId()), index.pollDueTickets(now.plusMinutes(1)).toList());
+        assertEquals(0, index.pollDueTickets(now.plusMinutes(1)).count());
+        assertEquals(1, index.size());
+
+        active.setExpirationPolicy(new HardTimeoutExpirationPolicy(5));
+        index.schedule(active);
+        assertEquals(1, index.size());
+        index.remove(active.getId());
+        assertEquals(0, index.size());
+        assertEquals(0, index.pollDueTickets(now.plusHours(2)).count());
+    }
+
+    @Test
+    void verifyEncryptedTicketIdentifiers() {
+        val cipher = CoreTicketUtils.newTicketRegistryCipherExecutor(new EncryptionRandomizedSigningJwtCryptographyProperties(), true, "redis");
+        val index = new RedisTicketExpirationIndex(redisTemplate, cipher, TicketIdentifierDigester.sha512(), Duration.ofSeconds(10));
+        val tgt = new MockTicketGrantingTicket("casuser");
+        tgt.setExpirationPolicy(new HardTimeoutExpirationPolicy(5));
+        index.schedule(tgt);
+        val members = redisTemplate.opsForZSet().range(RedisTicketExpirationIndex.SCHEDULE_KEY, 0, -1);
+        assertNotNull(members);
+        assertFalse(members.contains(tgt.getId()));
+
+        val now = ZonedDateTime.now(ZoneOffset.UTC);
+        assertEquals(List.of(tgt.getId()), index.pollDueTickets(now.plusMinutes(1)).toList());
+        assertEquals(0, index.size());
+        assertFalse(redisTemplate.hasKey(RedisTicketExpirationIndex.TICKETS_KEY));
+    }
+}
@@ -8,6 +8,7 @@ import org.apereo.cas.throttle.AuthenticationThrottlingExecutionPlanConfigurer;
 import org.apereo.cas.throttle.ConcurrentThrottledSubmissionsStore;
 import org.apereo.cas.throttle.DefaultAuthenticationThrottlingExecutionPlan;
 import org.apereo.cas.throttle.DefaultThrottledRequestResponseHandler;
+import org.apereo.cas.throttle.SlidingWindowThrottledSubmissionsStore;
 import org.apereo.cas.throttle.ThrottledRequestExecutor;
 import org.apereo.cas.throttle.ThrottledRequestFilter;
 import org.apereo.cas.throttle.ThrottledRequestResponseHandler;
@@ -127,6 +128,9 @@ public class CasThrottlingConfiguration {
         @ConditionalOnMissingBean(name = ThrottledSubmissionsStore.BEAN_NAME)
         @Bean
         public ThrottledSubmissionsStore throttleSubmissionMap(final CasConfigurationProperties casProperties) {
+            if (casProperties.getAuthn().getThrottle().getCore().getSlidingWindow().isEnabled()) {
+                return new SlidingWindowThrottledSubmissionsStore(casProperties);
+            }
             return new ConcurrentThrottledSubmissionsStore(casProperties);
         }
 